@@ -1,10 +1,13 @@
 package com.example.nativecliapp;
 
+import com.example.nativecliapp.batch.BatchMode;
 import org.jline.utils.AttributedString;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.shell.jline.PromptProvider;
 
 @Configuration
+@Profile("!" + BatchMode.PROFILE)
 public class CustomShellPrompt implements PromptProvider {
     @Override
     public AttributedString getPrompt() {
@@ -1,37 +1,69 @@
 package com.example.nativecliapp;
 
+import com.example.nativecliapp.approx.ApproximateQueryService;
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.catalog.CatalogService;
+import com.example.nativecliapp.catalog.CatalogStatisticsService;
+import com.example.nativecliapp.catalog.SchemaCatalog;
+import com.example.nativecliapp.completion.SqlValueProvider;
+import com.example.nativecliapp.completion.TableNameValueProvider;
+import com.example.nativecliapp.config.CircuitBreaker;
 import com.example.nativecliapp.config.DatabaseConnectionManager;
 import com.example.nativecliapp.config.SchemaManager;
 import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.ApproximateResult;
 import com.example.nativecliapp.dtos.ColumnInfo;
 import com.example.nativecliapp.dtos.DatabaseInfo;
+import com.example.nativecliapp.dtos.DatabaseOverview;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.IndexInfo;
+import com.example.nativecliapp.dtos.OperatorResult;
+import com.example.nativecliapp.dtos.PoolStatus;
+import com.example.nativecliapp.dtos.SchemaStatistics;
+import com.example.nativecliapp.dtos.TableDefinition;
 import com.example.nativecliapp.dtos.TableInfo;
 import com.example.nativecliapp.exception.ConnectionException;
 import com.example.nativecliapp.exception.SchemaException;
+import com.example.nativecliapp.exception.QueryLimitExceededException;
 import com.example.nativecliapp.exception.SqlExecutionException;
+import com.example.nativecliapp.result.ResultOperatorService;
+import com.example.nativecliapp.result.ResultPager;
+import com.example.nativecliapp.result.SpillableResultStore;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
 @ShellComponent
 @Slf4j
 @RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
 public class GenericDatabaseCLI {
     private final DatabaseConnectionManager connectionManager;
     private final SchemaManager schemaManager;
     private final MeterRegistry meterRegistry;
+    private final CatalogStatisticsService catalogStatisticsService;
+    private final CatalogService catalogService;
+    private final ApproximateQueryService approximateQueryService;
+    private final ResultOperatorService resultOperatorService;
+    private final ResultPager resultPager;
 
     // ═══════════════════════════════════════════════════════════════════════════════════════
     // 🔗 CONNECTION MANAGEMENT COMMANDS
@@ -43,15 +75,21 @@ public class GenericDatabaseCLI {
             @ShellOption(value = {"-t", "--type"}, help = "Database type (h2, mysql, postgresql, oracle, sqlite, sqlserver)") String dbType,
             @ShellOption(value = {"-u", "--url"}, help = "Database URL") String url,
             @ShellOption(value = {"--username"}, help = "Username", defaultValue = "sa") String username,
-            @ShellOption(value = {"--password"}, help = "Password", defaultValue = "") String password) {
+            @ShellOption(value = {"--password"}, help = "Password", defaultValue = "") String password,
+            @ShellOption(value = {"--replicas"}, help = "Comma-separated URLs of read replicas that take the read-only statements", defaultValue = ShellOption.NULL) String replicas) {
 
         Timer.Sample sample = Timer.start(meterRegistry);
 
         try {
             // Validate inputs
             validateConnectionParameters(name, dbType, url);
+            List<String> replicaUrls = replicas == null ? List.of()
+                    : Arrays.stream(replicas.split(",")).map(String::trim).filter(replicaUrl -> !replicaUrl.isEmpty()).toList();
+            for (String replicaUrl : replicaUrls) {
+                validateConnectionParameters(name, dbType, replicaUrl);
+            }
 
-            connectionManager.createConnection(name, dbType, url, username, password);
+            connectionManager.createConnection(name, dbType, url, username, password, replicaUrls);
             connectionManager.switchConnection(name);
 
             DatabaseInfo info = connectionManager.getDatabaseInfo();
@@ -134,8 +172,17 @@ public class GenericDatabaseCLI {
 
             connections.forEach(name -> {
                 String status = name.equals(current) ? "🟢 ACTIVE" : "⚪ INACTIVE";
-                String health = Boolean.TRUE.equals(healthStatus.get(name)) ? "✅ HEALTHY" : "❌ UNHEALTHY";
+                CircuitBreaker.State circuit = connectionManager.getCircuitState(name);
+                String health = circuit != CircuitBreaker.State.CLOSED ? "⚡ CIRCUIT " + circuit
+                        : Boolean.TRUE.equals(healthStatus.get(name)) ? "✅ HEALTHY" : "❌ UNHEALTHY";
                 result.append(String.format("%-20s | %-12s | %-10s\n", name, status, health));
+                connectionManager.getReplicaStatus(name).forEach(replica -> result.append(String.format(
+                        "  ↳ %-16s | %s | %.1f ms avg, %d in flight, %d reads, lag %s%s\n",
+                        replica.getName().substring(name.length() + 1),
+                        replica.isAvailable() ? "✅ ROUTING " : "⛔ SKIPPED ",
+                        replica.getLatencyMillis(), replica.getInFlight(), replica.getReads(),
+                        replica.getLagMillis() < 0 ? "unknown" : replica.getLagMillis() + " ms",
+                        replica.getLastError() == null ? "" : " | last error: " + truncate(replica.getLastError(), 60))));
             });
 
             result.append("\n").append(DatabaseConstants.SEPARATOR_MEDIUM);
@@ -291,7 +338,7 @@ public class GenericDatabaseCLI {
 
     @ShellMethod(key = {"describe", "desc"}, value = "📝 Describe table structure")
     public String describeTable(
-            @ShellOption(value = {"-t", "--table"}, help = "Table name") String tableName,
+            @ShellOption(value = {"-t", "--table"}, help = "Table name", valueProvider = TableNameValueProvider.class) String tableName,
             @ShellOption(value = {"-s", "--schema"}, help = "Schema name", defaultValue = ShellOption.NULL) String schema) {
 
         try {
@@ -299,7 +346,12 @@ public class GenericDatabaseCLI {
                 throw new IllegalArgumentException("Table name cannot be empty");
             }
 
-            List<ColumnInfo> columns = schemaManager.describeTable(schema, tableName);
+            List<ColumnInfo> columns = catalogService.getStoredCatalog(schema)
+                    .flatMap(catalog -> catalog.findTable(tableName))
+                    .map(table -> table.getColumns().stream()
+                            .sorted(Comparator.comparingInt(ColumnInfo::getPosition))
+                            .toList())
+                    .orElseGet(() -> schemaManager.describeTable(schema, tableName));
 
             StringBuilder result = new StringBuilder();
             result.append("📝 TABLE STRUCTURE\n");
@@ -334,9 +386,76 @@ public class GenericDatabaseCLI {
         }
     }
 
+    @ShellMethod(key = {"describe-schema", "desc-schema"}, value = "📚 Describe every table of a schema in one pass")
+    public String describeSchema(
+            @ShellOption(value = {"-s", "--schema"}, help = "Schema name", defaultValue = ShellOption.NULL) String schema,
+            @ShellOption(value = {"-r", "--refresh"}, help = "Reload the catalog instead of using the cached one", defaultValue = "false") boolean refresh) {
+
+        try {
+            boolean cached = !refresh && catalogService.getCachedCatalog(schema).isPresent();
+            long start = System.currentTimeMillis();
+            SchemaCatalog catalog = refresh ? catalogService.refresh(schema) : catalogService.getCatalog(schema);
+            long elapsed = System.currentTimeMillis() - start;
+
+            if (catalog.size() == 0) {
+                return formatWarning("No Tables", "No tables found in schema: " + (catalog.getSchema() != null ? catalog.getSchema() : "default"));
+            }
+
+            StringBuilder result = new StringBuilder();
+            result.append("📚 SCHEMA STRUCTURE\n");
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            result.append(String.format("📁 Schema: %s\n", catalog.getSchema() != null ? catalog.getSchema() : "default"));
+            result.append(String.format("🔗 Connection: %s\n", catalog.getConnectionName()));
+
+            for (TableDefinition table : catalog.getTables()) {
+                result.append("\n📄 ").append(table.getName());
+                if (!table.getPrimaryKey().isEmpty()) {
+                    result.append("  🔑 (").append(String.join(", ", table.getPrimaryKey())).append(")");
+                }
+                result.append("\n").append(DatabaseConstants.SEPARATOR_SHORT).append("\n");
+
+                table.getColumns().forEach(column -> result.append(String.format("  %-28s | %-15s | %-8s | %-8s | %s\n",
+                        truncate(column.getName(), 28),
+                        truncate(column.getType(), 15),
+                        column.getSize() > 0 ? String.valueOf(column.getSize()) : "-",
+                        column.isNullable() ? "NULL" : "NOT NULL",
+                        columnFlags(column))));
+
+                for (IndexInfo index : table.getIndexes()) {
+                    result.append(String.format("  %s %s (%s)\n", index.isUnique() ? "🔒 UNIQUE INDEX" : "📇 INDEX",
+                            index.getName(), String.join(", ", index.getColumns())));
+                }
+                for (ForeignKeyInfo foreignKey : table.getForeignKeys()) {
+                    result.append(String.format("  🔗 FK %s (%s) → %s(%s)\n", foreignKey.getName(),
+                            String.join(", ", foreignKey.getColumns()), foreignKey.getReferencedTable(),
+                            String.join(", ", foreignKey.getReferencedColumns())));
+                }
+            }
+
+            result.append(String.format("\nTotal: %d tables (catalog %s in %d ms)", catalog.size(),
+                    cached ? "cached" : "loaded", elapsed));
+            return result.toString();
+
+        } catch (SchemaException e) {
+            return formatError("Describe Schema Failed", e.getMessage());
+        } catch (Exception e) {
+            return formatError("Unexpected Error", e.getMessage());
+        }
+    }
+
+    private String columnFlags(ColumnInfo column) {
+        StringBuilder flags = new StringBuilder();
+        if (column.isPrimaryKey()) flags.append("PK ");
+        if (column.isForeignKey()) flags.append("FK ");
+        if (column.isUnique() && !column.isPrimaryKey()) flags.append("UQ ");
+        if (column.isIndexed() && !column.isPrimaryKey()) flags.append("IDX ");
+        if (column.isAutoIncrement()) flags.append("AUTO ");
+        return flags.length() > 0 ? flags.toString().trim() : "-";
+    }
+
     @ShellMethod(key = {"table-exists"}, value = "❓ Check if a table exists")
     public String checkTableExists(
-            @ShellOption(value = {"-t", "--table"}, help = "Table name") String tableName,
+            @ShellOption(value = {"-t", "--table"}, help = "Table name", valueProvider = TableNameValueProvider.class) String tableName,
             @ShellOption(value = {"-s", "--schema"}, help = "Schema name", defaultValue = ShellOption.NULL) String schema) {
 
         try {
@@ -344,7 +463,7 @@ public class GenericDatabaseCLI {
                 throw new IllegalArgumentException("Table name cannot be empty");
             }
 
-            boolean exists = schemaManager.tableExists(schema, tableName);
+            boolean exists = catalogService.tableExists(schema, tableName);
             String schemaName = schema != null ? schema : "default";
 
             if (exists) {
@@ -367,7 +486,17 @@ public class GenericDatabaseCLI {
     // ═══════════════════════════════════════════════════════════════════════════════════════
 
     @ShellMethod(key = {"sql", "execute"}, value = "⚡ Execute SQL query or statement")
-    public String executeSQL(@ShellOption(value = {"-q", "--query"}, help = "SQL query") String sql) {
+    public String executeSQL(
+            @ShellOption(value = {"-q", "--query"}, help = "SQL query", valueProvider = SqlValueProvider.class) String sql,
+            @ShellOption(value = {"--sample"}, help = "Estimate from a sample of the table, e.g. 1%", defaultValue = ShellOption.NULL) String sample,
+            @ShellOption(value = {"--where"}, help = "Client-side filter on result columns, e.g. \"total > 5\"", defaultValue = ShellOption.NULL) String where,
+            @ShellOption(value = {"--group-by"}, help = "Client-side grouping columns, comma-separated", defaultValue = ShellOption.NULL) String groupBy,
+            @ShellOption(value = {"--agg"}, help = "Aggregates per group, e.g. \"count(*), sum(total)\"", defaultValue = ShellOption.NULL) String aggregates,
+            @ShellOption(value = {"--sort"}, help = "Client-side sort, e.g. \"total desc, id\"", defaultValue = ShellOption.NULL) String sort,
+            @ShellOption(value = {"--connections"}, help = "Run on these connections and combine the rows", defaultValue = ShellOption.NULL) String connections,
+            @ShellOption(value = {"--explain"}, help = "Show the execution plan instead of running the statement", defaultValue = "false") boolean explain,
+            @ShellOption(value = {"--limit"}, help = "Fetch only this many rows, paginated by the database", defaultValue = ShellOption.NULL) Long limit,
+            @ShellOption(value = {"--offset"}, help = "Rows to skip before --limit", defaultValue = "0") long offset) {
         try {
             if (sql == null || sql.trim().isEmpty()) {
                 throw new IllegalArgumentException("SQL query cannot be empty");
@@ -375,7 +504,20 @@ public class GenericDatabaseCLI {
 
             String trimmedSql = sql.trim();
 
-            if (trimmedSql.toUpperCase().startsWith(DatabaseConstants.SQL_SELECT)) {
+            ResultOperatorService.Operators operators = new ResultOperatorService.Operators(where, groupBy, aggregates, sort);
+            if (explain || limit != null) {
+                if (sample != null || !operators.isEmpty() || connections != null) {
+                    throw new IllegalArgumentException("--explain and --limit cannot be combined with --sample, client-side operators or --connections");
+                }
+                return explain ? executeExplainCommand(trimmedSql) : executePageCommand(trimmedSql, offset, limit);
+            } else if (sample != null) {
+                if (!operators.isEmpty() || connections != null) {
+                    throw new IllegalArgumentException("--sample cannot be combined with client-side operators or --connections");
+                }
+                return executeSampledCommand(trimmedSql, ApproximateQueryService.parseFraction(sample));
+            } else if (!operators.isEmpty() || connections != null) {
+                return executeWithOperators(trimmedSql, operators, connections);
+            } else if (trimmedSql.toUpperCase().startsWith(DatabaseConstants.SQL_SELECT)) {
                 return executeQueryCommand(trimmedSql);
             } else {
                 return executeUpdateCommand(trimmedSql);
@@ -385,6 +527,8 @@ public class GenericDatabaseCLI {
             return formatError("SQL Execution Failed",
                     String.format("Query: %s\nError: %s",
                             truncate(e.getSql(), 100), e.getMessage()));
+        } catch (ConnectionException e) {
+            return formatError("Connection Unavailable", e.getMessage());
         } catch (IllegalArgumentException e) {
             return formatError("Invalid Parameter", e.getMessage());
         } catch (Exception e) {
@@ -393,44 +537,82 @@ public class GenericDatabaseCLI {
     }
 
     private String executeQueryCommand(String sql) {
-        List<Map<String, Object>> results = schemaManager.executeQuery(sql);
-
-        if (results.isEmpty()) {
-            return formatWarning("No Results", "Query returned no results");
+        String connectionName = connectionManager.getCurrentConnectionName();
+        SpillableResultStore result;
+        try {
+            result = resultPager.run(connectionName, sql);
+        } catch (QueryLimitExceededException e) {
+            return formatWarning("Query Aborted", e.getMessage()) + "\n"
+                    + formatQueryResults(connectionName, sql, resultPager.page(0, MAX_DISPLAY_ROWS), e.getRowsRead())
+                    + "\n💡 These are partial results; narrow the query or raise the limit to see the rest";
         }
+        String output = formatQueryResults(connectionName, sql, resultPager.page(0, MAX_DISPLAY_ROWS), result.size());
+        return result.size() > MAX_DISPLAY_ROWS ? output + "\n💡 Use 'page' to browse the remaining rows" : output;
+    }
 
-        StringBuilder result = new StringBuilder();
-        result.append("📊 QUERY RESULTS\n");
-        result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
-        result.append(String.format("🔗 Connection: %s\n", connectionManager.getCurrentConnectionName()));
-        result.append(String.format("📝 Query: %s\n\n", truncate(sql, 100)));
-
-        // Get column names
-        Set<String> columnNames = new LinkedHashSet<>(results.get(0).keySet());
-
-        // Header
-        columnNames.forEach(col -> result.append(String.format("%-20s | ", truncate(col, 20))));
-        result.append("\n");
-        result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
-
-        // Rows (limit to first 100 for readability)
-        int rowCount = Math.min(results.size(), 100);
-        for (int i = 0; i < rowCount; i++) {
-            Map<String, Object> row = results.get(i);
-            columnNames.forEach(col -> {
-                Object value = row.get(col);
-                String displayValue = value != null ? value.toString() : "NULL";
-                result.append(String.format("%-20s | ", truncate(displayValue, 20)));
-            });
-            result.append("\n");
+    private String executeExplainCommand(String sql) {
+        String connectionName = connectionManager.getCurrentConnectionName();
+        List<Map<String, Object>> plan = schemaManager.explain(connectionName, sql);
+        String header = String.format("🧭 Plan on %s (%s)\n\n", connectionName, connectionManager.getDatabaseType(connectionName));
+        if (plan.stream().anyMatch(row -> row.size() > 1)) {
+            return header + formatQueryResults(connectionName, sql, plan);
         }
+        // single-column plans are preformatted text that table cells would cut off
+        StringBuilder output = new StringBuilder(header);
+        plan.forEach(row -> row.values().forEach(line -> output.append(line).append("\n")));
+        return output.toString();
+    }
+
+    private String executePageCommand(String sql, long offset, long limit) {
+        String connectionName = connectionManager.getCurrentConnectionName();
+        List<Map<String, Object>> rows = schemaManager.executeQuery(connectionName, sql, offset, limit);
+        return String.format("📄 Rows %s to %s, paginated by the database\n\n",
+                formatCount(offset + 1), formatCount(offset + rows.size())) + formatQueryResults(connectionName, sql, rows);
+    }
+
+    private String executeSampledCommand(String sql, double fraction) {
+        ApproximateResult result = approximateQueryService.execute(sql, fraction);
+        StringBuilder output = new StringBuilder();
+        output.append(String.format("🎲 Approximate answer from a %s%% sample (%s) in %d ms\n",
+                BigDecimal.valueOf(result.getFraction() * 100).stripTrailingZeros().toPlainString(),
+                result.getMethod(), result.getDurationMillis()));
+        output.append(result.getScaledColumns().isEmpty()
+                ? "⚠️  No COUNT or SUM columns to scale, values are from the sample only\n"
+                : String.format("📐 Scaled to the full table: %s\n", String.join(", ", result.getScaledColumns())));
+        result.getWarnings().forEach(warning -> output.append("⚠️  ").append(warning).append("\n"));
+        output.append("\n").append(formatQueryResults(result.getConnectionName(), result.getSampledSql(), result.getRows()));
+        return output.toString();
+    }
 
-        result.append(String.format("\nTotal: %d rows", results.size()));
-        if (results.size() > 100) {
-            result.append(" (showing first 100)");
+    private String executeWithOperators(String sql, ResultOperatorService.Operators operators, String connections) {
+        List<String> targets = connections == null
+                ? List.of(connectionManager.getCurrentConnectionName())
+                : Arrays.stream(connections.split(",")).map(String::trim).filter(name -> !name.isEmpty()).toList();
+        OperatorResult result = resultOperatorService.execute(targets, sql, operators, MAX_DISPLAY_ROWS);
+
+        StringBuilder output = new StringBuilder();
+        output.append(String.format("🧮 Client-side %s over %s input rows in %d ms\n",
+                describeOperators(operators), formatCount(result.getInputRows()), result.getDurationMillis()));
+        if (result.getSortRuns() > 0 || result.getAggregateSpills() > 0) {
+            output.append(String.format("💾 Spilled to disk: %d sort runs, %d aggregate spills\n",
+                    result.getSortRuns(), result.getAggregateSpills()));
         }
+        output.append("\n").append(formatQueryResults(String.join(", ", targets), sql, result.getRows(), result.getTotalRows()));
+        return output.toString();
+    }
 
-        return result.toString();
+    private static String describeOperators(ResultOperatorService.Operators operators) {
+        List<String> steps = new ArrayList<>();
+        if (operators.where() != null) {
+            steps.add("filter");
+        }
+        if (operators.groupBy() != null) {
+            steps.add("aggregate");
+        }
+        if (operators.sort() != null) {
+            steps.add("sort");
+        }
+        return steps.isEmpty() ? "fan-in" : String.join(" + ", steps);
     }
 
     private String executeUpdateCommand(String sql) {
@@ -457,38 +639,6 @@ public class GenericDatabaseCLI {
         }
     }
 
-    // ═══════════════════════════════════════════════════════════════════════════════════════
-    // 🎨 FORMATTING UTILITIES
-    // ═══════════════════════════════════════════════════════════════════════════════════════
-
-    private String formatResponse(String title, String content) {
-        return String.format("✅ %s\n%s\n%s",
-                title,
-                DatabaseConstants.SEPARATOR_SHORT,
-                content);
-    }
-
-    private String formatError(String title, String message) {
-        return String.format("❌ %s\n%s\n🔥 %s",
-                title,
-                DatabaseConstants.SEPARATOR_SHORT,
-                message);
-    }
-
-    private String formatWarning(String title, String message) {
-        return String.format("⚠️ %s\n%s\n💡 %s",
-                title,
-                DatabaseConstants.SEPARATOR_SHORT,
-                message);
-    }
-
-    private String truncate(String text, int maxLength) {
-        if (text == null || text.length() <= maxLength) {
-            return text;
-        }
-        return text.substring(0, maxLength - 3) + "...";
-    }
-
     // ═══════════════════════════════════════════════════════════════════════════════════════
     // 🔍 HEALTH CHECK AND MONITORING COMMANDS
     // ═══════════════════════════════════════════════════════════════════════════════════════
@@ -509,6 +659,29 @@ public class GenericDatabaseCLI {
                 result.append(String.format("%-20s | %s%s\n", name, indicator, current));
             });
 
+            Map<String, PoolStatus> pools = connectionManager.getPoolStatus();
+            if (!pools.isEmpty()) {
+                result.append("\n🔥 POOL WARMTH\n");
+                pools.forEach((name, pool) -> result.append(String.format(
+                        "%-20s | %d idle / %d active | first query cold %.1f ms (%d), warm %.1f ms (%d)\n",
+                        name, pool.getIdleConnections(), pool.getActiveConnections(),
+                        pool.getColdFirstQueryMillis(), pool.getColdFirstQueries(),
+                        pool.getWarmQueryMillis(), pool.getWarmQueries())));
+
+                result.append("\n🚦 WORKLOAD POOLS\n");
+                pools.forEach((name, pool) -> pool.getWorkloads().forEach(workload -> result.append(String.format(
+                        "%-20s | %-11s | %d / %d active, %d idle%s\n",
+                        name, workload.getWorkload(), workload.getActiveConnections(), workload.getMaximumConnections(),
+                        workload.getIdleConnections(),
+                        workload.getWaitingThreads() > 0 ? ", " + workload.getWaitingThreads() + " waiting" : ""))));
+
+                result.append("\n⚡ CIRCUIT BREAKERS\n");
+                pools.forEach((name, pool) -> result.append(String.format(
+                        "%-20s | %s | %d consecutive failures, tripped %d times%s\n",
+                        name, pool.getCircuitState(), pool.getConsecutiveFailures(), pool.getCircuitTrips(),
+                        pool.getLastError() == null ? "" : " | last error: " + truncate(pool.getLastError(), 60))));
+            }
+
             long healthyCount = healthStatus.values().stream().mapToLong(h -> h ? 1 : 0).sum();
             result.append(String.format("\nSummary: %d/%d connections healthy", healthyCount, healthStatus.size()));
 
@@ -533,15 +706,9 @@ public class GenericDatabaseCLI {
 
             // Schema statistics
             try {
-                List<String> schemas = schemaManager.listSchemas();
-                result.append(String.format("📁 Schemas: %d\n", schemas.size()));
-
-                if (!schemas.isEmpty()) {
-                    // Get table count for first schema as example
-                    String firstSchema = schemas.get(0);
-                    int tableCount = schemaManager.getTableCount(firstSchema);
-                    result.append(String.format("📄 Tables (in %s): %d\n", firstSchema, tableCount));
-                }
+                DatabaseOverview overview = catalogStatisticsService.getOverview();
+                result.append(String.format("📁 Schemas: %d\n", overview.getSchemas().size()));
+                result.append(String.format("📄 Tables: %d\n", overview.getTotalTables()));
             } catch (Exception e) {
                 result.append("📁 Schemas: Unable to retrieve\n");
             }
@@ -556,6 +723,44 @@ public class GenericDatabaseCLI {
         }
     }
 
+    @ShellMethod(key = {"db-overview", "overview"}, value = "🗺️ Show table counts, estimated rows and sizes for all schemas")
+    public String showOverview() {
+        try {
+            DatabaseOverview overview = catalogStatisticsService.getOverview();
+
+            StringBuilder result = new StringBuilder();
+            result.append("🗺️ DATABASE OVERVIEW\n");
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            result.append(String.format("🔗 Connection: %s (%s)\n", overview.getConnectionName(), overview.getDatabaseType()));
+            result.append(String.format("📚 Source: %s\n\n",
+                    overview.isFromCatalog() ? "catalog statistics" : "database metadata (row counts and sizes unavailable)"));
+
+            result.append(String.format("%-30s | %-10s | %-18s | %-12s\n", "SCHEMA", "TABLES", "EST. ROWS", "SIZE"));
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+
+            for (SchemaStatistics schema : overview.getSchemas()) {
+                result.append(String.format("%-30s | %-10d | %-18s | %-12s\n",
+                        truncate(schema.getSchema(), 30),
+                        schema.getTableCount(),
+                        formatCount(schema.getEstimatedRows()),
+                        formatBytes(schema.getTotalBytes())));
+            }
+
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            result.append(String.format("%-30s | %-10d | %-18s | %-12s\n", "TOTAL",
+                    overview.getTotalTables(),
+                    formatCount(overview.getTotalRows()),
+                    formatBytes(overview.getTotalBytes())));
+            result.append(String.format("\nCollected in %d ms", overview.getDurationMillis()));
+            return result.toString();
+
+        } catch (SchemaException e) {
+            return formatError("Overview Failed", e.getMessage());
+        } catch (Exception e) {
+            return formatError("Unexpected Error", e.getMessage());
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════════════════════════════
     // 🆘 HELP AND UTILITY COMMANDS
     // ═══════════════════════════════════════════════════════════════════════════════════════
@@ -565,7 +770,7 @@ public class GenericDatabaseCLI {
         return formatResponse("DATABASE CLI HELP",
                 """
                 🔗 CONNECTION COMMANDS:
-                • connect -n <name> -t <type> -u <url> [--username] [--password]
+                • connect -n <name> -t <type> -u <url> [--username] [--password] [--replicas <url,...>]
                 • connections / conns - List all connections
                 • use -n <name> - Switch connection
                 • disconnect -n <name> - Close connection
@@ -575,15 +780,37 @@ public class GenericDatabaseCLI {
                 • schemas - List all schemas
                 • tables [-s <schema>] - List tables
                 • describe -t <table> [-s <schema>] - Describe table
+                • describe-schema [-s <schema>] [--refresh] - Describe all tables, keys and indexes
                 • table-exists -t <table> [-s <schema>] - Check if table exists
+                • schema-snapshot [-c <conn>] [-s <schemas>] [-o <file>] - Save catalog snapshot
+                • schema-diff -a <conn|file> -b <conn|file> [-s <schema>] [-o <file>] - DDL delta
+                • schema-apply -f <schema.yml> [-c <conn>] [-p <n>] [--prune] [--dry-run] - Create tables in parallel
                 
                 🔧 SQL COMMANDS:
                 • sql -q "<query>" - Execute SQL
+                • sql -q "<query>" --sample 1% - Estimate COUNT/SUM from a table sample
+                • sql -q "<query>" --explain - Show the plan in the connection's EXPLAIN dialect
+                • sql -q "<query>" --limit <n> [--offset <m>] - Fetch one window of rows from the database
+                • sql -q "<query>" [--where <cond>] [--group-by <cols> --agg <aggs>] [--sort <cols>] [--connections a,b]
+                  - Filter, aggregate and sort rows on the client, spilling to disk when large
                 • query-file -f <file> - Execute SQL from file
+                • page [-p <n>] [--prev] [-s <rows>] - Page through the last query result
                 
                 🔍 MONITORING COMMANDS:
                 • health - Check connection health
                 • stats - Show database statistics
+                • db-overview - Table counts, estimated rows and sizes for all schemas
+                
+                🔄 SYNC COMMANDS:
+                • data-diff -a <conn> -b <conn> -t <table> [--chunk-size <rows>] - Compare table rows
+                • copy-table --from <conn> --to <conn> -t <table> [-w <workers>] [--append] - Copy table
+                
+                🕘 HISTORY COMMANDS:
+                • history-search [words] [--slow] [--failed] [--since 1h] - Search executed statements
+                • history-run --id <id> [-c <conn>] - Run a statement from the history again
+                
+                🏋️ BENCHMARK COMMANDS:
+                • bench -q <sql> [--concurrency <n>] [-d 60s] [--rate <req/s>] - Load-test a statement
                 
                 📝 SUPPORTED DATABASE TYPES:
                 • h2, mysql, postgresql, oracle, sqlite, sqlserver
@@ -1,5 +1,8 @@
 package com.example.nativecliapp;
 
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.batch.DaemonClient;
+import com.example.nativecliapp.batch.DaemonMode;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
@@ -9,6 +12,15 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 public class NativeCliAppApplication {
 
     public static void main(String[] args) {
+        if (DaemonClient.isRequested(args)) {
+            System.exit(DaemonClient.run(args));
+        }
+        if (DaemonMode.isRequested(args)) {
+            System.exit(DaemonMode.run(NativeCliAppApplication.class, args));
+        }
+        if (BatchMode.isRequested(args)) {
+            System.exit(BatchMode.run(NativeCliAppApplication.class, args));
+        }
         SpringApplication.run(NativeCliAppApplication.class, args);
     }
 
@@ -0,0 +1,124 @@
+package com.example.nativecliapp.ai;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Incrementally scans streamed model output and detects the first complete SQL block.
+ * A block is either a fenced code block (```sql ... ```) or, when the model answers
+ * without fences, a bare statement terminated by a semicolon.
+ */
+public class SqlBlockExtractor {
+
+    private static final String FENCE = "```";
+    private static final Pattern STATEMENT_START = Pattern.compile(
+            "(?m)^\\s*(SELECT|WITH|INSERT|UPDATE|DELETE|SHOW|EXPLAIN)\\b", Pattern.CASE_INSENSITIVE);
+
+    private final StringBuilder buffer = new StringBuilder();
+    private String sql;
+
+    /**
+     * Appends a streamed token and reports whether a complete SQL block is now available
+     */
+    public boolean append(String token) {
+        if (sql != null) {
+            return true;
+        }
+        if (token != null) {
+            buffer.append(token);
+        }
+        sql = findClosedBlock();
+        return sql != null;
+    }
+
+    /**
+     * Returns the closed SQL block if one was detected while streaming
+     */
+    public Optional<String> getSql() {
+        return Optional.ofNullable(sql);
+    }
+
+    /**
+     * Returns the best-effort SQL once the stream has ended without a closed block
+     */
+    public Optional<String> finish() {
+        if (sql != null) {
+            return Optional.of(sql);
+        }
+
+        String text = buffer.toString();
+        int open = text.indexOf(FENCE);
+        if (open >= 0) {
+            return clean(skipFenceHeader(text, open));
+        }
+
+        Matcher matcher = STATEMENT_START.matcher(text);
+        return matcher.find() ? clean(text.substring(matcher.start())) : clean(text);
+    }
+
+    public String getText() {
+        return buffer.toString();
+    }
+
+    private String findClosedBlock() {
+        String text = buffer.toString();
+
+        int open = text.indexOf(FENCE);
+        if (open >= 0) {
+            int bodyStart = open + FENCE.length();
+            int headerEnd = text.indexOf('\n', bodyStart);
+            if (headerEnd < 0) {
+                return null;
+            }
+            int close = text.indexOf(FENCE, headerEnd);
+            if (close < 0) {
+                return null;
+            }
+            return clean(text.substring(headerEnd + 1, close)).orElse(null);
+        }
+
+        Matcher matcher = STATEMENT_START.matcher(text);
+        if (matcher.find()) {
+            int terminator = terminator(text, matcher.start());
+            if (terminator >= 0) {
+                return clean(text.substring(matcher.start(), terminator)).orElse(null);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Position of the first semicolon after start that is outside quoted text, -1 while there is none
+     */
+    private static int terminator(String text, int start) {
+        char quote = 0;
+        for (int i = start; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quote != 0) {
+                // a doubled quote toggles twice, so escaped quotes keep the literal open
+                quote = c == quote ? 0 : quote;
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == ';') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String skipFenceHeader(String text, int open) {
+        int headerEnd = text.indexOf('\n', open);
+        String body = headerEnd >= 0 ? text.substring(headerEnd + 1) : "";
+        int close = body.indexOf(FENCE);
+        return close >= 0 ? body.substring(0, close) : body;
+    }
+
+    private Optional<String> clean(String candidate) {
+        String trimmed = candidate.trim();
+        while (trimmed.endsWith(";")) {
+            trimmed = trimmed.substring(0, trimmed.length() - 1).trim();
+        }
+        return trimmed.isEmpty() ? Optional.empty() : Optional.of(trimmed);
+    }
+}
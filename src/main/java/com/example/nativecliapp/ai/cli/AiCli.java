@@ -1,61 +1,112 @@
 package com.example.nativecliapp.ai.cli;
 
+import com.example.nativecliapp.ai.SqlBlockExtractor;
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.catalog.CatalogService;
 import com.example.nativecliapp.config.DatabaseConnectionManager;
 import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.dtos.TableInfo;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.jline.terminal.Terminal;
 import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.context.annotation.Profile;
 import org.springframework.shell.standard.ShellComponent;
 import org.springframework.shell.standard.ShellMethod;
 import org.springframework.shell.standard.ShellOption;
 
-import java.util.HashMap;
+import java.io.PrintWriter;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicLong;
 
 @ShellComponent
+@Profile("!" + BatchMode.PROFILE)
 public class AiCli {
 
+    private static final Duration GENERATION_TIMEOUT = Duration.ofMinutes(5);
+
     private final ChatClient chatClient;
     private final SchemaManager schemaManager;
+    private final CatalogService catalogService;
     private final DatabaseConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+    private final Terminal terminal;
 
-    public AiCli(ChatClient.Builder chatClientBuilder, SchemaManager schemaManager, DatabaseConnectionManager connectionManager) {
+    public AiCli(ChatClient.Builder chatClientBuilder, SchemaManager schemaManager, CatalogService catalogService,
+                 DatabaseConnectionManager connectionManager, MeterRegistry meterRegistry, Terminal terminal) {
         this.chatClient = chatClientBuilder.build();
         this.schemaManager = schemaManager;
+        this.catalogService = catalogService;
         this.connectionManager = connectionManager;
+        this.meterRegistry = meterRegistry;
+        this.terminal = terminal;
     }
 
     @ShellMethod(key = "ask", value = "Ask a question in natural language to query the database")
     public String ask(@ShellOption(value = {"--question"}, help = "The natural language question to ask the database") String question) {
         try {
             String schema = connectionManager.getCurrentSchema();
-            List<Map<String, Object>> tables = schemaManager.listTables(schema).stream()
-                    .map(tableInfo -> {
-                        Map<String, Object> tableMap = new HashMap<>();
-                        tableMap.put("TABLE_NAME", tableInfo.getName());
-                        return tableMap;
-                    })
-                    .collect(Collectors.toList());
-
-            String tableNames = tables.stream()
-                    .map(table -> table.get("TABLE_NAME").toString())
-                    .collect(Collectors.joining(", "));
+            // a current cached catalog spares the metadata round trip before the model is even asked
+            String tableNames = String.join(", ", catalogService.getStoredCatalog(schema)
+                    .map(catalog -> catalog.getTables().stream().map(TableDefinition::getName).toList())
+                    .orElseGet(() -> schemaManager.listTables(schema).stream().map(TableInfo::getName).toList()));
 
             String prompt = "Given the following database schema with tables: " + tableNames + ". " +
-                    "Generate a SQL query to answer the following question: " + question;
+                    "Generate a SQL query to answer the following question: " + question + ". " +
+                    "Return the query first, inside a ```sql code block, before any explanation.";
 
-            String sqlQuery = chatClient.prompt()
-                    .user(prompt)
-                    .call()
-                    .content();
+            String sqlQuery = streamSql(prompt);
 
-            List<Map<String, Object>> result = schemaManager.executeQuery(sqlQuery);
-            return formatResults(result);
+            Timer.Sample querySample = Timer.start(meterRegistry);
+            try {
+                List<Map<String, Object>> result = schemaManager.executeQuery(sqlQuery);
+                return formatResults(result);
+            } finally {
+                querySample.stop(Timer.builder("ai.ask.query.duration").register(meterRegistry));
+            }
         } catch (Exception e) {
             return "Error: " + e.getMessage();
         }
     }
 
+    /**
+     * Streams the model answer to the terminal and stops generation as soon as the SQL block is closed
+     */
+    private String streamSql(String prompt) {
+        SqlBlockExtractor extractor = new SqlBlockExtractor();
+        PrintWriter writer = terminal.writer();
+        long start = System.nanoTime();
+        AtomicLong firstTokenAt = new AtomicLong();
+
+        try {
+            chatClient.prompt()
+                    .user(prompt)
+                    .stream()
+                    .content()
+                    .doOnNext(token -> {
+                        if (firstTokenAt.compareAndSet(0, System.nanoTime())) {
+                            Timer.builder("ai.ask.first_token.duration").register(meterRegistry)
+                                    .record(Duration.ofNanos(firstTokenAt.get() - start));
+                        }
+                        writer.print(token);
+                        writer.flush();
+                    })
+                    .takeUntil(extractor::append)
+                    .blockLast(GENERATION_TIMEOUT);
+        } finally {
+            writer.println();
+            writer.flush();
+            Timer.builder("ai.ask.generation.duration").register(meterRegistry)
+                    .record(Duration.ofNanos(System.nanoTime() - start));
+        }
+
+        return extractor.finish()
+                .orElseThrow(() -> new IllegalStateException("The model response did not contain a SQL query"));
+    }
+
     private String formatResults(List<Map<String, Object>> results) {
         if (results == null || results.isEmpty()) {
             return "No results found.";
@@ -0,0 +1,174 @@
+package com.example.nativecliapp.approx;
+
+import com.example.nativecliapp.catalog.CatalogLoader;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.dtos.ApproximateResult;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.result.RowSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers aggregate queries from a sample of the table. The statement is rewritten by
+ * {@link SampleRewriter}, COUNT and SUM results are scaled by the inverse of the sampling fraction,
+ * and each scaled value gets a 95% error bound from the variance of a Bernoulli sample:
+ * n(1-p)/p² for a count of n sampled rows and (1-p)/p² · Σx² for a sum.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ApproximateQueryService {
+
+    private static final double Z_95 = 1.96;
+    static final String BOUND_SUFFIX = " ±95%";
+
+    private final DatabaseConnectionManager connectionManager;
+    private final SchemaManager schemaManager;
+    private final CatalogLoader catalogLoader;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs the query on a sample of the current connection's table
+     */
+    public ApproximateResult execute(String sql, double fraction) {
+        if (!(fraction > 0 && fraction <= 1)) {
+            throw new IllegalArgumentException("Sample size must be greater than 0% and at most 100%");
+        }
+        String connectionName = connectionManager.getCurrentConnectionName();
+        String dbType = connectionManager.getDatabaseType(connectionName);
+        SampleRewriter.SampledQuery sampled = SampleRewriter.rewrite(sql, dbType, fraction,
+                table -> singleKeyColumn(connectionName, table));
+        log.debug("Sampling {} of '{}' with {}: {}", fraction, connectionName, sampled.method(), sampled.sql());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+        Collector collector = new Collector();
+        try {
+            schemaManager.executeStreaming(sampled.sql(), collector);
+        } finally {
+            sample.stop(Timer.builder("database.sql.sample.duration").tag("method", sampled.method()).register(meterRegistry));
+        }
+
+        Map<Integer, SampleRewriter.ScaledColumn> scaledByIndex = new HashMap<>();
+        List<String> scaledColumns = new ArrayList<>();
+        for (SampleRewriter.ScaledColumn column : sampled.scaledColumns()) {
+            scaledByIndex.put(column.index(), column);
+            scaledColumns.add(collector.columns.get(column.index()));
+        }
+        List<Map<String, Object>> rows = new ArrayList<>(collector.rows.size());
+        for (Object[] values : collector.rows) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < sampled.visibleColumns(); i++) {
+                String name = collector.columns.get(i);
+                SampleRewriter.ScaledColumn column = scaledByIndex.get(i);
+                if (column == null) {
+                    row.put(name, values[i]);
+                } else {
+                    // a counted row contributes 1 to the variance, a summed value its square
+                    Object squares = column.aggregate() == SampleRewriter.Aggregate.COUNT ? values[i] : values[column.squaresIndex()];
+                    row.put(name, estimate(values[i], fraction));
+                    row.put(name + BOUND_SUFFIX, bound(squares, fraction));
+                }
+            }
+            rows.add(row);
+        }
+
+        return ApproximateResult.builder()
+                .connectionName(connectionName)
+                .sql(sql)
+                .sampledSql(sampled.sql())
+                .fraction(fraction)
+                .method(sampled.method())
+                .durationMillis(System.currentTimeMillis() - start)
+                .rows(rows)
+                .scaledColumns(scaledColumns)
+                .warnings(sampled.warnings())
+                .build();
+    }
+
+    /**
+     * Parses "1%", "0.5%" or a plain fraction such as "0.01"
+     */
+    public static double parseFraction(String text) {
+        String value = text.trim();
+        try {
+            return value.endsWith("%")
+                    ? Double.parseDouble(value.substring(0, value.length() - 1).trim()) / 100
+                    : Double.parseDouble(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid sample size '" + text + "', expected a percentage such as 1%");
+        }
+    }
+
+    /**
+     * Scales a sampled value up to the whole table, keeping integers integral and decimals at their scale
+     */
+    private static Object estimate(Object value, double fraction) {
+        if (!(value instanceof Number number)) {
+            return value;
+        }
+        double estimate = number.doubleValue() / fraction;
+        if (number instanceof BigDecimal decimal && decimal.scale() > 0) {
+            return BigDecimal.valueOf(estimate).setScale(decimal.scale(), RoundingMode.HALF_UP);
+        }
+        if (number instanceof BigDecimal || number instanceof BigInteger || number instanceof Long
+                || number instanceof Integer || number instanceof Short) {
+            return Math.round(estimate);
+        }
+        return estimate;
+    }
+
+    private static String bound(Object squares, double fraction) {
+        if (!(squares instanceof Number number)) {
+            return null;
+        }
+        double bound = Z_95 * Math.sqrt(number.doubleValue() * (1 - fraction)) / fraction;
+        return bound >= 10 ? String.format("± %,.0f", bound) : String.format("± %.2f", bound);
+    }
+
+    private String singleKeyColumn(String connectionName, String tableReference) {
+        int dot = tableReference.lastIndexOf('.');
+        String schema = dot > 0 ? unquote(tableReference.substring(0, dot)) : null;
+        String table = unquote(tableReference.substring(dot + 1));
+        List<String> primaryKey = catalogLoader.findTable(connectionName, schema, table)
+                .map(TableDefinition::getPrimaryKey)
+                .orElse(List.of());
+        return primaryKey.size() == 1 ? primaryKey.get(0) : null;
+    }
+
+    private static String unquote(String identifier) {
+        return identifier.length() > 1 && (identifier.startsWith("\"") || identifier.startsWith("`"))
+                ? identifier.substring(1, identifier.length() - 1) : identifier;
+    }
+
+    /**
+     * Keeps rows by position, since aggregate columns may share a name
+     */
+    private static final class Collector implements RowSink {
+        private List<String> columns = List.of();
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void start(List<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            rows.add(values);
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.nativecliapp.approx;
+
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dialect.Dialects;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.UnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rewrites a single-table SELECT to read a sample of its table, with the sampling clause of the
+ * {@link Dialect} where it has one and otherwise keeping the rows whose hashed primary key falls
+ * below a threshold. COUNT and SUM items are marked for scaling, and each SUM gets a hidden
+ * sum of squares column so its error bound can be computed.
+ */
+public final class SampleRewriter {
+
+    /** Hashed-key filters keep rows whose hash modulo this value is below fraction times this value */
+    static final int HASH_BUCKETS = 1_000_000;
+
+    private static final Pattern SELECT = Pattern.compile("^SELECT\\s", Pattern.CASE_INSENSITIVE);
+    private static final Pattern FROM = Pattern.compile("\\bFROM\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern WHERE = Pattern.compile("^WHERE\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLAUSE_AFTER_FROM = Pattern.compile(
+            "\\b(WHERE|GROUP\\s+BY|HAVING|ORDER\\s+BY|LIMIT|OFFSET|FETCH|WINDOW)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern CLAUSE_AFTER_WHERE = Pattern.compile(
+            "\\b(GROUP\\s+BY|HAVING|ORDER\\s+BY|LIMIT|OFFSET|FETCH|WINDOW)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SET_OPERATION = Pattern.compile("\\b(UNION|INTERSECT|EXCEPT|MINUS)\\b", Pattern.CASE_INSENSITIVE);
+    private static final Pattern JOIN = Pattern.compile("\\bJOIN\\b|[,(]", Pattern.CASE_INSENSITIVE);
+    private static final Pattern AGGREGATE = Pattern.compile(
+            "\\s*(COUNT|SUM)\\s*\\(\\s*\\)\\s*((AS\\s+)?\\S+)?\\s*", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ANY_AGGREGATE = Pattern.compile("\\b(COUNT|SUM)\\s*\\(", Pattern.CASE_INSENSITIVE);
+    private static final Pattern DISTINCT = Pattern.compile("^\\s*DISTINCT\\b", Pattern.CASE_INSENSITIVE);
+
+    private SampleRewriter() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public enum Aggregate {
+        COUNT,
+        SUM
+    }
+
+    /**
+     * A select-list item scaled by the inverse of the sampling fraction; squaresIndex points at the
+     * hidden sum of squares column of a SUM and is -1 for COUNT
+     */
+    public record ScaledColumn(int index, Aggregate aggregate, int squaresIndex) {
+    }
+
+    /**
+     * The rewritten statement; its hidden columns follow the visible ones
+     */
+    public record SampledQuery(String sql, String method, int visibleColumns, List<ScaledColumn> scaledColumns,
+                               List<String> warnings) {
+    }
+
+    /**
+     * Rewrites the query for the given database type. keyLookup maps the table reference to its
+     * single primary key column and is only asked for hashed-key sampling; when it returns null,
+     * rows are picked at random.
+     */
+    public static SampledQuery rewrite(String sql, String dbType, double fraction, UnaryOperator<String> keyLookup) {
+        String statement = stripTerminator(sql);
+        String masked = mask(statement);
+        if (!SELECT.matcher(masked).find()) {
+            throw new IllegalArgumentException("--sample only applies to SELECT statements");
+        }
+        if (SET_OPERATION.matcher(masked).find()) {
+            throw new IllegalArgumentException("--sample does not support UNION, INTERSECT or EXCEPT");
+        }
+        Matcher from = FROM.matcher(masked);
+        if (!from.find()) {
+            throw new IllegalArgumentException("--sample needs a query with a FROM clause");
+        }
+        int tableStart = from.end();
+        Matcher clause = CLAUSE_AFTER_FROM.matcher(masked);
+        int tableEnd = clause.find(tableStart) ? clause.start() : statement.length();
+        if (JOIN.matcher(masked.substring(tableStart, tableEnd)).find()) {
+            throw new IllegalArgumentException("--sample supports queries over a single table without joins or subqueries");
+        }
+
+        String selectList = statement.substring("SELECT".length(), from.start());
+        if (DISTINCT.matcher(selectList).find()) {
+            throw new IllegalArgumentException("SELECT DISTINCT cannot be estimated from a sample");
+        }
+        String tableReference = statement.substring(tableStart, tableEnd).trim();
+        String[] parts = tableReference.split("\\s+");
+        String table = parts[0];
+        String alias = parts.length > 1 ? parts[parts.length - 1] : null;
+        String percent = BigDecimal.valueOf(fraction * 100).stripTrailingZeros().toPlainString();
+
+        Dialect dialect = Dialects.of(dbType);
+        List<String> warnings = new ArrayList<>();
+        String method;
+        String fromClause = tableReference;
+        String predicate = null;
+        Dialect.TableSample tableSample = dialect.tableSample(table, alias, percent);
+        if (tableSample != null) {
+            method = tableSample.method();
+            fromClause = tableSample.fromClause();
+            if (tableSample.pageLevel()) {
+                // block sampling keeps or skips whole pages, so clustered data widens the real error
+                warnings.add("Error bounds assume independent rows; page-level sampling can be less accurate on clustered data");
+            }
+        } else {
+            String keyColumn = keyLookup.apply(table);
+            String hash = keyColumn != null ? dialect.keyHash((alias != null ? alias : table) + "." + keyColumn) : null;
+            if (hash != null) {
+                method = "hashed primary key";
+                predicate = "MOD(" + hash + ", " + HASH_BUCKETS + ") < " + Math.round(fraction * HASH_BUCKETS);
+            } else if (dialect.randomValue() != null) {
+                method = "random rows";
+                predicate = dialect.randomValue() + " < " + BigDecimal.valueOf(fraction).toPlainString();
+                warnings.add("No single-column primary key, so rows are picked at random and results vary per run");
+            } else {
+                throw new IllegalArgumentException("Sampling is not supported for " + dbType + " connections");
+            }
+        }
+
+        List<String> items = splitTopLevel(selectList);
+        List<ScaledColumn> scaled = new ArrayList<>();
+        StringBuilder select = new StringBuilder(selectList.stripTrailing());
+        int hidden = 0;
+        for (int i = 0; i < items.size(); i++) {
+            String item = items.get(i);
+            Matcher aggregate = AGGREGATE.matcher(mask(item));
+            if (!aggregate.matches()) {
+                if (ANY_AGGREGATE.matcher(maskQuotes(item)).find()) {
+                    warnings.add("Not scaled: " + item.trim() + " (only bare COUNT and SUM items are scaled, not expressions around them)");
+                }
+                continue;
+            }
+            String argument = item.substring(item.indexOf('(') + 1, item.lastIndexOf(')')).trim();
+            if (DISTINCT.matcher(argument).find()) {
+                warnings.add("Not scaled: " + item.trim() + " (distinct counts do not grow linearly with the sample)");
+            } else if (aggregate.group(1).equalsIgnoreCase("COUNT")) {
+                scaled.add(new ScaledColumn(i, Aggregate.COUNT, -1));
+            } else {
+                scaled.add(new ScaledColumn(i, Aggregate.SUM, items.size() + hidden));
+                select.append(", SUM((").append(argument).append(") * 1.0 * (").append(argument)
+                        .append(")) AS approx_sq_").append(++hidden);
+            }
+        }
+
+        StringBuilder rewritten = new StringBuilder("SELECT").append(select).append(" FROM ").append(fromClause);
+        String rest = statement.substring(tableEnd);
+        if (predicate != null) {
+            if (WHERE.matcher(mask(rest)).find()) {
+                String condition = rest.substring("WHERE".length());
+                Matcher after = CLAUSE_AFTER_WHERE.matcher(mask(condition));
+                int conditionEnd = after.find() ? after.start() : condition.length();
+                rewritten.append(" WHERE (").append(predicate).append(") AND (")
+                        .append(condition.substring(0, conditionEnd).trim()).append(')');
+                rest = condition.substring(conditionEnd);
+            } else {
+                rewritten.append(" WHERE ").append(predicate);
+            }
+        }
+        if (!rest.isBlank()) {
+            rewritten.append(' ').append(rest.trim());
+        }
+
+        return new SampledQuery(rewritten.toString(), method, items.size(), scaled, warnings);
+    }
+
+    /**
+     * Blanks out quoted text and everything nested inside parentheses, keeping the length and the
+     * outermost parentheses, so clause keywords and commas can be found by position
+     */
+    static String mask(String sql) {
+        return mask(sql, true);
+    }
+
+    private static String maskQuotes(String sql) {
+        return mask(sql, false);
+    }
+
+    private static String mask(String sql, boolean nested) {
+        char[] masked = sql.toCharArray();
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < masked.length; i++) {
+            char c = sql.charAt(i);
+            if (quote != 0) {
+                masked[i] = ' ';
+                if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+                masked[i] = ' ';
+            } else if (!nested) {
+                continue;
+            } else if (c == '(') {
+                if (depth++ > 0) {
+                    masked[i] = ' ';
+                }
+            } else if (c == ')') {
+                if (--depth > 0) {
+                    masked[i] = ' ';
+                }
+            } else if (depth > 0) {
+                masked[i] = ' ';
+            }
+        }
+        return new String(masked);
+    }
+
+    private static List<String> splitTopLevel(String list) {
+        String masked = mask(list);
+        List<String> items = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < masked.length(); i++) {
+            if (masked.charAt(i) == ',') {
+                items.add(list.substring(start, i));
+                start = i + 1;
+            }
+        }
+        items.add(list.substring(start));
+        return items;
+    }
+
+    private static String stripTerminator(String sql) {
+        String statement = sql.strip();
+        while (statement.endsWith(";")) {
+            statement = statement.substring(0, statement.length() - 1).stripTrailing();
+        }
+        return statement;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.nativecliapp.batch;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Headless start-up for scripts and cron jobs: selected by --script or --batch on the command
+ * line, it runs the application with the batch profile, no banner and no interactive shell, and
+ * exits with the {@link BatchRunner} status.
+ */
+public final class BatchMode {
+
+    public static final String PROFILE = "batch";
+
+    private static final Set<String> VALUE_OPTIONS = Set.of("--script", "--format", "--connection", "--socket");
+
+    private BatchMode() {
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--batch") || arg.equals("--script") || arg.startsWith("--script=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int run(Class<?> source, String[] args) {
+        return start(source, args, PROFILE);
+    }
+
+    /**
+     * Runs the application headless with the given profiles until its runners are done
+     */
+    static int start(Class<?> source, String[] args, String... profiles) {
+        System.setProperty("spring.devtools.restart.enabled", "false"); // a restart would swallow the exit code
+        ConfigurableApplicationContext context;
+        try {
+            context = new SpringApplicationBuilder(source)
+                    .profiles(profiles)
+                    .bannerMode(Banner.Mode.OFF)
+                    .logStartupInfo(false)
+                    .run(normalize(args));
+        } catch (RuntimeException e) {
+            // console logging is off in batch mode, so the cause would otherwise go unreported
+            System.err.println("error: start-up failed: " + rootMessage(e));
+            return BatchRunner.EXIT_CONNECTION_ERROR;
+        }
+        return SpringApplication.exit(context);
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable cause = e;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getMessage();
+    }
+
+    /**
+     * Joins "--script file" into "--script=file" so Spring parses it as an option value
+     */
+    static String[] normalize(String[] args) {
+        List<String> normalized = new ArrayList<>(args.length);
+        for (int i = 0; i < args.length; i++) {
+            if (VALUE_OPTIONS.contains(args[i]) && i + 1 < args.length && !args[i + 1].startsWith("--")) {
+                normalized.add(args[i] + "=" + args[++i]);
+            } else {
+                normalized.add(args[i]);
+            }
+        }
+        return normalized.toArray(String[]::new);
+    }
+}
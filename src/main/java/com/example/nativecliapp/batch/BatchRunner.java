@@ -0,0 +1,100 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.exception.DatabaseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.FileDescriptor;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Runs a script of SQL statements and meta-commands without the interactive shell, streaming
+ * every result to stdout as CSV or JSON Lines. Errors go to stderr and the process exit code
+ * tells the caller what failed. Meta-commands are the lines below prefixed with a backslash.
+ *
+ * <pre>
+ * connect name type url [username] [password]
+ * use name
+ * format csv|json
+ * schemas
+ * tables [schema]
+ * describe table [schema]
+ * </pre>
+ */
+@Component
+@Profile(BatchMode.PROFILE + " & !" + DaemonMode.PROFILE)
+@RequiredArgsConstructor
+public class BatchRunner implements ApplicationRunner, ExitCodeGenerator {
+
+    public static final int EXIT_OK = 0;
+    public static final int EXIT_SQL_ERROR = 1;
+    public static final int EXIT_USAGE_ERROR = 2;
+    /** Connection failures, including a connection that cannot be opened at start-up */
+    public static final int EXIT_CONNECTION_ERROR = 3;
+
+    private final DatabaseConnectionManager connectionManager;
+    private final SchemaManager schemaManager;
+
+    private int exitCode = EXIT_OK;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        List<String> scripts = args.getOptionValues("script");
+        String script = scripts != null && !scripts.isEmpty() ? scripts.get(0) : "-";
+        boolean continueOnError = args.containsOption("continue-on-error");
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(FileDescriptor.out), StandardCharsets.UTF_8));
+        BatchSession session = new BatchSession(connectionManager, schemaManager, out,
+                new PrintWriter(new OutputStreamWriter(System.err, StandardCharsets.UTF_8)), false);
+        try {
+            if (args.containsOption("format")) {
+                session.setFormat(args.getOptionValues("format").get(0));
+            }
+            if (args.containsOption("connection")) {
+                session.use(args.getOptionValues("connection").get(0));
+            }
+        } catch (IllegalArgumentException e) {
+            exitCode = session.report(EXIT_USAGE_ERROR, 0, e.getMessage());
+            return;
+        } catch (DatabaseException e) {
+            exitCode = session.report(EXIT_CONNECTION_ERROR, 0, e.getMessage());
+            return;
+        }
+
+        try (BufferedReader reader = "-".equals(script)
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Path.of(script), StandardCharsets.UTF_8)) {
+            exitCode = session.run(reader, continueOnError);
+        } catch (NoSuchFileException e) {
+            exitCode = session.report(EXIT_USAGE_ERROR, 0, "Script '" + script + "' not found");
+        } catch (IOException | UncheckedIOException e) {
+            exitCode = Math.max(exitCode, session.report(EXIT_USAGE_ERROR, 0, "Cannot read script '" + script + "': " + e.getMessage()));
+        } finally {
+            session.flush();
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.TableInfo;
+import com.example.nativecliapp.exception.ConnectionException;
+import com.example.nativecliapp.exception.DatabaseException;
+import com.example.nativecliapp.result.RowSink;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * One run of a script as described on {@link BatchRunner}. The session keeps its own current
+ * connection and output format, so scripts run side by side by the daemon do not switch each
+ * other's connection; a connect to a connection that is already open the same way keeps its pools.
+ * Connections themselves belong to the process, so a shared session, one run by the daemon, may not
+ * redefine an open connection: that would close pools other clients' scripts are using.
+ */
+@Slf4j
+class BatchSession {
+
+    private static final Pattern ARGUMENT = Pattern.compile("\"([^\"]*)\"|'([^']*)'|(\\S+)");
+
+    private final DatabaseConnectionManager connectionManager;
+    private final SchemaManager schemaManager;
+    private final Writer out;
+    private final PrintWriter err;
+    private final boolean shared;
+
+    private String connectionName;
+    private RowSink sink;
+
+    BatchSession(DatabaseConnectionManager connectionManager, SchemaManager schemaManager, Writer out, PrintWriter err,
+                 boolean shared) {
+        this.connectionManager = connectionManager;
+        this.schemaManager = schemaManager;
+        this.out = out;
+        this.err = err;
+        this.shared = shared;
+        this.connectionName = connectionManager.getCurrentConnectionName();
+        setFormat("csv");
+    }
+
+    /**
+     * Runs the statements until the script ends, or until the first failure unless continueOnError
+     * is set, and returns the highest exit status seen
+     */
+    int run(BufferedReader script, boolean continueOnError) throws IOException {
+        int exitCode = BatchRunner.EXIT_OK;
+        ScriptReader statements = new ScriptReader(script);
+        ScriptReader.Statement statement;
+        while ((statement = statements.next()) != null) {
+            int status = execute(statement);
+            out.flush();
+            if (status != BatchRunner.EXIT_OK) {
+                exitCode = Math.max(exitCode, status);
+                if (!continueOnError) {
+                    break;
+                }
+            }
+        }
+        return exitCode;
+    }
+
+    void setFormat(String value) {
+        String format = value.toLowerCase(Locale.ROOT);
+        sink = switch (format) {
+            case "csv" -> new CsvRowSink(out);
+            case "json", "jsonl" -> new JsonLinesRowSink(out);
+            default -> throw new IllegalArgumentException("Unknown format '" + value + "', expected csv or json");
+        };
+    }
+
+    /**
+     * Makes an open connection the session's current one
+     */
+    void use(String name) {
+        connectionManager.getDatabaseType(name);
+        connectionName = name;
+    }
+
+    /**
+     * Writes an error to the error stream after the output so far and returns the status
+     */
+    int report(int status, int line, String message) {
+        flush();
+        err.println(line > 0 ? "error at line " + line + ": " + message : "error: " + message);
+        err.flush();
+        return status;
+    }
+
+    void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            log.debug("Failed to flush batch output: {}", e.getMessage());
+        }
+    }
+
+    private int execute(ScriptReader.Statement statement) {
+        try {
+            if (statement.meta()) {
+                meta(statement.text());
+            } else {
+                schemaManager.executeStreaming(connectionName, statement.text(), sink, Workload.BULK);
+            }
+            return BatchRunner.EXIT_OK;
+        } catch (IllegalArgumentException e) {
+            return report(BatchRunner.EXIT_USAGE_ERROR, statement.line(), e.getMessage());
+        } catch (ConnectionException e) {
+            return report(BatchRunner.EXIT_CONNECTION_ERROR, statement.line(), e.getMessage());
+        } catch (DatabaseException | IllegalStateException e) {
+            return report(BatchRunner.EXIT_SQL_ERROR, statement.line(), e.getMessage());
+        }
+    }
+
+    private void connect(String name, String dbType, String url, String username, String password) {
+        // sessions of the daemon connect concurrently, so checking and creating must not interleave
+        synchronized (connectionManager) {
+            if (connectionManager.isOpen(name, dbType, url, username)) {
+                return;
+            }
+            if (shared && connectionManager.getConnectionNames().contains(name)) {
+                throw new IllegalArgumentException("Connection '" + name + "' is already open with other settings "
+                        + "and may be in use by other clients of the daemon; connect under a new name");
+            }
+            connectionManager.createConnection(name, dbType, url, username, password);
+        }
+    }
+
+    private void meta(String command) {
+        List<String> words = new ArrayList<>();
+        Matcher matcher = ARGUMENT.matcher(command.substring(1));
+        while (matcher.find()) {
+            words.add(matcher.group(1) != null ? matcher.group(1)
+                    : matcher.group(2) != null ? matcher.group(2) : matcher.group(3));
+        }
+        if (words.isEmpty()) {
+            throw new IllegalArgumentException("Empty meta-command");
+        }
+
+        String name = words.get(0).toLowerCase(Locale.ROOT);
+        List<String> arguments = words.subList(1, words.size());
+        switch (name) {
+            case "connect" -> {
+                require(arguments, 3, "\\connect name type url [username] [password]");
+                String username = arguments.size() > 3 ? arguments.get(3) : null;
+                connect(arguments.get(0), arguments.get(1), arguments.get(2), username, arguments.size() > 4 ? arguments.get(4) : null);
+                use(arguments.get(0));
+            }
+            case "use" -> {
+                require(arguments, 1, "\\use name");
+                use(arguments.get(0));
+            }
+            case "format" -> {
+                require(arguments, 1, "\\format csv|json");
+                setFormat(arguments.get(0));
+            }
+            case "schemas" -> {
+                List<String> schemas = schemaManager.listSchemas(connectionName);
+                sink.start(List.of("SCHEMA"));
+                schemas.forEach(schema -> sink.row(new Object[]{schema}));
+                sink.end(schemas.size());
+            }
+            case "tables" -> {
+                List<TableInfo> tables = schemaManager.listTables(connectionName, arguments.isEmpty() ? null : arguments.get(0));
+                sink.start(List.of("SCHEMA", "NAME", "TYPE", "REMARKS"));
+                tables.forEach(table -> sink.row(new Object[]{table.getSchema(), table.getName(), table.getType(), table.getRemarks()}));
+                sink.end(tables.size());
+            }
+            case "describe" -> {
+                require(arguments, 1, "\\describe table [schema]");
+                List<ColumnInfo> columns = schemaManager.describeTable(connectionName,
+                        arguments.size() > 1 ? arguments.get(1) : null, arguments.get(0));
+                sink.start(List.of("POSITION", "NAME", "TYPE", "SIZE", "NULLABLE", "DEFAULT", "PRIMARY_KEY"));
+                columns.forEach(column -> sink.row(new Object[]{column.getPosition(), column.getName(), column.getType(),
+                        column.getSize(), column.isNullable(), column.getDefaultValue(), column.isPrimaryKey()}));
+                sink.end(columns.size());
+            }
+            default -> throw new IllegalArgumentException("Unknown meta-command '\\" + words.get(0) + "'");
+        }
+    }
+
+    private static void require(List<String> arguments, int count, String usage) {
+        if (arguments.size() < count) {
+            throw new IllegalArgumentException("Usage: " + usage);
+        }
+    }
+}
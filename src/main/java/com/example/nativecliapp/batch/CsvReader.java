@@ -0,0 +1,110 @@
+package com.example.nativecliapp.batch;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV as written by {@link CsvRowSink}: an empty unquoted field is NULL, a quoted
+ * empty field is an empty string, and quoted fields may span lines
+ */
+public class CsvReader {
+
+    private final Reader in;
+    private int peeked = -2;
+    private long line = 1;
+
+    public CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * The fields of the next record, an empty list for a blank line and null at the end of input
+     */
+    public List<String> next() throws IOException {
+        int c = read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        if (c == '\n' || (c == '\r' && skipNewline())) {
+            line++;
+            return fields;
+        }
+        unread(c);
+
+        while (true) {
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            c = read();
+            if (c == '"') {
+                quoted = true;
+                while (true) {
+                    c = read();
+                    if (c == -1) {
+                        throw new IOException("Unterminated quoted field starting before line " + line);
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following != '"') {
+                            c = following;
+                            break;
+                        }
+                    } else if (c == '\n') {
+                        line++;
+                    }
+                    field.append((char) c);
+                }
+                if (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    throw new IOException("Unexpected character after a quoted field on line " + line);
+                }
+            } else {
+                while (c != ',' && c != '\n' && c != '\r' && c != -1) {
+                    field.append((char) c);
+                    c = read();
+                }
+            }
+            fields.add(quoted || !field.isEmpty() ? field.toString() : null);
+
+            if (c == ',') {
+                continue;
+            }
+            if (c == '\r') {
+                skipNewline();
+            }
+            if (c != -1) {
+                line++;
+            }
+            return fields;
+        }
+    }
+
+    /**
+     * Number of the line the next record starts on
+     */
+    public long getLine() {
+        return line;
+    }
+
+    private boolean skipNewline() throws IOException {
+        int c = read();
+        if (c != '\n') {
+            unread(c);
+        }
+        return true;
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private void unread(int c) {
+        peeked = c;
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.result.RowSink;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes results as RFC 4180 CSV with a header line; NULL is an empty field and consecutive
+ * results are separated by a blank line
+ */
+class CsvRowSink implements RowSink {
+
+    private final Writer out;
+    private boolean first = true;
+
+    CsvRowSink(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        separate();
+        line(columns.toArray());
+    }
+
+    @Override
+    public void row(Object[] values) {
+        line(values);
+    }
+
+    @Override
+    public void updated(long count) {
+        separate();
+        line(new Object[]{"updated"});
+        line(new Object[]{count});
+    }
+
+    private void separate() {
+        if (!first) {
+            write("\r\n");
+        }
+        first = false;
+    }
+
+    private void line(Object[] values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            String text = ValueText.of(values[i]);
+            if (text != null) {
+                appendField(line, text);
+            }
+        }
+        write(line.append("\r\n").toString());
+    }
+
+    private static void appendField(StringBuilder line, String text) {
+        boolean quote = text.isEmpty() || text.chars().anyMatch(c -> c == ',' || c == '"' || c == '\n' || c == '\r');
+        if (!quote) {
+            line.append(text);
+            return;
+        }
+        line.append('"').append(text.replace("\"", "\"\"")).append('"');
+    }
+
+    private void write(String text) {
+        try {
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
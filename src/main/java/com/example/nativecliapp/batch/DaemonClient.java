@@ -0,0 +1,155 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The thin side of daemon mode: selected by --client, it starts no application context, sends
+ * the script to the {@link DaemonServer} listening on the socket and copies the results it streams
+ * back to stdout and stderr, exiting with the script's status just like a batch run. The client
+ * reads no configuration, so it connects to the default socket unless given --socket; a daemon
+ * whose database.daemon-socket is set elsewhere needs that path passed to every client.
+ *
+ * <pre>
+ * app --daemon [--socket path] &amp;
+ * app --client [--socket path] [--script file] [--format csv|json] [--connection name] [--continue-on-error]
+ * app --client --stop
+ * </pre>
+ */
+public final class DaemonClient {
+
+    private DaemonClient() {
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--client")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int run(String[] args) {
+        return run(args, System.in, System.out, System.err);
+    }
+
+    static int run(String[] args, InputStream stdin, PrintStream stdout, PrintStream stderr) {
+        Map<String, String> arguments = parse(BatchMode.normalize(args));
+        Path socket = Path.of(arguments.getOrDefault("socket", DatabaseConstants.DEFAULT_DAEMON_SOCKET));
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String name : new String[]{"format", "connection", "continue-on-error", "stop"}) {
+            if (arguments.containsKey(name)) {
+                options.put(name, arguments.get(name));
+            }
+        }
+
+        String script = arguments.getOrDefault("script", "-");
+        InputStream input;
+        try {
+            input = options.containsKey("stop") ? InputStream.nullInputStream()
+                    : "-".equals(script) ? stdin : Files.newInputStream(Path.of(script));
+        } catch (NoSuchFileException e) {
+            stderr.println("error: Script '" + script + "' not found");
+            return BatchRunner.EXIT_USAGE_ERROR;
+        } catch (IOException e) {
+            stderr.println("error: Cannot read script '" + script + "': " + e.getMessage());
+            return BatchRunner.EXIT_USAGE_ERROR;
+        }
+
+        try (input; SocketChannel channel = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            try {
+                channel.connect(UnixDomainSocketAddress.of(socket));
+            } catch (IOException e) {
+                stderr.println("error: no daemon is listening on " + socket + ", start one with --daemon");
+                return BatchRunner.EXIT_CONNECTION_ERROR;
+            }
+            OutputStream request = DaemonProtocol.output(channel);
+            DaemonProtocol.writeOptions(request, options);
+            Thread sender = new Thread(() -> send(input, request, channel), "daemon-client-send");
+            sender.setDaemon(true);
+            sender.start();
+            return receive(new DataInputStream(new BufferedInputStream(DaemonProtocol.input(channel))), stdout, stderr);
+        } catch (EOFException e) {
+            stdout.flush();
+            stderr.println("error: the daemon closed the connection before the script finished");
+            return BatchRunner.EXIT_CONNECTION_ERROR;
+        } catch (IOException e) {
+            stdout.flush();
+            stderr.println("error: daemon connection failed: " + e.getMessage());
+            return BatchRunner.EXIT_CONNECTION_ERROR;
+        }
+    }
+
+    /**
+     * Streams the script while results come back, so a script piped from a slow producer starts
+     * running before it is complete
+     */
+    private static void send(InputStream script, OutputStream request, SocketChannel channel) {
+        try {
+            script.transferTo(request);
+            channel.shutdownOutput();
+        } catch (IOException e) {
+            // the daemon hung up; receive reports it
+        }
+    }
+
+    private static int receive(DataInputStream frames, PrintStream stdout, PrintStream stderr) throws IOException {
+        byte[] buffer = new byte[8192];
+        while (true) {
+            byte channel = frames.readByte();
+            int value = frames.readInt();
+            if (channel == DaemonProtocol.EXIT) {
+                stdout.flush();
+                return value;
+            }
+            PrintStream target = channel == DaemonProtocol.STDERR ? stderr : stdout;
+            if (channel == DaemonProtocol.STDERR) {
+                stdout.flush();
+            }
+            for (int remaining = value; remaining > 0; ) {
+                int read = frames.read(buffer, 0, Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException();
+                }
+                target.write(buffer, 0, read);
+                remaining -= read;
+            }
+            target.flush();
+        }
+    }
+
+    /**
+     * Reads --name=value options and bare --flags, which become "true"
+     */
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> arguments = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                continue;
+            }
+            int equals = arg.indexOf('=');
+            if (equals > 0) {
+                arguments.put(arg.substring(2, equals), arg.substring(equals + 1));
+            } else {
+                arguments.put(arg.substring(2), "true");
+            }
+        }
+        return arguments;
+    }
+}
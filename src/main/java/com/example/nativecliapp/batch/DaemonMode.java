@@ -0,0 +1,27 @@
+package com.example.nativecliapp.batch;
+
+/**
+ * Start-up of the long-lived process behind {@link DaemonClient}: selected by --daemon, it runs
+ * the application headless like {@link BatchMode} but serves scripts from a Unix domain socket
+ * with {@link DaemonServer} until a client stops it.
+ */
+public final class DaemonMode {
+
+    public static final String PROFILE = "daemon";
+
+    private DaemonMode() {
+    }
+
+    public static boolean isRequested(String[] args) {
+        for (String arg : args) {
+            if (arg.equals("--daemon")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public static int run(Class<?> source, String[] args) {
+        return BatchMode.start(source, args, BatchMode.PROFILE, PROFILE);
+    }
+}
@@ -0,0 +1,126 @@
+package com.example.nativecliapp.batch;
+
+import java.io.BufferedReader;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wire format between {@link DaemonClient} and {@link DaemonServer}. The client sends option
+ * lines of the form name=value, an empty line, and then the script until it shuts down its side.
+ * The server answers with frames of one channel byte and a length-prefixed payload for stdout and
+ * stderr, and ends with an exit frame carrying the exit status.
+ */
+final class DaemonProtocol {
+
+    static final byte STDOUT = 'O';
+    static final byte STDERR = 'E';
+    static final byte EXIT = 'X';
+
+    private DaemonProtocol() {
+    }
+
+    static void writeOptions(OutputStream out, Map<String, String> options) throws IOException {
+        StringBuilder header = new StringBuilder();
+        options.forEach((name, value) -> header.append(name).append('=').append(value).append('\n'));
+        out.write(header.append('\n').toString().getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    static Map<String, String> readOptions(BufferedReader in) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        String line;
+        while ((line = in.readLine()) != null && !line.isEmpty()) {
+            int equals = line.indexOf('=');
+            if (equals < 0) {
+                throw new IOException("Malformed option line '" + line + "'");
+            }
+            options.put(line.substring(0, equals), line.substring(equals + 1));
+        }
+        return options;
+    }
+
+    /**
+     * A stream that sends everything written to it as frames of one channel
+     */
+    static OutputStream channel(DataOutputStream frames, byte channel) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return;
+                }
+                synchronized (frames) {
+                    frames.writeByte(channel);
+                    frames.writeInt(len);
+                    frames.write(b, off, len);
+                }
+            }
+
+            @Override
+            public void flush() throws IOException {
+                synchronized (frames) {
+                    frames.flush();
+                }
+            }
+        };
+    }
+
+    static void writeExit(DataOutputStream frames, int status) throws IOException {
+        synchronized (frames) {
+            frames.writeByte(EXIT);
+            frames.writeInt(status);
+            frames.flush();
+        }
+    }
+
+    /**
+     * Reads straight from the channel; unlike Channels.newInputStream it does not hold the
+     * channel's blocking lock, so another thread can keep writing while a read waits
+     */
+    static InputStream input(SocketChannel channel) {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                byte[] one = new byte[1];
+                return read(one, 0, 1) < 0 ? -1 : one[0] & 0xFF;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                if (len == 0) {
+                    return 0;
+                }
+                return channel.read(ByteBuffer.wrap(b, off, len));
+            }
+        };
+    }
+
+    static OutputStream output(SocketChannel channel) {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                write(new byte[]{(byte) b}, 0, 1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        };
+    }
+}
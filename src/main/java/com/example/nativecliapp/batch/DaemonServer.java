@@ -0,0 +1,205 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.exception.DatabaseException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.ExitCodeGenerator;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Serves scripts sent by {@link DaemonClient} over a Unix domain socket, each in its own
+ * {@link BatchSession} on the pools and compiled code of this one process, so repeated runs skip
+ * the start-up of a fresh JVM. The socket is readable by its owner only, as every client runs
+ * SQL with the credentials of the daemon's connections.
+ */
+@Component
+@Profile(DaemonMode.PROFILE)
+@Slf4j
+@RequiredArgsConstructor
+public class DaemonServer implements ApplicationRunner, ExitCodeGenerator {
+
+    /** Time running scripts get to finish once the daemon is told to stop */
+    private static final long STOP_GRACE_SECONDS = 30;
+
+    private final DatabaseConnectionManager connectionManager;
+    private final SchemaManager schemaManager;
+    private final DatabaseConfig databaseConfig;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger clientIds = new AtomicInteger();
+    private volatile ServerSocketChannel server;
+    private volatile Path socket;
+    private int exitCode = BatchRunner.EXIT_OK;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        socket = Path.of(args.containsOption("socket") ? args.getOptionValues("socket").get(0) : databaseConfig.getDaemonSocket());
+        try {
+            server = bind(socket);
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("error: cannot listen on " + socket + ": " + e.getMessage());
+            exitCode = BatchRunner.EXIT_USAGE_ERROR;
+            return;
+        }
+        // console logging is off in batch mode, so announce readiness on stderr for the scripts that start us
+        System.err.println("daemon listening on " + socket
+                + (socket.equals(Path.of(DatabaseConstants.DEFAULT_DAEMON_SOCKET)) ? "" : ", connect with --client --socket " + socket));
+
+        ExecutorService clients = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "daemon-client-" + clientIds.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            while (server.isOpen()) {
+                try {
+                    SocketChannel client = server.accept();
+                    clients.execute(() -> serve(client));
+                } catch (ClosedChannelException e) {
+                    break;
+                } catch (IOException e) {
+                    log.warn("Failed to accept a daemon client: {}", e.getMessage());
+                }
+            }
+        } finally {
+            clients.shutdown();
+            try {
+                clients.awaitTermination(STOP_GRACE_SECONDS, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            stop();
+        }
+    }
+
+    @Override
+    public int getExitCode() {
+        return exitCode;
+    }
+
+    /**
+     * Closes the socket so no new client connects; called by a stop request and on shutdown
+     */
+    @PreDestroy
+    public void stop() {
+        ServerSocketChannel listening = server;
+        if (listening == null) {
+            return;
+        }
+        try {
+            listening.close();
+            Files.deleteIfExists(socket);
+        } catch (IOException e) {
+            log.debug("Failed to close daemon socket {}: {}", socket, e.getMessage());
+        }
+    }
+
+    /**
+     * Listens on the path, replacing a stale socket file left by a daemon that did not shut down
+     * but refusing to take over from one that still answers
+     */
+    private static ServerSocketChannel bind(Path path) throws IOException {
+        UnixDomainSocketAddress address = UnixDomainSocketAddress.of(path);
+        if (Files.exists(path)) {
+            try (SocketChannel probe = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+                probe.connect(address);
+                throw new IllegalStateException("another daemon is already listening");
+            } catch (IOException e) {
+                Files.delete(path);
+            }
+        }
+        if (path.toAbsolutePath().getParent() != null) {
+            Files.createDirectories(path.toAbsolutePath().getParent());
+        }
+        ServerSocketChannel channel = ServerSocketChannel.open(StandardProtocolFamily.UNIX);
+        channel.bind(address);
+        try {
+            Files.setPosixFilePermissions(path, PosixFilePermissions.fromString("rw-------"));
+        } catch (UnsupportedOperationException e) {
+            log.debug("Cannot restrict permissions of {} on this file system", path);
+        }
+        return channel;
+    }
+
+    private void serve(SocketChannel client) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (client) {
+            BufferedReader in = new BufferedReader(new InputStreamReader(DaemonProtocol.input(client), StandardCharsets.UTF_8));
+            DataOutputStream frames = new DataOutputStream(new BufferedOutputStream(DaemonProtocol.output(client)));
+            Map<String, String> options = DaemonProtocol.readOptions(in);
+            if (options.containsKey("stop")) {
+                log.info("🛑 Daemon stop requested");
+                DaemonProtocol.writeExit(frames, BatchRunner.EXIT_OK);
+                stop();
+                return;
+            }
+
+            Writer out = new BufferedWriter(new OutputStreamWriter(
+                    DaemonProtocol.channel(frames, DaemonProtocol.STDOUT), StandardCharsets.UTF_8));
+            PrintWriter err = new PrintWriter(new OutputStreamWriter(
+                    DaemonProtocol.channel(frames, DaemonProtocol.STDERR), StandardCharsets.UTF_8));
+            BatchSession session = new BatchSession(connectionManager, schemaManager, out, err, true);
+            int status = configure(session, options);
+            if (status == BatchRunner.EXIT_OK) {
+                status = session.run(in, Boolean.parseBoolean(options.get("continue-on-error")));
+            }
+            session.flush();
+            DaemonProtocol.writeExit(frames, status);
+            meterRegistry.counter("database.daemon.scripts", "status", String.valueOf(status)).increment();
+        } catch (IOException e) {
+            log.debug("Daemon client went away: {}", e.getMessage());
+        } finally {
+            sample.stop(Timer.builder("database.daemon.script.duration").register(meterRegistry));
+        }
+    }
+
+    private static int configure(BatchSession session, Map<String, String> options) {
+        try {
+            if (options.containsKey("format")) {
+                session.setFormat(options.get("format"));
+            }
+            if (options.containsKey("connection")) {
+                session.use(options.get("connection"));
+            }
+            return BatchRunner.EXIT_OK;
+        } catch (IllegalArgumentException e) {
+            return session.report(BatchRunner.EXIT_USAGE_ERROR, 0, e.getMessage());
+        } catch (DatabaseException e) {
+            return session.report(BatchRunner.EXIT_CONNECTION_ERROR, 0, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.result.RowSink;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Writes every row as one JSON object per line keyed by column label. Numbers and booleans stay
+ * JSON-native, everything else is written as text.
+ */
+class JsonLinesRowSink implements RowSink {
+
+    private final JsonGenerator generator;
+    private List<String> columns = List.of();
+
+    JsonLinesRowSink(Writer out) {
+        try {
+            this.generator = new JsonFactory().createGenerator(out)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            this.generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        this.columns = columns;
+    }
+
+    @Override
+    public void row(Object[] values) {
+        try {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                writeValue(values[i]);
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void end(long rows) {
+        flush();
+    }
+
+    @Override
+    public void updated(long count) {
+        try {
+            generator.writeStartObject();
+            generator.writeNumberField("updated", count);
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        flush();
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof BigDecimal decimal) {
+            generator.writeNumber(decimal);
+        } else if (value instanceof BigInteger integer) {
+            generator.writeNumber(integer);
+        } else if ((value instanceof Double || value instanceof Float) && Double.isFinite(((Number) value).doubleValue())) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else {
+            generator.writeString(ValueText.of(value));
+        }
+    }
+
+    private void flush() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
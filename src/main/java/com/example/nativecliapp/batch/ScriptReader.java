@@ -0,0 +1,88 @@
+package com.example.nativecliapp.batch;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Splits a script into statements one at a time as it is read. SQL statements end with a
+ * semicolon outside quotes and may span lines; a line starting with a backslash is a
+ * meta-command on its own. Lines starting with -- or # are comments.
+ */
+class ScriptReader {
+
+    /**
+     * A statement and the line it starts on
+     */
+    record Statement(String text, int line, boolean meta) {
+    }
+
+    private final BufferedReader reader;
+    private int lineNumber;
+    private String rest;
+
+    ScriptReader(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * The next statement, or null at the end of the script
+     */
+    Statement next() throws IOException {
+        StringBuilder sql = new StringBuilder();
+        int startLine = 0;
+        char quote = 0;
+
+        String line;
+        while ((line = nextLine()) != null) {
+            String trimmed = line.strip();
+            if (sql.isEmpty()) {
+                if (trimmed.isEmpty() || trimmed.startsWith("--") || trimmed.startsWith("#")) {
+                    continue;
+                }
+                if (trimmed.startsWith("\\")) {
+                    return new Statement(trimmed, lineNumber, true);
+                }
+                startLine = lineNumber;
+            }
+
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quote != 0) {
+                    quote = c == quote ? 0 : quote;
+                } else if (c == '\'' || c == '"') {
+                    quote = c;
+                } else if (c == '-' && i + 1 < line.length() && line.charAt(i + 1) == '-') {
+                    break;
+                } else if (c == ';') {
+                    String text = sql.toString().strip();
+                    if (!text.isEmpty()) {
+                        rest = i + 1 < line.length() ? line.substring(i + 1) : null;
+                        return new Statement(text, startLine, false);
+                    }
+                    continue;
+                }
+                sql.append(c);
+            }
+            sql.append('\n');
+        }
+
+        String text = sql.toString().strip();
+        return text.isEmpty() ? null : new Statement(text, startLine, false);
+    }
+
+    /**
+     * Text left over after a statement ended mid-line, otherwise the next line of input
+     */
+    private String nextLine() throws IOException {
+        if (rest != null) {
+            String line = rest;
+            rest = null;
+            return line;
+        }
+        String line = reader.readLine();
+        if (line != null) {
+            lineNumber++;
+        }
+        return line;
+    }
+}
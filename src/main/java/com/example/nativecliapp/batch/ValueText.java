@@ -0,0 +1,41 @@
+package com.example.nativecliapp.batch;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Clob;
+import java.sql.SQLException;
+import java.util.HexFormat;
+
+/**
+ * Plain-text rendering of JDBC values for the batch output formats
+ */
+final class ValueText {
+
+    private ValueText() {
+    }
+
+    static String of(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[] bytes) {
+            return HexFormat.of().formatHex(bytes);
+        }
+        if (value instanceof Clob clob) {
+            try (Reader reader = clob.getCharacterStream()) {
+                StringBuilder text = new StringBuilder();
+                char[] buffer = new char[8192];
+                for (int read; (read = reader.read(buffer)) != -1; ) {
+                    text.append(buffer, 0, read);
+                }
+                return text.toString();
+            } catch (SQLException e) {
+                throw new IllegalStateException("Failed to read CLOB value: " + e.getMessage(), e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return value.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package com.example.nativecliapp.bench;
+
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.dtos.BenchmarkResult;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives a statement against a connection pool and measures it. Closed loop keeps every worker
+ * busy back to back; open loop starts requests on a fixed schedule and measures each one from
+ * its scheduled start, so time spent queueing behind a saturated pool is counted instead of
+ * hidden. Each run gets a pool of its own with one connection per worker, and pool acquire time
+ * and execution time are recorded separately.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BenchmarkService {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final int BACKLOG_PER_WORKER = 64;
+    private static final int MAX_ERROR_KINDS = 10;
+    private static final long DRAIN_TIMEOUT_SECONDS = 30;
+
+    private final DatabaseConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Runs the statement for the given time; a rate of 0 selects closed loop, otherwise open loop
+     * at that many requests per second
+     */
+    public BenchmarkResult run(String connectionName, String sql, int concurrency, Duration duration, int rate) {
+        if (concurrency <= 0 || duration.isZero() || duration.isNegative() || rate < 0) {
+            throw new IllegalArgumentException("Concurrency and duration must be positive and rate must not be negative");
+        }
+
+        return connectionManager.withDedicatedPool(connectionName, Workload.BULK, concurrency,
+                dataSource -> measure(connectionName, sql, concurrency, duration, rate, dataSource));
+    }
+
+    private BenchmarkResult measure(String connectionName, String sql, int concurrency, Duration duration, int rate,
+                                    DataSource dataSource) {
+        Measurements measurements = new Measurements(dataSource, sql);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(rate > 0 ? concurrency * BACKLOG_PER_WORKER : concurrency),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "bench-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        log.info("🏋️ Benchmarking '{}' with {} workers for {} ({})", connectionName, concurrency, duration,
+                rate > 0 ? rate + " req/s open loop" : "closed loop");
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        long dropped = 0;
+        try {
+            if (rate > 0) {
+                dropped = openLoop(workers, measurements, start, deadline, rate);
+            } else {
+                closedLoop(workers, measurements, deadline, concurrency);
+            }
+            drain(workers);
+        } finally {
+            workers.shutdownNow();
+            sample.stop(Timer.builder("database.bench.duration").tag("connection", connectionName).register(meterRegistry));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        return BenchmarkResult.builder()
+                .connectionName(connectionName)
+                .sql(sql)
+                .openLoop(rate > 0)
+                .concurrency(concurrency)
+                .targetRate(rate)
+                .durationMillis(elapsedMillis)
+                .requests(measurements.requests.sum())
+                .errors(measurements.errors.sum())
+                .dropped(dropped)
+                .poolSize(poolSize(dataSource))
+                .total(summarize(measurements.total))
+                .acquire(summarize(measurements.acquire))
+                .execution(summarize(measurements.execution))
+                .errorCounts(measurements.errorCounts())
+                .build();
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize() : -1;
+        } catch (SQLException e) {
+            return -1;
+        }
+    }
+
+    private void closedLoop(ExecutorService workers, Measurements measurements, long deadline, int concurrency) {
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    measurements.execute(System.nanoTime());
+                }
+            });
+        }
+    }
+
+    /**
+     * Dispatches requests at their scheduled times; requests that find the backlog full are
+     * dropped and counted rather than delaying the schedule
+     */
+    private long openLoop(ExecutorService workers, Measurements measurements, long start, long deadline, int rate) {
+        double intervalNanos = 1_000_000_000.0 / rate;
+        long dropped = 0;
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= deadline) {
+                return dropped;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            try {
+                workers.execute(() -> measurements.execute(scheduled));
+            } catch (RejectedExecutionException e) {
+                dropped++;
+            }
+        }
+    }
+
+    private void drain(ExecutorService workers) {
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(DRAIN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Benchmark requests still running {} s after the end, abandoning them", DRAIN_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static BenchmarkResult.Latency summarize(Histogram histogram) {
+        return new BenchmarkResult.Latency(histogram.getTotalCount(), histogram.getMean(),
+                histogram.getValueAtPercentile(50), histogram.getValueAtPercentile(95),
+                histogram.getValueAtPercentile(99), histogram.getValueAtPercentile(99.9), histogram.getMaxValue());
+    }
+
+    /**
+     * Latency histograms and counters shared by all workers of one run
+     */
+    private static final class Measurements {
+        private final DataSource dataSource;
+        private final String sql;
+        private final Histogram total = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram acquire = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final Histogram execution = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final Map<String, LongAdder> errorKinds = new ConcurrentHashMap<>();
+
+        Measurements(DataSource dataSource, String sql) {
+            this.dataSource = dataSource;
+            this.sql = sql;
+        }
+
+        /**
+         * Runs the statement once, reading any result to the end; total latency counts from the
+         * scheduled start
+         */
+        void execute(long scheduledStart) {
+            long begin = System.nanoTime();
+            try (Connection conn = dataSource.getConnection()) {
+                long acquired = System.nanoTime();
+                try (Statement stmt = conn.createStatement()) {
+                    if (stmt.execute(sql)) {
+                        try (ResultSet rs = stmt.getResultSet()) {
+                            while (rs.next()) {
+                                // drain so the measured time includes fetching the rows
+                            }
+                        }
+                    }
+                }
+                long done = System.nanoTime();
+                record(acquire, acquired - begin);
+                record(execution, done - acquired);
+                record(total, done - scheduledStart);
+            } catch (SQLException | RuntimeException e) {
+                // an open circuit breaker fails fast with a runtime exception; it counts like any
+                // other failed request instead of ending the worker
+                errors.increment();
+                String message = String.valueOf(e.getMessage()).lines().findFirst().orElse("");
+                String kind = errorKinds.size() < MAX_ERROR_KINDS || errorKinds.containsKey(message)
+                        ? message : "other errors";
+                errorKinds.computeIfAbsent(kind, key -> new LongAdder()).increment();
+            } finally {
+                requests.increment();
+            }
+        }
+
+        Map<String, Long> errorCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            errorKinds.entrySet().stream()
+                    .sorted(Map.Entry.<String, LongAdder>comparingByValue((a, b) -> Long.compare(b.sum(), a.sum())))
+                    .forEach(entry -> counts.put(entry.getKey(), entry.getValue().sum()));
+            return counts;
+        }
+
+        private static void record(Histogram histogram, long nanos) {
+            histogram.recordValue(Math.min(HIGHEST_TRACKABLE_MICROS, Math.max(0, nanos / 1_000)));
+        }
+    }
+}
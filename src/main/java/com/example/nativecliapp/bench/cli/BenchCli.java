@@ -0,0 +1,93 @@
+package com.example.nativecliapp.bench.cli;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.bench.BenchmarkService;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.BenchmarkResult;
+import com.example.nativecliapp.exception.DatabaseException;
+import com.example.nativecliapp.util.Durations;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.time.Duration;
+
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
+@ShellComponent
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class BenchCli {
+
+    private final BenchmarkService benchmarkService;
+    private final DatabaseConnectionManager connectionManager;
+
+    @ShellMethod(key = {"bench", "benchmark"}, value = "🏋️ Load-test a statement and report latency percentiles")
+    public String bench(
+            @ShellOption(value = {"-q", "--query"}, help = "Statement to run") String sql,
+            @ShellOption(value = {"--concurrency"}, help = "Concurrent workers", defaultValue = "" + DatabaseConstants.DEFAULT_BENCH_CONCURRENCY) int concurrency,
+            @ShellOption(value = {"-d", "--duration"}, help = "How long to run, e.g. 30s or 2m", defaultValue = DatabaseConstants.DEFAULT_BENCH_DURATION) String duration,
+            @ShellOption(value = {"--rate"}, help = "Requests per second for open loop; 0 runs closed loop", defaultValue = "0") int rate,
+            @ShellOption(value = {"-c", "--connection"}, help = "Connection name, defaults to the current one", defaultValue = ShellOption.NULL) String connection) {
+
+        String connectionName = connection != null ? connection : connectionManager.getCurrentConnectionName();
+        try {
+            Duration runFor = Durations.parse(duration);
+            BenchmarkResult result = benchmarkService.run(connectionName, sql, concurrency, runFor, rate);
+
+            StringBuilder output = new StringBuilder();
+            output.append("🏋️ BENCHMARK RESULTS\n");
+            output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            output.append(String.format("🔗 Connection: %s (pool size %s)\n", connectionName,
+                    result.getPoolSize() > 0 ? String.valueOf(result.getPoolSize()) : "-"));
+            output.append(String.format("📝 Query: %s\n", truncate(sql, 100)));
+            output.append(String.format("⚙️ Mode: %s, %d workers, %.1f s\n",
+                    result.isOpenLoop() ? "open loop at " + formatCount(result.getTargetRate()) + " req/s" : "closed loop",
+                    result.getConcurrency(), result.getDurationMillis() / 1000.0));
+            output.append(String.format("🚀 Throughput: %,.1f req/s | Requests: %s | Errors: %s%s\n\n",
+                    result.getThroughput(), formatCount(result.getRequests()), formatCount(result.getErrors()),
+                    result.getDropped() > 0 ? " | Dropped: " + formatCount(result.getDropped()) : ""));
+
+            output.append(String.format("%-10s | %10s | %10s | %10s | %10s | %10s | %10s\n",
+                    "LATENCY", "MEAN", "P50", "P95", "P99", "P99.9", "MAX"));
+            output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            appendLatency(output, result.isOpenLoop() ? "total*" : "total", result.getTotal());
+            appendLatency(output, "acquire", result.getAcquire());
+            appendLatency(output, "execute", result.getExecution());
+            if (result.isOpenLoop()) {
+                output.append("* measured from the scheduled start, so queueing behind busy workers counts\n");
+            }
+
+            if (!result.getErrorCounts().isEmpty()) {
+                output.append("\n❌ Errors:\n");
+                result.getErrorCounts().forEach((message, count) ->
+                        output.append(String.format("  %8s × %s\n", formatCount(count), truncate(message, 100))));
+            }
+            return output.toString();
+
+        } catch (IllegalArgumentException e) {
+            return formatError("Invalid Parameter", e.getMessage());
+        } catch (DatabaseException e) {
+            return formatError("Benchmark Failed", e.getMessage());
+        }
+    }
+
+    private static void appendLatency(StringBuilder output, String label, BenchmarkResult.Latency latency) {
+        output.append(String.format("%-10s | %10s | %10s | %10s | %10s | %10s | %10s\n", label,
+                formatMicros(Math.round(latency.mean())), formatMicros(latency.p50()), formatMicros(latency.p95()),
+                formatMicros(latency.p99()), formatMicros(latency.p999()), formatMicros(latency.max())));
+    }
+
+    private static String formatMicros(long micros) {
+        if (micros < 1_000) {
+            return micros + " µs";
+        }
+        if (micros < 1_000_000) {
+            return String.format("%.2f ms", micros / 1_000.0);
+        }
+        return String.format("%.2f s", micros / 1_000_000.0);
+    }
+}
@@ -0,0 +1,407 @@
+package com.example.nativecliapp.cache;
+
+import com.example.nativecliapp.catalog.CatalogLoader;
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dialect.Dialects;
+import com.example.nativecliapp.dtos.CachedTable;
+import com.example.nativecliapp.dtos.ColumnDefinition;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.dtos.TableInfo;
+import com.example.nativecliapp.exception.SchemaException;
+import com.example.nativecliapp.exception.SqlExecutionException;
+import com.example.nativecliapp.sync.TypeMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps local copies of remote tables in an embedded H2 database registered as its own
+ * connection, so exploratory queries run against the copy instead of the remote database. A
+ * table cached with a watermark column (an update timestamp or increasing id) is refreshed
+ * incrementally: only rows at or past the highest watermark already cached are fetched and merged
+ * in by primary key. Rows deleted at the source stay in the cache until the next full load.
+ * Copies are named after their source table unless given a name; a name already holding another
+ * table is refused rather than overwritten. A full load fills a staging table that only replaces
+ * the previous copy once every row has arrived, so a failed load leaves that copy as it was.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TableCacheService {
+
+    private static final String META_TABLE = "CACHE_META.CACHED_TABLES";
+    private static final int BATCH_SIZE = DatabaseConstants.DEFAULT_COPY_BATCH_SIZE;
+    private static final Dialect CACHE_DIALECT = Dialects.of(DatabaseConstants.DB_TYPE_H2);
+    private static final String STAGING_SUFFIX = "__LOADING";
+
+    private final DatabaseConnectionManager connectionManager;
+    private final SchemaManager schemaManager;
+    private final CatalogLoader catalogLoader;
+    private final DatabaseConfig databaseConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Replaces the local copy of a table with the rows of the source matching the filter; the
+     * copy is named localName, or after the source table when that is null
+     */
+    public CachedTable cache(String source, String schema, String table, String localName, String filter,
+                             String watermarkColumn) {
+        String cacheConnection = ensureCacheConnection();
+        if (cacheConnection.equals(source)) {
+            throw new IllegalArgumentException("'" + source + "' is the cache itself");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+        try {
+            TableDefinition definition = catalogLoader.loadTable(source, schema, table);
+            String watermark = watermarkColumn != null ? column(definition, watermarkColumn).getName() : null;
+            String sourceSchema = sourceSchema(definition);
+            String localTable = (localName != null ? localName : definition.getName()).toUpperCase(Locale.ROOT);
+            checkLocalName(localTable, source, sourceSchema, definition.getName());
+
+            List<ColumnDefinition> columns = TypeMapper.toColumnDefinitions(definition,
+                    connectionManager.getDatabaseType(source), DatabaseConstants.DB_TYPE_H2);
+            columns.forEach(column -> column.setName(CACHE_DIALECT.quoteIdentifier(column.getName())));
+            String staging = CACHE_DIALECT.quoteIdentifier(localTable + STAGING_SUFFIX);
+            schemaManager.executeUpdate(cacheConnection, "DROP TABLE IF EXISTS " + staging);
+            schemaManager.createTable(cacheConnection, null, staging, columns);
+
+            CachedTable cached = CachedTable.builder()
+                    .localTable(localTable)
+                    .sourceConnection(source)
+                    .sourceSchema(sourceSchema)
+                    .sourceTable(definition.getName())
+                    .filter(filter)
+                    .watermarkColumn(watermark)
+                    .keyed(!definition.getPrimaryKey().isEmpty())
+                    .loadedAt(Instant.now())
+                    .build();
+            try {
+                cached.setCopiedRows(copy(definition, cached, staging, false, null));
+            } catch (RuntimeException e) {
+                dropQuietly(cacheConnection, staging);
+                throw e;
+            }
+            schemaManager.executeUpdate(cacheConnection, "DROP TABLE IF EXISTS " + CACHE_DIALECT.quoteIdentifier(localTable));
+            schemaManager.executeUpdate(cacheConnection, "ALTER TABLE " + staging + " RENAME TO "
+                    + CACHE_DIALECT.quoteIdentifier(localTable));
+            return finish(cached, start);
+        } finally {
+            sample.stop(Timer.builder("database.cache.load.duration").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Fetches the rows changed since the last load or refresh of a cached table
+     */
+    public CachedTable refresh(String localTable) {
+        String cacheConnection = ensureCacheConnection();
+        CachedTable cached = find(localTable)
+                .orElseThrow(() -> new SchemaException("Table '" + localTable + "' is not cached on '" + cacheConnection + "'"));
+        if (cached.getWatermarkColumn() == null) {
+            throw new IllegalArgumentException("Table '" + cached.getLocalTable()
+                    + "' was cached without --watermark, run cache-table again for a full reload");
+        }
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+        try {
+            TableDefinition definition = catalogLoader.loadTable(cached.getSourceConnection(), cached.getSourceSchema(),
+                    cached.getSourceTable());
+            Object watermark = queryValue("SELECT MAX(" + CACHE_DIALECT.quoteIdentifier(cached.getWatermarkColumn())
+                    + ") FROM " + CACHE_DIALECT.quoteIdentifier(cached.getLocalTable()));
+            cached.setIncremental(watermark != null);
+            cached.setCopiedRows(copy(definition, cached, CACHE_DIALECT.quoteIdentifier(cached.getLocalTable()), true, watermark));
+            return finish(cached, start);
+        } finally {
+            sample.stop(Timer.builder("database.cache.refresh.duration").register(meterRegistry));
+        }
+    }
+
+    public List<CachedTable> list() {
+        ensureCacheConnection();
+        String sql = "SELECT * FROM " + META_TABLE + " ORDER BY LOCAL_TABLE";
+        try (Connection conn = openCache();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            List<CachedTable> tables = new ArrayList<>();
+            while (rs.next()) {
+                tables.add(readMeta(rs));
+            }
+            return tables;
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Failed to list cached tables: " + e.getMessage(), e);
+        }
+    }
+
+    public String getCacheConnection() {
+        return databaseConfig.getTableCacheConnection();
+    }
+
+    /**
+     * Opens the cache connection on first use and creates the table that tracks the cached tables
+     */
+    private synchronized String ensureCacheConnection() {
+        String name = databaseConfig.getTableCacheConnection();
+        if (!connectionManager.getConnectionNames().contains(name)) {
+            connectionManager.createConnection(name, DatabaseConstants.DB_TYPE_H2, databaseConfig.getTableCacheUrl(), "sa", "");
+            log.info("🗄️ Opened table cache '{}' at {}", name, databaseConfig.getTableCacheUrl());
+        }
+        String sql = "CREATE TABLE IF NOT EXISTS " + META_TABLE + " ("
+                + "LOCAL_TABLE VARCHAR(255) PRIMARY KEY, SOURCE_CONNECTION VARCHAR(255) NOT NULL, SOURCE_SCHEMA VARCHAR(255), "
+                + "SOURCE_TABLE VARCHAR(255) NOT NULL, FILTER VARCHAR(4000), WATERMARK_COLUMN VARCHAR(255), "
+                + "WATERMARK VARCHAR(255), KEYED BOOLEAN NOT NULL, ROW_COUNT BIGINT NOT NULL, "
+                + "LOADED_AT TIMESTAMP NOT NULL, REFRESHED_AT TIMESTAMP NOT NULL)";
+        try (Connection conn = openCache();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA IF NOT EXISTS CACHE_META");
+            stmt.execute(sql);
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Failed to prepare table cache: " + e.getMessage(), e);
+        }
+        return name;
+    }
+
+    private void dropQuietly(String cacheConnection, String table) {
+        try {
+            schemaManager.executeUpdate(cacheConnection, "DROP TABLE IF EXISTS " + table);
+        } catch (RuntimeException e) {
+            log.warn("Could not drop staging table {} of the table cache: {}", table, e.getMessage());
+        }
+    }
+
+    /**
+     * Streams the source rows into the given cache table, past the watermark when one is given; on
+     * a refresh of a table with a primary key rows are merged, so changed rows replace their old version
+     */
+    private long copy(TableDefinition definition, CachedTable cached, String localTable, boolean refresh, Object watermark) {
+        Dialect sourceDialect = connectionManager.getDialect(cached.getSourceConnection());
+        List<ColumnInfo> columns = definition.getColumns().stream()
+                .sorted(Comparator.comparingInt(ColumnInfo::getPosition))
+                .toList();
+
+        List<String> conditions = new ArrayList<>();
+        if (cached.getFilter() != null) {
+            conditions.add("(" + cached.getFilter() + ")");
+        }
+        if (watermark != null) {
+            // at or past it when keyed: rows sharing the highest value may have committed after the last refresh
+            conditions.add(sourceDialect.quoteIdentifier(cached.getWatermarkColumn()) + (cached.isKeyed() ? " >= ?" : " > ?"));
+        }
+        String sourceName = cached.getSourceSchema() != null
+                ? sourceDialect.quoteIdentifier(cached.getSourceSchema()) + "." + sourceDialect.quoteIdentifier(cached.getSourceTable())
+                : sourceDialect.quoteIdentifier(cached.getSourceTable());
+        String selectSql = "SELECT " + quotedList(sourceDialect, columns.stream().map(ColumnInfo::getName).toList())
+                + " FROM " + sourceName + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        String localColumns = quotedList(CACHE_DIALECT, columns.stream().map(ColumnInfo::getName).toList());
+        String placeholders = columns.stream().map(column -> "?").collect(Collectors.joining(", "));
+        String writeSql = cached.isKeyed() && refresh
+                ? "MERGE INTO " + localTable + " (" + localColumns + ") KEY ("
+                + quotedList(CACHE_DIALECT, definition.getPrimaryKey()) + ") VALUES (" + placeholders + ")"
+                : "INSERT INTO " + localTable + " (" + localColumns + ") VALUES (" + placeholders + ")";
+        int fetchSize = sourceDialect.streamingFetchSize(BATCH_SIZE);
+
+        long copied = 0;
+        try (Connection sourceConn = connectionManager.getDataSource(cached.getSourceConnection(), Workload.BULK).getConnection();
+             Connection cacheConn = openCache()) {
+            boolean readInTransaction = sourceDialect.cursorNeedsTransaction();
+            if (readInTransaction) {
+                sourceConn.setAutoCommit(false);
+            }
+            cacheConn.setAutoCommit(false);
+            try (PreparedStatement select = sourceConn.prepareStatement(selectSql);
+                 PreparedStatement write = cacheConn.prepareStatement(writeSql)) {
+                select.setFetchSize(fetchSize);
+                if (watermark != null) {
+                    select.setObject(1, watermark);
+                }
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        for (int i = 0; i < columns.size(); i++) {
+                            Object value = readValue(rs, i + 1, columns.get(i).getDataType());
+                            if (value == null) {
+                                write.setNull(i + 1, columns.get(i).getDataType());
+                            } else {
+                                write.setObject(i + 1, value);
+                            }
+                        }
+                        write.addBatch();
+                        if (++copied % BATCH_SIZE == 0) {
+                            write.executeBatch();
+                        }
+                    }
+                }
+                write.executeBatch();
+                cacheConn.commit();
+            } catch (SQLException | RuntimeException e) {
+                cacheConn.rollback();
+                throw e;
+            } finally {
+                if (readInTransaction) {
+                    sourceConn.rollback();
+                }
+            }
+        } catch (SQLException e) {
+            throw new SqlExecutionException(selectSql, "Caching " + sourceName + " from '" + cached.getSourceConnection()
+                    + "' failed: " + e.getMessage(), e);
+        }
+        meterRegistry.counter("database.cache.rows").increment(copied);
+        return copied;
+    }
+
+    private static Object readValue(ResultSet rs, int column, int dataType) throws SQLException {
+        return switch (dataType) {
+            case Types.CLOB, Types.NCLOB, Types.LONGVARCHAR, Types.LONGNVARCHAR -> rs.getString(column);
+            case Types.BLOB, Types.LONGVARBINARY -> rs.getBytes(column);
+            default -> rs.getObject(column);
+        };
+    }
+
+    /**
+     * Records the new row count and watermark of a cached table
+     */
+    private CachedTable finish(CachedTable cached, long start) {
+        String table = cached.getLocalTable();
+        String quotedTable = CACHE_DIALECT.quoteIdentifier(table);
+        cached.setRows(((Number) queryValue("SELECT COUNT(*) FROM " + quotedTable)).longValue());
+        if (cached.getWatermarkColumn() != null) {
+            Object watermark = queryValue("SELECT MAX(" + CACHE_DIALECT.quoteIdentifier(cached.getWatermarkColumn())
+                    + ") FROM " + quotedTable);
+            cached.setWatermark(watermark != null ? watermark.toString() : null);
+        }
+        cached.setRefreshedAt(Instant.now());
+        cached.setDurationMillis(System.currentTimeMillis() - start);
+
+        String sql = "MERGE INTO " + META_TABLE + " KEY (LOCAL_TABLE) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        try (Connection conn = openCache();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, table);
+            ps.setString(2, cached.getSourceConnection());
+            ps.setString(3, cached.getSourceSchema());
+            ps.setString(4, cached.getSourceTable());
+            ps.setString(5, cached.getFilter());
+            ps.setString(6, cached.getWatermarkColumn());
+            ps.setString(7, cached.getWatermark());
+            ps.setBoolean(8, cached.isKeyed());
+            ps.setLong(9, cached.getRows());
+            ps.setTimestamp(10, Timestamp.from(cached.getLoadedAt()));
+            ps.setTimestamp(11, Timestamp.from(cached.getRefreshedAt()));
+            ps.executeUpdate();
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Failed to record cached table " + table + ": " + e.getMessage(), e);
+        }
+        log.info("🗄️ Cached {} from '{}': {} rows copied, {} rows held, watermark {}", table,
+                cached.getSourceConnection(), cached.getCopiedRows(), cached.getRows(), cached.getWatermark());
+        return cached;
+    }
+
+    private Optional<CachedTable> find(String localTable) {
+        String sql = "SELECT * FROM " + META_TABLE + " WHERE LOCAL_TABLE = ?";
+        try (Connection conn = openCache();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, localTable.toUpperCase(Locale.ROOT));
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? Optional.of(readMeta(rs)) : Optional.empty();
+            }
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Failed to read cached table " + localTable + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static CachedTable readMeta(ResultSet rs) throws SQLException {
+        return CachedTable.builder()
+                .localTable(rs.getString("LOCAL_TABLE"))
+                .sourceConnection(rs.getString("SOURCE_CONNECTION"))
+                .sourceSchema(rs.getString("SOURCE_SCHEMA"))
+                .sourceTable(rs.getString("SOURCE_TABLE"))
+                .filter(rs.getString("FILTER"))
+                .watermarkColumn(rs.getString("WATERMARK_COLUMN"))
+                .watermark(rs.getString("WATERMARK"))
+                .keyed(rs.getBoolean("KEYED"))
+                .rows(rs.getLong("ROW_COUNT"))
+                .loadedAt(rs.getTimestamp("LOADED_AT").toInstant())
+                .refreshedAt(rs.getTimestamp("REFRESHED_AT").toInstant())
+                .build();
+    }
+
+    /**
+     * Refuses a local name that already holds another table: a copy of a different source, or a
+     * table created in the cache by hand
+     */
+    private void checkLocalName(String localTable, String source, String sourceSchema, String sourceTable) {
+        Optional<CachedTable> existing = find(localTable);
+        if (existing.isPresent()) {
+            CachedTable held = existing.get();
+            if (!held.getSourceConnection().equals(source) || !Objects.equals(held.getSourceSchema(), sourceSchema)
+                    || !held.getSourceTable().equals(sourceTable)) {
+                throw new IllegalArgumentException("'" + localTable + "' already caches " + held.getSourceConnection()
+                        + "." + (held.getSourceSchema() != null ? held.getSourceSchema() + "." : "")
+                        + held.getSourceTable() + ", choose another name with --as");
+            }
+        } else if (((Number) queryValue("SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES "
+                + "WHERE TABLE_SCHEMA = CURRENT_SCHEMA AND TABLE_NAME = ?", localTable)).longValue() > 0) {
+            throw new IllegalArgumentException("'" + localTable + "' is a table of the cache that was not copied by "
+                    + "cache-table, choose another name with --as");
+        }
+    }
+
+    /**
+     * The schema the table was found in, or the catalog where the database calls schemas that
+     */
+    private static String sourceSchema(TableDefinition definition) {
+        TableInfo table = definition.getTable();
+        return table.getSchema() != null ? table.getSchema() : table.getCatalog();
+    }
+
+    private static String quotedList(Dialect dialect, List<String> names) {
+        return names.stream().map(dialect::quoteIdentifier).collect(Collectors.joining(", "));
+    }
+
+    private Object queryValue(String sql, Object... parameters) {
+        try (Connection conn = openCache();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < parameters.length; i++) {
+                ps.setObject(i + 1, parameters[i]);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? rs.getObject(1) : null;
+            }
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Cache query failed: " + e.getMessage(), e);
+        }
+    }
+
+    private Connection openCache() throws SQLException {
+        return connectionManager.getDataSource(databaseConfig.getTableCacheConnection(), Workload.BULK).getConnection();
+    }
+
+    private static ColumnInfo column(TableDefinition definition, String name) {
+        return definition.getColumns().stream()
+                .filter(column -> column.getName().equalsIgnoreCase(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown column '" + name + "' in " + definition.getName()));
+    }
+}
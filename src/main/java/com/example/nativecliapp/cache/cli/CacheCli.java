@@ -0,0 +1,110 @@
+package com.example.nativecliapp.cache.cli;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.cache.TableCacheService;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.CachedTable;
+import com.example.nativecliapp.exception.DatabaseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
+@ShellComponent
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class CacheCli {
+
+    private final TableCacheService tableCacheService;
+
+    @ShellMethod(key = {"cache-table"}, value = "🗄️ Copy a remote table into the local cache connection, or refresh a cached one")
+    public String cacheTable(
+            @ShellOption(value = {"-t", "--table"}, help = "Table name") String table,
+            @ShellOption(value = {"-c", "--connection"}, help = "Connection to copy from (not needed with --refresh)", defaultValue = ShellOption.NULL) String connection,
+            @ShellOption(value = {"-s", "--schema"}, help = "Source schema", defaultValue = ShellOption.NULL) String schema,
+            @ShellOption(value = {"--as"}, help = "Name of the local copy, defaults to the source table's name", defaultValue = ShellOption.NULL) String as,
+            @ShellOption(value = {"-w", "--where"}, help = "Only cache rows matching this condition", defaultValue = ShellOption.NULL) String where,
+            @ShellOption(value = {"--watermark"}, help = "Increasing column, e.g. updated_at, that --refresh fetches changes by", defaultValue = ShellOption.NULL) String watermark,
+            @ShellOption(value = {"-r", "--refresh"}, help = "Fetch only rows past the cached watermark", defaultValue = "false") boolean refresh) {
+        try {
+            CachedTable cached;
+            if (refresh) {
+                cached = tableCacheService.refresh(table);
+            } else if (connection == null) {
+                return formatError("Invalid Options", "--connection is needed to cache a table, or use --refresh");
+            } else {
+                cached = tableCacheService.cache(connection, schema, table, as, where, watermark);
+            }
+
+            StringBuilder output = new StringBuilder();
+            output.append(refresh ? "🔄 CACHE REFRESHED\n" : "🗄️ TABLE CACHED\n");
+            output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            output.append(String.format("📤 Source: %s.%s%s\n", cached.getSourceConnection(), cached.getSourceTable(),
+                    cached.getFilter() != null ? " WHERE " + truncate(cached.getFilter(), 60) : ""));
+            output.append(String.format("📥 Cache: %s.%s (%s rows)\n", tableCacheService.getCacheConnection(),
+                    cached.getLocalTable(), formatCount(cached.getRows())));
+            output.append(String.format("🚚 Copied: %s rows%s in %,d ms\n", formatCount(cached.getCopiedRows()),
+                    refresh ? (cached.isIncremental() ? " (incremental)" : " (cache was empty, full)") : "",
+                    cached.getDurationMillis()));
+            if (cached.getWatermarkColumn() != null) {
+                output.append(String.format("🔖 Watermark: %s = %s\n", cached.getWatermarkColumn(),
+                        cached.getWatermark() != null ? cached.getWatermark() : "-"));
+            } else {
+                output.append("💡 Cache with --watermark <column> to allow incremental refreshes\n");
+            }
+            if (refresh && !cached.isKeyed()) {
+                output.append("⚠️ No primary key: refreshed rows were appended, changed rows may appear twice\n");
+            }
+            output.append(String.format("💡 Query it with: switch %s\n", tableCacheService.getCacheConnection()));
+            return output.toString();
+
+        } catch (IllegalArgumentException e) {
+            return formatError("Invalid Parameter", e.getMessage());
+        } catch (DatabaseException e) {
+            return formatError("Cache Failed", e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = {"cache-list"}, value = "🗄️ List the tables held in the local cache")
+    public String cacheList() {
+        try {
+            List<CachedTable> tables = tableCacheService.list();
+            if (tables.isEmpty()) {
+                return formatWarning("Cache Empty", "No tables cached yet, use cache-table -c <connection> -t <table>");
+            }
+
+            StringBuilder output = new StringBuilder();
+            output.append(String.format("🗄️ CACHED TABLES (%s)\n", tableCacheService.getCacheConnection()));
+            output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            output.append(String.format("%-20s | %-24s | %10s | %-20s | %s\n", "TABLE", "SOURCE", "ROWS", "WATERMARK", "REFRESHED"));
+            output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            for (CachedTable table : tables) {
+                output.append(String.format("%-20s | %-24s | %10s | %-20s | %s ago\n",
+                        truncate(table.getLocalTable(), 20),
+                        truncate(table.getSourceConnection() + "." + table.getSourceTable(), 24),
+                        formatCount(table.getRows()),
+                        truncate(table.getWatermark() != null ? table.getWatermark() : "-", 20),
+                        formatAge(table.getRefreshedAt())));
+            }
+            return output.toString();
+
+        } catch (DatabaseException e) {
+            return formatError("Cache Failed", e.getMessage());
+        }
+    }
+
+    private static String formatAge(Instant instant) {
+        Duration age = Duration.between(instant, Instant.now());
+        if (age.toMinutes() < 1) {
+            return age.toSeconds() + "s";
+        }
+        return age.toHours() < 1 ? age.toMinutes() + "m" : age.toHours() + "h";
+    }
+}
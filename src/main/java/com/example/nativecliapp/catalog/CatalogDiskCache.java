@@ -0,0 +1,269 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+
+/**
+ * Keeps schema catalogs on disk between runs, one memory-mapped file per server, user and schema.
+ * Each file starts with a fingerprint of the schema taken from a single cheap catalog query
+ * (DDL timestamps, or a hash of the column definitions where the server keeps none); a cached
+ * catalog is only used while the server still reports the same fingerprint.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogDiskCache {
+
+    private static final int MAGIC = 0x44434143; // "DCAC"
+
+    private static final String H2_FINGERPRINT = """
+            SELECT COUNT(*),
+                   COALESCE(SUM(ORA_HASH(TABLE_NAME || '.' || COLUMN_NAME || ':' || DATA_TYPE || ':'
+                       || COALESCE(CHARACTER_MAXIMUM_LENGTH, 0) || ':' || COALESCE(NUMERIC_PRECISION, 0) || ':'
+                       || IS_NULLABLE || ':' || COALESCE(COLUMN_DEFAULT, ''))), 0),
+                   (SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEX_COLUMNS i WHERE i.TABLE_SCHEMA = ?),
+                   (SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLE_CONSTRAINTS k WHERE k.TABLE_SCHEMA = ?)
+            FROM INFORMATION_SCHEMA.COLUMNS
+            WHERE TABLE_SCHEMA = ?
+            """;
+
+    // Every DDL statement rewrites the affected pg_class, pg_attribute or pg_constraint rows
+    private static final String POSTGRESQL_FINGERPRINT = """
+            SELECT (SELECT COUNT(*) || ':' || COALESCE(SUM(c.xmin::text::bigint), 0)
+                    FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace WHERE n.nspname = ?),
+                   (SELECT COALESCE(SUM(a.xmin::text::bigint), 0)
+                    FROM pg_attribute a
+                    JOIN pg_class c ON c.oid = a.attrelid
+                    JOIN pg_namespace n ON n.oid = c.relnamespace
+                    WHERE n.nspname = ? AND a.attnum > 0),
+                   (SELECT COUNT(*) || ':' || COALESCE(SUM(co.xmin::text::bigint), 0)
+                    FROM pg_constraint co JOIN pg_namespace n ON n.oid = co.connamespace WHERE n.nspname = ?)
+            """;
+
+    private static final String MYSQL_FINGERPRINT = """
+            SELECT (SELECT COUNT(*) FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ?),
+                   (SELECT COALESCE(SUM(CRC32(CONCAT_WS(':', TABLE_NAME, COLUMN_NAME, COLUMN_TYPE, IS_NULLABLE,
+                        COALESCE(COLUMN_DEFAULT, '')))), 0)
+                    FROM information_schema.COLUMNS WHERE TABLE_SCHEMA = ?),
+                   (SELECT COUNT(*) FROM information_schema.STATISTICS WHERE TABLE_SCHEMA = ?),
+                   (SELECT MAX(CREATE_TIME) FROM information_schema.TABLES WHERE TABLE_SCHEMA = ?)
+            """;
+
+    private static final String SQL_SERVER_FINGERPRINT = """
+            SELECT COUNT(*), MAX(o.modify_date)
+            FROM sys.objects o
+            JOIN sys.schemas s ON s.schema_id = o.schema_id
+            WHERE s.name = ?
+            """;
+
+    private static final String ORACLE_FINGERPRINT = """
+            SELECT COUNT(*), MAX(LAST_DDL_TIME)
+            FROM ALL_OBJECTS
+            WHERE OWNER = ?
+            """;
+
+    private final DatabaseConnectionManager connectionManager;
+    private final DatabaseConfig databaseConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Where a schema is cached and the fingerprint the server reports for it right now
+     */
+    private record Entry(Path file, String schema, String fingerprint) {
+    }
+
+    /**
+     * Returns the cached catalog if it is still current, otherwise loads it and caches the result
+     */
+    public SchemaCatalog getOrLoad(String connectionName, String schema, Supplier<SchemaCatalog> loader) {
+        Optional<Entry> entry = entry(connectionName, schema);
+        if (entry.isPresent()) {
+            Optional<SchemaCatalog> cached = read(connectionName, entry.get());
+            if (cached.isPresent()) {
+                return cached.get();
+            }
+        }
+        SchemaCatalog catalog = loader.get();
+        entry.ifPresent(current -> write(current, catalog));
+        return catalog;
+    }
+
+    /**
+     * Loads the catalog ignoring any cached copy and replaces the cached copy with it
+     */
+    public SchemaCatalog reload(String connectionName, String schema, Supplier<SchemaCatalog> loader) {
+        Optional<Entry> entry = entry(connectionName, schema);
+        SchemaCatalog catalog = loader.get();
+        entry.ifPresent(current -> write(current, catalog));
+        return catalog;
+    }
+
+    /**
+     * The cached catalog if there is a current one, without loading anything from the server
+     */
+    public Optional<SchemaCatalog> find(String connectionName, String schema) {
+        return entry(connectionName, schema).flatMap(current -> read(connectionName, current));
+    }
+
+    /**
+     * Resolves the cache file and current fingerprint, or nothing when the connection cannot be
+     * cached: caching is off, the database lives in memory, or the dialect has no fingerprint query
+     */
+    private Optional<Entry> entry(String connectionName, String schema) {
+        if (!databaseConfig.isCatalogCacheEnabled()) {
+            return Optional.empty();
+        }
+        String dbType = connectionManager.getDatabaseType(connectionName);
+        String fingerprintSql = fingerprintQuery(dbType);
+        if (fingerprintSql == null) {
+            return Optional.empty();
+        }
+
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            String url = metaData.getURL();
+            if (url == null || url.startsWith("jdbc:h2:mem:")) {
+                return Optional.empty();
+            }
+            String resolvedSchema = schema != null ? schema : CatalogLoader.currentSchema(conn, dbType);
+            if (resolvedSchema == null) {
+                return Optional.empty();
+            }
+
+            String fingerprint = fingerprint(conn, fingerprintSql, resolvedSchema);
+            Path file = Path.of(databaseConfig.getCatalogCacheDir())
+                    .resolve(fileName(url, metaData.getUserName(), resolvedSchema));
+            return Optional.of(new Entry(file, resolvedSchema, fingerprint));
+
+        } catch (SQLException e) {
+            log.debug("Catalog cache not usable for '{}': {}", connectionName, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<SchemaCatalog> read(String connectionName, Entry entry) {
+        try (FileChannel channel = FileChannel.open(entry.file(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+                return miss("corrupt", entry);
+            }
+            byte[] fingerprint = new byte[Short.toUnsignedInt(buffer.getShort())];
+            buffer.get(fingerprint);
+            if (!entry.fingerprint().equals(new String(fingerprint, StandardCharsets.UTF_8))) {
+                return miss("stale", entry);
+            }
+
+            List<SchemaCatalog> catalogs = CatalogSnapshotCodec.decode(buffer);
+            if (catalogs.size() != 1) {
+                return miss("corrupt", entry);
+            }
+            SchemaCatalog cached = catalogs.get(0);
+            meterRegistry.counter("database.schema.catalog.cache", "result", "hit").increment();
+            log.debug("Loaded catalog of {} tables for '{}.{}' from {}", cached.size(), connectionName,
+                    entry.schema(), entry.file());
+            return Optional.of(new SchemaCatalog(connectionName, cached.getDatabaseType(), cached.getSchema(),
+                    cached.getLoadedAt(), cached.getTables()));
+
+        } catch (NoSuchFileException e) {
+            return miss("absent", entry);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Ignoring unreadable catalog cache {}: {}", entry.file(), e.getMessage());
+            return miss("corrupt", entry);
+        }
+    }
+
+    private Optional<SchemaCatalog> miss(String reason, Entry entry) {
+        meterRegistry.counter("database.schema.catalog.cache", "result", reason).increment();
+        log.debug("Catalog cache {} for schema '{}' ({})", reason, entry.schema(), entry.file());
+        return Optional.empty();
+    }
+
+    private void write(Entry entry, SchemaCatalog catalog) {
+        byte[] fingerprint = entry.fingerprint().getBytes(StandardCharsets.UTF_8);
+        byte[] body = CatalogSnapshotCodec.encode(List.of(catalog));
+        ByteBuffer header = ByteBuffer.allocate(6 + fingerprint.length)
+                .putInt(MAGIC)
+                .putShort((short) fingerprint.length)
+                .put(fingerprint);
+
+        try {
+            Files.createDirectories(entry.file().getParent());
+            Path temp = Files.createTempFile(entry.file().getParent(), entry.file().getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(header.array());
+                out.write(body);
+            }
+            Files.move(temp, entry.file(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Failed to write catalog cache {}: {}", entry.file(), e.getMessage());
+        }
+    }
+
+    private static String fingerprint(Connection conn, String sql, String schema) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            int parameters = (int) sql.chars().filter(c -> c == '?').count();
+            for (int i = 1; i <= parameters; i++) {
+                ps.setString(i, schema);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                StringJoiner fingerprint = new StringJoiner("|");
+                if (rs.next()) {
+                    for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) {
+                        fingerprint.add(String.valueOf(rs.getObject(i)));
+                    }
+                }
+                return fingerprint.toString();
+            }
+        }
+    }
+
+    private static String fingerprintQuery(String dbType) {
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_H2 -> H2_FINGERPRINT;
+            case DatabaseConstants.DB_TYPE_POSTGRESQL -> POSTGRESQL_FINGERPRINT;
+            case DatabaseConstants.DB_TYPE_MYSQL -> MYSQL_FINGERPRINT;
+            case DatabaseConstants.DB_TYPE_SQL_SERVER -> SQL_SERVER_FINGERPRINT;
+            case DatabaseConstants.DB_TYPE_ORACLE -> ORACLE_FINGERPRINT;
+            default -> null;
+        };
+    }
+
+    private static String fileName(String url, String user, String schema) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest((url + '\n' + user + '\n' + schema).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 16) + DatabaseConstants.CATALOG_CACHE_FILE_EXTENSION;
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
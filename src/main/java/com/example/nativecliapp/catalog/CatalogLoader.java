@@ -0,0 +1,544 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.IndexInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.dtos.TableInfo;
+import com.example.nativecliapp.exception.SchemaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Loads the complete catalog of a schema in a handful of round-trips: one for tables, one for all
+ * columns, and one query each for primary keys, foreign keys and indexes from the dialect's catalog.
+ * Engines without known catalog queries fall back to per-table DatabaseMetaData calls.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogLoader {
+
+    private static final String INFORMATION_SCHEMA_PRIMARY_KEYS = """
+            SELECT tc.TABLE_NAME AS table_name, tc.CONSTRAINT_NAME AS constraint_name,
+                   kcu.COLUMN_NAME AS column_name, kcu.ORDINAL_POSITION AS ordinal_position
+            FROM information_schema.TABLE_CONSTRAINTS tc
+            JOIN information_schema.KEY_COLUMN_USAGE kcu
+              ON kcu.CONSTRAINT_SCHEMA = tc.CONSTRAINT_SCHEMA
+             AND kcu.CONSTRAINT_NAME = tc.CONSTRAINT_NAME
+             AND kcu.TABLE_NAME = tc.TABLE_NAME
+            WHERE tc.CONSTRAINT_TYPE = 'PRIMARY KEY' AND tc.TABLE_SCHEMA = ?
+            ORDER BY 1, 4
+            """;
+
+    private static final String H2_FOREIGN_KEYS = """
+            SELECT kcu.TABLE_NAME AS table_name, kcu.CONSTRAINT_NAME AS constraint_name,
+                   kcu.COLUMN_NAME AS column_name, kcu.ORDINAL_POSITION AS ordinal_position,
+                   pk.TABLE_SCHEMA AS ref_schema, pk.TABLE_NAME AS ref_table, pk.COLUMN_NAME AS ref_column
+            FROM information_schema.REFERENTIAL_CONSTRAINTS rc
+            JOIN information_schema.KEY_COLUMN_USAGE kcu
+              ON kcu.CONSTRAINT_SCHEMA = rc.CONSTRAINT_SCHEMA
+             AND kcu.CONSTRAINT_NAME = rc.CONSTRAINT_NAME
+            JOIN information_schema.KEY_COLUMN_USAGE pk
+              ON pk.CONSTRAINT_SCHEMA = rc.UNIQUE_CONSTRAINT_SCHEMA
+             AND pk.CONSTRAINT_NAME = rc.UNIQUE_CONSTRAINT_NAME
+             AND pk.ORDINAL_POSITION = kcu.POSITION_IN_UNIQUE_CONSTRAINT
+            WHERE rc.CONSTRAINT_SCHEMA = ?
+            ORDER BY 1, 2, 4
+            """;
+
+    private static final String POSTGRESQL_PRIMARY_KEYS = """
+            SELECT cl.relname AS table_name, con.conname AS constraint_name,
+                   a.attname AS column_name, k.ord AS ordinal_position
+            FROM pg_constraint con
+            JOIN pg_class cl ON cl.oid = con.conrelid
+            JOIN pg_namespace n ON n.oid = cl.relnamespace
+            CROSS JOIN LATERAL unnest(con.conkey) WITH ORDINALITY AS k(attnum, ord)
+            JOIN pg_attribute a ON a.attrelid = con.conrelid AND a.attnum = k.attnum
+            WHERE con.contype = 'p' AND n.nspname = ?
+            ORDER BY 1, 4
+            """;
+
+    private static final String POSTGRESQL_FOREIGN_KEYS = """
+            SELECT cl.relname AS table_name, con.conname AS constraint_name,
+                   a.attname AS column_name, k.ord AS ordinal_position,
+                   rn.nspname AS ref_schema, rcl.relname AS ref_table, ra.attname AS ref_column
+            FROM pg_constraint con
+            JOIN pg_class cl ON cl.oid = con.conrelid
+            JOIN pg_namespace n ON n.oid = cl.relnamespace
+            JOIN pg_class rcl ON rcl.oid = con.confrelid
+            JOIN pg_namespace rn ON rn.oid = rcl.relnamespace
+            CROSS JOIN LATERAL unnest(con.conkey, con.confkey) WITH ORDINALITY AS k(attnum, refattnum, ord)
+            JOIN pg_attribute a ON a.attrelid = con.conrelid AND a.attnum = k.attnum
+            JOIN pg_attribute ra ON ra.attrelid = con.confrelid AND ra.attnum = k.refattnum
+            WHERE con.contype = 'f' AND n.nspname = ?
+            ORDER BY 1, 2, 4
+            """;
+
+    private static final String POSTGRESQL_INDEXES = """
+            SELECT t.relname AS table_name, i.relname AS index_name, ix.indisunique AS is_unique,
+                   a.attname AS column_name, k.ord AS ordinal_position
+            FROM pg_index ix
+            JOIN pg_class t ON t.oid = ix.indrelid
+            JOIN pg_class i ON i.oid = ix.indexrelid
+            JOIN pg_namespace n ON n.oid = t.relnamespace
+            CROSS JOIN LATERAL unnest(ix.indkey::int2[]) WITH ORDINALITY AS k(attnum, ord)
+            JOIN pg_attribute a ON a.attrelid = t.oid AND a.attnum = k.attnum
+            WHERE n.nspname = ? AND NOT ix.indisprimary
+            ORDER BY 1, 2, 5
+            """;
+
+    private static final String MYSQL_FOREIGN_KEYS = """
+            SELECT TABLE_NAME AS table_name, CONSTRAINT_NAME AS constraint_name,
+                   COLUMN_NAME AS column_name, ORDINAL_POSITION AS ordinal_position,
+                   REFERENCED_TABLE_SCHEMA AS ref_schema, REFERENCED_TABLE_NAME AS ref_table,
+                   REFERENCED_COLUMN_NAME AS ref_column
+            FROM information_schema.KEY_COLUMN_USAGE
+            WHERE TABLE_SCHEMA = ? AND REFERENCED_TABLE_NAME IS NOT NULL
+            ORDER BY 1, 2, 4
+            """;
+
+    private static final String MYSQL_INDEXES = """
+            SELECT TABLE_NAME AS table_name, INDEX_NAME AS index_name, NON_UNIQUE = 0 AS is_unique,
+                   COLUMN_NAME AS column_name, SEQ_IN_INDEX AS ordinal_position
+            FROM information_schema.STATISTICS
+            WHERE TABLE_SCHEMA = ? AND INDEX_NAME <> 'PRIMARY'
+            ORDER BY 1, 2, 5
+            """;
+
+    private static final String H2_INDEXES = """
+            SELECT ic.TABLE_NAME AS table_name, ic.INDEX_NAME AS index_name, ic.IS_UNIQUE AS is_unique,
+                   ic.COLUMN_NAME AS column_name, ic.ORDINAL_POSITION AS ordinal_position
+            FROM INFORMATION_SCHEMA.INDEXES i
+            JOIN INFORMATION_SCHEMA.INDEX_COLUMNS ic
+              ON ic.INDEX_SCHEMA = i.INDEX_SCHEMA
+             AND ic.INDEX_NAME = i.INDEX_NAME
+             AND ic.TABLE_NAME = i.TABLE_NAME
+            WHERE i.TABLE_SCHEMA = ? AND i.INDEX_TYPE_NAME <> 'PRIMARY KEY'
+            ORDER BY 1, 2, 5
+            """;
+
+    private static final String SQL_SERVER_FOREIGN_KEYS = """
+            SELECT t.name AS table_name, fk.name AS constraint_name,
+                   c.name AS column_name, fkc.constraint_column_id AS ordinal_position,
+                   rs.name AS ref_schema, rt.name AS ref_table, rc.name AS ref_column
+            FROM sys.foreign_keys fk
+            JOIN sys.tables t ON t.object_id = fk.parent_object_id
+            JOIN sys.schemas s ON s.schema_id = t.schema_id
+            JOIN sys.tables rt ON rt.object_id = fk.referenced_object_id
+            JOIN sys.schemas rs ON rs.schema_id = rt.schema_id
+            JOIN sys.foreign_key_columns fkc ON fkc.constraint_object_id = fk.object_id
+            JOIN sys.columns c ON c.object_id = fkc.parent_object_id AND c.column_id = fkc.parent_column_id
+            JOIN sys.columns rc ON rc.object_id = fkc.referenced_object_id AND rc.column_id = fkc.referenced_column_id
+            WHERE s.name = ?
+            ORDER BY 1, 2, 4
+            """;
+
+    private static final String SQL_SERVER_INDEXES = """
+            SELECT t.name AS table_name, i.name AS index_name, i.is_unique AS is_unique,
+                   c.name AS column_name, ic.key_ordinal AS ordinal_position
+            FROM sys.indexes i
+            JOIN sys.tables t ON t.object_id = i.object_id
+            JOIN sys.schemas s ON s.schema_id = t.schema_id
+            JOIN sys.index_columns ic ON ic.object_id = i.object_id AND ic.index_id = i.index_id
+            JOIN sys.columns c ON c.object_id = ic.object_id AND c.column_id = ic.column_id
+            WHERE s.name = ? AND i.is_primary_key = 0 AND i.type > 0 AND ic.is_included_column = 0
+            ORDER BY 1, 2, 5
+            """;
+
+    private static final String ORACLE_PRIMARY_KEYS = """
+            SELECT c.TABLE_NAME AS table_name, c.CONSTRAINT_NAME AS constraint_name,
+                   cc.COLUMN_NAME AS column_name, cc.POSITION AS ordinal_position
+            FROM ALL_CONSTRAINTS c
+            JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = c.OWNER AND cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME
+            WHERE c.CONSTRAINT_TYPE = 'P' AND c.OWNER = ?
+            ORDER BY 1, 4
+            """;
+
+    private static final String ORACLE_FOREIGN_KEYS = """
+            SELECT c.TABLE_NAME AS table_name, c.CONSTRAINT_NAME AS constraint_name,
+                   cc.COLUMN_NAME AS column_name, cc.POSITION AS ordinal_position,
+                   rc.OWNER AS ref_schema, rc.TABLE_NAME AS ref_table, rcc.COLUMN_NAME AS ref_column
+            FROM ALL_CONSTRAINTS c
+            JOIN ALL_CONS_COLUMNS cc ON cc.OWNER = c.OWNER AND cc.CONSTRAINT_NAME = c.CONSTRAINT_NAME
+            JOIN ALL_CONSTRAINTS rc ON rc.OWNER = c.R_OWNER AND rc.CONSTRAINT_NAME = c.R_CONSTRAINT_NAME
+            JOIN ALL_CONS_COLUMNS rcc ON rcc.OWNER = rc.OWNER AND rcc.CONSTRAINT_NAME = rc.CONSTRAINT_NAME
+             AND rcc.POSITION = cc.POSITION
+            WHERE c.CONSTRAINT_TYPE = 'R' AND c.OWNER = ?
+            ORDER BY 1, 2, 4
+            """;
+
+    private static final String ORACLE_INDEXES = """
+            SELECT i.TABLE_NAME AS table_name, i.INDEX_NAME AS index_name,
+                   CASE WHEN i.UNIQUENESS = 'UNIQUE' THEN 1 ELSE 0 END AS is_unique,
+                   ic.COLUMN_NAME AS column_name, ic.COLUMN_POSITION AS ordinal_position
+            FROM ALL_INDEXES i
+            JOIN ALL_IND_COLUMNS ic ON ic.INDEX_OWNER = i.OWNER AND ic.INDEX_NAME = i.INDEX_NAME
+            WHERE i.TABLE_OWNER = ?
+              AND NOT EXISTS (SELECT 1 FROM ALL_CONSTRAINTS c
+                              WHERE c.OWNER = i.TABLE_OWNER AND c.INDEX_NAME = i.INDEX_NAME
+                                AND c.CONSTRAINT_TYPE = 'P')
+            ORDER BY 1, 2, 5
+            """;
+
+    private record CatalogQueries(String primaryKeys, String foreignKeys, String indexes) {
+    }
+
+    private final DatabaseConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Loads the full catalog of a schema on the current connection
+     */
+    public SchemaCatalog load(String schema) {
+        return load(connectionManager.getCurrentConnectionName(), schema);
+    }
+
+    /**
+     * Loads the full catalog of a schema on a named connection
+     */
+    public SchemaCatalog load(String connectionName, String schema) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String dbType = connectionManager.getDatabaseType(connectionName);
+
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            String resolvedSchema = schema != null ? schema : currentSchema(conn, dbType);
+            boolean catalogIsSchema = DatabaseConstants.DB_TYPE_MYSQL.equals(dbType);
+            String catalogArg = catalogIsSchema ? resolvedSchema : null;
+            String schemaArg = catalogIsSchema ? null : resolvedSchema;
+
+            Map<String, TableDefinition> tables = loadTables(metaData, catalogArg, schemaArg, null);
+            loadColumns(metaData, catalogArg, schemaArg, null, tables);
+
+            CatalogQueries queries = queriesFor(dbType);
+            boolean loadedFromCatalog = false;
+            if (queries != null && resolvedSchema != null) {
+                try {
+                    loadPrimaryKeys(conn, queries.primaryKeys(), resolvedSchema, tables);
+                    loadForeignKeys(conn, queries.foreignKeys(), resolvedSchema, tables);
+                    loadIndexes(conn, queries.indexes(), resolvedSchema, tables);
+                    loadedFromCatalog = true;
+                } catch (SQLException e) {
+                    log.warn("Catalog queries failed for '{}' ({}), falling back to per-table metadata: {}",
+                            connectionName, dbType, e.getMessage());
+                    tables.values().forEach(this::clearKeys);
+                }
+            }
+            if (!loadedFromCatalog) {
+                loadKeysPerTable(metaData, catalogArg, schemaArg, tables);
+            }
+
+            tables.values().forEach(this::applyColumnFlags);
+
+            log.debug("Loaded catalog of {} tables for '{}.{}'", tables.size(), connectionName, resolvedSchema);
+            return new SchemaCatalog(connectionName, dbType, resolvedSchema, Instant.now(),
+                    new ArrayList<>(tables.values()));
+
+        } catch (SQLException e) {
+            throw new SchemaException("Failed to load catalog for schema '" + schema + "': " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("database.schema.catalog.load.duration")
+                    .tag("connection", connectionName)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Loads the definition of a single table on a named connection, failing if it does not exist
+     */
+    public TableDefinition loadTable(String connectionName, String schema, String tableName) {
+        return findTable(connectionName, schema, tableName)
+                .orElseThrow(() -> new SchemaException("Table '" + tableName + "' not found in schema '"
+                        + schema + "' on connection '" + connectionName + "'"));
+    }
+
+    /**
+     * Looks up a single table on a named connection, trying the name as given and in upper and
+     * lower case
+     */
+    public Optional<TableDefinition> findTable(String connectionName, String schema, String tableName) {
+        String dbType = connectionManager.getDatabaseType(connectionName);
+
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            String resolvedSchema = schema != null ? schema : currentSchema(conn, dbType);
+            boolean catalogIsSchema = DatabaseConstants.DB_TYPE_MYSQL.equals(dbType);
+            String catalogArg = catalogIsSchema ? resolvedSchema : null;
+            String schemaArg = catalogIsSchema ? null : resolvedSchema;
+
+            for (String candidate : new LinkedHashSet<>(List.of(tableName,
+                    tableName.toUpperCase(Locale.ROOT), tableName.toLowerCase(Locale.ROOT)))) {
+                Map<String, TableDefinition> tables = loadTables(metaData, catalogArg, schemaArg, candidate);
+                tables.keySet().retainAll(Set.of(candidate));
+                if (tables.isEmpty()) {
+                    continue;
+                }
+                loadColumns(metaData, catalogArg, schemaArg, candidate, tables);
+                loadKeysPerTable(metaData, catalogArg, schemaArg, tables);
+                tables.values().forEach(this::applyColumnFlags);
+                return Optional.of(tables.get(candidate));
+            }
+            return Optional.empty();
+
+        } catch (SQLException e) {
+            throw new SchemaException("Failed to load table '" + tableName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * The schema itself, or the connection's default schema when null, so both name one catalog
+     */
+    public String resolveSchema(String connectionName, String schema) {
+        if (schema != null) {
+            return schema;
+        }
+        String dbType = connectionManager.getDatabaseType(connectionName);
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
+            return currentSchema(conn, dbType);
+        } catch (SQLException e) {
+            throw new SchemaException("Failed to resolve the default schema of '" + connectionName + "': " + e.getMessage(), e);
+        }
+    }
+
+    static String currentSchema(Connection conn, String dbType) throws SQLException {
+        return DatabaseConstants.DB_TYPE_MYSQL.equals(dbType) ? conn.getCatalog() : conn.getSchema();
+    }
+
+    private CatalogQueries queriesFor(String dbType) {
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_POSTGRESQL ->
+                    new CatalogQueries(POSTGRESQL_PRIMARY_KEYS, POSTGRESQL_FOREIGN_KEYS, POSTGRESQL_INDEXES);
+            case DatabaseConstants.DB_TYPE_MYSQL ->
+                    new CatalogQueries(INFORMATION_SCHEMA_PRIMARY_KEYS, MYSQL_FOREIGN_KEYS, MYSQL_INDEXES);
+            case DatabaseConstants.DB_TYPE_H2 ->
+                    new CatalogQueries(INFORMATION_SCHEMA_PRIMARY_KEYS, H2_FOREIGN_KEYS, H2_INDEXES);
+            case DatabaseConstants.DB_TYPE_SQL_SERVER ->
+                    new CatalogQueries(INFORMATION_SCHEMA_PRIMARY_KEYS, SQL_SERVER_FOREIGN_KEYS, SQL_SERVER_INDEXES);
+            case DatabaseConstants.DB_TYPE_ORACLE ->
+                    new CatalogQueries(ORACLE_PRIMARY_KEYS, ORACLE_FOREIGN_KEYS, ORACLE_INDEXES);
+            default -> null;
+        };
+    }
+
+    private Map<String, TableDefinition> loadTables(DatabaseMetaData metaData, String catalog, String schema,
+                                                    String tableName) throws SQLException {
+        Map<String, TableDefinition> tables = new LinkedHashMap<>();
+
+        try (ResultSet rs = metaData.getTables(catalog, schema, tableName, DatabaseConstants.TABLE_TYPES)) {
+            while (rs.next()) {
+                TableInfo table = TableInfo.builder()
+                        .name(rs.getString("TABLE_NAME"))
+                        .schema(rs.getString("TABLE_SCHEM"))
+                        .catalog(rs.getString("TABLE_CAT"))
+                        .type(rs.getString("TABLE_TYPE"))
+                        .remarks(rs.getString("REMARKS"))
+                        .build();
+                tables.put(table.getName(), TableDefinition.builder().table(table).build());
+            }
+        }
+        return tables;
+    }
+
+    private void loadColumns(DatabaseMetaData metaData, String catalog, String schema, String tableName,
+                             Map<String, TableDefinition> tables) throws SQLException {
+        try (ResultSet rs = metaData.getColumns(catalog, schema, tableName, null)) {
+            while (rs.next()) {
+                TableDefinition table = tables.get(rs.getString("TABLE_NAME"));
+                if (table == null) {
+                    continue; // views and other non-table objects
+                }
+                table.getColumns().add(ColumnInfo.builder()
+                        .name(rs.getString("COLUMN_NAME"))
+                        .type(rs.getString("TYPE_NAME"))
+                        .dataType(rs.getInt("DATA_TYPE"))
+                        .size(rs.getInt("COLUMN_SIZE"))
+                        .decimalDigits(rs.getInt("DECIMAL_DIGITS"))
+                        .nullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable)
+                        .defaultValue(rs.getString("COLUMN_DEF"))
+                        .position(rs.getInt("ORDINAL_POSITION"))
+                        .remarks(rs.getString("REMARKS"))
+                        .isAutoIncrement("YES".equalsIgnoreCase(rs.getString("IS_AUTOINCREMENT")))
+                        .build());
+            }
+        }
+    }
+
+    private void loadPrimaryKeys(Connection conn, String sql, String schema,
+                                 Map<String, TableDefinition> tables) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    TableDefinition table = tables.get(rs.getString("table_name"));
+                    if (table != null) {
+                        table.getPrimaryKey().add(rs.getString("column_name"));
+                    }
+                }
+            }
+        }
+    }
+
+    private void loadForeignKeys(Connection conn, String sql, String schema,
+                                 Map<String, TableDefinition> tables) throws SQLException {
+        Map<String, ForeignKeyInfo> foreignKeys = new LinkedHashMap<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("table_name");
+                    TableDefinition table = tables.get(tableName);
+                    if (table == null) {
+                        continue;
+                    }
+                    String name = rs.getString("constraint_name");
+                    ForeignKeyInfo foreignKey = foreignKeys.computeIfAbsent(tableName + '\u0000' + name, key -> {
+                        ForeignKeyInfo created = ForeignKeyInfo.builder().name(name).tableName(tableName).build();
+                        table.getForeignKeys().add(created);
+                        return created;
+                    });
+                    foreignKey.setReferencedSchema(rs.getString("ref_schema"));
+                    foreignKey.setReferencedTable(rs.getString("ref_table"));
+                    foreignKey.getColumns().add(rs.getString("column_name"));
+                    foreignKey.getReferencedColumns().add(rs.getString("ref_column"));
+                }
+            }
+        }
+    }
+
+    private void loadIndexes(Connection conn, String sql, String schema,
+                             Map<String, TableDefinition> tables) throws SQLException {
+        Map<String, IndexInfo> indexes = new LinkedHashMap<>();
+
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, schema);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    String tableName = rs.getString("table_name");
+                    TableDefinition table = tables.get(tableName);
+                    if (table == null) {
+                        continue;
+                    }
+                    String name = rs.getString("index_name");
+                    boolean unique = rs.getBoolean("is_unique");
+                    IndexInfo index = indexes.computeIfAbsent(tableName + '\u0000' + name, key -> {
+                        IndexInfo created = IndexInfo.builder().name(name).tableName(tableName).unique(unique).build();
+                        table.getIndexes().add(created);
+                        return created;
+                    });
+                    index.getColumns().add(rs.getString("column_name"));
+                }
+            }
+        }
+    }
+
+    /**
+     * Fallback for engines without catalog queries: three metadata calls per table
+     */
+    private void loadKeysPerTable(DatabaseMetaData metaData, String catalog, String schema,
+                                  Map<String, TableDefinition> tables) throws SQLException {
+        log.debug("Loading keys and indexes per table for {} tables", tables.size());
+
+        for (TableDefinition table : tables.values()) {
+            String tableName = table.getName();
+
+            Map<Short, String> primaryKey = new TreeMap<>();
+            try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, tableName)) {
+                while (rs.next()) {
+                    primaryKey.put(rs.getShort("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+                }
+            }
+            table.getPrimaryKey().addAll(primaryKey.values());
+
+            Map<String, ForeignKeyInfo> foreignKeys = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getImportedKeys(catalog, schema, tableName)) {
+                while (rs.next()) {
+                    String name = rs.getString("FK_NAME");
+                    String referencedSchema = rs.getString("PKTABLE_SCHEM");
+                    String referencedTable = rs.getString("PKTABLE_NAME");
+                    ForeignKeyInfo foreignKey = foreignKeys.computeIfAbsent(name != null ? name : referencedTable,
+                            key -> ForeignKeyInfo.builder()
+                                    .name(name)
+                                    .tableName(tableName)
+                                    .referencedSchema(referencedSchema)
+                                    .referencedTable(referencedTable)
+                                    .build());
+                    foreignKey.getColumns().add(rs.getString("FKCOLUMN_NAME"));
+                    foreignKey.getReferencedColumns().add(rs.getString("PKCOLUMN_NAME"));
+                }
+            }
+            table.getForeignKeys().addAll(foreignKeys.values());
+
+            Set<String> primaryKeyColumns = new HashSet<>(table.getPrimaryKey());
+            Map<String, IndexInfo> indexes = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getIndexInfo(catalog, schema, tableName, false, true)) {
+                while (rs.next()) {
+                    String name = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (name == null || column == null) {
+                        continue; // table statistics rows
+                    }
+                    boolean unique = !rs.getBoolean("NON_UNIQUE");
+                    indexes.computeIfAbsent(name, key -> IndexInfo.builder()
+                                    .name(name).tableName(tableName).unique(unique).build())
+                            .getColumns().add(column);
+                }
+            }
+            indexes.values().stream()
+                    .filter(index -> !(index.isUnique() && new HashSet<>(index.getColumns()).equals(primaryKeyColumns)))
+                    .forEach(table.getIndexes()::add);
+        }
+    }
+
+    private void clearKeys(TableDefinition table) {
+        table.getPrimaryKey().clear();
+        table.getForeignKeys().clear();
+        table.getIndexes().clear();
+    }
+
+    private void applyColumnFlags(TableDefinition table) {
+        Set<String> primaryKey = new HashSet<>(table.getPrimaryKey());
+        Set<String> foreignKeyColumns = new HashSet<>();
+        table.getForeignKeys().forEach(foreignKey -> foreignKeyColumns.addAll(foreignKey.getColumns()));
+        Set<String> indexedColumns = new HashSet<>();
+        Set<String> uniqueColumns = new HashSet<>();
+        table.getIndexes().forEach(index -> {
+            indexedColumns.add(index.getColumns().get(0));
+            if (index.isUnique() && index.getColumns().size() == 1) {
+                uniqueColumns.add(index.getColumns().get(0));
+            }
+        });
+
+        for (ColumnInfo column : table.getColumns()) {
+            String name = column.getName();
+            column.setPrimaryKey(primaryKey.contains(name));
+            column.setForeignKey(foreignKeyColumns.contains(name));
+            column.setIndexed(primaryKey.contains(name) || indexedColumns.contains(name));
+            column.setUnique(uniqueColumns.contains(name) || (primaryKey.size() == 1 && primaryKey.contains(name)));
+        }
+    }
+}
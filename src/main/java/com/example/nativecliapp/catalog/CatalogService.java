@@ -0,0 +1,141 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.event.ConnectionChangedEvent;
+import com.example.nativecliapp.event.SchemaChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps loaded schema catalogs per connection and answers existence checks from memory. Catalogs
+ * not yet in memory come from the on-disk cache while it is current, so a fresh start does not
+ * have to crawl the metadata again. A null schema means the connection's default one and shares
+ * its entry. Loading happens outside the map, so a slow crawl of one schema does not hold up
+ * lookups of others; callers asking for a schema already being loaded wait for that load.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogService {
+
+    private record CatalogKey(String connectionName, String schema) {
+    }
+
+    private final CatalogLoader catalogLoader;
+    private final CatalogDiskCache diskCache;
+    private final SchemaManager schemaManager;
+    private final DatabaseConnectionManager connectionManager;
+
+    private final Map<CatalogKey, SchemaCatalog> catalogs = new ConcurrentHashMap<>();
+    private final Map<CatalogKey, CompletableFuture<SchemaCatalog>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the catalog of a schema on the current connection, loading it on first use
+     */
+    public SchemaCatalog getCatalog(String schema) {
+        return getCatalog(connectionManager.getCurrentConnectionName(), schema);
+    }
+
+    public SchemaCatalog getCatalog(String connectionName, String schema) {
+        CatalogKey key = key(connectionName, schema);
+        SchemaCatalog cached = catalogs.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        CompletableFuture<SchemaCatalog> load = new CompletableFuture<>();
+        CompletableFuture<SchemaCatalog> running = loading.putIfAbsent(key, load);
+        if (running != null) {
+            return await(running);
+        }
+        try {
+            SchemaCatalog catalog = diskCache.getOrLoad(key.connectionName(), key.schema(),
+                    () -> catalogLoader.load(key.connectionName(), key.schema()));
+            // an eviction while loading drops the future, and the catalog may predate the DDL behind it
+            if (loading.remove(key, load)) {
+                catalogs.put(key, catalog);
+            }
+            load.complete(catalog);
+            return catalog;
+        } catch (RuntimeException e) {
+            loading.remove(key, load);
+            load.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Drops any cached catalog for the schema and loads it again
+     */
+    public SchemaCatalog refresh(String schema) {
+        CatalogKey key = key(connectionManager.getCurrentConnectionName(), schema);
+        SchemaCatalog catalog = diskCache.reload(key.connectionName(), key.schema(),
+                () -> catalogLoader.load(key.connectionName(), key.schema()));
+        catalogs.put(key, catalog);
+        return catalog;
+    }
+
+    public Optional<SchemaCatalog> getCachedCatalog(String schema) {
+        return Optional.ofNullable(catalogs.get(key(connectionManager.getCurrentConnectionName(), schema)));
+    }
+
+    /**
+     * Returns the on-disk catalog while the server still reports its fingerprint, without crawling
+     * the metadata. The in-memory copy is only evicted by DDL run in this process, so it is not
+     * trusted here; DDL from other sessions changes the fingerprint and empties the result.
+     */
+    public Optional<SchemaCatalog> getStoredCatalog(String schema) {
+        CatalogKey key = key(connectionManager.getCurrentConnectionName(), schema);
+        Optional<SchemaCatalog> stored = diskCache.find(key.connectionName(), key.schema());
+        stored.ifPresent(found -> catalogs.put(key, found));
+        return stored;
+    }
+
+    /**
+     * Answers from a current on-disk catalog when available, otherwise asks the database directly
+     */
+    public boolean tableExists(String schema, String tableName) {
+        return getStoredCatalog(schema)
+                .map(catalog -> catalog.containsTable(tableName))
+                .orElseGet(() -> schemaManager.tableExists(schema, tableName));
+    }
+
+    public void evict(String connectionName) {
+        catalogs.keySet().removeIf(key -> key.connectionName().equals(connectionName));
+        loading.keySet().removeIf(key -> key.connectionName().equals(connectionName));
+    }
+
+    private CatalogKey key(String connectionName, String schema) {
+        return new CatalogKey(connectionName, catalogLoader.resolveSchema(connectionName, schema));
+    }
+
+    private static SchemaCatalog await(CompletableFuture<SchemaCatalog> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE) // before listeners that rebuild from the catalog
+    public void onSchemaChanged(SchemaChangedEvent event) {
+        log.debug("Evicting cached catalogs of '{}' after DDL", event.connectionName());
+        evict(event.connectionName());
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        evict(event.connectionName());
+    }
+}
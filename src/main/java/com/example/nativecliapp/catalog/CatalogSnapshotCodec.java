@@ -0,0 +1,357 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.IndexInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.dtos.TableInfo;
+import com.example.nativecliapp.exception.SchemaException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact binary encoding of schema catalogs. All strings are interned into a table written once
+ * up front and referenced by varint ids, so large catalogs with repetitive type and table names
+ * stay small and decode without any parsing beyond a single pass over the buffer.
+ */
+public final class CatalogSnapshotCodec {
+
+    private static final int MAGIC = 0x44534943; // "DSIC"
+    private static final short VERSION = 1;
+
+    private static final int FLAG_NULLABLE = 1;
+    private static final int FLAG_PRIMARY_KEY = 1 << 1;
+    private static final int FLAG_FOREIGN_KEY = 1 << 2;
+    private static final int FLAG_INDEXED = 1 << 3;
+    private static final int FLAG_UNIQUE = 1 << 4;
+    private static final int FLAG_AUTO_INCREMENT = 1 << 5;
+
+    private CatalogSnapshotCodec() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Writes catalogs to a file atomically, replacing any previous snapshot
+     */
+    public static void write(Path file, List<SchemaCatalog> catalogs) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                out.write(encode(catalogs));
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new SchemaException("Failed to write catalog snapshot '" + file + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads catalogs from a memory-mapped snapshot file
+     */
+    public static List<SchemaCatalog> read(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new SchemaException("Failed to read catalog snapshot '" + file + "': " + e.getMessage(), e);
+        }
+    }
+
+    public static byte[] encode(List<SchemaCatalog> catalogs) {
+        Writer body = new Writer();
+        body.varint(catalogs.size());
+
+        for (SchemaCatalog catalog : catalogs) {
+            body.string(catalog.getConnectionName());
+            body.string(catalog.getDatabaseType());
+            body.string(catalog.getSchema());
+            body.varlong(catalog.getLoadedAt().toEpochMilli());
+
+            List<TableDefinition> tables = catalog.getTables();
+            body.varint(tables.size());
+            for (TableDefinition table : tables) {
+                writeTable(body, table);
+            }
+        }
+
+        Writer header = new Writer();
+        header.int32(MAGIC);
+        header.int16(VERSION);
+        header.varint(body.strings.size());
+        for (String value : body.strings) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            header.varint(bytes.length);
+            header.out.write(bytes, 0, bytes.length);
+        }
+        byte[] bodyBytes = body.out.toByteArray();
+        header.out.write(bodyBytes, 0, bodyBytes.length);
+        return header.out.toByteArray();
+    }
+
+    public static List<SchemaCatalog> decode(ByteBuffer buffer) {
+        if (buffer.remaining() < 6 || buffer.getInt() != MAGIC) {
+            throw new SchemaException("Not a catalog snapshot");
+        }
+        short version = buffer.getShort();
+        if (version != VERSION) {
+            throw new SchemaException("Unsupported catalog snapshot version " + version);
+        }
+
+        Reader reader = new Reader(buffer);
+        int stringCount = reader.varint();
+        String[] strings = new String[stringCount];
+        for (int i = 0; i < stringCount; i++) {
+            byte[] bytes = new byte[reader.varint()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        reader.strings = strings;
+
+        int catalogCount = reader.varint();
+        List<SchemaCatalog> catalogs = new ArrayList<>(catalogCount);
+        for (int c = 0; c < catalogCount; c++) {
+            String connectionName = reader.string();
+            String databaseType = reader.string();
+            String schema = reader.string();
+            Instant loadedAt = Instant.ofEpochMilli(reader.varlong());
+
+            int tableCount = reader.varint();
+            List<TableDefinition> tables = new ArrayList<>(tableCount);
+            for (int t = 0; t < tableCount; t++) {
+                tables.add(readTable(reader));
+            }
+            catalogs.add(new SchemaCatalog(connectionName, databaseType, schema, loadedAt, tables));
+        }
+        return catalogs;
+    }
+
+    private static void writeTable(Writer out, TableDefinition table) {
+        TableInfo info = table.getTable();
+        out.string(info.getName());
+        out.string(info.getSchema());
+        out.string(info.getCatalog());
+        out.string(info.getType());
+        out.string(info.getRemarks());
+
+        out.varint(table.getColumns().size());
+        for (ColumnInfo column : table.getColumns()) {
+            out.string(column.getName());
+            out.string(column.getType());
+            out.zigzag(column.getDataType());
+            out.zigzag(column.getSize());
+            out.zigzag(column.getDecimalDigits());
+            out.varint((column.isNullable() ? FLAG_NULLABLE : 0)
+                    | (column.isPrimaryKey() ? FLAG_PRIMARY_KEY : 0)
+                    | (column.isForeignKey() ? FLAG_FOREIGN_KEY : 0)
+                    | (column.isIndexed() ? FLAG_INDEXED : 0)
+                    | (column.isUnique() ? FLAG_UNIQUE : 0)
+                    | (column.isAutoIncrement() ? FLAG_AUTO_INCREMENT : 0));
+            out.string(column.getDefaultValue());
+            out.varint(column.getPosition());
+            out.string(column.getRemarks());
+        }
+
+        out.strings(table.getPrimaryKey());
+
+        out.varint(table.getIndexes().size());
+        for (IndexInfo index : table.getIndexes()) {
+            out.string(index.getName());
+            out.varint(index.isUnique() ? 1 : 0);
+            out.strings(index.getColumns());
+        }
+
+        out.varint(table.getForeignKeys().size());
+        for (ForeignKeyInfo foreignKey : table.getForeignKeys()) {
+            out.string(foreignKey.getName());
+            out.string(foreignKey.getReferencedSchema());
+            out.string(foreignKey.getReferencedTable());
+            out.strings(foreignKey.getColumns());
+            out.strings(foreignKey.getReferencedColumns());
+        }
+    }
+
+    private static TableDefinition readTable(Reader in) {
+        TableInfo info = TableInfo.builder()
+                .name(in.string())
+                .schema(in.string())
+                .catalog(in.string())
+                .type(in.string())
+                .remarks(in.string())
+                .build();
+
+        int columnCount = in.varint();
+        List<ColumnInfo> columns = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            String name = in.string();
+            String type = in.string();
+            int dataType = in.zigzag();
+            int size = in.zigzag();
+            int decimalDigits = in.zigzag();
+            int flags = in.varint();
+            columns.add(ColumnInfo.builder()
+                    .name(name)
+                    .type(type)
+                    .dataType(dataType)
+                    .size(size)
+                    .decimalDigits(decimalDigits)
+                    .nullable((flags & FLAG_NULLABLE) != 0)
+                    .isPrimaryKey((flags & FLAG_PRIMARY_KEY) != 0)
+                    .isForeignKey((flags & FLAG_FOREIGN_KEY) != 0)
+                    .isIndexed((flags & FLAG_INDEXED) != 0)
+                    .isUnique((flags & FLAG_UNIQUE) != 0)
+                    .isAutoIncrement((flags & FLAG_AUTO_INCREMENT) != 0)
+                    .defaultValue(in.string())
+                    .position(in.varint())
+                    .remarks(in.string())
+                    .build());
+        }
+
+        List<String> primaryKey = in.strings();
+
+        int indexCount = in.varint();
+        List<IndexInfo> indexes = new ArrayList<>(indexCount);
+        for (int i = 0; i < indexCount; i++) {
+            indexes.add(IndexInfo.builder()
+                    .name(in.string())
+                    .tableName(info.getName())
+                    .unique(in.varint() == 1)
+                    .columns(in.strings())
+                    .build());
+        }
+
+        int foreignKeyCount = in.varint();
+        List<ForeignKeyInfo> foreignKeys = new ArrayList<>(foreignKeyCount);
+        for (int i = 0; i < foreignKeyCount; i++) {
+            foreignKeys.add(ForeignKeyInfo.builder()
+                    .name(in.string())
+                    .tableName(info.getName())
+                    .referencedSchema(in.string())
+                    .referencedTable(in.string())
+                    .columns(in.strings())
+                    .referencedColumns(in.strings())
+                    .build());
+        }
+
+        return TableDefinition.builder()
+                .table(info)
+                .columns(columns)
+                .primaryKey(primaryKey)
+                .indexes(indexes)
+                .foreignKeys(foreignKeys)
+                .build();
+    }
+
+    private static final class Writer {
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream(8192);
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+
+        void string(String value) {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = strings.size();
+                ids.put(value, id);
+                strings.add(value);
+            }
+            varint(id + 1);
+        }
+
+        void strings(List<String> values) {
+            varint(values.size());
+            values.forEach(this::string);
+        }
+
+        void zigzag(int value) {
+            varint((value << 1) ^ (value >> 31));
+        }
+
+        void varint(int value) {
+            varlong(value & 0xFFFFFFFFL);
+        }
+
+        void varlong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        void int32(int value) {
+            out.write(value >>> 24);
+            out.write(value >>> 16);
+            out.write(value >>> 8);
+            out.write(value);
+        }
+
+        void int16(short value) {
+            out.write(value >>> 8);
+            out.write(value);
+        }
+    }
+
+    private static final class Reader {
+        private final ByteBuffer buffer;
+        private String[] strings;
+
+        Reader(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        String string() {
+            int id = varint();
+            return id == 0 ? null : strings[id - 1];
+        }
+
+        List<String> strings() {
+            int count = varint();
+            List<String> values = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                values.add(string());
+            }
+            return values;
+        }
+
+        int zigzag() {
+            int value = varint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        int varint() {
+            return (int) varlong();
+        }
+
+        long varlong() {
+            long result = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = buffer.get();
+                result |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+            return result;
+        }
+    }
+}
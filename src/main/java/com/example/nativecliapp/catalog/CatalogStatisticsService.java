@@ -0,0 +1,212 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.DatabaseOverview;
+import com.example.nativecliapp.dtos.SchemaStatistics;
+import com.example.nativecliapp.exception.SchemaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds a whole-database size picture from the catalog statistics each engine already maintains,
+ * instead of walking DatabaseMetaData schema by schema or scanning tables with COUNT(*).
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class CatalogStatisticsService {
+
+    private static final String POSTGRESQL_OVERVIEW = """
+            SELECT n.nspname AS schema_name,
+                   COUNT(*) AS table_count,
+                   SUM(COALESCE(s.n_live_tup, GREATEST(c.reltuples, 0)::bigint)) AS estimated_rows,
+                   SUM(pg_total_relation_size(c.oid)) AS total_bytes
+            FROM pg_class c
+            JOIN pg_namespace n ON n.oid = c.relnamespace
+            LEFT JOIN pg_stat_user_tables s ON s.relid = c.oid
+            WHERE c.relkind = 'r'
+              AND n.nspname NOT IN ('pg_catalog', 'information_schema')
+              AND n.nspname NOT LIKE 'pg_toast%'
+            GROUP BY n.nspname
+            """;
+
+    private static final String MYSQL_OVERVIEW = """
+            SELECT TABLE_SCHEMA AS schema_name,
+                   COUNT(*) AS table_count,
+                   SUM(COALESCE(TABLE_ROWS, 0)) AS estimated_rows,
+                   SUM(COALESCE(DATA_LENGTH, 0) + COALESCE(INDEX_LENGTH, 0)) AS total_bytes
+            FROM information_schema.TABLES
+            WHERE TABLE_TYPE = 'BASE TABLE'
+              AND TABLE_SCHEMA NOT IN ('mysql', 'information_schema', 'performance_schema', 'sys')
+            GROUP BY TABLE_SCHEMA
+            """;
+
+    private static final String ORACLE_OVERVIEW = """
+            SELECT OWNER AS schema_name,
+                   COUNT(*) AS table_count,
+                   SUM(NVL(NUM_ROWS, 0)) AS estimated_rows,
+                   SUM(NVL(NUM_ROWS, 0) * NVL(AVG_ROW_LEN, 0)) AS total_bytes
+            FROM ALL_TABLES
+            WHERE OWNER NOT IN (SELECT USERNAME FROM ALL_USERS WHERE ORACLE_MAINTAINED = 'Y')
+            GROUP BY OWNER
+            """;
+
+    private static final String SQL_SERVER_OVERVIEW = """
+            SELECT s.name AS schema_name,
+                   COUNT(DISTINCT t.object_id) AS table_count,
+                   SUM(CASE WHEN ps.index_id IN (0, 1) THEN ps.row_count ELSE 0 END) AS estimated_rows,
+                   CAST(SUM(ps.reserved_page_count) AS BIGINT) * 8192 AS total_bytes
+            FROM sys.tables t
+            JOIN sys.schemas s ON s.schema_id = t.schema_id
+            JOIN sys.dm_db_partition_stats ps ON ps.object_id = t.object_id
+            WHERE t.is_ms_shipped = 0
+            GROUP BY s.name
+            """;
+
+    private static final String H2_OVERVIEW = """
+            SELECT TABLE_SCHEMA AS schema_name,
+                   COUNT(*) AS table_count,
+                   SUM(ROW_COUNT_ESTIMATE) AS estimated_rows,
+                   CAST(NULL AS BIGINT) AS total_bytes
+            FROM INFORMATION_SCHEMA.TABLES
+            WHERE TABLE_TYPE = 'BASE TABLE'
+              AND TABLE_SCHEMA <> 'INFORMATION_SCHEMA'
+            GROUP BY TABLE_SCHEMA
+            """;
+
+    private final DatabaseConnectionManager connectionManager;
+    private final SchemaManager schemaManager;
+    private final DatabaseConfig databaseConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Collects table counts, estimated rows and sizes for every schema of the current connection
+     */
+    public DatabaseOverview getOverview() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+
+        String connectionName = connectionManager.getCurrentConnectionName();
+        String dbType = connectionManager.getCurrentDatabaseType();
+        String catalogSql = catalogQuery(dbType);
+
+        try {
+            List<SchemaStatistics> schemas = null;
+            if (catalogSql != null) {
+                try {
+                    schemas = queryCatalog(catalogSql);
+                } catch (SQLException e) {
+                    log.warn("Catalog statistics query failed for '{}' ({}), falling back to metadata: {}",
+                            connectionName, dbType, e.getMessage());
+                }
+            }
+
+            boolean fromCatalog = schemas != null;
+            if (!fromCatalog) {
+                schemas = collectFromMetadata();
+            }
+
+            schemas.sort(Comparator.comparing(SchemaStatistics::getSchema, String.CASE_INSENSITIVE_ORDER));
+
+            return DatabaseOverview.builder()
+                    .connectionName(connectionName)
+                    .databaseType(dbType)
+                    .fromCatalog(fromCatalog)
+                    .durationMillis(System.currentTimeMillis() - start)
+                    .schemas(schemas)
+                    .build();
+
+        } finally {
+            sample.stop(Timer.builder("database.schema.overview.duration")
+                    .tag("connection", connectionName)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String catalogQuery(String dbType) {
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_POSTGRESQL -> POSTGRESQL_OVERVIEW;
+            case DatabaseConstants.DB_TYPE_MYSQL -> MYSQL_OVERVIEW;
+            case DatabaseConstants.DB_TYPE_ORACLE -> ORACLE_OVERVIEW;
+            case DatabaseConstants.DB_TYPE_SQL_SERVER -> SQL_SERVER_OVERVIEW;
+            case DatabaseConstants.DB_TYPE_H2 -> H2_OVERVIEW;
+            default -> null;
+        };
+    }
+
+    private List<SchemaStatistics> queryCatalog(String sql) throws SQLException {
+        try (Connection conn = connectionManager.getCurrentDataSource(Workload.METADATA).getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+
+            List<SchemaStatistics> schemas = new ArrayList<>();
+            while (rs.next()) {
+                schemas.add(SchemaStatistics.builder()
+                        .schema(rs.getString("schema_name"))
+                        .tableCount(rs.getInt("table_count"))
+                        .estimatedRows(getLongOrUnknown(rs, "estimated_rows"))
+                        .totalBytes(getLongOrUnknown(rs, "total_bytes"))
+                        .build());
+            }
+            return schemas;
+        }
+    }
+
+    private long getLongOrUnknown(ResultSet rs, String column) throws SQLException {
+        long value = rs.getLong(column);
+        return rs.wasNull() ? -1 : value;
+    }
+
+    /**
+     * Fallback for engines without usable catalog statistics: lists tables of all schemas in parallel
+     */
+    private List<SchemaStatistics> collectFromMetadata() {
+        List<String> schemaNames = schemaManager.listSchemas();
+        if (schemaNames.isEmpty()) {
+            return new ArrayList<>(List.of(SchemaStatistics.builder()
+                    .schema("default")
+                    .tableCount(schemaManager.getTableCount(null))
+                    .build()));
+        }
+
+        int parallelism = Math.max(1, Math.min(schemaNames.size(), databaseConfig.getMaxPoolSize() / 2));
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            List<CompletableFuture<SchemaStatistics>> futures = schemaNames.stream()
+                    .map(schema -> CompletableFuture.supplyAsync(() -> SchemaStatistics.builder()
+                            .schema(schema)
+                            .tableCount(schemaManager.getTableCount(schema))
+                            .build(), executor))
+                    .toList();
+
+            List<SchemaStatistics> schemas = new ArrayList<>();
+            for (CompletableFuture<SchemaStatistics> future : futures) {
+                schemas.add(future.join());
+            }
+            return schemas;
+
+        } catch (Exception e) {
+            throw new SchemaException("Failed to collect schema statistics: " + e.getMessage(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
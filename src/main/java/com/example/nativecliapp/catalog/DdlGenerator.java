@@ -0,0 +1,157 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.IndexInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Renders catalog model objects as DDL statements for one target database type
+ */
+public class DdlGenerator {
+
+    private static final int MAX_RENDERED_LENGTH = 1_000_000;
+
+    private final String dbType;
+
+    public DdlGenerator(String dbType) {
+        this.dbType = dbType != null ? dbType : DatabaseConstants.DB_TYPE_H2;
+    }
+
+    public String getDbType() {
+        return dbType;
+    }
+
+    /**
+     * CREATE TABLE with columns and primary key; foreign keys and indexes are emitted separately
+     */
+    public String createTable(TableDefinition table) {
+        List<String> parts = table.getColumns().stream()
+                .sorted(Comparator.comparingInt(ColumnInfo::getPosition))
+                .map(this::columnDefinition)
+                .collect(Collectors.toCollection(ArrayList::new));
+
+        if (!table.getPrimaryKey().isEmpty()) {
+            parts.add(DatabaseConstants.SQL_PRIMARY_KEY + " (" + String.join(", ", table.getPrimaryKey()) + ")");
+        }
+
+        return DatabaseConstants.SQL_CREATE_TABLE + " " + table.getName() + " (\n    "
+                + String.join(",\n    ", parts) + "\n)";
+    }
+
+    public String dropTable(TableDefinition table) {
+        return "DROP TABLE " + table.getName();
+    }
+
+    public String addColumn(String table, ColumnInfo column) {
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_ORACLE -> "ALTER TABLE " + table + " ADD (" + columnDefinition(column) + ")";
+            case DatabaseConstants.DB_TYPE_SQL_SERVER -> "ALTER TABLE " + table + " ADD " + columnDefinition(column);
+            default -> "ALTER TABLE " + table + " ADD COLUMN " + columnDefinition(column);
+        };
+    }
+
+    public String dropColumn(String table, ColumnInfo column) {
+        return "ALTER TABLE " + table + " DROP COLUMN " + column.getName();
+    }
+
+    /**
+     * Changes type and nullability of an existing column
+     */
+    public List<String> alterColumn(String table, ColumnInfo column) {
+        String name = column.getName();
+        String type = columnType(column);
+        String nullability = column.isNullable() ? "NULL" : DatabaseConstants.SQL_NOT_NULL;
+
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_MYSQL ->
+                    List.of("ALTER TABLE " + table + " MODIFY COLUMN " + columnDefinition(column));
+            case DatabaseConstants.DB_TYPE_ORACLE ->
+                    List.of("ALTER TABLE " + table + " MODIFY (" + name + " " + type + " " + nullability + ")");
+            case DatabaseConstants.DB_TYPE_SQL_SERVER ->
+                    List.of("ALTER TABLE " + table + " ALTER COLUMN " + name + " " + type + " " + nullability);
+            case DatabaseConstants.DB_TYPE_POSTGRESQL -> List.of(
+                    "ALTER TABLE " + table + " ALTER COLUMN " + name + " TYPE " + type,
+                    "ALTER TABLE " + table + " ALTER COLUMN " + name + (column.isNullable() ? " DROP NOT NULL" : " SET NOT NULL"));
+            default -> List.of(
+                    "ALTER TABLE " + table + " ALTER COLUMN " + name + " SET DATA TYPE " + type,
+                    "ALTER TABLE " + table + " ALTER COLUMN " + name + (column.isNullable() ? " DROP NOT NULL" : " SET NOT NULL"));
+        };
+    }
+
+    public String createIndex(String table, IndexInfo index) {
+        String name = index.getName() != null ? index.getName()
+                : "ix_" + table + "_" + String.join("_", index.getColumns());
+        return "CREATE " + (index.isUnique() ? "UNIQUE " : "") + "INDEX " + name + " ON " + table
+                + " (" + String.join(", ", index.getColumns()) + ")";
+    }
+
+    public String dropIndex(String table, IndexInfo index) {
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_MYSQL, DatabaseConstants.DB_TYPE_SQL_SERVER ->
+                    "DROP INDEX " + index.getName() + " ON " + table;
+            default -> "DROP INDEX " + index.getName();
+        };
+    }
+
+    public String addForeignKey(String table, ForeignKeyInfo foreignKey) {
+        String name = foreignKey.getName() != null ? foreignKey.getName()
+                : "fk_" + table + "_" + foreignKey.getReferencedTable();
+        return "ALTER TABLE " + table + " ADD CONSTRAINT " + name
+                + " FOREIGN KEY (" + String.join(", ", foreignKey.getColumns()) + ")"
+                + " REFERENCES " + foreignKey.getReferencedTable()
+                + " (" + String.join(", ", foreignKey.getReferencedColumns()) + ")";
+    }
+
+    public String dropForeignKey(String table, ForeignKeyInfo foreignKey) {
+        return DatabaseConstants.DB_TYPE_MYSQL.equals(dbType)
+                ? "ALTER TABLE " + table + " DROP FOREIGN KEY " + foreignKey.getName()
+                : "ALTER TABLE " + table + " DROP CONSTRAINT " + foreignKey.getName();
+    }
+
+    public String columnDefinition(ColumnInfo column) {
+        StringBuilder definition = new StringBuilder(column.getName()).append(" ").append(columnType(column));
+
+        if (column.isAutoIncrement()) {
+            switch (dbType) {
+                case DatabaseConstants.DB_TYPE_MYSQL -> definition.append(" AUTO_INCREMENT");
+                case DatabaseConstants.DB_TYPE_SQL_SERVER -> definition.append(" IDENTITY(1,1)");
+                case DatabaseConstants.DB_TYPE_SQLITE -> { }
+                default -> definition.append(" GENERATED BY DEFAULT AS IDENTITY");
+            }
+        } else if (column.getDefaultValue() != null) {
+            definition.append(" ").append(DatabaseConstants.SQL_DEFAULT).append(" ").append(column.getDefaultValue());
+        }
+
+        if (!column.isNullable()) {
+            definition.append(" ").append(DatabaseConstants.SQL_NOT_NULL);
+        }
+        return definition.toString();
+    }
+
+    /**
+     * Renders the type name with length or precision where the type takes one
+     */
+    public String columnType(ColumnInfo column) {
+        String type = column.getType();
+        if (type == null || type.contains("(") || column.getSize() <= 0 || column.getSize() >= MAX_RENDERED_LENGTH) {
+            return type;
+        }
+
+        return switch (column.getDataType()) {
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR, Types.BINARY, Types.VARBINARY ->
+                    type + "(" + column.getSize() + ")";
+            case Types.DECIMAL, Types.NUMERIC -> column.getDecimalDigits() > 0
+                    ? type + "(" + column.getSize() + ", " + column.getDecimalDigits() + ")"
+                    : type + "(" + column.getSize() + ")";
+            default -> type;
+        };
+    }
+}
@@ -0,0 +1,277 @@
+package com.example.nativecliapp.catalog;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The changes of a {@link SchemaDiff} plus the data loads of a {@link SchemaFile}, arranged as a
+ * dependency graph so that everything not ordered by it can run at the same time:
+ * <ul>
+ *   <li>the structural changes of one table run in script order, one after the other</li>
+ *   <li>a table is dropped only after the foreign keys pointing at it</li>
+ *   <li>data loads into a new table follow its creation, and its indexes come before or after the
+ *   load as the file asks</li>
+ *   <li>foreign keys come last for both of their tables, after the data and the referenced indexes,
+ *   so loads need no particular order and cycles between tables do not matter</li>
+ * </ul>
+ */
+public class SchemaApplyPlan {
+
+    private final String schema;
+    private final List<Step> steps = new ArrayList<>();
+    private final List<String> notes = new ArrayList<>();
+    private int skippedDrops;
+    private int depth;
+
+    private SchemaApplyPlan(String schema) {
+        this.schema = schema;
+    }
+
+    /**
+     * One statement or data load of the plan with the steps it has to wait for
+     */
+    public static final class Step {
+        private final int id;
+        private final SchemaDiff.Kind kind;
+        private final String table;
+        private final String sql;
+        private final Path data;
+        private final Set<Step> after = new LinkedHashSet<>();
+        private final List<Step> dependents = new ArrayList<>();
+        private int wave;
+
+        private Step(int id, SchemaDiff.Kind kind, String table, String sql, Path data) {
+            this.id = id;
+            this.kind = kind;
+            this.table = table;
+            this.sql = sql;
+            this.data = data;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Kind of DDL, null for a data load
+         */
+        public SchemaDiff.Kind getKind() {
+            return kind;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public String getSql() {
+            return sql;
+        }
+
+        public Path getData() {
+            return data;
+        }
+
+        public boolean isLoad() {
+            return data != null;
+        }
+
+        public Set<Step> getAfter() {
+            return after;
+        }
+
+        public List<Step> getDependents() {
+            return dependents;
+        }
+
+        /**
+         * Length of the longest chain of steps before this one; steps of one wave never depend on each other
+         */
+        public int getWave() {
+            return wave;
+        }
+
+        private void runAfter(Step step) {
+            if (step != null && step != this && after.add(step)) {
+                step.dependents.add(this);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return isLoad() ? "LOAD " + table + " FROM " + data.getFileName() : sql;
+        }
+    }
+
+    /**
+     * Builds the graph for the diff of a schema file against the live catalog; without prune the
+     * drops of the diff are left out, so only what the file declares is added or changed
+     */
+    public static SchemaApplyPlan build(SchemaDiff diff, SchemaFile file, String schema, boolean prune) {
+        SchemaApplyPlan plan = new SchemaApplyPlan(schema);
+        Map<String, Step> lastStructural = new HashMap<>();
+        Map<String, Step> loads = new HashMap<>();
+        Map<String, List<Step>> indexes = new HashMap<>();
+        Map<String, List<Step>> dropsReferencing = new HashMap<>();
+        List<SchemaDiff.Change> foreignKeys = new ArrayList<>();
+        List<SchemaDiff.Change> createIndexes = new ArrayList<>();
+        Set<String> created = new LinkedHashSet<>();
+
+        for (SchemaDiff.Change change : diff.getChanges()) {
+            if (change.isNote()) {
+                plan.notes.add(change.sql().substring(2).trim());
+                continue;
+            }
+            if (change.kind().isDrop() && !prune) {
+                plan.skippedDrops++;
+                continue;
+            }
+            String table = key(change.table());
+            switch (change.kind()) {
+                case CREATE_INDEX -> createIndexes.add(change);
+                case ADD_FOREIGN_KEY -> foreignKeys.add(change);
+                default -> {
+                    Step step = plan.add(change.kind(), change.table(), change.sql(), null);
+                    step.runAfter(lastStructural.get(table));
+                    if (change.kind() == SchemaDiff.Kind.DROP_TABLE) {
+                        dropsReferencing.getOrDefault(table, List.of()).forEach(step::runAfter);
+                    }
+                    if (change.kind() == SchemaDiff.Kind.DROP_FOREIGN_KEY && change.referencedTable() != null) {
+                        dropsReferencing.computeIfAbsent(key(change.referencedTable()), k -> new ArrayList<>()).add(step);
+                    }
+                    if (change.kind() == SchemaDiff.Kind.CREATE_TABLE) {
+                        created.add(table);
+                    }
+                    lastStructural.put(table, step);
+                }
+            }
+        }
+
+        for (String table : created) {
+            Path data = file.dataFile(table);
+            if (data != null) {
+                Step load = plan.add(null, lastStructural.get(table).getTable(), null, data);
+                load.runAfter(lastStructural.get(table));
+                loads.put(table, load);
+            }
+        }
+        file.getCatalog().getTables().stream()
+                .filter(table -> file.dataFile(table.getName()) != null && !created.contains(key(table.getName())))
+                .forEach(table -> plan.notes.add("data of " + table.getName() + " not loaded, the table already exists"));
+
+        for (SchemaDiff.Change change : createIndexes) {
+            String table = key(change.table());
+            Step step = plan.add(change.kind(), change.table(), change.sql(), null);
+            step.runAfter(lastStructural.get(table));
+            Step load = loads.get(table);
+            if (load != null && file.indexesAfterData(table)) {
+                step.runAfter(load);
+            } else if (load != null) {
+                load.runAfter(step);
+            }
+            indexes.computeIfAbsent(table, k -> new ArrayList<>()).add(step);
+        }
+
+        for (SchemaDiff.Change change : foreignKeys) {
+            String table = key(change.table());
+            String referenced = change.referencedTable() != null ? key(change.referencedTable()) : table;
+            Step step = plan.add(change.kind(), change.table(), change.sql(), null);
+            for (String side : List.of(table, referenced)) {
+                step.runAfter(lastStructural.get(side));
+                step.runAfter(loads.get(side));
+                indexes.getOrDefault(side, List.of()).forEach(step::runAfter);
+            }
+        }
+
+        plan.assignWaves();
+        return plan;
+    }
+
+    private Step add(SchemaDiff.Kind kind, String table, String sql, Path data) {
+        Step step = new Step(steps.size() + 1, kind, table, sql, data);
+        steps.add(step);
+        return step;
+    }
+
+    /**
+     * Numbers the steps by longest path from a root, in topological order
+     */
+    private void assignWaves() {
+        Map<Step, Integer> pending = new HashMap<>();
+        Deque<Step> ready = new ArrayDeque<>();
+        for (Step step : steps) {
+            pending.put(step, step.after.size());
+            if (step.after.isEmpty()) {
+                ready.add(step);
+            }
+        }
+        int visited = 0;
+        while (!ready.isEmpty()) {
+            Step step = ready.poll();
+            visited++;
+            depth = Math.max(depth, step.wave + 1);
+            for (Step dependent : step.dependents) {
+                dependent.wave = Math.max(dependent.wave, step.wave + 1);
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        if (visited != steps.size()) {
+            throw new IllegalStateException("Schema changes depend on each other in a cycle");
+        }
+    }
+
+    /**
+     * Schema the statements run in, null for the connection's current one
+     */
+    public String getSchema() {
+        return schema;
+    }
+
+    public List<Step> getSteps() {
+        return List.copyOf(steps);
+    }
+
+    /**
+     * Steps grouped by wave; all steps of a wave could run at once
+     */
+    public List<List<Step>> getWaves() {
+        List<List<Step>> waves = new ArrayList<>();
+        for (int i = 0; i < depth; i++) {
+            waves.add(new ArrayList<>());
+        }
+        steps.stream().sorted(Comparator.comparingInt(Step::getId)).forEach(step -> waves.get(step.wave).add(step));
+        return waves;
+    }
+
+    /**
+     * Differences that need a manual decision, such as a changed primary key
+     */
+    public List<String> getNotes() {
+        return List.copyOf(notes);
+    }
+
+    /**
+     * Drops of the diff left out because pruning was not asked for
+     */
+    public int getSkippedDrops() {
+        return skippedDrops;
+    }
+
+    public boolean isEmpty() {
+        return steps.isEmpty();
+    }
+
+    private static String key(String table) {
+        return table.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,294 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.batch.CsvReader;
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.dtos.SchemaApplyResult;
+import com.example.nativecliapp.event.SchemaChangedEvent;
+import com.example.nativecliapp.exception.SqlExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.JDBCType;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Brings a connection in line with a {@link SchemaFile}: diffs the file against the live catalog,
+ * arranges the delta as a {@link SchemaApplyPlan} and runs it on the bulk pool, starting every step
+ * as soon as the steps it depends on are done. After a failure no new steps start; the ones
+ * already running finish and the rest are reported as skipped.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SchemaApplyService {
+
+    private static final int LOAD_BATCH_SIZE = 1_000;
+
+    private final CatalogLoader catalogLoader;
+    private final DatabaseConnectionManager connectionManager;
+    private final DatabaseConfig databaseConfig;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Reads the file and plans its changes against the live schema; the schema argument overrides
+     * the one named in the file
+     */
+    public SchemaApplyPlan plan(String connectionName, Path file, String schema, boolean prune) {
+        SchemaFile schemaFile = SchemaFile.read(file);
+        String targetSchema = schema != null ? schema : schemaFile.getSchema();
+        SchemaCatalog live = catalogLoader.load(connectionName, targetSchema);
+        SchemaDiff diff = SchemaDiff.compare(schemaFile.getCatalog(), live);
+        return SchemaApplyPlan.build(diff, schemaFile, targetSchema, prune);
+    }
+
+    /**
+     * Default number of steps run at once: the size of the bulk pool they borrow connections from
+     */
+    public int defaultParallelism() {
+        return databaseConfig.getBulkPool().getMaxPoolSize();
+    }
+
+    public SchemaApplyResult apply(String connectionName, SchemaApplyPlan plan, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        DataSource dataSource = connectionManager.getDataSource(connectionName, Workload.BULK);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+        AtomicInteger executed = new AtomicInteger();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicLong rows = new AtomicLong();
+        List<String> errors = new ArrayList<>();
+        int finished = 0;
+
+        log.info("📐 Applying {} schema changes in {} waves to '{}' with {} workers",
+                plan.getSteps().size(), plan.getWaves().size(), connectionName, parallelism);
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            CompletionService<SchemaApplyPlan.Step> completion = new ExecutorCompletionService<>(executor);
+            Map<SchemaApplyPlan.Step, Integer> pending = new HashMap<>();
+            int running = 0;
+            for (SchemaApplyPlan.Step step : plan.getSteps()) {
+                pending.put(step, step.getAfter().size());
+                if (step.getAfter().isEmpty()) {
+                    submit(completion, dataSource, plan.getSchema(), step, executed, loaded, rows);
+                    running++;
+                }
+            }
+
+            while (running > 0) {
+                SchemaApplyPlan.Step done;
+                try {
+                    done = completion.take().get();
+                } catch (ExecutionException e) {
+                    running--;
+                    errors.add(e.getCause().getMessage());
+                    continue;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    errors.add("Interrupted");
+                    break;
+                }
+                running--;
+                finished++;
+                if (!errors.isEmpty()) {
+                    continue;
+                }
+                for (SchemaApplyPlan.Step dependent : done.getDependents()) {
+                    if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                        submit(completion, dataSource, plan.getSchema(), dependent, executed, loaded, rows);
+                        running++;
+                    }
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+            meterRegistry.counter("database.schema.apply.statements").increment(executed.get());
+            sample.stop(Timer.builder("database.schema.apply.duration").register(meterRegistry));
+            if (executed.get() > 0) {
+                eventPublisher.publishEvent(new SchemaChangedEvent(connectionName, "schema-apply"));
+            }
+        }
+
+        return SchemaApplyResult.builder()
+                .connectionName(connectionName)
+                .schema(plan.getSchema())
+                .steps(plan.getSteps().size())
+                .waves(plan.getWaves().size())
+                .parallelism(parallelism)
+                .statementsExecuted(executed.get())
+                .tablesLoaded(loaded.get())
+                .rowsLoaded(rows.get())
+                .failed(errors.size())
+                .skipped(plan.getSteps().size() - finished - errors.size())
+                .durationMillis(System.currentTimeMillis() - start)
+                .errors(errors)
+                .build();
+    }
+
+    private void submit(CompletionService<SchemaApplyPlan.Step> completion, DataSource dataSource, String schema,
+                        SchemaApplyPlan.Step step, AtomicInteger executed, AtomicInteger loaded, AtomicLong rows) {
+        completion.submit(() -> {
+            try (Connection conn = dataSource.getConnection()) {
+                if (schema != null) {
+                    conn.setSchema(schema);
+                }
+                if (step.isLoad()) {
+                    rows.addAndGet(load(conn, step.getTable(), step.getData()));
+                    loaded.incrementAndGet();
+                } else {
+                    try (Statement stmt = conn.createStatement()) {
+                        stmt.execute(step.getSql());
+                    }
+                    executed.incrementAndGet();
+                    log.debug("📐 {}", step.getSql());
+                }
+            } catch (SQLException e) {
+                String sql = step.isLoad() ? step.toString() : step.getSql();
+                throw new SqlExecutionException(sql, step.getTable() + ": " + e.getMessage(), e);
+            }
+            return step;
+        });
+    }
+
+    /**
+     * Inserts the rows of a CSV file whose header names the columns, converting each field to the
+     * JDBC type of its column; the load commits per batch. A blank line is the one NULL field of
+     * a single-column file, as the CSV export writes it, and is skipped in wider files.
+     */
+    private long load(Connection conn, String table, Path data) throws SQLException {
+        try (Reader reader = Files.newBufferedReader(data)) {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.next();
+            if (header == null || header.isEmpty()) {
+                return 0;
+            }
+            String columns = String.join(", ", header);
+            int[] types = columnTypes(conn, table, columns, header.size());
+            String sql = "INSERT INTO " + table + " (" + columns + ") VALUES ("
+                    + header.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+
+            conn.setAutoCommit(false);
+            long count = 0;
+            try (PreparedStatement insert = conn.prepareStatement(sql)) {
+                List<String> fields;
+                long line = csv.getLine();
+                while ((fields = csv.next()) != null) {
+                    if (fields.isEmpty()) {
+                        if (header.size() > 1) {
+                            line = csv.getLine();
+                            continue;
+                        }
+                        fields = Collections.singletonList(null);
+                    }
+                    if (fields.size() != header.size()) {
+                        throw new IllegalArgumentException(String.format("%s line %d has %d fields, the header has %d",
+                                data.getFileName(), line, fields.size(), header.size()));
+                    }
+                    for (int i = 0; i < fields.size(); i++) {
+                        insert.setObject(i + 1, convert(fields.get(i), types[i], data, line));
+                    }
+                    insert.addBatch();
+                    if (++count % LOAD_BATCH_SIZE == 0) {
+                        insert.executeBatch();
+                        conn.commit();
+                    }
+                    line = csv.getLine();
+                }
+                insert.executeBatch();
+                conn.commit();
+            } catch (SQLException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            log.info("📥 Loaded {} rows into {} from {}", count, table, data.getFileName());
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + data + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static int[] columnTypes(Connection conn, String table, String columns, int count) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT " + columns + " FROM " + table + " WHERE 1 = 0")) {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int[] types = new int[count];
+            for (int i = 0; i < count; i++) {
+                types[i] = metaData.getColumnType(i + 1);
+            }
+            return types;
+        }
+    }
+
+    /**
+     * Parses a field as written by the CSV export for a column of the given type
+     */
+    private static Object convert(String text, int sqlType, Path data, long line) {
+        if (text == null) {
+            return null;
+        }
+        try {
+            return switch (sqlType) {
+                case Types.BIT, Types.BOOLEAN -> Boolean.parseBoolean(text.trim());
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Long.parseLong(text.trim());
+                case Types.DECIMAL, Types.NUMERIC -> new BigDecimal(text.trim());
+                case Types.REAL, Types.FLOAT, Types.DOUBLE -> Double.parseDouble(text.trim());
+                case Types.DATE -> Date.valueOf(text.trim());
+                case Types.TIME -> Time.valueOf(text.trim());
+                case Types.TIMESTAMP -> Timestamp.valueOf(text.trim().replace('T', ' '));
+                case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> HexFormat.of().parseHex(text.trim());
+                default -> text;
+            };
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(String.format("%s line %d: cannot read '%s' as %s",
+                    data.getFileName(), line, text, typeName(sqlType)), e);
+        }
+    }
+
+    private static String typeName(int sqlType) {
+        try {
+            return JDBCType.valueOf(sqlType).getName();
+        } catch (IllegalArgumentException e) {
+            return "SQL type " + sqlType;
+        }
+    }
+}
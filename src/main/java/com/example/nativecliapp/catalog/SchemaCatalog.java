@@ -0,0 +1,82 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.dtos.TableDefinition;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory model of one schema: every table with its columns, keys, indexes and foreign keys.
+ * Lookups are hash based, both by exact name and case-insensitively.
+ */
+public class SchemaCatalog {
+
+    private final String connectionName;
+    private final String databaseType;
+    private final String schema;
+    private final Instant loadedAt;
+    private final Map<String, TableDefinition> tables = new LinkedHashMap<>();
+    private final Map<String, TableDefinition> tablesIgnoreCase = new HashMap<>();
+
+    public SchemaCatalog(String connectionName, String databaseType, String schema, Instant loadedAt,
+                         List<TableDefinition> definitions) {
+        this.connectionName = connectionName;
+        this.databaseType = databaseType;
+        this.schema = schema;
+        this.loadedAt = loadedAt;
+        definitions.forEach(definition -> {
+            tables.put(definition.getName(), definition);
+            tablesIgnoreCase.putIfAbsent(normalize(definition.getName()), definition);
+        });
+    }
+
+    public String getConnectionName() {
+        return connectionName;
+    }
+
+    public String getDatabaseType() {
+        return databaseType;
+    }
+
+    public String getSchema() {
+        return schema;
+    }
+
+    public Instant getLoadedAt() {
+        return loadedAt;
+    }
+
+    public List<TableDefinition> getTables() {
+        return List.copyOf(tables.values());
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    public Optional<TableDefinition> findTable(String tableName) {
+        if (tableName == null) {
+            return Optional.empty();
+        }
+        TableDefinition exact = tables.get(tableName);
+        return exact != null ? Optional.of(exact) : Optional.ofNullable(tablesIgnoreCase.get(normalize(tableName)));
+    }
+
+    public boolean containsTable(String tableName) {
+        return findTable(tableName).isPresent();
+    }
+
+    public Map<String, TableDefinition> asMap() {
+        return Collections.unmodifiableMap(tables);
+    }
+
+    private static String normalize(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+}
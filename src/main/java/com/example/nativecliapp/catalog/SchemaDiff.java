@@ -0,0 +1,257 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.IndexInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.sync.TypeMapper;
+import lombok.Getter;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Structural difference between a source and a target schema catalog, expressed as the DDL that
+ * brings the target in line with the source. Indexes and foreign keys are matched by their column
+ * signature rather than by name, since engines generate different names for the same constraint.
+ */
+@Getter
+public class SchemaDiff {
+
+    /**
+     * Kinds of change in the order a plain script runs them
+     */
+    public enum Kind {
+        CREATE_TABLE, ADD_COLUMN, ALTER_COLUMN, DROP_FOREIGN_KEY, DROP_INDEX, DROP_COLUMN, DROP_TABLE,
+        CREATE_INDEX, ADD_FOREIGN_KEY;
+
+        public boolean isDrop() {
+            return this == DROP_FOREIGN_KEY || this == DROP_INDEX || this == DROP_COLUMN || this == DROP_TABLE;
+        }
+    }
+
+    /**
+     * One statement of the delta with the table it changes; referencedTable is set for foreign
+     * keys, and a statement starting with -- is a note for manual review
+     */
+    public record Change(Kind kind, String table, String referencedTable, String sql) {
+
+        public boolean isNote() {
+            return sql.startsWith("--");
+        }
+    }
+
+    private final List<Change> changes = new ArrayList<>();
+    private final List<String> statements = new ArrayList<>();
+    private int tablesAdded;
+    private int tablesDropped;
+    private int columnsAdded;
+    private int columnsDropped;
+    private int columnsChanged;
+    private int indexesAdded;
+    private int indexesDropped;
+    private int foreignKeysAdded;
+    private int foreignKeysDropped;
+
+    private SchemaDiff() {
+    }
+
+    public boolean isEmpty() {
+        return statements.isEmpty();
+    }
+
+    /**
+     * Compares two catalogs and renders DDL in the dialect of the target. Across dialects column
+     * types are mapped by their JDBC type code and defaults are left out, as for a table copy.
+     */
+    public static SchemaDiff compare(SchemaCatalog source, SchemaCatalog target) {
+        DdlGenerator ddl = new DdlGenerator(target.getDatabaseType());
+        boolean sameDialect = Objects.equals(source.getDatabaseType(), target.getDatabaseType());
+        SchemaDiff diff = new SchemaDiff();
+
+        List<Change> changes = new ArrayList<>();
+
+        for (TableDefinition sourceTable : source.getTables()) {
+            TableDefinition targetTable = target.findTable(sourceTable.getName()).orElse(null);
+
+            if (targetTable == null) {
+                String name = sourceTable.getName();
+                TableDefinition created = sameDialect ? sourceTable : TableDefinition.builder()
+                        .table(sourceTable.getTable())
+                        .columns(sourceTable.getColumns().stream().map(column -> forTarget(column, ddl.getDbType())).toList())
+                        .primaryKey(sourceTable.getPrimaryKey())
+                        .build();
+                changes.add(new Change(Kind.CREATE_TABLE, name, null, ddl.createTable(created)));
+                sourceTable.getIndexes().forEach(index ->
+                        changes.add(new Change(Kind.CREATE_INDEX, name, null, ddl.createIndex(name, index))));
+                sourceTable.getForeignKeys().forEach(fk ->
+                        changes.add(new Change(Kind.ADD_FOREIGN_KEY, name, fk.getReferencedTable(), ddl.addForeignKey(name, fk))));
+                diff.tablesAdded++;
+                diff.indexesAdded += sourceTable.getIndexes().size();
+                diff.foreignKeysAdded += sourceTable.getForeignKeys().size();
+                continue;
+            }
+
+            String tableName = targetTable.getName();
+            Map<String, ColumnInfo> targetColumns = byName(targetTable.getColumns());
+            Map<String, ColumnInfo> sourceColumns = byName(sourceTable.getColumns());
+
+            sourceColumns.forEach((key, sourceColumn) -> {
+                ColumnInfo targetColumn = targetColumns.get(key);
+                if (targetColumn == null) {
+                    changes.add(new Change(Kind.ADD_COLUMN, tableName, null,
+                            ddl.addColumn(tableName, sameDialect ? sourceColumn : forTarget(sourceColumn, ddl.getDbType()))));
+                    diff.columnsAdded++;
+                } else if (columnsDiffer(sourceColumn, targetColumn, sameDialect)) {
+                    ColumnInfo altered = ColumnInfo.builder()
+                            .name(targetColumn.getName())
+                            .type(sourceColumn.getType())
+                            .dataType(sourceColumn.getDataType())
+                            .size(sourceColumn.getSize())
+                            .decimalDigits(sourceColumn.getDecimalDigits())
+                            .nullable(sourceColumn.isNullable())
+                            .defaultValue(sourceColumn.getDefaultValue())
+                            .build();
+                    ddl.alterColumn(tableName, sameDialect ? altered : forTarget(altered, ddl.getDbType())).forEach(sql -> changes.add(new Change(Kind.ALTER_COLUMN, tableName, null, sql)));
+                    diff.columnsChanged++;
+                }
+            });
+            targetColumns.forEach((key, targetColumn) -> {
+                if (!sourceColumns.containsKey(key)) {
+                    changes.add(new Change(Kind.DROP_COLUMN, tableName, null, ddl.dropColumn(tableName, targetColumn)));
+                    diff.columnsDropped++;
+                }
+            });
+
+            if (!normalize(sourceTable.getPrimaryKey()).equals(normalize(targetTable.getPrimaryKey()))) {
+                changes.add(new Change(Kind.ALTER_COLUMN, tableName, null,
+                        String.format("-- primary key of %s differs: source (%s), target (%s); review manually",
+                                tableName, String.join(", ", sourceTable.getPrimaryKey()), String.join(", ", targetTable.getPrimaryKey()))));
+            }
+
+            Map<String, ForeignKeyInfo> sourceForeignKeys = foreignKeysBySignature(sourceTable.getForeignKeys());
+            Map<String, ForeignKeyInfo> targetForeignKeys = foreignKeysBySignature(targetTable.getForeignKeys());
+            // engines such as H2 and MySQL back each foreign key with an index of its own
+            Set<String> keptForeignKeyColumns = targetForeignKeys.entrySet().stream()
+                    .filter(entry -> sourceForeignKeys.containsKey(entry.getKey()))
+                    .map(entry -> "I:" + normalize(entry.getValue().getColumns()))
+                    .collect(Collectors.toSet());
+
+            Map<String, IndexInfo> sourceIndexes = indexesBySignature(sourceTable.getIndexes());
+            Map<String, IndexInfo> targetIndexes = indexesBySignature(targetTable.getIndexes());
+            sourceIndexes.forEach((signature, index) -> {
+                if (!targetIndexes.containsKey(signature)) {
+                    changes.add(new Change(Kind.CREATE_INDEX, tableName, null, ddl.createIndex(tableName, index)));
+                    diff.indexesAdded++;
+                }
+            });
+            targetIndexes.forEach((signature, index) -> {
+                if (!sourceIndexes.containsKey(signature) && !keptForeignKeyColumns.contains(signature)) {
+                    changes.add(new Change(Kind.DROP_INDEX, tableName, null, ddl.dropIndex(tableName, index)));
+                    diff.indexesDropped++;
+                }
+            });
+
+            sourceForeignKeys.forEach((signature, foreignKey) -> {
+                if (!targetForeignKeys.containsKey(signature)) {
+                    changes.add(new Change(Kind.ADD_FOREIGN_KEY, tableName, foreignKey.getReferencedTable(),
+                            ddl.addForeignKey(tableName, foreignKey)));
+                    diff.foreignKeysAdded++;
+                }
+            });
+            targetForeignKeys.forEach((signature, foreignKey) -> {
+                if (!sourceForeignKeys.containsKey(signature)) {
+                    changes.add(new Change(Kind.DROP_FOREIGN_KEY, tableName, foreignKey.getReferencedTable(),
+                            ddl.dropForeignKey(tableName, foreignKey)));
+                    diff.foreignKeysDropped++;
+                }
+            });
+        }
+
+        for (TableDefinition targetTable : target.getTables()) {
+            if (!source.containsTable(targetTable.getName())) {
+                String name = targetTable.getName();
+                targetTable.getForeignKeys().forEach(fk ->
+                        changes.add(new Change(Kind.DROP_FOREIGN_KEY, name, fk.getReferencedTable(), ddl.dropForeignKey(name, fk))));
+                changes.add(new Change(Kind.DROP_TABLE, name, null, ddl.dropTable(targetTable)));
+                diff.tablesDropped++;
+            }
+        }
+
+        changes.sort(Comparator.comparing(Change::kind)); // stable, so each kind keeps its table order
+        diff.changes.addAll(changes);
+        changes.forEach(change -> diff.statements.add(change.sql()));
+        return diff;
+    }
+
+    /**
+     * The column as the target dialect spells it; the mapped type already carries its length, so
+     * the size is cleared to keep it from being appended a second time
+     */
+    private static ColumnInfo forTarget(ColumnInfo column, String targetType) {
+        return ColumnInfo.builder()
+                .name(column.getName())
+                .type(TypeMapper.mapType(column, targetType))
+                .dataType(column.getDataType())
+                .nullable(column.isNullable())
+                .position(column.getPosition())
+                .remarks(column.getRemarks())
+                .isAutoIncrement(column.isAutoIncrement())
+                .build();
+    }
+
+    private static boolean columnsDiffer(ColumnInfo source, ColumnInfo target, boolean sameDialect) {
+        if (source.isNullable() != target.isNullable()) {
+            return true;
+        }
+        if (sameDialect) {
+            if (!Objects.equals(upper(source.getType()), upper(target.getType()))) {
+                return true;
+            }
+        } else if (source.getDataType() != target.getDataType()) {
+            return true;
+        }
+        return switch (source.getDataType()) {
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR, Types.BINARY, Types.VARBINARY ->
+                    source.getSize() != target.getSize();
+            case Types.DECIMAL, Types.NUMERIC ->
+                    source.getSize() != target.getSize() || source.getDecimalDigits() != target.getDecimalDigits();
+            default -> false;
+        };
+    }
+
+    private static Map<String, ColumnInfo> byName(List<ColumnInfo> columns) {
+        Map<String, ColumnInfo> map = new LinkedHashMap<>();
+        columns.forEach(column -> map.putIfAbsent(upper(column.getName()), column));
+        return map;
+    }
+
+    private static Map<String, IndexInfo> indexesBySignature(List<IndexInfo> indexes) {
+        Map<String, IndexInfo> map = new LinkedHashMap<>();
+        indexes.forEach(index -> map.putIfAbsent((index.isUnique() ? "U:" : "I:") + normalize(index.getColumns()), index));
+        return map;
+    }
+
+    private static Map<String, ForeignKeyInfo> foreignKeysBySignature(List<ForeignKeyInfo> foreignKeys) {
+        Map<String, ForeignKeyInfo> map = new LinkedHashMap<>();
+        foreignKeys.forEach(fk -> map.putIfAbsent(normalize(fk.getColumns()) + "->" + upper(fk.getReferencedTable())
+                + normalize(fk.getReferencedColumns()), fk));
+        return map;
+    }
+
+    private static String normalize(List<String> names) {
+        return names.stream().map(SchemaDiff::upper).collect(Collectors.joining(",", "(", ")"));
+    }
+
+    private static String upper(String value) {
+        return value == null ? null : value.toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,283 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.IndexInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.dtos.TableInfo;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.JDBCType;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A declarative schema read from YAML, as applied by {@code schema-apply}:
+ * <pre>
+ * schema: PUBLIC                      # optional
+ * tables:
+ *   customers:
+ *     columns:
+ *       id: {type: BIGINT, auto-increment: true}
+ *       email: {type: VARCHAR(200), nullable: false}
+ *       created_at: TIMESTAMP
+ *     primary-key: [id]
+ *     indexes:
+ *       - {columns: [email], unique: true}
+ *     data: customers.csv             # loaded after the table is created, relative to this file
+ *     indexes-after-data: true        # build the indexes once the rows are in
+ *   orders:
+ *     ...
+ *     foreign-keys:
+ *       - {columns: [customer_id], references: customers}   # referenced-columns default to its primary key
+ * </pre>
+ */
+public class SchemaFile {
+
+    private static final Pattern TYPE = Pattern.compile("\\s*([A-Za-z][A-Za-z0-9_ ]*?)\\s*(?:\\(\\s*(\\d+)\\s*(?:,\\s*(\\d+)\\s*)?\\))?\\s*");
+    private static final Map<String, Integer> TYPE_ALIASES = Map.of(
+            "INT", Types.INTEGER,
+            "INT4", Types.INTEGER,
+            "INT8", Types.BIGINT,
+            "BOOL", Types.BOOLEAN,
+            "TEXT", Types.CLOB,
+            "CHARACTER VARYING", Types.VARCHAR,
+            "DATETIME", Types.TIMESTAMP,
+            "DOUBLE PRECISION", Types.DOUBLE);
+    private static final Set<String> TABLE_KEYS = Set.of("columns", "primary-key", "indexes", "foreign-keys", "data",
+            "indexes-after-data");
+
+    private final Path file;
+    private final String schema;
+    private final SchemaCatalog catalog;
+    private final Map<String, Path> dataFiles = new HashMap<>();
+    private final Set<String> indexesAfterData = new HashSet<>();
+
+    private SchemaFile(Path file, Map<String, Object> document) {
+        this.file = file;
+        this.schema = document.get("schema") != null ? document.get("schema").toString() : null;
+        Map<String, Object> tables = map(document.get("tables"), "tables");
+        if (tables.isEmpty()) {
+            throw new IllegalArgumentException("No tables declared in " + file);
+        }
+
+        List<TableDefinition> definitions = new ArrayList<>();
+        tables.forEach((name, spec) -> definitions.add(table(name, map(spec, "table " + name))));
+        Map<String, TableDefinition> byName = new HashMap<>();
+        definitions.forEach(definition -> byName.put(upper(definition.getName()), definition));
+        definitions.forEach(definition -> definition.getForeignKeys().forEach(fk -> {
+            if (fk.getReferencedColumns().isEmpty()) {
+                TableDefinition referenced = byName.get(upper(fk.getReferencedTable()));
+                if (referenced == null || referenced.getPrimaryKey().isEmpty()) {
+                    throw new IllegalArgumentException("Foreign key of " + definition.getName() + " on " + fk.getColumns()
+                            + " needs referenced-columns, " + fk.getReferencedTable() + " has no declared primary key");
+                }
+                fk.setReferencedColumns(new ArrayList<>(referenced.getPrimaryKey()));
+            }
+        }));
+        this.catalog = new SchemaCatalog(file.getFileName().toString(), null, schema, Instant.now(), definitions);
+    }
+
+    /**
+     * Reads and validates a schema file; malformed content is reported as an IllegalArgumentException
+     */
+    public static SchemaFile read(Path file) {
+        try (Reader reader = Files.newBufferedReader(file)) {
+            Object document = new Yaml(new SafeConstructor(new LoaderOptions())).load(reader);
+            return new SchemaFile(file, map(document, file.getFileName().toString()));
+        } catch (YAMLException e) {
+            throw new IllegalArgumentException("Invalid YAML in " + file + ": " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * The schema named in the file, null to use the connection's current one
+     */
+    public String getSchema() {
+        return schema;
+    }
+
+    /**
+     * The declared tables as a catalog without a database type, so it diffs by JDBC type
+     */
+    public SchemaCatalog getCatalog() {
+        return catalog;
+    }
+
+    /**
+     * CSV file to load into a newly created table, null when it has none
+     */
+    public Path dataFile(String table) {
+        return dataFiles.get(upper(table));
+    }
+
+    public boolean indexesAfterData(String table) {
+        return indexesAfterData.contains(upper(table));
+    }
+
+    private TableDefinition table(String name, Map<String, Object> spec) {
+        spec.keySet().stream().filter(key -> !TABLE_KEYS.contains(key)).findFirst().ifPresent(key -> {
+            throw new IllegalArgumentException("Unknown key '" + key + "' in table " + name + ", expected one of " + TABLE_KEYS);
+        });
+        List<String> primaryKey = strings(spec.get("primary-key"), name + ".primary-key");
+
+        List<ColumnInfo> columns = new ArrayList<>();
+        map(spec.get("columns"), name + ".columns").forEach((column, columnSpec) ->
+                columns.add(column(name, column, columnSpec, columns.size() + 1, primaryKey)));
+        if (columns.isEmpty()) {
+            throw new IllegalArgumentException("Table " + name + " declares no columns");
+        }
+        for (String key : primaryKey) {
+            if (columns.stream().noneMatch(column -> column.getName().equalsIgnoreCase(key))) {
+                throw new IllegalArgumentException("Primary key column " + key + " is not a column of " + name);
+            }
+        }
+
+        List<IndexInfo> indexes = new ArrayList<>();
+        for (Object index : list(spec.get("indexes"), name + ".indexes")) {
+            Map<String, Object> indexSpec = map(index, name + ".indexes");
+            indexes.add(IndexInfo.builder()
+                    .name(indexSpec.get("name") != null ? indexSpec.get("name").toString() : null)
+                    .tableName(name)
+                    .unique(Boolean.TRUE.equals(indexSpec.get("unique")))
+                    .columns(required(strings(indexSpec.get("columns"), name + ".indexes.columns"), name + " index columns"))
+                    .build());
+        }
+
+        List<ForeignKeyInfo> foreignKeys = new ArrayList<>();
+        for (Object foreignKey : list(spec.get("foreign-keys"), name + ".foreign-keys")) {
+            Map<String, Object> fkSpec = map(foreignKey, name + ".foreign-keys");
+            if (fkSpec.get("references") == null) {
+                throw new IllegalArgumentException("Foreign key of " + name + " needs 'references: <table>'");
+            }
+            foreignKeys.add(ForeignKeyInfo.builder()
+                    .name(fkSpec.get("name") != null ? fkSpec.get("name").toString() : null)
+                    .tableName(name)
+                    .referencedTable(fkSpec.get("references").toString())
+                    .columns(required(strings(fkSpec.get("columns"), name + ".foreign-keys.columns"), name + " foreign key columns"))
+                    .referencedColumns(new ArrayList<>(strings(fkSpec.get("referenced-columns"), name + ".foreign-keys.referenced-columns")))
+                    .build());
+        }
+
+        if (spec.get("data") != null) {
+            Path data = file.toAbsolutePath().getParent().resolve(spec.get("data").toString());
+            if (!Files.isRegularFile(data)) {
+                throw new IllegalArgumentException("Data file of " + name + " not found: " + data);
+            }
+            dataFiles.put(upper(name), data);
+        }
+        if (Boolean.TRUE.equals(spec.get("indexes-after-data"))) {
+            indexesAfterData.add(upper(name));
+        }
+
+        return TableDefinition.builder()
+                .table(TableInfo.builder().name(name).schema(schema).type("TABLE").build())
+                .columns(columns)
+                .primaryKey(new ArrayList<>(primaryKey))
+                .indexes(indexes)
+                .foreignKeys(foreignKeys)
+                .build();
+    }
+
+    /**
+     * A column from either a bare type or a map of type, nullable, default and auto-increment
+     */
+    private static ColumnInfo column(String table, String name, Object spec, int position, List<String> primaryKey) {
+        Map<String, Object> attributes = spec instanceof Map<?, ?> ? map(spec, table + "." + name) : Map.of("type", String.valueOf(spec));
+        if (attributes.get("type") == null) {
+            throw new IllegalArgumentException("Column " + table + "." + name + " needs a type");
+        }
+        Matcher type = TYPE.matcher(attributes.get("type").toString());
+        if (!type.matches()) {
+            throw new IllegalArgumentException("Cannot read type '" + attributes.get("type") + "' of " + table + "." + name);
+        }
+        String typeName = type.group(1).toUpperCase(Locale.ROOT);
+        boolean key = primaryKey.stream().anyMatch(name::equalsIgnoreCase);
+        return ColumnInfo.builder()
+                .name(name)
+                .type(typeName)
+                .dataType(jdbcType(typeName))
+                .size(type.group(2) != null ? Integer.parseInt(type.group(2)) : 0)
+                .decimalDigits(type.group(3) != null ? Integer.parseInt(type.group(3)) : 0)
+                .nullable(!key && !Boolean.FALSE.equals(attributes.get("nullable")))
+                .defaultValue(attributes.get("default") != null ? attributes.get("default").toString() : null)
+                .isAutoIncrement(Boolean.TRUE.equals(attributes.get("auto-increment")))
+                .isPrimaryKey(key)
+                .position(position)
+                .build();
+    }
+
+    private static int jdbcType(String typeName) {
+        Integer alias = TYPE_ALIASES.get(typeName);
+        if (alias != null) {
+            return alias;
+        }
+        try {
+            return JDBCType.valueOf(typeName.replace(' ', '_')).getVendorTypeNumber();
+        } catch (IllegalArgumentException e) {
+            return Types.OTHER;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> map(Object value, String where) {
+        if (value == null) {
+            return Map.of();
+        }
+        if (!(value instanceof Map<?, ?> map)) {
+            throw new IllegalArgumentException("Expected a mapping at " + where);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        ((Map<Object, Object>) map).forEach((key, entry) -> result.put(String.valueOf(key), entry));
+        return result;
+    }
+
+    private static List<?> list(Object value, String where) {
+        if (value == null) {
+            return List.of();
+        }
+        if (!(value instanceof List<?> list)) {
+            throw new IllegalArgumentException("Expected a list at " + where);
+        }
+        return list;
+    }
+
+    private static List<String> strings(Object value, String where) {
+        return value instanceof String text ? List.of(text) : list(value, where).stream().map(String::valueOf).toList();
+    }
+
+    private static List<String> required(List<String> values, String what) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Missing " + what);
+        }
+        return new ArrayList<>(values);
+    }
+
+    private static String upper(String name) {
+        return name.toUpperCase(Locale.ROOT);
+    }
+}
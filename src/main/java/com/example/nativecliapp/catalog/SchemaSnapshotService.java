@@ -0,0 +1,117 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.exception.SchemaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Writes catalog snapshots to disk and compares catalogs taken from live connections or snapshots.
+ * Both sides of a comparison are fetched concurrently.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SchemaSnapshotService {
+
+    private final CatalogLoader catalogLoader;
+    private final DatabaseConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Loads the given schemas of a connection in parallel and writes them into one snapshot file
+     */
+    public List<SchemaCatalog> snapshot(String connectionName, List<String> schemas, Path file) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<String> requested = schemas.isEmpty() ? Collections.singletonList(null) : schemas;
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(requested.size(), 4));
+        try {
+            List<CompletableFuture<SchemaCatalog>> futures = requested.stream()
+                    .map(schema -> CompletableFuture.supplyAsync(() -> catalogLoader.load(connectionName, schema), executor))
+                    .toList();
+
+            List<SchemaCatalog> catalogs = new ArrayList<>();
+            for (CompletableFuture<SchemaCatalog> future : futures) {
+                catalogs.add(join(future));
+            }
+
+            CatalogSnapshotCodec.write(file, catalogs);
+            log.info("📸 Snapshot of {} schema(s) from '{}' written to {}", catalogs.size(), connectionName, file);
+            return catalogs;
+
+        } finally {
+            executor.shutdownNow();
+            sample.stop(Timer.builder("database.schema.snapshot.duration").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Compares two sources, each either a connection name or a snapshot file, fetching both concurrently
+     */
+    public SchemaDiff diff(String sourceA, String sourceB, String schema) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<SchemaCatalog> a = CompletableFuture.supplyAsync(() -> resolve(sourceA, schema), executor);
+            CompletableFuture<SchemaCatalog> b = CompletableFuture.supplyAsync(() -> resolve(sourceB, schema), executor);
+            return SchemaDiff.compare(join(a), join(b));
+        } finally {
+            executor.shutdownNow();
+            sample.stop(Timer.builder("database.schema.diff.duration").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Resolves a snapshot file path or a connection name into a catalog for the schema
+     */
+    public SchemaCatalog resolve(String source, String schema) {
+        if (isSnapshotFile(source)) {
+            List<SchemaCatalog> catalogs = CatalogSnapshotCodec.read(Path.of(source));
+            if (catalogs.isEmpty()) {
+                throw new SchemaException("Snapshot '" + source + "' contains no schemas");
+            }
+            if (schema == null) {
+                return catalogs.get(0);
+            }
+            return catalogs.stream()
+                    .filter(catalog -> schema.equalsIgnoreCase(catalog.getSchema()))
+                    .findFirst()
+                    .orElseThrow(() -> new SchemaException("Schema '" + schema + "' not found in snapshot '" + source + "'"));
+        }
+
+        if (!connectionManager.getConnectionNames().contains(source)) {
+            throw new SchemaException("'" + source + "' is neither a connection nor a snapshot file");
+        }
+        return catalogLoader.load(source, schema);
+    }
+
+    public boolean isSnapshotFile(String source) {
+        return source.endsWith(DatabaseConstants.SNAPSHOT_FILE_EXTENSION) || Files.isRegularFile(Path.of(source));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
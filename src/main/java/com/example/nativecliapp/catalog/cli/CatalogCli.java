@@ -0,0 +1,190 @@
+package com.example.nativecliapp.catalog.cli;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.catalog.SchemaApplyPlan;
+import com.example.nativecliapp.catalog.SchemaApplyService;
+import com.example.nativecliapp.catalog.SchemaCatalog;
+import com.example.nativecliapp.catalog.SchemaDiff;
+import com.example.nativecliapp.catalog.SchemaSnapshotService;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.SchemaApplyResult;
+import com.example.nativecliapp.exception.DatabaseException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
+@ShellComponent
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class CatalogCli {
+
+    private final SchemaSnapshotService snapshotService;
+    private final SchemaApplyService schemaApplyService;
+    private final DatabaseConnectionManager connectionManager;
+
+    @ShellMethod(key = {"schema-snapshot", "snapshot"}, value = "📸 Save the catalog of a connection to a binary snapshot file")
+    public String snapshot(
+            @ShellOption(value = {"-c", "--connection"}, help = "Connection name (defaults to current)", defaultValue = ShellOption.NULL) String connection,
+            @ShellOption(value = {"-s", "--schemas"}, help = "Comma-separated schemas (defaults to current schema)", defaultValue = ShellOption.NULL) String schemas,
+            @ShellOption(value = {"-o", "--output"}, help = "Snapshot file", defaultValue = ShellOption.NULL) String output) {
+
+        try {
+            String connectionName = connection != null ? connection : connectionManager.getCurrentConnectionName();
+            Path file = Path.of(output != null ? output : connectionName + "-"
+                    + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"))
+                    + DatabaseConstants.SNAPSHOT_FILE_EXTENSION);
+
+            long start = System.currentTimeMillis();
+            List<SchemaCatalog> catalogs = snapshotService.snapshot(connectionName, splitList(schemas), file);
+            long elapsed = System.currentTimeMillis() - start;
+
+            int tables = catalogs.stream().mapToInt(SchemaCatalog::size).sum();
+            return formatResponse("SCHEMA SNAPSHOT SAVED",
+                    String.format("""
+                    🔗 Connection: %s
+                    📁 Schemas: %s
+                    📄 Tables: %d
+                    💾 File: %s (%s)
+                    ⏱️ Took: %d ms""",
+                            connectionName,
+                            String.join(", ", catalogs.stream().map(SchemaCatalog::getSchema).toList()),
+                            tables,
+                            file.toAbsolutePath(), formatBytes(Files.size(file)),
+                            elapsed));
+
+        } catch (DatabaseException e) {
+            return formatError("Snapshot Failed", e.getMessage());
+        } catch (Exception e) {
+            return formatError("Unexpected Error", e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = {"schema-diff"}, value = "🔀 Compare two connections or snapshots and print the DDL delta")
+    public String diff(
+            @ShellOption(value = {"-a", "--source"}, help = "Source connection name or snapshot file") String sourceA,
+            @ShellOption(value = {"-b", "--target"}, help = "Target connection name or snapshot file") String sourceB,
+            @ShellOption(value = {"-s", "--schema"}, help = "Schema name (defaults to each side's current schema)", defaultValue = ShellOption.NULL) String schema,
+            @ShellOption(value = {"-o", "--output"}, help = "Write the DDL script to a file", defaultValue = ShellOption.NULL) String output) {
+
+        try {
+            long start = System.currentTimeMillis();
+            SchemaDiff diff = snapshotService.diff(sourceA, sourceB, schema);
+            long elapsed = System.currentTimeMillis() - start;
+
+            if (diff.isEmpty()) {
+                return formatResponse("SCHEMAS MATCH",
+                        String.format("✅ '%s' and '%s' are structurally identical (%d ms)", sourceA, sourceB, elapsed));
+            }
+
+            String script = String.join(";\n", diff.getStatements()) + ";\n";
+            if (output != null) {
+                Files.writeString(Path.of(output), script);
+            }
+
+            StringBuilder result = new StringBuilder();
+            result.append("🔀 SCHEMA DIFF\n");
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            result.append(String.format("📤 Source: %s\n📥 Target: %s\n\n", sourceA, sourceB));
+            result.append(String.format("Tables   +%d -%d\n", diff.getTablesAdded(), diff.getTablesDropped()));
+            result.append(String.format("Columns  +%d -%d ~%d\n", diff.getColumnsAdded(), diff.getColumnsDropped(), diff.getColumnsChanged()));
+            result.append(String.format("Indexes  +%d -%d\n", diff.getIndexesAdded(), diff.getIndexesDropped()));
+            result.append(String.format("FKs      +%d -%d\n", diff.getForeignKeysAdded(), diff.getForeignKeysDropped()));
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            result.append(script);
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            if (output != null) {
+                result.append(String.format("💾 Script written to %s\n", Path.of(output).toAbsolutePath()));
+            }
+            result.append(String.format("Compared in %d ms", elapsed));
+            return result.toString();
+
+        } catch (DatabaseException e) {
+            return formatError("Schema Diff Failed", e.getMessage());
+        } catch (Exception e) {
+            return formatError("Unexpected Error", e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = {"schema-apply"}, value = "📐 Create or update tables from a YAML schema file, running independent DDL in parallel")
+    public String apply(
+            @ShellOption(value = {"-f", "--file"}, help = "YAML schema with tables, columns, indexes, foreign keys and optional CSV data") String file,
+            @ShellOption(value = {"-c", "--connection"}, help = "Connection to apply to (defaults to the current one)", defaultValue = ShellOption.NULL) String connection,
+            @ShellOption(value = {"-s", "--schema"}, help = "Schema name (defaults to the file's, then the current schema)", defaultValue = ShellOption.NULL) String schema,
+            @ShellOption(value = {"-p", "--parallel"}, help = "Statements run at once (defaults to the bulk pool size)", defaultValue = "0") int parallel,
+            @ShellOption(value = {"--prune"}, help = "Also drop tables, columns, indexes and foreign keys the file does not declare", defaultValue = "false") boolean prune,
+            @ShellOption(value = {"--dry-run"}, help = "Only show the plan", defaultValue = "false") boolean dryRun) {
+
+        try {
+            String target = connection != null ? connection : connectionManager.getCurrentConnectionName();
+            SchemaApplyPlan plan = schemaApplyService.plan(target, Path.of(file), schema, prune);
+            List<List<SchemaApplyPlan.Step>> waves = plan.getWaves();
+
+            StringBuilder result = new StringBuilder();
+            result.append(dryRun ? "📐 SCHEMA APPLY PLAN\n" : "📐 SCHEMA APPLY\n");
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            result.append(String.format("📄 File: %s\n📥 Target: %s%s\n", file, target,
+                    plan.getSchema() != null ? "." + plan.getSchema() : ""));
+            plan.getNotes().forEach(note -> result.append("⚠️ ").append(note).append("\n"));
+            if (plan.getSkippedDrops() > 0) {
+                result.append(String.format("💡 %d drops of undeclared objects left out, use --prune to run them\n",
+                        plan.getSkippedDrops()));
+            }
+            if (plan.isEmpty()) {
+                return result.append("✅ Schema already matches the file").toString();
+            }
+
+            result.append(String.format("🧩 %d steps in %d waves\n", plan.getSteps().size(), waves.size()));
+            if (dryRun) {
+                for (int i = 0; i < waves.size(); i++) {
+                    result.append(DatabaseConstants.SEPARATOR_SHORT).append("\n");
+                    result.append(String.format("Wave %d (%d in parallel)\n", i + 1, waves.get(i).size()));
+                    waves.get(i).forEach(step -> result.append(step).append(";\n"));
+                }
+                return result.toString();
+            }
+
+            SchemaApplyResult applied = schemaApplyService.apply(target, plan,
+                    parallel > 0 ? parallel : schemaApplyService.defaultParallelism());
+            result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            result.append(String.format("🛠️ Statements: %d executed with %d workers\n",
+                    applied.getStatementsExecuted(), applied.getParallelism()));
+            if (applied.getTablesLoaded() > 0) {
+                result.append(String.format("📥 Data: %s rows into %d tables\n",
+                        formatCount(applied.getRowsLoaded()), applied.getTablesLoaded()));
+            }
+            if (!applied.isSuccessful()) {
+                result.append(String.format("❌ %d failed, %d skipped\n", applied.getFailed(), applied.getSkipped()));
+                applied.getErrors().forEach(error -> result.append("   ").append(truncate(error, 120)).append("\n"));
+            }
+            result.append(String.format("%s Applied in %,d ms", applied.isSuccessful() ? "✅" : "⚠️", applied.getDurationMillis()));
+            return result.toString();
+
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            return formatError("Invalid Schema File", e.getMessage());
+        } catch (UncheckedIOException e) {
+            return formatError("File Error", e.getMessage());
+        } catch (DatabaseException e) {
+            return formatError("Schema Apply Failed", e.getMessage());
+        }
+    }
+
+    private List<String> splitList(String value) {
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(",")).map(String::trim).filter(s -> !s.isEmpty()).toList();
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.nativecliapp.completion;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.catalog.CatalogService;
+import com.example.nativecliapp.catalog.SchemaCatalog;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.event.ConnectionChangedEvent;
+import com.example.nativecliapp.event.SchemaChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * In-memory prefix index of schema, table and column names per connection for tab completion.
+ * Indexes are built on a background thread after a connection opens and rebuilt after DDL; a
+ * lookup only ever reads the last finished index and never waits for the database.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class CompletionIndex {
+
+    private final CatalogService catalogService;
+    private final DatabaseConnectionManager connectionManager;
+
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final Set<String> queued = ConcurrentHashMap.newKeySet();
+    private final ExecutorService loader = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "completion-index");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private record Snapshot(PrefixTrie schemas, PrefixTrie tables, PrefixTrie columns,
+                            Map<String, PrefixTrie> columnsByTable) {
+    }
+
+    public List<String> schemas(String prefix, int limit) {
+        Snapshot snapshot = current();
+        return snapshot != null ? snapshot.schemas().complete(prefix, limit) : List.of();
+    }
+
+    public List<String> tables(String prefix, int limit) {
+        Snapshot snapshot = current();
+        return snapshot != null ? snapshot.tables().complete(prefix, limit) : List.of();
+    }
+
+    public List<String> columns(String prefix, int limit) {
+        Snapshot snapshot = current();
+        return snapshot != null ? snapshot.columns().complete(prefix, limit) : List.of();
+    }
+
+    /**
+     * Columns of one table starting with the prefix
+     */
+    public List<String> columnsOf(String table, String prefix, int limit) {
+        Snapshot snapshot = current();
+        if (snapshot == null) {
+            return List.of();
+        }
+        PrefixTrie columns = snapshot.columnsByTable().get(table.toUpperCase(Locale.ROOT));
+        return columns != null ? columns.complete(prefix, limit) : List.of();
+    }
+
+    public boolean isReady() {
+        return snapshots.containsKey(connectionManager.getCurrentConnectionName());
+    }
+
+    /**
+     * Queues a rebuild of the connection's index unless one is already waiting to run
+     */
+    public void refresh(String connectionName) {
+        if (!queued.add(connectionName)) {
+            return;
+        }
+        loader.submit(() -> {
+            queued.remove(connectionName);
+            try {
+                long start = System.currentTimeMillis();
+                Snapshot snapshot = build(connectionName);
+                snapshots.put(connectionName, snapshot);
+                log.debug("Completion index for '{}' built in {} ms: {} tables, {} columns", connectionName,
+                        System.currentTimeMillis() - start, snapshot.tables().size(), snapshot.columns().size());
+            } catch (Exception e) {
+                log.debug("Completion index for '{}' not built: {}", connectionName, e.getMessage());
+            }
+        });
+    }
+
+    @EventListener
+    public void onContextRefreshed(ContextRefreshedEvent event) {
+        connectionManager.getConnectionNames().forEach(this::refresh);
+    }
+
+    @EventListener
+    public void onConnectionChanged(ConnectionChangedEvent event) {
+        if (event.kind() == ConnectionChangedEvent.Kind.OPENED) {
+            refresh(event.connectionName());
+        } else {
+            snapshots.remove(event.connectionName());
+        }
+    }
+
+    @EventListener
+    @Order(Ordered.LOWEST_PRECEDENCE) // after CatalogService, which evicts at the highest precedence
+    public void onSchemaChanged(SchemaChangedEvent event) {
+        refresh(event.connectionName());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    private Snapshot current() {
+        String connectionName = connectionManager.getCurrentConnectionName();
+        Snapshot snapshot = snapshots.get(connectionName);
+        if (snapshot == null) {
+            refresh(connectionName);
+        }
+        return snapshot;
+    }
+
+    private Snapshot build(String connectionName) throws SQLException {
+        SchemaCatalog catalog = catalogService.getCatalog(connectionName, null);
+
+        List<String> tables = new ArrayList<>();
+        Set<String> columns = new HashSet<>();
+        Map<String, PrefixTrie> columnsByTable = new HashMap<>();
+        for (TableDefinition table : catalog.getTables()) {
+            tables.add(table.getName());
+            List<String> tableColumns = table.getColumns().stream().map(ColumnInfo::getName).toList();
+            columns.addAll(tableColumns);
+            columnsByTable.put(table.getName().toUpperCase(Locale.ROOT), PrefixTrie.of(tableColumns));
+        }
+
+        return new Snapshot(PrefixTrie.of(loadSchemas(connectionName)), PrefixTrie.of(tables),
+                PrefixTrie.of(columns), Map.copyOf(columnsByTable));
+    }
+
+    private List<String> loadSchemas(String connectionName) throws SQLException {
+        boolean catalogIsSchema = DatabaseConstants.DB_TYPE_MYSQL.equals(connectionManager.getDatabaseType(connectionName));
+        List<String> schemas = new ArrayList<>();
+
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            try (ResultSet rs = catalogIsSchema ? metaData.getCatalogs() : metaData.getSchemas()) {
+                while (rs.next()) {
+                    schemas.add(rs.getString(1));
+                }
+            }
+        }
+        return schemas;
+    }
+}
@@ -0,0 +1,124 @@
+package com.example.nativecliapp.completion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+
+/**
+ * Immutable case-insensitive prefix trie over object names. Children are kept in sorted parallel
+ * arrays, so lookups are a binary search per prefix character and results come out in
+ * alphabetical order without sorting.
+ */
+public final class PrefixTrie {
+
+    private static final PrefixTrie EMPTY = new PrefixTrie(new Node(new char[0], new Node[0], null), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PrefixTrie(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static PrefixTrie empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Builds a trie from names; names equal ignoring case are stored once, keeping the first
+     */
+    public static PrefixTrie of(Collection<String> names) {
+        TreeMap<String, String> sorted = new TreeMap<>();
+        for (String name : names) {
+            if (name != null && !name.isEmpty()) {
+                sorted.putIfAbsent(name.toUpperCase(Locale.ROOT), name);
+            }
+        }
+        if (sorted.isEmpty()) {
+            return EMPTY;
+        }
+        String[] keys = sorted.keySet().toArray(String[]::new);
+        String[] values = sorted.values().toArray(String[]::new);
+        return new PrefixTrie(build(keys, values, 0, keys.length, 0), keys.length);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Names starting with the prefix, ignoring case, in alphabetical order
+     */
+    public List<String> complete(String prefix, int limit) {
+        Node node = root;
+        String key = prefix == null ? "" : prefix.toUpperCase(Locale.ROOT);
+        for (int i = 0; i < key.length() && node != null; i++) {
+            int index = Arrays.binarySearch(node.labels, key.charAt(i));
+            node = index >= 0 ? node.children[index] : null;
+        }
+
+        List<String> results = new ArrayList<>(Math.min(limit, 16));
+        if (node != null) {
+            collect(node, results, limit);
+        }
+        return results;
+    }
+
+    public boolean contains(String name) {
+        List<String> matches = complete(name, 1);
+        return !matches.isEmpty() && matches.get(0).equalsIgnoreCase(name);
+    }
+
+    private static void collect(Node node, List<String> results, int limit) {
+        if (results.size() >= limit) {
+            return;
+        }
+        if (node.word != null) {
+            results.add(node.word);
+        }
+        for (Node child : node.children) {
+            collect(child, results, limit);
+            if (results.size() >= limit) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Builds the node for keys[from, to), which all share their first depth characters
+     */
+    private static Node build(String[] keys, String[] values, int from, int to, int depth) {
+        String word = null;
+        if (keys[from].length() == depth) {
+            word = values[from];
+            from++;
+        }
+
+        List<Character> labels = new ArrayList<>();
+        List<Node> children = new ArrayList<>();
+        int start = from;
+        while (start < to) {
+            char label = keys[start].charAt(depth);
+            int end = start + 1;
+            while (end < to && keys[end].charAt(depth) == label) {
+                end++;
+            }
+            labels.add(label);
+            children.add(build(keys, values, start, end, depth + 1));
+            start = end;
+        }
+
+        char[] labelArray = new char[labels.size()];
+        for (int i = 0; i < labelArray.length; i++) {
+            labelArray[i] = labels.get(i);
+        }
+        return new Node(labelArray, children.toArray(Node[]::new), word);
+    }
+
+    private record Node(char[] labels, Node[] children, String word) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.nativecliapp.completion;
+
+import com.example.nativecliapp.batch.BatchMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.CompletionContext;
+import org.springframework.shell.CompletionProposal;
+import org.springframework.shell.standard.ValueProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Completes the identifier under the cursor inside a SQL text: table names after FROM, JOIN,
+ * INTO, UPDATE and TABLE, columns of the table after "table.", otherwise tables and columns
+ */
+@Component
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class SqlValueProvider implements ValueProvider {
+
+    private static final int MAX_PROPOSALS = 200;
+    private static final Pattern IDENTIFIER_AT_END = Pattern.compile("(?:([A-Za-z_][\\w$]*)\\.)?([\\w$]*)$");
+    private static final Pattern TABLE_KEYWORD_BEFORE = Pattern.compile("(?i)\\b(FROM|JOIN|INTO|UPDATE|TABLE)\\s+$");
+
+    private final CompletionIndex completionIndex;
+
+    @Override
+    public List<CompletionProposal> complete(CompletionContext context) {
+        String text = context.currentWordUpToCursor();
+        if (text == null) {
+            text = "";
+        }
+
+        Matcher matcher = IDENTIFIER_AT_END.matcher(text);
+        if (!matcher.find()) {
+            return List.of();
+        }
+        String qualifier = matcher.group(1);
+        String partial = matcher.group(2);
+        String head = text.substring(0, qualifier != null ? matcher.start(2) : matcher.start());
+
+        List<String> candidates = new ArrayList<>();
+        if (qualifier != null) {
+            candidates.addAll(completionIndex.columnsOf(qualifier, partial, MAX_PROPOSALS));
+            if (candidates.isEmpty()) {
+                candidates.addAll(completionIndex.tables(partial, MAX_PROPOSALS));
+            }
+        } else if (TABLE_KEYWORD_BEFORE.matcher(head).find()) {
+            candidates.addAll(completionIndex.tables(partial, MAX_PROPOSALS));
+        } else if (!partial.isEmpty()) {
+            candidates.addAll(completionIndex.tables(partial, MAX_PROPOSALS));
+            completionIndex.columns(partial, MAX_PROPOSALS).stream()
+                    .filter(column -> !candidates.contains(column))
+                    .forEach(candidates::add);
+        }
+
+        return candidates.stream()
+                .limit(MAX_PROPOSALS)
+                .map(candidate -> new CompletionProposal(head + candidate).displayText(candidate))
+                .toList();
+    }
+}
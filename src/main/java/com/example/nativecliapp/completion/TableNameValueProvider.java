@@ -0,0 +1,31 @@
+package com.example.nativecliapp.completion;
+
+import com.example.nativecliapp.batch.BatchMode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.CompletionContext;
+import org.springframework.shell.CompletionProposal;
+import org.springframework.shell.standard.ValueProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Completes table names of the current connection from the completion index
+ */
+@Component
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class TableNameValueProvider implements ValueProvider {
+
+    private static final int MAX_PROPOSALS = 200;
+
+    private final CompletionIndex completionIndex;
+
+    @Override
+    public List<CompletionProposal> complete(CompletionContext context) {
+        return completionIndex.tables(context.currentWordUpToCursor(), MAX_PROPOSALS).stream()
+                .map(CompletionProposal::new)
+                .toList();
+    }
+}
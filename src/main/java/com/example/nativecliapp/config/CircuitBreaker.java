@@ -0,0 +1,172 @@
+package com.example.nativecliapp.config;
+
+import com.example.nativecliapp.exception.ConnectionException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Circuit breaker of one connection. Consecutive failures to acquire or validate a connection, or
+ * statements failing because the connection broke, trip it open, after which callers fail at once instead of each waiting out the pool's connection
+ * timeout. While open, a background probe makes a half-open trial acquisition after a back-off
+ * that doubles with every failed trial; a successful trial closes the breaker again.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String connectionName;
+    private final int failureThreshold;
+    private final long initialOpenMillis;
+    private final long maxOpenMillis;
+
+    private State state = State.CLOSED;
+    private int acquireFailures;
+    private int statementFailures;
+    private long openMillis;
+    private long retryAt;
+    private long trips;
+    private String lastError;
+
+    public CircuitBreaker(String connectionName, int failureThreshold, long initialOpenMillis, long maxOpenMillis) {
+        this.connectionName = connectionName;
+        this.failureThreshold = failureThreshold;
+        this.initialOpenMillis = initialOpenMillis;
+        this.maxOpenMillis = maxOpenMillis;
+        this.openMillis = initialOpenMillis;
+    }
+
+    /**
+     * Fails fast unless the breaker is closed
+     */
+    public synchronized void checkClosed() {
+        if (state != State.CLOSED) {
+            long retryIn = Math.max(0, retryAt - System.currentTimeMillis());
+            throw new ConnectionException(connectionName, String.format(
+                    "Connection '%s' is unreachable (circuit %s after %d failures, next probe in %d ms): %s",
+                    connectionName, state.name().toLowerCase().replace('_', '-'), getConsecutiveFailures(), retryIn, lastError));
+        }
+    }
+
+    /**
+     * A statement completed, so the connection is reachable
+     */
+    public synchronized void recordSuccess() {
+        if (state != State.CLOSED) {
+            log.info("🔌 Circuit of connection '{}' closed again", connectionName);
+        }
+        state = State.CLOSED;
+        acquireFailures = 0;
+        statementFailures = 0;
+        openMillis = initialOpenMillis;
+    }
+
+    /**
+     * A connection was acquired; the pool may still hand out connections the database has already
+     * dropped, so this clears failed acquisitions but not statements that failed on a broken connection
+     */
+    public synchronized void recordAcquired() {
+        acquireFailures = 0;
+    }
+
+    /**
+     * Counts a failure to acquire or validate a connection; true when it tripped the breaker open
+     * and a probe has to be scheduled
+     */
+    public synchronized boolean recordFailure(Exception failure) {
+        acquireFailures++;
+        return failed(failure);
+    }
+
+    /**
+     * Counts a statement that failed because its connection broke; true when it tripped the breaker
+     */
+    public synchronized boolean recordBrokenStatement(Exception failure) {
+        statementFailures++;
+        return failed(failure);
+    }
+
+    private boolean failed(Exception failure) {
+        lastError = failure.getMessage();
+        if (state == State.CLOSED && getConsecutiveFailures() >= failureThreshold) {
+            open();
+            trips++;
+            log.warn("⚡ Circuit of connection '{}' opened after {} consecutive failures: {}",
+                    connectionName, getConsecutiveFailures(), lastError);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Moves an open breaker to half-open for a trial; false if the breaker is not open
+     */
+    public synchronized boolean startTrial() {
+        if (state != State.OPEN) {
+            return false;
+        }
+        state = State.HALF_OPEN;
+        return true;
+    }
+
+    /**
+     * Reopens the breaker after a failed trial with twice the previous back-off
+     */
+    public synchronized void trialFailed(Exception failure) {
+        lastError = failure.getMessage();
+        acquireFailures++;
+        openMillis = Math.min(openMillis * 2, maxOpenMillis);
+        open();
+    }
+
+    /**
+     * True for failures that mean the database could not be reached, as opposed to a bad statement
+     */
+    public static boolean isConnectionFailure(SQLException e) {
+        return e instanceof SQLTransientConnectionException || e instanceof SQLNonTransientConnectionException
+                || e instanceof SQLRecoverableException
+                || (e.getSQLState() != null && e.getSQLState().startsWith("08"));
+    }
+
+    /**
+     * True for a pool that timed out waiting for a free connection while the database stayed
+     * reachable: Hikari attaches its last failure to open a connection as the cause, and there is
+     * none when every connection is simply in use
+     */
+    public static boolean isPoolExhausted(SQLException e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return acquireFailures + statementFailures;
+    }
+
+    public synchronized long getTrips() {
+        return trips;
+    }
+
+    public synchronized long getOpenMillis() {
+        return openMillis;
+    }
+
+    public synchronized String getLastError() {
+        return lastError;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        retryAt = System.currentTimeMillis() + openMillis;
+    }
+}
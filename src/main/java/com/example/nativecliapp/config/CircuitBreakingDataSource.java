@@ -0,0 +1,57 @@
+package com.example.nativecliapp.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Acquires pooled connections through the circuit breaker of their connection: fails at once
+ * while the breaker is not closed and reports every acquisition back to it. The breaker is shared
+ * by all workload pools of the connection, so a bulk or metadata pool that is merely exhausted
+ * does not count against it; only the interactive pool reports its acquire timeouts.
+ */
+class CircuitBreakingDataSource extends DelegatingDataSource {
+
+    private final Workload workload;
+    private final CircuitBreaker breaker;
+    private final Consumer<CircuitBreaker> onTrip;
+
+    CircuitBreakingDataSource(DataSource pool, Workload workload, CircuitBreaker breaker, Consumer<CircuitBreaker> onTrip) {
+        super(pool);
+        this.workload = workload;
+        this.breaker = breaker;
+        this.onTrip = onTrip;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        breaker.checkClosed();
+        try {
+            Connection connection = super.getConnection();
+            breaker.recordAcquired();
+            return connection;
+        } catch (SQLException e) {
+            if (workload != Workload.INTERACTIVE && CircuitBreaker.isPoolExhausted(e)) {
+                throw e;
+            }
+            if (breaker.recordFailure(e)) {
+                onTrip.accept(breaker);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Reports how a statement on one of these connections ended; null when it succeeded
+     */
+    void reportStatement(SQLException failure) {
+        if (failure == null) {
+            breaker.recordSuccess();
+        } else if (CircuitBreaker.isConnectionFailure(failure) && breaker.recordBrokenStatement(failure)) {
+            onTrip.accept(breaker);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.nativecliapp.config;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Where one statement runs: the primary of a connection or one of its replicas. Callers open the
+ * connection through the route and report back once the statement is done, so the replica's
+ * latency and in-flight count stay current.
+ */
+final class ConnectionRoute {
+
+    private final String connectionName;
+    private final DataSource primary;
+    private final ReplicaRouter router;
+    private ReplicaRouter.Replica replica;
+    private final long startedNanos = System.nanoTime();
+    private boolean finished;
+
+    ConnectionRoute(String connectionName, DataSource primary, ReplicaRouter router, ReplicaRouter.Replica replica) {
+        this.connectionName = connectionName;
+        this.primary = primary;
+        this.router = router;
+        this.replica = replica;
+    }
+
+    static ConnectionRoute direct(String connectionName, DataSource dataSource) {
+        return new ConnectionRoute(connectionName, dataSource, null, null);
+    }
+
+    /**
+     * Opens a read-only connection to the chosen replica, falling back to the primary when the
+     * replica cannot hand out a connection
+     */
+    Connection connect() throws SQLException {
+        if (replica != null) {
+            try {
+                Connection conn = replica.dataSource.getConnection();
+                conn.setReadOnly(true);
+                return conn;
+            } catch (SQLException e) {
+                router.markDown(replica, e);
+                replica.inFlight.decrementAndGet();
+                replica = null;
+            }
+        }
+        return primary.getConnection();
+    }
+
+    /**
+     * Reports the outcome of the statement; null when it succeeded
+     */
+    void finish(SQLException failure) {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        if (replica != null) {
+            router.finished(replica, System.nanoTime() - startedNanos, failure);
+        } else if (primary instanceof CircuitBreakingDataSource breaking) {
+            breaking.reportStatement(failure);
+        }
+    }
+
+    /**
+     * The connection name, followed by the replica when the statement was routed to one
+     */
+    String getTarget() {
+        return replica == null ? connectionName : connectionName + " → " + replica.name;
+    }
+}
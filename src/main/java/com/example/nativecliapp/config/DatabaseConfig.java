@@ -9,6 +9,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @ConfigurationProperties(prefix = "database")
 @Data
 @Builder
@@ -31,15 +34,115 @@ public class DatabaseConfig {
     @Builder.Default
     private long maxLifetime = DatabaseConstants.DEFAULT_MAX_LIFETIME;
 
+    @Builder.Default
+    private boolean prefillOnConnect = true;
+
+    @Builder.Default
+    private long keepaliveInterval = DatabaseConstants.DEFAULT_KEEPALIVE_INTERVAL;
+
+    @Builder.Default
+    private List<String> warmUpStatements = new ArrayList<>();
+
+    @Builder.Default
+    private long replicaDownMillis = DatabaseConstants.DEFAULT_REPLICA_DOWN_MILLIS;
+
+    @Builder.Default
+    private long replicaMaxLagMillis = DatabaseConstants.DEFAULT_REPLICA_MAX_LAG_MILLIS;
+
+    @Builder.Default
+    private int circuitFailureThreshold = DatabaseConstants.DEFAULT_CIRCUIT_FAILURE_THRESHOLD;
+
+    @Builder.Default
+    private long circuitOpenMillis = DatabaseConstants.DEFAULT_CIRCUIT_OPEN_MILLIS;
+
+    @Builder.Default
+    private long circuitMaxOpenMillis = DatabaseConstants.DEFAULT_CIRCUIT_MAX_OPEN_MILLIS;
+
     @Builder.Default
     private boolean enableMetrics = true;
 
     @Builder.Default
     private String healthCheckQuery = "SELECT 1";
 
+    @Builder.Default
+    private boolean catalogCacheEnabled = true;
+
+    @Builder.Default
+    private String catalogCacheDir = DatabaseConstants.DEFAULT_CATALOG_CACHE_DIR;
+
+    @Builder.Default
+    private boolean historyEnabled = true;
+
+    @Builder.Default
+    private String historyDir = DatabaseConstants.DEFAULT_HISTORY_DIR;
+
+    @Builder.Default
+    private long historyMaxFileBytes = DatabaseConstants.DEFAULT_HISTORY_MAX_FILE_BYTES;
+
+    @Builder.Default
+    private int historyMaxFiles = DatabaseConstants.DEFAULT_HISTORY_MAX_FILES;
+
+    @Builder.Default
+    private long operatorMemoryBytes = DatabaseConstants.DEFAULT_OPERATOR_MEMORY_BYTES;
+
+    @Builder.Default
+    private String spillDir = DatabaseConstants.DEFAULT_SPILL_DIR;
+
+    @Builder.Default
+    private long resultHeapBytes = DatabaseConstants.DEFAULT_RESULT_HEAP_BYTES;
+
+    @Builder.Default
+    private long queryMaxRows = DatabaseConstants.DEFAULT_QUERY_MAX_ROWS;
+
+    @Builder.Default
+    private long queryMaxResultBytes = DatabaseConstants.DEFAULT_QUERY_MAX_RESULT_BYTES;
+
+    @Builder.Default
+    private int queryTimeoutSeconds = DatabaseConstants.DEFAULT_QUERY_TIMEOUT_SECONDS;
+
+    @Builder.Default
+    private String tableCacheConnection = DatabaseConstants.DEFAULT_TABLE_CACHE_CONNECTION;
+
+    @Builder.Default
+    private String tableCacheUrl = DatabaseConstants.DEFAULT_TABLE_CACHE_URL;
+
+    @Builder.Default
+    private String daemonSocket = DatabaseConstants.DEFAULT_DAEMON_SOCKET;
+
+    @Builder.Default
+    private PoolSettings bulkPool = PoolSettings.builder()
+            .maxPoolSize(DatabaseConstants.DEFAULT_BULK_POOL_SIZE)
+            .minIdle(0)
+            .connectionTimeout(DatabaseConstants.DEFAULT_BULK_CONNECTION_TIMEOUT)
+            .idleTimeout(DatabaseConstants.DEFAULT_BULK_IDLE_TIMEOUT)
+            .build();
+
+    @Builder.Default
+    private PoolSettings metadataPool = PoolSettings.builder()
+            .maxPoolSize(DatabaseConstants.DEFAULT_METADATA_POOL_SIZE)
+            .minIdle(1)
+            .connectionTimeout(DatabaseConstants.DEFAULT_METADATA_CONNECTION_TIMEOUT)
+            .build();
+
     @Valid
     private DefaultConnection defaultConnection;
 
+    /**
+     * Pool settings of a workload; the interactive pool uses the top-level pool settings
+     */
+    public PoolSettings poolSettings(Workload workload) {
+        return switch (workload) {
+            case INTERACTIVE -> PoolSettings.builder()
+                    .maxPoolSize(maxPoolSize)
+                    .minIdle(minIdle)
+                    .connectionTimeout(connectionTimeout)
+                    .idleTimeout(idleTimeout)
+                    .build();
+            case BULK -> bulkPool;
+            case METADATA -> metadataPool;
+        };
+    }
+
     @Data
     @Builder
     @NoArgsConstructor
@@ -56,4 +159,22 @@ public class DatabaseConfig {
         @Builder.Default
         private String type = DatabaseConstants.DB_TYPE_H2;
     }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PoolSettings {
+        @Builder.Default
+        private int maxPoolSize = DatabaseConstants.DEFAULT_MAX_POOL_SIZE;
+
+        @Builder.Default
+        private int minIdle = 0;
+
+        @Builder.Default
+        private long connectionTimeout = DatabaseConstants.DEFAULT_CONNECTION_TIMEOUT;
+
+        @Builder.Default
+        private long idleTimeout = DatabaseConstants.DEFAULT_IDLE_TIMEOUT;
+    }
 }
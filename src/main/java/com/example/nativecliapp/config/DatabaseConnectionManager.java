@@ -1,11 +1,19 @@
 package com.example.nativecliapp.config;
 
 import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dialect.Dialects;
 import com.example.nativecliapp.dtos.DatabaseInfo;
+import com.example.nativecliapp.dtos.PoolStatus;
+import com.example.nativecliapp.dtos.ReplicaStatus;
+import com.example.nativecliapp.dtos.WorkloadPoolStatus;
+import com.example.nativecliapp.event.ConnectionChangedEvent;
 import com.example.nativecliapp.exception.ConnectionException;
 import com.example.nativecliapp.exception.DatabaseException;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import com.zaxxer.hikari.util.DriverDataSource;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import jakarta.annotation.PostConstruct;
@@ -13,15 +21,21 @@ import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
 @Component
 @Slf4j
@@ -30,13 +44,26 @@ public class DatabaseConnectionManager {
 
     private final DatabaseConfig databaseConfig;
     private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private final Map<String, HikariDataSource> connections = new ConcurrentHashMap<>();
+    private final Map<String, Map<Workload, HikariDataSource>> connections = new ConcurrentHashMap<>();
+    private final Map<String, String> connectionTypes = new ConcurrentHashMap<>();
+    private final Map<String, List<String>> connectionTargets = new ConcurrentHashMap<>();
     private final AtomicReference<String> currentConnection = new AtomicReference<>(DatabaseConstants.DEFAULT_CONNECTION_NAME);
     private final Map<String, Timer> connectionTimers = new ConcurrentHashMap<>();
+    private final Map<String, ReplicaRouter> replicaRouters = new ConcurrentHashMap<>();
+    private final Map<String, CircuitBreaker> circuitBreakers = new ConcurrentHashMap<>();
+    private final Map<String, Map<Workload, DataSource>> guardedDataSources = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
 
     @PostConstruct
     public void initializeDefaultConnection() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pool-maintenance");
+            thread.setDaemon(true);
+            return thread;
+        });
+        startKeepalive();
         log.info("Initializing default database connection");
 
         DatabaseConfig.DefaultConnection defaultConn = databaseConfig.getDefaultConnection();
@@ -55,6 +82,19 @@ public class DatabaseConnectionManager {
      * Creates a new database connection with validation and monitoring
      */
     public void createConnection(String name, String dbType, String url, String username, String password) {
+        createConnection(name, dbType, url, username, password, List.of());
+    }
+
+    /**
+     * Creates a logical connection of a primary and read replicas sharing its type and credentials;
+     * read-only statements of {@link SchemaManager} are spread over the replicas. The primary gets
+     * one pool per {@link Workload}, sized by its own settings. Each replica keeps a single pool
+     * with the interactive settings that reads of every workload share, so a bulk read can still
+     * hold replica connections an interactive read is waiting for; the router then falls back to
+     * a replica with less load or to the primary.
+     */
+    public void createConnection(String name, String dbType, String url, String username, String password,
+                                 List<String> replicaUrls) {
         Objects.requireNonNull(name, "Connection name cannot be null");
         Objects.requireNonNull(dbType, "Database type cannot be null");
         Objects.requireNonNull(url, "Database URL cannot be null");
@@ -64,39 +104,72 @@ public class DatabaseConnectionManager {
             closeConnection(name);
         }
 
+        Map<Workload, HikariDataSource> pools = new EnumMap<>(Workload.class);
         try {
-            HikariDataSource dataSource = createDataSource(name, dbType, url, username, password);
+            for (Workload workload : Workload.values()) {
+                pools.put(workload, createDataSource(name, name + "-" + workload.key() + "-pool", workload,
+                        dbType, url, username, password));
+            }
 
             // Test connection
-            validateConnection(dataSource);
-
-            connections.put(name, dataSource);
-            setupConnectionMetrics(name, dataSource);
+            validateConnection(pools.get(Workload.INTERACTIVE));
+
+            List<ReplicaRouter.Replica> replicas = createReplicas(name, dbType, replicaUrls, username, password);
+
+            CircuitBreaker breaker = new CircuitBreaker(name, databaseConfig.getCircuitFailureThreshold(),
+                    databaseConfig.getCircuitOpenMillis(), databaseConfig.getCircuitMaxOpenMillis());
+            Map<Workload, DataSource> guarded = new EnumMap<>(Workload.class);
+            pools.forEach((workload, pool) -> guarded.put(workload,
+                    new CircuitBreakingDataSource(pool, workload, breaker, tripped -> scheduleProbe(name, tripped))));
+
+            connections.put(name, pools);
+            connectionTypes.put(name, dbType.toLowerCase());
+            connectionTargets.put(name, target(dbType, url, username));
+            circuitBreakers.put(name, breaker);
+            guardedDataSources.put(name, guarded);
+            setupConnectionMetrics(name, pools.get(Workload.INTERACTIVE));
+            if (!replicas.isEmpty()) {
+                replicaRouters.put(name, new ReplicaRouter(name, dbType.toLowerCase(), replicas,
+                        databaseConfig.getReplicaDownMillis(), databaseConfig.getReplicaMaxLagMillis()));
+            }
+            if (databaseConfig.isPrefillOnConnect()) {
+                pools.values().forEach(pool -> prefill(name, pool));
+                replicas.forEach(replica -> prefill(replica.name, replica.dataSource));
+            }
 
             log.info("✅ Database connection '{}' created successfully for {} database", name, dbType);
+            eventPublisher.publishEvent(new ConnectionChangedEvent(name, ConnectionChangedEvent.Kind.OPENED));
 
         } catch (Exception e) {
+            if (connections.get(name) != pools) {
+                pools.values().forEach(HikariDataSource::close);
+            }
             log.error("❌ Failed to create connection '{}' for database type '{}': {}", name, dbType, e.getMessage());
             throw new ConnectionException(name, "Failed to create database connection: " + e.getMessage(), e);
         }
     }
 
-    private HikariDataSource createDataSource(String name, String dbType, String url, String username, String password) {
+    /**
+     * Opens a pool sized for the workload, with the driver properties its dialect asks for
+     */
+    private HikariDataSource createDataSource(String name, String poolName, Workload workload,
+                                              String dbType, String url, String username, String password) {
+        Dialect dialect = Dialects.of(dbType);
+        DatabaseConfig.PoolSettings settings = databaseConfig.poolSettings(workload);
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(url);
-        config.setUsername(username);
-        config.setPassword(password);
-        config.setDriverClassName(getDriverClassName(dbType));
+        config.setDataSource(new WarmingDataSource(
+                new DriverDataSource(url, dialect.driverClassName(), dialect.driverProperties(workload), username, password),
+                name, databaseConfig.getHealthCheckQuery(), databaseConfig.getWarmUpStatements(), meterRegistry));
 
         // Pool configuration
-        config.setMaximumPoolSize(databaseConfig.getMaxPoolSize());
-        config.setMinimumIdle(databaseConfig.getMinIdle());
-        config.setConnectionTimeout(databaseConfig.getConnectionTimeout());
-        config.setIdleTimeout(databaseConfig.getIdleTimeout());
+        config.setMaximumPoolSize(settings.getMaxPoolSize());
+        config.setMinimumIdle(Math.min(settings.getMinIdle(), settings.getMaxPoolSize()));
+        config.setConnectionTimeout(settings.getConnectionTimeout());
+        config.setIdleTimeout(settings.getIdleTimeout());
         config.setMaxLifetime(databaseConfig.getMaxLifetime());
 
         // Connection pool name for monitoring
-        config.setPoolName(name + "-pool");
+        config.setPoolName(poolName);
 
         // Health check
         config.setConnectionTestQuery(databaseConfig.getHealthCheckQuery());
@@ -118,6 +191,135 @@ public class DatabaseConnectionManager {
         }
     }
 
+    private List<ReplicaRouter.Replica> createReplicas(String name, String dbType, List<String> replicaUrls,
+                                                      String username, String password) {
+        List<ReplicaRouter.Replica> replicas = new ArrayList<>();
+        try {
+            for (String replicaUrl : replicaUrls) {
+                String replicaName = name + "/replica-" + (replicas.size() + 1);
+                HikariDataSource replicaSource = createDataSource(replicaName, replicaName + "-pool", Workload.INTERACTIVE,
+                        dbType, replicaUrl, username, password);
+                replicas.add(new ReplicaRouter.Replica(replicaName, replicaSource));
+                validateConnection(replicaSource);
+            }
+            return replicas;
+        } catch (RuntimeException e) {
+            replicas.forEach(replica -> replica.dataSource.close());
+            throw e;
+        }
+    }
+
+    /**
+     * Borrows the minimum idle connections of a pool at once so it opens and warms them now rather
+     * than during the first queries
+     */
+    private void prefill(String name, HikariDataSource dataSource) {
+        int target = dataSource.getMinimumIdle();
+        List<Connection> borrowed = new ArrayList<>(target);
+        try {
+            while (borrowed.size() < target) {
+                borrowed.add(dataSource.getConnection());
+            }
+        } catch (SQLException e) {
+            log.warn("Pre-filled only {} of {} connections for '{}': {}", borrowed.size(), target, name, e.getMessage());
+        } finally {
+            borrowed.forEach(DatabaseConnectionManager::closeQuietly);
+        }
+        log.debug("🔥 Pre-filled {} connections for '{}'", borrowed.size(), name);
+    }
+
+    /**
+     * Schedules the keepalive that pings idle connections of every pool, so firewalls and servers
+     * do not drop them and their latency is measured while warm
+     */
+    private void startKeepalive() {
+        long interval = databaseConfig.getKeepaliveInterval();
+        if (interval <= 0) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(() -> {
+            connections.forEach((name, pools) -> pools.values().forEach(pool -> keepAlive(name, pool)));
+            replicaRouters.values().forEach(router -> {
+                router.getReplicas().forEach(replica -> keepAlive(replica.name, replica.dataSource));
+                router.probeLag();
+            });
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Pings the connections that are idle right now, holding each until the round is over so every
+     * idle connection is visited once; a failing connection is evicted by the pool on close
+     */
+    private void keepAlive(String name, HikariDataSource dataSource) {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        CircuitBreaker breaker = circuitBreakers.get(name);
+        if (pool == null || dataSource.isClosed() || (breaker != null && breaker.getState() != CircuitBreaker.State.CLOSED)) {
+            return;
+        }
+        Timer warmTimer = warmTimer(name);
+        List<Connection> borrowed = new ArrayList<>();
+        try {
+            for (int idle = pool.getIdleConnections(); idle > 0 && pool.getIdleConnections() > 0; idle--) {
+                Connection connection = dataSource.getConnection();
+                borrowed.add(connection);
+                Timer.Sample sample = Timer.start(meterRegistry);
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute(databaseConfig.getHealthCheckQuery());
+                }
+                sample.stop(warmTimer);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Keepalive failed for connection '{}': {}", name, e.getMessage());
+            if (breaker != null && breaker.recordFailure(e)) {
+                scheduleProbe(name, breaker);
+            }
+        } finally {
+            borrowed.forEach(DatabaseConnectionManager::closeQuietly);
+        }
+    }
+
+    private void scheduleProbe(String name, CircuitBreaker breaker) {
+        if (!scheduler.isShutdown()) {
+            scheduler.schedule(() -> probe(name, breaker), breaker.getOpenMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * The half-open trial of a tripped breaker: one connection acquired and validated straight from
+     * the interactive pool; success closes the breaker, failure reopens it and schedules the next trial
+     */
+    private void probe(String name, CircuitBreaker breaker) {
+        HikariDataSource dataSource = pool(name, Workload.INTERACTIVE);
+        if (dataSource == null || dataSource.isClosed() || circuitBreakers.get(name) != breaker || !breaker.startTrial()) {
+            return;
+        }
+        try (Connection connection = dataSource.getConnection()) {
+            if (!connection.isValid(5)) {
+                throw new SQLException("Connection validation failed");
+            }
+            breaker.recordSuccess();
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Half-open trial of connection '{}' failed: {}", name, e.getMessage());
+            breaker.trialFailed(e);
+            scheduleProbe(name, breaker);
+        }
+    }
+
+    private Timer warmTimer(String name) {
+        return Timer.builder(WarmingDataSource.FIRST_QUERY_TIMER)
+                .tag("connection", name)
+                .tag("state", "warm")
+                .register(meterRegistry);
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException e) {
+            log.debug("Failed to return connection to the pool: {}", e.getMessage());
+        }
+    }
+
     private void setupConnectionMetrics(String name, HikariDataSource dataSource) {
         if (databaseConfig.isEnableMetrics()) {
             Timer timer = Timer.builder("database.connection.duration")
@@ -146,11 +348,19 @@ public class DatabaseConnectionManager {
     }
 
     /**
-     * Gets the current data source with connection validation
+     * Gets the interactive pool of the current connection with validation; fails fast while its
+     * circuit is open
      */
     public DataSource getCurrentDataSource() {
+        return getCurrentDataSource(Workload.INTERACTIVE);
+    }
+
+    /**
+     * Gets the pool of the current connection that serves the workload
+     */
+    public DataSource getCurrentDataSource(Workload workload) {
         String connectionName = currentConnection.get();
-        HikariDataSource dataSource = connections.get(connectionName);
+        HikariDataSource dataSource = pool(connectionName, workload);
 
         if (dataSource == null) {
             throw new ConnectionException(connectionName, "Current connection '" + connectionName + "' is not available");
@@ -160,7 +370,113 @@ public class DatabaseConnectionManager {
             throw new ConnectionException(connectionName, "Current connection '" + connectionName + "' is closed");
         }
 
-        return dataSource;
+        return guarded(connectionName, workload, dataSource);
+    }
+
+    /**
+     * Gets the interactive pool of a named connection, independent of the current one
+     */
+    public DataSource getDataSource(String name) {
+        return getDataSource(name, Workload.INTERACTIVE);
+    }
+
+    /**
+     * Gets the pool of a named connection that serves the workload
+     */
+    public DataSource getDataSource(String name, Workload workload) {
+        Objects.requireNonNull(name, "Connection name cannot be null");
+        HikariDataSource dataSource = pool(name, workload);
+
+        if (dataSource == null) {
+            throw new ConnectionException(name, "Connection '" + name + "' not found. Available connections: " +
+                    String.join(", ", connections.keySet()));
+        }
+
+        if (dataSource.isClosed()) {
+            throw new ConnectionException(name, "Connection '" + name + "' is closed");
+        }
+
+        return guarded(name, workload, dataSource);
+    }
+
+    /**
+     * Runs work on a pool of its own holding exactly the given number of connections, opened with
+     * the driver settings of the workload's pool and guarded by the connection's circuit breaker.
+     * The pool is filled before the work starts and closed when it ends, so load that needs more
+     * connections than the shared pool has measures the database rather than waits for the pool.
+     */
+    public <T> T withDedicatedPool(String name, Workload workload, int size, Function<DataSource, T> work) {
+        getDataSource(name, workload); // fails for unknown and closed connections and an open breaker
+        HikariDataSource shared = pool(name, workload);
+        HikariConfig config = new HikariConfig();
+        config.setDataSource(shared.getDataSource());
+        config.setMaximumPoolSize(size);
+        config.setMinimumIdle(size);
+        config.setConnectionTimeout(shared.getConnectionTimeout());
+        config.setMaxLifetime(shared.getMaxLifetime());
+        config.setPoolName(name + "-" + workload.key() + "-dedicated-pool");
+        config.setConnectionTestQuery(databaseConfig.getHealthCheckQuery());
+
+        try (HikariDataSource dedicated = new HikariDataSource(config)) {
+            prefill(name, dedicated);
+            CircuitBreaker breaker = circuitBreakers.get(name);
+            return work.apply(breaker == null ? dedicated
+                    : new CircuitBreakingDataSource(dedicated, workload, breaker, tripped -> scheduleProbe(name, tripped)));
+        }
+    }
+
+    private HikariDataSource pool(String name, Workload workload) {
+        Map<Workload, HikariDataSource> pools = connections.get(name);
+        return pools == null ? null : pools.get(workload);
+    }
+
+    private DataSource guarded(String name, Workload workload, HikariDataSource dataSource) {
+        CircuitBreaker breaker = circuitBreakers.get(name);
+        if (breaker != null) {
+            breaker.checkClosed();
+        }
+        Map<Workload, DataSource> guarded = guardedDataSources.get(name);
+        return guarded == null ? dataSource : guarded.get(workload);
+    }
+
+    /**
+     * State of the circuit breaker of a named connection
+     */
+    public CircuitBreaker.State getCircuitState(String name) {
+        CircuitBreaker breaker = circuitBreakers.get(name);
+        return breaker == null ? CircuitBreaker.State.CLOSED : breaker.getState();
+    }
+
+    /**
+     * Picks where a statement of a named connection runs: a replica for reads when the connection
+     * has any, otherwise the primary pool of the workload
+     */
+    ConnectionRoute route(String name, String sql, Workload workload) {
+        ReplicaRouter router = replicaRouters.get(name);
+        DataSource primary = getDataSource(name, workload);
+        return router == null ? ConnectionRoute.direct(name, primary) : router.route(sql, primary);
+    }
+
+    /**
+     * Routing figures of the replicas of a connection, empty when it has none
+     */
+    public List<ReplicaStatus> getReplicaStatus(String name) {
+        ReplicaRouter router = replicaRouters.get(name);
+        if (router == null) {
+            return List.of();
+        }
+        long now = System.currentTimeMillis();
+        return router.getReplicas().stream()
+                .map(replica -> ReplicaStatus.builder()
+                        .name(replica.name)
+                        .available(replica.isAvailable(now, databaseConfig.getReplicaMaxLagMillis()))
+                        .latencyMillis(Math.max(replica.ewmaMillis, 0))
+                        .inFlight(replica.inFlight.get())
+                        .reads(replica.reads.get())
+                        .lagMillis(replica.lagMillis)
+                        .lastError(replica.lastError)
+                        .build())
+                .toList();
     }
 
     public String getCurrentSchema() {
@@ -175,6 +491,40 @@ public class DatabaseConnectionManager {
         return currentConnection.get();
     }
 
+    /**
+     * Gets the database type the named connection was created with
+     */
+    public String getDatabaseType(String name) {
+        String dbType = connectionTypes.get(name);
+        if (dbType == null) {
+            throw new ConnectionException(name, "Connection '" + name + "' not found");
+        }
+        return dbType;
+    }
+
+    /**
+     * Gets the dialect of the named connection's database type
+     */
+    public Dialect getDialect(String name) {
+        return Dialects.of(getDatabaseType(name));
+    }
+
+    public String getCurrentDatabaseType() {
+        return getDatabaseType(currentConnection.get());
+    }
+
+    /**
+     * True when the named connection is open to the same database as the user it would be
+     * created with, so a caller can keep its warm pools instead of replacing them
+     */
+    public boolean isOpen(String name, String dbType, String url, String username) {
+        return connections.containsKey(name) && target(dbType, url, username).equals(connectionTargets.get(name));
+    }
+
+    private static List<String> target(String dbType, String url, String username) {
+        return Arrays.asList(dbType.toLowerCase(), url, username);
+    }
+
     public Set<String> getConnectionNames() {
         return new HashSet<>(connections.keySet());
     }
@@ -185,39 +535,27 @@ public class DatabaseConnectionManager {
     public void closeConnection(String name) {
         Objects.requireNonNull(name, "Connection name cannot be null");
 
-        HikariDataSource dataSource = connections.remove(name);
-        if (dataSource != null) {
+        Map<Workload, HikariDataSource> pools = connections.remove(name);
+        connectionTypes.remove(name);
+        connectionTargets.remove(name);
+        circuitBreakers.remove(name);
+        guardedDataSources.remove(name);
+        ReplicaRouter router = replicaRouters.remove(name);
+        if (router != null) {
+            router.close();
+        }
+        if (pools != null) {
             try {
-                dataSource.close();
+                pools.values().forEach(HikariDataSource::close);
                 connectionTimers.remove(name);
                 log.info("🔒 Connection '{}' closed successfully", name);
             } catch (Exception e) {
                 log.error("Failed to close connection '{}': {}", name, e.getMessage());
             }
+            eventPublisher.publishEvent(new ConnectionChangedEvent(name, ConnectionChangedEvent.Kind.CLOSED));
         }
     }
 
-    /**
-     * Gets driver class name for database type with validation
-     */
-    private String getDriverClassName(String dbType) {
-        Objects.requireNonNull(dbType, "Database type cannot be null");
-
-        return switch (dbType.toLowerCase()) {
-            case DatabaseConstants.DB_TYPE_H2 -> DatabaseConstants.DRIVER_H2;
-            case DatabaseConstants.DB_TYPE_MYSQL -> DatabaseConstants.DRIVER_MYSQL;
-            case DatabaseConstants.DB_TYPE_POSTGRESQL -> DatabaseConstants.DRIVER_POSTGRESQL;
-            case DatabaseConstants.DB_TYPE_ORACLE -> DatabaseConstants.DRIVER_ORACLE;
-            case DatabaseConstants.DB_TYPE_SQLITE -> DatabaseConstants.DRIVER_SQLITE;
-            case DatabaseConstants.DB_TYPE_SQL_SERVER -> DatabaseConstants.DRIVER_SQL_SERVER;
-            default -> throw new IllegalArgumentException("Unsupported database type: " + dbType +
-                    ". Supported types: " + String.join(", ",
-                    DatabaseConstants.DB_TYPE_H2, DatabaseConstants.DB_TYPE_MYSQL,
-                    DatabaseConstants.DB_TYPE_POSTGRESQL, DatabaseConstants.DB_TYPE_ORACLE,
-                    DatabaseConstants.DB_TYPE_SQLITE, DatabaseConstants.DB_TYPE_SQL_SERVER));
-        };
-    }
-
     /**
      * Gets database information with enhanced error handling
      */
@@ -243,15 +581,23 @@ public class DatabaseConnectionManager {
     }
 
     /**
-     * Health check for all connections
+     * Health check for all connections; one whose circuit is open counts as unhealthy without
+     * being tried, and failed validations count towards tripping its breaker
      */
     public Map<String, Boolean> getConnectionHealthStatus() {
         Map<String, Boolean> healthStatus = new HashMap<>();
 
-        connections.forEach((name, dataSource) -> {
-            try (Connection conn = dataSource.getConnection()) {
-                healthStatus.put(name, conn.isValid(5));
-            } catch (SQLException e) {
+        connections.keySet().forEach(name -> {
+            CircuitBreaker breaker = circuitBreakers.get(name);
+            try (Connection conn = getDataSource(name).getConnection()) {
+                boolean valid = conn.isValid(5);
+                if (valid && breaker != null) {
+                    breaker.recordSuccess();
+                } else if (breaker != null && breaker.recordFailure(new SQLException("Connection validation failed"))) {
+                    scheduleProbe(name, breaker);
+                }
+                healthStatus.put(name, valid);
+            } catch (SQLException | ConnectionException e) {
                 healthStatus.put(name, false);
                 log.warn("Health check failed for connection '{}': {}", name, e.getMessage());
             }
@@ -260,9 +606,54 @@ public class DatabaseConnectionManager {
         return healthStatus;
     }
 
+    /**
+     * Pool occupancy per workload and cold versus warm query latency of every connection
+     */
+    public Map<String, PoolStatus> getPoolStatus() {
+        Map<String, PoolStatus> status = new TreeMap<>();
+        connections.forEach((name, pools) -> {
+            List<WorkloadPoolStatus> workloads = new ArrayList<>();
+            pools.forEach((workload, dataSource) -> {
+                HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+                workloads.add(WorkloadPoolStatus.builder()
+                        .workload(workload.key())
+                        .maximumConnections(dataSource.getMaximumPoolSize())
+                        .activeConnections(pool == null ? 0 : pool.getActiveConnections())
+                        .idleConnections(pool == null ? 0 : pool.getIdleConnections())
+                        .totalConnections(pool == null ? 0 : pool.getTotalConnections())
+                        .waitingThreads(pool == null ? 0 : pool.getThreadsAwaitingConnection())
+                        .build());
+            });
+            Timer cold = meterRegistry.find(WarmingDataSource.FIRST_QUERY_TIMER)
+                    .tags("connection", name, "state", "cold").timer();
+            Timer warm = meterRegistry.find(WarmingDataSource.FIRST_QUERY_TIMER)
+                    .tags("connection", name, "state", "warm").timer();
+            CircuitBreaker breaker = circuitBreakers.get(name);
+            status.put(name, PoolStatus.builder()
+                    .connectionName(name)
+                    .circuitState(breaker == null ? CircuitBreaker.State.CLOSED.name() : breaker.getState().name())
+                    .consecutiveFailures(breaker == null ? 0 : breaker.getConsecutiveFailures())
+                    .circuitTrips(breaker == null ? 0 : breaker.getTrips())
+                    .lastError(breaker == null ? null : breaker.getLastError())
+                    .activeConnections(workloads.stream().mapToInt(WorkloadPoolStatus::getActiveConnections).sum())
+                    .idleConnections(workloads.stream().mapToInt(WorkloadPoolStatus::getIdleConnections).sum())
+                    .totalConnections(workloads.stream().mapToInt(WorkloadPoolStatus::getTotalConnections).sum())
+                    .workloads(workloads)
+                    .coldFirstQueries(cold == null ? 0 : cold.count())
+                    .coldFirstQueryMillis(cold == null ? 0 : cold.mean(TimeUnit.MILLISECONDS))
+                    .warmQueries(warm == null ? 0 : warm.count())
+                    .warmQueryMillis(warm == null ? 0 : warm.mean(TimeUnit.MILLISECONDS))
+                    .build());
+        });
+        return status;
+    }
+
     @PreDestroy
     public void cleanup() {
         log.info("Shutting down database connections...");
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
         connections.keySet().forEach(this::closeConnection);
     }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.nativecliapp.config;
+
+/**
+ * Per-query guardrails enforced while rows are fetched; a value of 0 disables that limit
+ *
+ * @param maxRows        rows a query may return
+ * @param maxResultBytes estimated size of the values a query may return
+ * @param timeoutSeconds wall time from execution to the last row fetched
+ */
+public record QueryLimits(long maxRows, long maxResultBytes, int timeoutSeconds) {
+
+    public static final QueryLimits NONE = new QueryLimits(0, 0, 0);
+
+    public static QueryLimits from(DatabaseConfig config) {
+        return new QueryLimits(config.getQueryMaxRows(), config.getQueryMaxResultBytes(), config.getQueryTimeoutSeconds());
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.nativecliapp.config;
+
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dialect.Dialects;
+import com.example.nativecliapp.util.SqlStatements;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Splits the traffic of a logical connection between its primary and replicas. Writes and anything
+ * that might write go to the primary; read-only statements go to the replica with the lowest
+ * latency-weighted load, measured as an exponentially weighted moving average of its statement
+ * latency times the statements in flight on it. A replica is skipped while it is down after a
+ * connection error or lags behind the primary by more than the configured limit, and reads fall
+ * back to the primary when no replica is left.
+ */
+@Slf4j
+class ReplicaRouter {
+
+    private static final double EWMA_WEIGHT = 0.2;
+
+    private final String connectionName;
+    private final Dialect dialect;
+    private final List<Replica> replicas;
+    private final long downMillis;
+    private final long maxLagMillis;
+
+    ReplicaRouter(String connectionName, String dbType, List<Replica> replicas, long downMillis, long maxLagMillis) {
+        this.connectionName = connectionName;
+        this.dialect = Dialects.of(dbType);
+        this.replicas = List.copyOf(replicas);
+        this.downMillis = downMillis;
+        this.maxLagMillis = maxLagMillis;
+    }
+
+    /**
+     * Routes a statement; the primary is the pool of the workload it runs for
+     */
+    ConnectionRoute route(String sql, DataSource primary) {
+        // anything unsure goes to the primary
+        if (!SqlStatements.isReadOnly(sql)) {
+            return ConnectionRoute.direct(connectionName, primary);
+        }
+        long now = System.currentTimeMillis();
+        Replica best = replicas.stream()
+                .filter(replica -> replica.isAvailable(now, maxLagMillis))
+                .min(Comparator.comparingDouble(Replica::load))
+                .orElse(null);
+        if (best == null) {
+            log.debug("No replica of '{}' is available, reading from the primary", connectionName);
+            return ConnectionRoute.direct(connectionName, primary);
+        }
+        best.inFlight.incrementAndGet();
+        return new ConnectionRoute(connectionName, primary, this, best);
+    }
+
+    void finished(Replica replica, long nanos, SQLException failure) {
+        replica.inFlight.decrementAndGet();
+        if (failure != null && CircuitBreaker.isConnectionFailure(failure)) {
+            markDown(replica, failure);
+            return;
+        }
+        replica.reads.incrementAndGet();
+        double millis = nanos / 1_000_000.0;
+        replica.ewmaMillis = replica.ewmaMillis < 0 ? millis : EWMA_WEIGHT * millis + (1 - EWMA_WEIGHT) * replica.ewmaMillis;
+    }
+
+    void markDown(Replica replica, SQLException failure) {
+        replica.downUntil = System.currentTimeMillis() + downMillis;
+        replica.lastError = failure.getMessage();
+        log.warn("Replica '{}' of '{}' is down for {} ms: {}", replica.name, connectionName, downMillis, failure.getMessage());
+    }
+
+    /**
+     * Measures how far each replica is behind where the database type exposes it; a replica whose
+     * lag cannot be read keeps routing as if it were current
+     */
+    void probeLag() {
+        String sql = dialect.replicaLagQuery();
+        if (sql == null) {
+            return;
+        }
+        for (Replica replica : replicas) {
+            if (replica.dataSource.isClosed()) {
+                continue;
+            }
+            try (Connection conn = replica.dataSource.getConnection();
+                 Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                replica.lagMillis = readLag(rs);
+            } catch (SQLException e) {
+                log.debug("Could not read the lag of replica '{}': {}", replica.name, e.getMessage());
+            }
+        }
+    }
+
+    List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    void close() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    private long readLag(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return 0; // not replicating at all, so nothing to lag behind
+        }
+        return dialect.replicaLagMillis(rs);
+    }
+
+    /**
+     * One replica pool with the load and health figures routing is based on
+     */
+    static final class Replica {
+        final String name;
+        final HikariDataSource dataSource;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final AtomicLong reads = new AtomicLong();
+        volatile double ewmaMillis = -1;
+        volatile long lagMillis = -1;
+        volatile long downUntil;
+        volatile String lastError;
+
+        Replica(String name, HikariDataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        boolean isAvailable(long now, long maxLagMillis) {
+            return !dataSource.isClosed() && now >= downUntil && lagMillis <= maxLagMillis;
+        }
+
+        double load() {
+            return (Math.max(ewmaMillis, 0) + 1) * (inFlight.get() + 1);
+        }
+    }
+}
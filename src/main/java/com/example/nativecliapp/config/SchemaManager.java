@@ -1,35 +1,59 @@
 package com.example.nativecliapp.config;
 
 import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dialect.Dialect;
 import com.example.nativecliapp.dtos.ColumnDefinition;
 import com.example.nativecliapp.dtos.ColumnInfo;
 import com.example.nativecliapp.dtos.TableInfo;
+import com.example.nativecliapp.event.QueryExecutedEvent;
+import com.example.nativecliapp.event.SchemaChangedEvent;
+import com.example.nativecliapp.exception.QueryLimitExceededException;
 import com.example.nativecliapp.exception.SchemaException;
 import com.example.nativecliapp.exception.SqlExecutionException;
+import com.example.nativecliapp.result.LobHandle;
+import com.example.nativecliapp.result.RowCodec;
+import com.example.nativecliapp.result.RowSink;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import java.sql.*;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
 
 @Component
 @Slf4j
 @RequiredArgsConstructor
 public class SchemaManager {
 
+    private static final int STREAMING_FETCH_SIZE = 1_000;
+    private static final Pattern DDL_STATEMENT = Pattern.compile("^(CREATE|ALTER|DROP|RENAME)\\b", Pattern.CASE_INSENSITIVE);
+
     private final DatabaseConnectionManager connectionManager;
+    private final DatabaseConfig databaseConfig;
     private final MeterRegistry meterRegistry;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Lists all schemas with enhanced error handling
      */
     public List<String> listSchemas() {
+        return listSchemas(connectionManager.getCurrentConnectionName());
+    }
+
+    /**
+     * Lists all schemas of a named connection
+     */
+    public List<String> listSchemas(String connectionName) {
         Timer.Sample sample = Timer.start(meterRegistry);
 
-        try (Connection conn = connectionManager.getCurrentDataSource().getConnection()) {
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
             DatabaseMetaData metaData = conn.getMetaData();
             List<String> schemas = new ArrayList<>();
 
@@ -56,9 +80,16 @@ public class SchemaManager {
      * Lists tables in a schema with validation
      */
     public List<TableInfo> listTables(String schema) {
+        return listTables(connectionManager.getCurrentConnectionName(), schema);
+    }
+
+    /**
+     * Lists tables in a schema of a named connection
+     */
+    public List<TableInfo> listTables(String connectionName, String schema) {
         Timer.Sample sample = Timer.start(meterRegistry);
 
-        try (Connection conn = connectionManager.getCurrentDataSource().getConnection()) {
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
             DatabaseMetaData metaData = conn.getMetaData();
             List<TableInfo> tables = new ArrayList<>();
 
@@ -88,11 +119,18 @@ public class SchemaManager {
      * Describes table structure with enhanced column information
      */
     public List<ColumnInfo> describeTable(String schema, String tableName) {
+        return describeTable(connectionManager.getCurrentConnectionName(), schema, tableName);
+    }
+
+    /**
+     * Describes a table of a named connection
+     */
+    public List<ColumnInfo> describeTable(String connectionName, String schema, String tableName) {
         Objects.requireNonNull(tableName, "Table name cannot be null");
 
         Timer.Sample sample = Timer.start(meterRegistry);
 
-        try (Connection conn = connectionManager.getCurrentDataSource().getConnection()) {
+        try (Connection conn = connectionManager.getDataSource(connectionName, Workload.METADATA).getConnection()) {
             DatabaseMetaData metaData = conn.getMetaData();
             List<ColumnInfo> columns = new ArrayList<>();
 
@@ -101,6 +139,7 @@ public class SchemaManager {
                     ColumnInfo column = ColumnInfo.builder()
                             .name(rs.getString("COLUMN_NAME"))
                             .type(rs.getString("TYPE_NAME"))
+                            .dataType(rs.getInt("DATA_TYPE"))
                             .size(rs.getInt("COLUMN_SIZE"))
                             .decimalDigits(rs.getInt("DECIMAL_DIGITS"))
                             .nullable(rs.getInt("NULLABLE") == DatabaseMetaData.columnNullable)
@@ -130,6 +169,13 @@ public class SchemaManager {
      * Creates a table with enhanced validation
      */
     public void createTable(String schema, String tableName, List<ColumnDefinition> columns) {
+        createTable(connectionManager.getCurrentConnectionName(), schema, tableName, columns);
+    }
+
+    /**
+     * Creates a table on a named connection
+     */
+    public void createTable(String connectionName, String schema, String tableName, List<ColumnDefinition> columns) {
         Objects.requireNonNull(tableName, "Table name cannot be null");
         Objects.requireNonNull(columns, "Columns cannot be null");
 
@@ -141,7 +187,7 @@ public class SchemaManager {
         validateColumnDefinitions(columns);
 
         String sql = buildCreateTableSql(schema, tableName, columns);
-        executeUpdate(sql);
+        executeUpdate(connectionName, sql);
 
         log.info("✅ Table '{}.{}' created successfully with {} columns", schema, tableName, columns.size());
     }
@@ -173,6 +219,7 @@ public class SchemaManager {
         }
         sql.append(tableName).append(" (");
 
+        List<String> primaryKey = columns.stream().filter(ColumnDefinition::isPrimaryKey).map(ColumnDefinition::getName).toList();
         for (int i = 0; i < columns.size(); i++) {
             if (i > 0) sql.append(", ");
 
@@ -191,11 +238,15 @@ public class SchemaManager {
                 sql.append(" ").append(DatabaseConstants.SQL_DEFAULT).append(" ").append(col.getDefaultValue());
             }
 
-            if (col.isPrimaryKey()) {
+            if (col.isPrimaryKey() && primaryKey.size() == 1) {
                 sql.append(" ").append(DatabaseConstants.SQL_PRIMARY_KEY);
             }
         }
 
+        if (primaryKey.size() > 1) {
+            sql.append(", ").append(DatabaseConstants.SQL_PRIMARY_KEY).append(" (").append(String.join(", ", primaryKey)).append(")");
+        }
+
         sql.append(")");
         return sql.toString();
     }
@@ -204,6 +255,13 @@ public class SchemaManager {
      * Executes SQL update with enhanced logging and error handling
      */
     public void executeUpdate(String sql) {
+        executeUpdate(connectionManager.getCurrentConnectionName(), sql);
+    }
+
+    /**
+     * Executes SQL update on a named connection
+     */
+    public void executeUpdate(String connectionName, String sql) {
         Objects.requireNonNull(sql, "SQL cannot be null");
 
         String trimmedSql = sql.trim();
@@ -212,16 +270,23 @@ public class SchemaManager {
         }
 
         Timer.Sample sample = Timer.start(meterRegistry);
+        Instant startedAt = Instant.now();
 
-        try (Connection conn = connectionManager.getCurrentDataSource().getConnection();
+        try (Connection conn = connectionManager.getDataSource(connectionName).getConnection();
              Statement stmt = conn.createStatement()) {
 
             int rowsAffected = stmt.executeUpdate(trimmedSql);
             log.info("✅ SQL executed successfully. Rows affected: {} | SQL: {}", rowsAffected,
                     trimmedSql.length() > 100 ? trimmedSql.substring(0, 100) + "..." : trimmedSql);
+            publishExecuted(connectionName, trimmedSql, startedAt, rowsAffected, null);
+
+            if (DDL_STATEMENT.matcher(trimmedSql).find()) {
+                eventPublisher.publishEvent(new SchemaChangedEvent(connectionName, trimmedSql));
+            }
 
         } catch (SQLException e) {
             log.error("❌ SQL execution failed: {} | SQL: {}", e.getMessage(), trimmedSql);
+            publishExecuted(connectionName, trimmedSql, startedAt, 0, e.getMessage());
             throw new SqlExecutionException(trimmedSql, "SQL execution failed: " + e.getMessage(), e);
         } finally {
             sample.stop(Timer.builder("database.sql.update.duration").register(meterRegistry));
@@ -232,6 +297,14 @@ public class SchemaManager {
      * Executes SQL query with enhanced result handling
      */
     public List<Map<String, Object>> executeQuery(String sql) {
+        return executeQuery(connectionManager.getCurrentConnectionName(), sql);
+    }
+
+    /**
+     * Executes SQL query on a named connection, aborting it once it passes the configured
+     * row, size or time limit
+     */
+    public List<Map<String, Object>> executeQuery(String connectionName, String sql) {
         Objects.requireNonNull(sql, "SQL cannot be null");
 
         String trimmedSql = sql.trim();
@@ -240,38 +313,360 @@ public class SchemaManager {
         }
 
         Timer.Sample sample = Timer.start(meterRegistry);
+        Instant startedAt = Instant.now();
+        QueryGuard guard = new QueryGuard(trimmedSql, QueryLimits.from(databaseConfig));
+        List<Map<String, Object>> results = new ArrayList<>();
+        ConnectionRoute route = connectionManager.route(connectionName, trimmedSql, Workload.INTERACTIVE);
 
-        try (Connection conn = connectionManager.getCurrentDataSource().getConnection();
-             Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(trimmedSql)) {
+        try (Connection conn = route.connect();
+             Statement stmt = conn.createStatement()) {
+            guard.apply(stmt);
+
+            try (ResultSet rs = stmt.executeQuery(trimmedSql)) {
+                ResultSetMetaData metaData = rs.getMetaData();
+                int columnCount = metaData.getColumnCount();
+                int[] lobTypes = lobTypes(metaData);
 
-            List<Map<String, Object>> results = new ArrayList<>();
-            ResultSetMetaData metaData = rs.getMetaData();
-            int columnCount = metaData.getColumnCount();
+                while (rs.next()) {
+                    Object[] values = readRow(rs, lobTypes);
+                    guard.account(stmt, values, results);
 
-            while (rs.next()) {
-                Map<String, Object> row = new LinkedHashMap<>();
-                for (int i = 1; i <= columnCount; i++) {
-                    String columnName = metaData.getColumnName(i);
-                    Object value = rs.getObject(i);
-                    row.put(columnName, value);
+                    Map<String, Object> row = new LinkedHashMap<>();
+                    for (int i = 0; i < columnCount; i++) {
+                        row.put(metaData.getColumnName(i + 1), values[i]);
+                    }
+                    results.add(row);
                 }
-                results.add(row);
             }
 
-            log.info("✅ Query executed successfully. Rows returned: {} | SQL: {}", results.size(),
+            log.info("✅ Query executed successfully on {}. Rows returned: {} | SQL: {}", route.getTarget(), results.size(),
                     trimmedSql.length() > 100 ? trimmedSql.substring(0, 100) + "..." : trimmedSql);
+            publishExecuted(connectionName, trimmedSql, startedAt, results.size(), null);
 
             return results;
 
+        } catch (QueryLimitExceededException e) {
+            log.warn("⛔ {} | SQL: {}", e.getMessage(), trimmedSql);
+            publishExecuted(connectionName, trimmedSql, startedAt, e.getRowsRead(), e.getMessage());
+            throw e;
+        } catch (SQLTimeoutException e) {
+            route.finish(e);
+            QueryLimitExceededException limited = guard.timedOut(results);
+            publishExecuted(connectionName, trimmedSql, startedAt, limited.getRowsRead(), limited.getMessage());
+            throw limited;
         } catch (SQLException e) {
-            log.error("❌ SQL query failed: {} | SQL: {}", e.getMessage(), trimmedSql);
+            route.finish(e);
+            log.error("❌ SQL query failed on {}: {} | SQL: {}", route.getTarget(), e.getMessage(), trimmedSql);
+            publishExecuted(connectionName, trimmedSql, startedAt, 0, e.getMessage());
             throw new SqlExecutionException(trimmedSql, "SQL query failed: " + e.getMessage(), e);
         } finally {
+            route.finish(null);
             sample.stop(Timer.builder("database.sql.query.duration").register(meterRegistry));
         }
     }
 
+    /**
+     * Executes any statement on the current connection and streams its rows to the sink as they
+     * arrive from the driver; update counts go to {@link RowSink#updated(long)}
+     */
+    public long executeStreaming(String sql, RowSink sink) {
+        return executeStreaming(connectionManager.getCurrentConnectionName(), sql, sink);
+    }
+
+    /**
+     * Executes any statement on a named connection, streaming its rows to the sink
+     */
+    public long executeStreaming(String connectionName, String sql, RowSink sink) {
+        return executeStreaming(connectionName, sql, sink, QueryLimits.NONE);
+    }
+
+    /**
+     * Executes any statement on a named connection with a connection of the workload's pool,
+     * streaming its rows to the sink
+     */
+    public long executeStreaming(String connectionName, String sql, RowSink sink, Workload workload) {
+        return executeStreaming(connectionName, sql, sink, QueryLimits.NONE, workload);
+    }
+
+    /**
+     * Executes any statement on a named connection, streaming its rows to the sink until the
+     * limits are hit; the rows the sink received before an abort stay with the sink
+     */
+    public long executeStreaming(String connectionName, String sql, RowSink sink, QueryLimits limits) {
+        return executeStreaming(connectionName, sql, sink, limits, Workload.INTERACTIVE);
+    }
+
+    /**
+     * Executes any statement on a named connection with a connection of the workload's pool,
+     * streaming its rows to the sink until the limits are hit
+     */
+    public long executeStreaming(String connectionName, String sql, RowSink sink, QueryLimits limits, Workload workload) {
+        Objects.requireNonNull(sql, "SQL cannot be null");
+        String trimmedSql = sql.trim();
+        Dialect dialect = connectionManager.getDialect(connectionName);
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Instant startedAt = Instant.now();
+        QueryGuard guard = new QueryGuard(trimmedSql, limits);
+        ConnectionRoute route = connectionManager.route(connectionName, trimmedSql, workload);
+
+        try (Connection conn = route.connect()) {
+            boolean transaction = dialect.cursorNeedsTransaction();
+            if (transaction) {
+                conn.setAutoCommit(false);
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.setFetchSize(dialect.streamingFetchSize(STREAMING_FETCH_SIZE));
+                guard.apply(stmt);
+                sink.executing(stmt);
+
+                long count;
+                if (stmt.execute(trimmedSql)) {
+                    try (ResultSet rs = stmt.getResultSet()) {
+                        count = streamRows(stmt, rs, sink, guard);
+                    }
+                } else {
+                    count = stmt.getUpdateCount();
+                    sink.updated(count);
+                }
+                if (transaction) {
+                    conn.commit();
+                }
+                publishExecuted(connectionName, trimmedSql, startedAt, count, null);
+
+                if (DDL_STATEMENT.matcher(trimmedSql).find()) {
+                    eventPublisher.publishEvent(new SchemaChangedEvent(connectionName, trimmedSql));
+                }
+                return count;
+
+            } catch (SQLException | RuntimeException e) {
+                if (transaction) {
+                    rollback(conn, e);
+                }
+                throw e;
+            }
+        } catch (QueryLimitExceededException e) {
+            log.warn("⛔ {} | SQL: {}", e.getMessage(), trimmedSql);
+            publishExecuted(connectionName, trimmedSql, startedAt, e.getRowsRead(), e.getMessage());
+            throw e;
+        } catch (SQLTimeoutException e) {
+            route.finish(e);
+            QueryLimitExceededException limited = guard.timedOut(List.of());
+            publishExecuted(connectionName, trimmedSql, startedAt, limited.getRowsRead(), limited.getMessage());
+            throw limited;
+        } catch (SQLException e) {
+            route.finish(e);
+            publishExecuted(connectionName, trimmedSql, startedAt, 0, e.getMessage());
+            throw new SqlExecutionException(trimmedSql, "SQL execution failed: " + e.getMessage(), e);
+        } finally {
+            route.finish(null);
+            sample.stop(Timer.builder("database.sql.stream.duration").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Executes a query for one window of its rows, paginated the way the connection's dialect does it
+     */
+    public List<Map<String, Object>> executeQuery(String connectionName, String sql, long offset, long limit) {
+        Objects.requireNonNull(sql, "SQL cannot be null");
+        if (offset < 0 || limit <= 0) {
+            throw new IllegalArgumentException("Offset cannot be negative and limit must be positive");
+        }
+        return executeQuery(connectionName, connectionManager.getDialect(connectionName).paginate(sql.trim(), offset, limit));
+    }
+
+    /**
+     * Returns the plan the named connection's database would use for a statement, with the
+     * EXPLAIN form of its dialect; every result the plan statement returns is included
+     */
+    public List<Map<String, Object>> explain(String connectionName, String sql) {
+        Objects.requireNonNull(sql, "SQL cannot be null");
+        Dialect.Explain explain = connectionManager.getDialect(connectionName).explain(sql.trim());
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try (Connection conn = connectionManager.getDataSource(connectionName).getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String setup : explain.setup()) {
+                stmt.execute(setup);
+            }
+            List<Map<String, Object>> plan = new ArrayList<>();
+            try {
+                boolean hasResult = stmt.execute(explain.query());
+                while (hasResult || stmt.getUpdateCount() != -1) {
+                    if (hasResult) {
+                        try (ResultSet rs = stmt.getResultSet()) {
+                            ResultSetMetaData metaData = rs.getMetaData();
+                            while (rs.next()) {
+                                Map<String, Object> row = new LinkedHashMap<>();
+                                for (int i = 1; i <= metaData.getColumnCount(); i++) {
+                                    row.put(metaData.getColumnLabel(i), rs.getObject(i));
+                                }
+                                plan.add(row);
+                            }
+                        }
+                    }
+                    hasResult = stmt.getMoreResults();
+                }
+            } catch (SQLException | RuntimeException e) {
+                cleanUpExplain(stmt, explain, e);
+                throw e;
+            }
+            for (String cleanup : explain.cleanup()) {
+                stmt.execute(cleanup);
+            }
+            return plan;
+        } catch (SQLException e) {
+            log.error("❌ EXPLAIN failed on '{}': {} | SQL: {}", connectionName, e.getMessage(), explain.query());
+            throw new SqlExecutionException(explain.query(), "EXPLAIN failed: " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("database.sql.explain.duration").register(meterRegistry));
+        }
+    }
+
+    /**
+     * Runs the dialect's EXPLAIN cleanup after a failed plan without hiding the failure
+     */
+    private static void cleanUpExplain(Statement stmt, Dialect.Explain explain, Exception failure) {
+        for (String cleanup : explain.cleanup()) {
+            try {
+                stmt.execute(cleanup);
+            } catch (SQLException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * Rolls back without hiding the failure; the pool may already have closed a connection whose
+     * statement timed out
+     */
+    private static void rollback(Connection conn, Exception failure) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    private void publishExecuted(String connectionName, String sql, Instant startedAt, long rows, String error) {
+        long durationMillis = Duration.between(startedAt, Instant.now()).toMillis();
+        eventPublisher.publishEvent(new QueryExecutedEvent(connectionName, sql, startedAt, durationMillis, rows, error));
+    }
+
+    private long streamRows(Statement stmt, ResultSet rs, RowSink sink, QueryGuard guard) throws SQLException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        int columnCount = metaData.getColumnCount();
+        List<String> columns = new ArrayList<>(columnCount);
+        for (int i = 1; i <= columnCount; i++) {
+            columns.add(metaData.getColumnLabel(i));
+        }
+
+        int[] lobTypes = sink.previewsLobs() ? lobTypes(metaData) : new int[columnCount];
+
+        sink.start(columns);
+        long rows = 0;
+        while (rs.next()) {
+            Object[] values = readRow(rs, lobTypes);
+            guard.account(stmt, values, List.of());
+            sink.row(values);
+            rows++;
+        }
+        sink.end(rows);
+        return rows;
+    }
+
+    /**
+     * SQL type of every large object column, 0 for the other columns
+     */
+    private static int[] lobTypes(ResultSetMetaData metaData) throws SQLException {
+        int[] types = new int[metaData.getColumnCount()];
+        for (int i = 0; i < types.length; i++) {
+            if (LobHandle.isLob(metaData, i + 1)) {
+                types[i] = metaData.getColumnType(i + 1);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Reads the current row, large object columns as previews so a multi-megabyte document does
+     * not have to be held to show its first characters
+     */
+    private static Object[] readRow(ResultSet rs, int[] lobTypes) throws SQLException {
+        Object[] values = new Object[lobTypes.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = lobTypes[i] != 0 ? LobHandle.read(rs, i + 1, lobTypes[i]) : rs.getObject(i + 1);
+        }
+        return values;
+    }
+
+    /**
+     * Enforces {@link QueryLimits} on one statement: the row limit and timeout are handed to the
+     * driver, and every fetched row is counted against all three limits on the client as well,
+     * since drivers only time the execution and not the fetching of the rows
+     */
+    private static final class QueryGuard {
+        private final String sql;
+        private final QueryLimits limits;
+        private final long deadlineNanos;
+        private long rows;
+        private long bytes;
+
+        QueryGuard(String sql, QueryLimits limits) {
+            this.sql = sql;
+            this.limits = limits;
+            this.deadlineNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(limits.timeoutSeconds());
+        }
+
+        void apply(Statement stmt) throws SQLException {
+            if (limits.maxRows() > 0 && limits.maxRows() < Integer.MAX_VALUE) {
+                stmt.setMaxRows((int) limits.maxRows() + 1); // one extra row tells a truncated result from an exact fit
+            }
+            if (limits.timeoutSeconds() > 0) {
+                stmt.setQueryTimeout(limits.timeoutSeconds());
+            }
+        }
+
+        /**
+         * Counts a fetched row, cancelling the statement when it is over a limit
+         */
+        void account(Statement stmt, Object[] values, List<Map<String, Object>> partialRows) {
+            long size = RowCodec.estimateSize(values);
+            QueryLimitExceededException exceeded = null;
+            if (limits.maxRows() > 0 && rows >= limits.maxRows()) {
+                exceeded = new QueryLimitExceededException(sql, QueryLimitExceededException.Limit.ROWS,
+                        String.format("Query stopped after %,d rows, the limit of database.query-max-rows", rows),
+                        rows, partialRows);
+            } else if (limits.maxResultBytes() > 0 && bytes + size > limits.maxResultBytes()) {
+                exceeded = new QueryLimitExceededException(sql, QueryLimitExceededException.Limit.BYTES,
+                        String.format("Query stopped after %,d rows (about %,d bytes), the limit of database.query-max-result-bytes",
+                                rows, bytes), rows, partialRows);
+            } else if (limits.timeoutSeconds() > 0 && System.nanoTime() - deadlineNanos > 0) {
+                exceeded = timedOut(partialRows);
+            }
+            if (exceeded != null) {
+                cancel(stmt);
+                throw exceeded;
+            }
+            rows++;
+            bytes += size;
+        }
+
+        QueryLimitExceededException timedOut(List<Map<String, Object>> partialRows) {
+            return new QueryLimitExceededException(sql, QueryLimitExceededException.Limit.TIME,
+                    String.format("Query stopped after %,d rows and %d s, the limit of database.query-timeout-seconds",
+                            rows, limits.timeoutSeconds()), rows, partialRows);
+        }
+
+        private static void cancel(Statement stmt) {
+            try {
+                stmt.cancel();
+            } catch (SQLException e) {
+                log.debug("Could not cancel aborted statement: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * Gets table count for a schema
      */
@@ -280,14 +675,26 @@ public class SchemaManager {
     }
 
     /**
-     * Checks if a table exists
+     * Checks if a table exists with a single table lookup instead of a full column scan
      */
     public boolean tableExists(String schema, String tableName) {
-        try {
-            describeTable(schema, tableName);
-            return true;
-        } catch (SchemaException e) {
+        Objects.requireNonNull(tableName, "Table name cannot be null");
+
+        try (Connection conn = connectionManager.getCurrentDataSource(Workload.METADATA).getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+
+            for (String candidate : new LinkedHashSet<>(List.of(tableName,
+                    tableName.toUpperCase(Locale.ROOT), tableName.toLowerCase(Locale.ROOT)))) {
+                try (ResultSet rs = metaData.getTables(null, schema, candidate, DatabaseConstants.TABLE_TYPES)) {
+                    if (rs.next()) {
+                        return true;
+                    }
+                }
+            }
             return false;
+
+        } catch (SQLException e) {
+            throw new SchemaException("Failed to check table '" + tableName + "': " + e.getMessage(), e);
         }
     }
 }
\ No newline at end of file
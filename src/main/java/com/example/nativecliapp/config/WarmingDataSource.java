@@ -0,0 +1,122 @@
+package com.example.nativecliapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Hands the pool physical connections that are already warm. Every new connection, including the
+ * ones the pool opens to replace connections past their max lifetime, first answers the health
+ * check query, timed as its cold first query, and then runs the configured warm-up statements
+ * as prepared statements so the driver and server caches are filled before the first real query.
+ */
+@Slf4j
+class WarmingDataSource implements DataSource {
+
+    static final String FIRST_QUERY_TIMER = "database.connection.first_query.duration";
+
+    private final DataSource delegate;
+    private final String connectionName;
+    private final String healthCheckQuery;
+    private final List<String> warmUpStatements;
+    private final Timer coldTimer;
+    private final Timer warmUpTimer;
+
+    WarmingDataSource(DataSource delegate, String connectionName, String healthCheckQuery,
+                      List<String> warmUpStatements, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.connectionName = connectionName;
+        this.healthCheckQuery = healthCheckQuery;
+        this.warmUpStatements = List.copyOf(warmUpStatements);
+        this.coldTimer = Timer.builder(FIRST_QUERY_TIMER)
+                .tag("connection", connectionName)
+                .tag("state", "cold")
+                .register(meterRegistry);
+        this.warmUpTimer = Timer.builder("database.connection.warmup.duration")
+                .tag("connection", connectionName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return warmUp(delegate.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return warmUp(delegate.getConnection(username, password));
+    }
+
+    private Connection warmUp(Connection connection) throws SQLException {
+        Timer.Sample warmUp = Timer.start();
+        try {
+            Timer.Sample firstQuery = Timer.start();
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(healthCheckQuery);
+            }
+            firstQuery.stop(coldTimer);
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
+        }
+
+        for (String sql : warmUpStatements) {
+            try (PreparedStatement ps = connection.prepareStatement(sql)) {
+                ps.setMaxRows(1);
+                ps.execute();
+            } catch (SQLException e) {
+                log.warn("Warm-up statement failed on connection '{}': {} | SQL: {}", connectionName, e.getMessage(), sql);
+            }
+        }
+        long nanos = warmUp.stop(warmUpTimer);
+        log.debug("🔥 Warmed up a new physical connection for '{}' in {} ms", connectionName,
+                TimeUnit.NANOSECONDS.toMillis(nanos));
+        return connection;
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? iface.cast(this) : delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || delegate.isWrapperFor(iface);
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.nativecliapp.config;
+
+import java.util.Locale;
+
+/**
+ * The class of work a connection is borrowed for. Every logical connection keeps a separate pool
+ * per class, so exports, copies and benchmarks can use up their own pool without making the
+ * statements typed at the prompt or the catalog lookups behind completion wait for a connection.
+ */
+public enum Workload {
+
+    /** Statements run at the prompt: sql, page, history-run */
+    INTERACTIVE,
+
+    /** Long or heavy jobs: copies, diffs, caches, federated joins, LOB exports, benchmarks, batch scripts */
+    BULK,
+
+    /** Catalog reads: schemas, tables, describe, completion and the schema catalog */
+    METADATA;
+
+    /**
+     * Lower-case name, as used in pool names and the health output
+     */
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -8,6 +8,17 @@ public final class DatabaseConstants {
     public static final long DEFAULT_CONNECTION_TIMEOUT = 30_000L;
     public static final long DEFAULT_IDLE_TIMEOUT = 600_000L;
     public static final long DEFAULT_MAX_LIFETIME = 1_800_000L;
+    public static final long DEFAULT_KEEPALIVE_INTERVAL = 120_000L;
+    public static final long DEFAULT_REPLICA_DOWN_MILLIS = 30_000L;
+    public static final long DEFAULT_REPLICA_MAX_LAG_MILLIS = 10_000L;
+    public static final int DEFAULT_CIRCUIT_FAILURE_THRESHOLD = 3;
+    public static final long DEFAULT_CIRCUIT_OPEN_MILLIS = 5_000L;
+    public static final long DEFAULT_CIRCUIT_MAX_OPEN_MILLIS = 60_000L;
+    public static final int DEFAULT_BULK_POOL_SIZE = 4;
+    public static final long DEFAULT_BULK_CONNECTION_TIMEOUT = 600_000L;
+    public static final long DEFAULT_BULK_IDLE_TIMEOUT = 60_000L;
+    public static final int DEFAULT_METADATA_POOL_SIZE = 2;
+    public static final long DEFAULT_METADATA_CONNECTION_TIMEOUT = 10_000L;
 
     // Database Types
     public static final String DB_TYPE_H2 = "h2";
@@ -38,6 +49,50 @@ public final class DatabaseConstants {
     // Table Types
     public static final String[] TABLE_TYPES = {"TABLE"};
 
+    // Catalog Snapshots
+    public static final String SNAPSHOT_FILE_EXTENSION = ".dsnap";
+    public static final String CATALOG_CACHE_FILE_EXTENSION = ".dcat";
+    public static final String DEFAULT_CATALOG_CACHE_DIR = System.getProperty("user.home") + "/.native-cli-app/catalog-cache";
+
+    // Data Sync
+    public static final int DEFAULT_SYNC_CHUNK_ROWS = 10_000;
+    public static final int DEFAULT_SYNC_PARALLELISM = 4;
+    public static final int DEFAULT_COPY_BATCH_SIZE = 1_000;
+    public static final int DIFF_LEAF_ROWS = 500;
+    public static final int DIFF_FANOUT = 16;
+
+    // Query History
+    public static final String DEFAULT_HISTORY_DIR = System.getProperty("user.home") + "/.native-cli-app/history";
+    public static final long DEFAULT_HISTORY_MAX_FILE_BYTES = 8L * 1024 * 1024;
+    public static final int DEFAULT_HISTORY_MAX_FILES = 5;
+    public static final long DEFAULT_SLOW_QUERY_MILLIS = 1_000L;
+    public static final int DEFAULT_HISTORY_RESULTS = 20;
+
+    // Benchmark
+    public static final int DEFAULT_BENCH_CONCURRENCY = 8;
+    public static final String DEFAULT_BENCH_DURATION = "10s";
+
+    // Client-side Result Operators
+    public static final long DEFAULT_OPERATOR_MEMORY_BYTES = 64L * 1024 * 1024;
+    public static final String DEFAULT_SPILL_DIR = System.getProperty("java.io.tmpdir") + "/native-cli-app-spill";
+    public static final String FAN_IN_CONNECTION_COLUMN = "connection";
+
+    // Result Paging
+    public static final long DEFAULT_RESULT_HEAP_BYTES = 16L * 1024 * 1024;
+    public static final int RESULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+
+    // Query Guardrails
+    public static final long DEFAULT_QUERY_MAX_ROWS = 1_000_000L;
+    public static final long DEFAULT_QUERY_MAX_RESULT_BYTES = 256L * 1024 * 1024;
+    public static final int DEFAULT_QUERY_TIMEOUT_SECONDS = 300;
+
+    // Table Cache
+    public static final String DEFAULT_TABLE_CACHE_CONNECTION = "cache";
+    public static final String DEFAULT_TABLE_CACHE_URL = "jdbc:h2:mem:table-cache;DB_CLOSE_DELAY=-1";
+
+    // Daemon Mode
+    public static final String DEFAULT_DAEMON_SOCKET = System.getProperty("user.home") + "/.native-cli-app/daemon.sock";
+
     // Formatting
     public static final String SEPARATOR_LONG = "═".repeat(80);
     public static final String SEPARATOR_SHORT = "─".repeat(40);
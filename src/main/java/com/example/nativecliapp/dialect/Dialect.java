@@ -0,0 +1,154 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.config.Workload;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * What differs between the supported databases: the driver and the properties its pools open
+ * connections with, how a result is streamed instead of buffered, and the SQL for pagination,
+ * EXPLAIN and table sampling. Implementations are stateless and looked up through {@link Dialects}.
+ */
+public interface Dialect {
+
+    /**
+     * The database type this dialect serves, one of the DB_TYPE constants
+     */
+    String type();
+
+    String driverClassName();
+
+    /**
+     * Connection properties for the pool of the given workload
+     */
+    default Properties driverProperties(Workload workload) {
+        return new Properties();
+    }
+
+    /**
+     * Fetch size that makes the driver stream a result instead of reading it whole, given the
+     * number of rows the caller wants per round trip
+     */
+    default int streamingFetchSize(int rows) {
+        return rows;
+    }
+
+    /**
+     * True when the driver only honours the fetch size inside a transaction
+     */
+    default boolean cursorNeedsTransaction() {
+        return false;
+    }
+
+    /**
+     * Quotes an identifier so it is taken verbatim, keeping its case and any reserved word or
+     * special character
+     */
+    default String quoteIdentifier(String name) {
+        return '"' + name.replace("\"", "\"\"") + '"';
+    }
+
+    /**
+     * Limits a query to a window of its rows; the query must not limit its own rows
+     */
+    default String paginate(String sql, long offset, long limit) {
+        return stripTerminator(sql) + " LIMIT " + limit + " OFFSET " + offset;
+    }
+
+    default Explain explain(String sql) {
+        return new Explain(List.of(), "EXPLAIN " + stripTerminator(sql), List.of());
+    }
+
+    /**
+     * A FROM clause reading about percent of the table, null when the database has no sampling clause
+     */
+    default TableSample tableSample(String table, String alias, String percent) {
+        return null;
+    }
+
+    /**
+     * An integer hash of the key expression for hashed-key sampling, null when there is none
+     */
+    default String keyHash(String key) {
+        return null;
+    }
+
+    /**
+     * An expression yielding a random number in [0, 1) per row, null when there is none
+     */
+    default String randomValue() {
+        return null;
+    }
+
+    /**
+     * A query whose first row tells how far a replica is behind, null when lag cannot be measured
+     */
+    default String replicaLagQuery() {
+        return null;
+    }
+
+    /**
+     * Reads the lag in milliseconds from the current row of the {@link #replicaLagQuery()} result
+     */
+    default long replicaLagMillis(ResultSet rs) throws SQLException {
+        return rs.getLong(1);
+    }
+
+    /**
+     * Statements that produce a plan: setup runs first, the rows of every result of the query make
+     * up the plan, and cleanup runs afterwards even when the query failed
+     */
+    record Explain(List<String> setup, String query, List<String> cleanup) {
+    }
+
+    /**
+     * A sampling FROM clause and the name of the method shown to the user
+     */
+    record TableSample(String method, String fromClause) {
+
+        /**
+         * True for methods that keep or skip whole pages rather than single rows
+         */
+        public boolean pageLevel() {
+            return method.toUpperCase(Locale.ROOT).startsWith("TABLESAMPLE");
+        }
+    }
+
+    static String stripTerminator(String sql) {
+        String statement = sql.strip();
+        while (statement.endsWith(";")) {
+            statement = statement.substring(0, statement.length() - 1).stripTrailing();
+        }
+        return statement;
+    }
+
+    /**
+     * The statement with quoted text and everything inside parentheses blanked out, keeping its
+     * length, so keywords of the outer query can be found without matching subqueries or OVER (...)
+     */
+    static String topLevel(String sql) {
+        char[] masked = sql.toCharArray();
+        int depth = 0;
+        char quote = 0;
+        for (int i = 0; i < masked.length; i++) {
+            char c = masked[i];
+            if (quote != 0) {
+                quote = c == quote ? 0 : quote;
+            } else if (c == '\'' || c == '"' || c == '[') {
+                quote = c == '[' ? ']' : c;
+            } else if (c == '(') {
+                depth++;
+            } else if (c == ')') {
+                depth--;
+            } else if (depth == 0) {
+                continue;
+            }
+            masked[i] = ' ';
+        }
+        return new String(masked);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.nativecliapp.dialect;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.Set;
+
+/**
+ * The dialect of every supported database type, keyed by its type. Dialects are registered as
+ * {@link ServiceLoader} providers of {@link Dialect} in META-INF/services, so a jar on the class
+ * path can add a database type; when two providers claim one type the first found wins.
+ */
+public final class Dialects {
+
+    private static final Map<String, Dialect> BY_TYPE = new LinkedHashMap<>();
+
+    static {
+        ServiceLoader.load(Dialect.class, Dialects.class.getClassLoader())
+                .forEach(dialect -> BY_TYPE.putIfAbsent(dialect.type().toLowerCase(Locale.ROOT), dialect));
+    }
+
+    private Dialects() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * The dialect of a database type, matched case-insensitively
+     */
+    public static Dialect of(String dbType) {
+        Dialect dialect = dbType != null ? BY_TYPE.get(dbType.toLowerCase(Locale.ROOT)) : null;
+        if (dialect == null) {
+            throw new IllegalArgumentException("Unsupported database type: " + dbType
+                    + ". Supported types: " + String.join(", ", BY_TYPE.keySet()));
+        }
+        return dialect;
+    }
+
+    public static Set<String> types() {
+        return BY_TYPE.keySet();
+    }
+}
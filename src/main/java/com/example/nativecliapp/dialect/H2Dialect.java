@@ -0,0 +1,29 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+/**
+ * H2 streams with a plain fetch size and samples by hashing the key with ORA_HASH
+ */
+public class H2Dialect implements Dialect {
+
+    @Override
+    public String type() {
+        return DatabaseConstants.DB_TYPE_H2;
+    }
+
+    @Override
+    public String driverClassName() {
+        return DatabaseConstants.DRIVER_H2;
+    }
+
+    @Override
+    public String keyHash(String key) {
+        return "ORA_HASH(" + key + ")";
+    }
+
+    @Override
+    public String randomValue() {
+        return "RAND()";
+    }
+}
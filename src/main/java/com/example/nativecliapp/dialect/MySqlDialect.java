@@ -0,0 +1,70 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Connector/J reads a whole result into memory unless the fetch size is Integer.MIN_VALUE, which
+ * switches it to row-by-row streaming. Bulk pools rewrite batched inserts into multi-row ones.
+ */
+public class MySqlDialect implements Dialect {
+
+    @Override
+    public String type() {
+        return DatabaseConstants.DB_TYPE_MYSQL;
+    }
+
+    @Override
+    public String driverClassName() {
+        return DatabaseConstants.DRIVER_MYSQL;
+    }
+
+    @Override
+    public Properties driverProperties(Workload workload) {
+        Properties properties = new Properties();
+        properties.setProperty("cachePrepStmts", "true");
+        properties.setProperty("prepStmtCacheSize", "250");
+        properties.setProperty("prepStmtCacheSqlLimit", "2048");
+        if (workload == Workload.BULK) {
+            properties.setProperty("rewriteBatchedStatements", "true");
+        }
+        return properties;
+    }
+
+    @Override
+    public String quoteIdentifier(String name) {
+        return '`' + name.replace("`", "``") + '`';
+    }
+
+    @Override
+    public int streamingFetchSize(int rows) {
+        return Integer.MIN_VALUE;
+    }
+
+    @Override
+    public String keyHash(String key) {
+        return "CRC32(" + key + ")";
+    }
+
+    @Override
+    public String randomValue() {
+        return "RAND()";
+    }
+
+    @Override
+    public String replicaLagQuery() {
+        return "SHOW REPLICA STATUS";
+    }
+
+    @Override
+    public long replicaLagMillis(ResultSet rs) throws SQLException {
+        long seconds = rs.getLong("Seconds_Behind_Source");
+        // NULL means the replication threads are stopped, so the replica is arbitrarily stale
+        return rs.wasNull() ? Long.MAX_VALUE : TimeUnit.SECONDS.toMillis(seconds);
+    }
+}
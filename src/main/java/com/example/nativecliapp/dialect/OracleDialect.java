@@ -0,0 +1,51 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * The Oracle driver prefetches only 10 rows per round trip by default, so pools raise the prefetch
+ * and keep an implicit statement cache. Plans come from DBMS_XPLAN after EXPLAIN PLAN FOR.
+ */
+public class OracleDialect implements Dialect {
+
+    static final int ROW_PREFETCH = 500;
+    static final int STATEMENT_CACHE_SIZE = 50;
+
+    @Override
+    public String type() {
+        return DatabaseConstants.DB_TYPE_ORACLE;
+    }
+
+    @Override
+    public String driverClassName() {
+        return DatabaseConstants.DRIVER_ORACLE;
+    }
+
+    @Override
+    public Properties driverProperties(Workload workload) {
+        Properties properties = new Properties();
+        properties.setProperty("defaultRowPrefetch", String.valueOf(ROW_PREFETCH));
+        properties.setProperty("oracle.jdbc.implicitStatementCacheSize", String.valueOf(STATEMENT_CACHE_SIZE));
+        return properties;
+    }
+
+    @Override
+    public String paginate(String sql, long offset, long limit) {
+        return Dialect.stripTerminator(sql) + " OFFSET " + offset + " ROWS FETCH NEXT " + limit + " ROWS ONLY";
+    }
+
+    @Override
+    public Explain explain(String sql) {
+        return new Explain(List.of("EXPLAIN PLAN FOR " + Dialect.stripTerminator(sql)),
+                "SELECT PLAN_TABLE_OUTPUT FROM TABLE(DBMS_XPLAN.DISPLAY())", List.of());
+    }
+
+    @Override
+    public TableSample tableSample(String table, String alias, String percent) {
+        return new TableSample("SAMPLE", table + " SAMPLE (" + percent + ")" + (alias != null ? " " + alias : ""));
+    }
+}
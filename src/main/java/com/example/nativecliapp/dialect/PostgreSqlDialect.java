@@ -0,0 +1,52 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+import java.util.Properties;
+
+/**
+ * pgJDBC only fetches through a cursor with autocommit off, and otherwise reads the whole result.
+ * Bulk pools rewrite batched inserts into multi-row ones.
+ */
+public class PostgreSqlDialect implements Dialect {
+
+    @Override
+    public String type() {
+        return DatabaseConstants.DB_TYPE_POSTGRESQL;
+    }
+
+    @Override
+    public String driverClassName() {
+        return DatabaseConstants.DRIVER_POSTGRESQL;
+    }
+
+    @Override
+    public Properties driverProperties(Workload workload) {
+        Properties properties = new Properties();
+        if (workload == Workload.BULK) {
+            properties.setProperty("reWriteBatchedInserts", "true");
+        }
+        return properties;
+    }
+
+    @Override
+    public boolean cursorNeedsTransaction() {
+        return true;
+    }
+
+    @Override
+    public TableSample tableSample(String table, String alias, String percent) {
+        return new TableSample("TABLESAMPLE SYSTEM",
+                table + (alias != null ? " AS " + alias : "") + " TABLESAMPLE SYSTEM (" + percent + ")");
+    }
+
+    @Override
+    public String replicaLagQuery() {
+        // the replay timestamp stands still while the primary is idle, so a replica that has
+        // replayed everything it received is current rather than as old as the last commit
+        return "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+                + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+                + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000, 0) END";
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Pattern;
+
+/**
+ * Pools use adaptive response buffering so large results are not held in memory, and bulk pools
+ * send batched inserts through the bulk copy API. Plans come from SHOWPLAN_TEXT.
+ */
+public class SqlServerDialect implements Dialect {
+
+    private static final Pattern ORDER_BY = Pattern.compile("\\bORDER\\s+BY\\b", Pattern.CASE_INSENSITIVE);
+
+    @Override
+    public String type() {
+        return DatabaseConstants.DB_TYPE_SQL_SERVER;
+    }
+
+    @Override
+    public String driverClassName() {
+        return DatabaseConstants.DRIVER_SQL_SERVER;
+    }
+
+    @Override
+    public Properties driverProperties(Workload workload) {
+        Properties properties = new Properties();
+        properties.setProperty("responseBuffering", "adaptive");
+        if (workload == Workload.BULK) {
+            properties.setProperty("useBulkCopyForBatchInsert", "true");
+        }
+        return properties;
+    }
+
+    /**
+     * OFFSET ... FETCH needs an ORDER BY, so a query without one of its own gets a no-op one;
+     * ORDER BY inside a subquery or OVER (...) does not count
+     */
+    @Override
+    public String paginate(String sql, long offset, long limit) {
+        String statement = Dialect.stripTerminator(sql);
+        return statement + (ORDER_BY.matcher(Dialect.topLevel(statement)).find() ? "" : " ORDER BY (SELECT NULL)")
+                + " OFFSET " + offset + " ROWS FETCH NEXT " + limit + " ROWS ONLY";
+    }
+
+    @Override
+    public Explain explain(String sql) {
+        return new Explain(List.of("SET SHOWPLAN_TEXT ON"), Dialect.stripTerminator(sql), List.of("SET SHOWPLAN_TEXT OFF"));
+    }
+
+    @Override
+    public TableSample tableSample(String table, String alias, String percent) {
+        return new TableSample("TABLESAMPLE SYSTEM",
+                table + (alias != null ? " AS " + alias : "") + " TABLESAMPLE SYSTEM (" + percent + " PERCENT)");
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+/**
+ * SQLite explains with EXPLAIN QUERY PLAN; plain EXPLAIN lists the bytecode of the statement
+ */
+public class SqliteDialect implements Dialect {
+
+    @Override
+    public String type() {
+        return DatabaseConstants.DB_TYPE_SQLITE;
+    }
+
+    @Override
+    public String driverClassName() {
+        return DatabaseConstants.DRIVER_SQLITE;
+    }
+
+    @Override
+    public Explain explain(String sql) {
+        Explain plain = Dialect.super.explain(sql);
+        return new Explain(plain.setup(), "EXPLAIN QUERY PLAN " + Dialect.stripTerminator(sql), plain.cleanup());
+    }
+}
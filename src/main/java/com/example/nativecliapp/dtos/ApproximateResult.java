@@ -0,0 +1,25 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ApproximateResult {
+    private String connectionName;
+    private String sql;
+    private String sampledSql;
+    private double fraction;
+    private String method;
+    private long durationMillis;
+    private List<Map<String, Object>> rows;
+    private List<String> scaledColumns;
+    private List<String> warnings;
+}
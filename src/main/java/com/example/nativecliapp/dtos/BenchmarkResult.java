@@ -0,0 +1,39 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BenchmarkResult {
+    private String connectionName;
+    private String sql;
+    private boolean openLoop;
+    private int concurrency;
+    private int targetRate;
+    private long durationMillis;
+    private long requests;
+    private long errors;
+    private long dropped;
+    private int poolSize;
+    private Latency total;
+    private Latency acquire;
+    private Latency execution;
+    private Map<String, Long> errorCounts;
+
+    public double getThroughput() {
+        return durationMillis > 0 ? (requests - errors) * 1000.0 / durationMillis : 0;
+    }
+
+    /**
+     * Latency percentiles in microseconds
+     */
+    public record Latency(long count, double mean, long p50, long p95, long p99, long p999, long max) {
+    }
+}
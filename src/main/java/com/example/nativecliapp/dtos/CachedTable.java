@@ -0,0 +1,33 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CachedTable {
+    private String localTable;
+    private String sourceConnection;
+    private String sourceSchema;
+    private String sourceTable;
+    private String filter;
+    private String watermarkColumn;
+    private String watermark;
+    private boolean keyed;
+    private long rows;
+    private Instant loadedAt;
+    private Instant refreshedAt;
+
+    /**
+     * Rows copied by the load or refresh that returned this, 0 when listed
+     */
+    private long copiedRows;
+    private boolean incremental;
+    private long durationMillis;
+}
@@ -12,6 +12,7 @@ import lombok.NoArgsConstructor;
 public class ColumnInfo {
     private String name;
     private String type;
+    private int dataType;
     private int size;
     private int decimalDigits;
     private boolean nullable;
@@ -0,0 +1,42 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DataDiffResult {
+    private String sourceConnection;
+    private String targetConnection;
+    private String sourceTable;
+    private String targetTable;
+    private String keyColumn;
+    private boolean serverSideChecksums;
+    private long sourceRows;
+    private long targetRows;
+    private int chunks;
+    private int mismatchedChunks;
+    private long onlyInSource;
+    private long onlyInTarget;
+    private long changed;
+    private long durationMillis;
+    @Builder.Default
+    private List<String> skippedColumns = new ArrayList<>();
+    @Builder.Default
+    private List<RowDifference> samples = new ArrayList<>();
+
+    public boolean isIdentical() {
+        return mismatchedChunks == 0;
+    }
+
+    public long getTotalDifferences() {
+        return onlyInSource + onlyInTarget + changed;
+    }
+}
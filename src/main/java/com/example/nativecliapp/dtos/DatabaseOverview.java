@@ -0,0 +1,42 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DatabaseOverview {
+    private String connectionName;
+    private String databaseType;
+    private boolean fromCatalog;
+    private long durationMillis;
+    private List<SchemaStatistics> schemas;
+
+    public int getTotalTables() {
+        return schemas.stream().mapToInt(SchemaStatistics::getTableCount).sum();
+    }
+
+    public long getTotalRows() {
+        return sumKnown(schemas.stream().mapToLong(SchemaStatistics::getEstimatedRows).toArray());
+    }
+
+    public long getTotalBytes() {
+        return sumKnown(schemas.stream().mapToLong(SchemaStatistics::getTotalBytes).toArray());
+    }
+
+    private static long sumKnown(long[] values) {
+        long total = -1;
+        for (long value : values) {
+            if (value >= 0) {
+                total = Math.max(total, 0) + value;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FederatedResult {
+    private String leftConnection;
+    private String leftSql;
+    private long leftRows;
+    private String rightConnection;
+    private String rightSql;
+    private long rightRows;
+    private String joinType;
+    private String strategy;
+    private long spilledBytes;
+    private long rows;
+    private long durationMillis;
+}
@@ -0,0 +1,24 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ForeignKeyInfo {
+    private String name;
+    private String tableName;
+    private String referencedSchema;
+    private String referencedTable;
+    @Builder.Default
+    private List<String> columns = new ArrayList<>();
+    @Builder.Default
+    private List<String> referencedColumns = new ArrayList<>();
+}
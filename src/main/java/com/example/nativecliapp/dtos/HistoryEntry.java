@@ -0,0 +1,14 @@
+package com.example.nativecliapp.dtos;
+
+import java.time.Instant;
+
+/**
+ * One recorded statement of the query history; error is null when the statement succeeded
+ */
+public record HistoryEntry(long id, Instant executedAt, String connectionName, String sql,
+                           long durationMillis, long rows, String error) {
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+}
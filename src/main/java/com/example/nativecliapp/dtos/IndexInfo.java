@@ -0,0 +1,21 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexInfo {
+    private String name;
+    private String tableName;
+    private boolean unique;
+    @Builder.Default
+    private List<String> columns = new ArrayList<>();
+}
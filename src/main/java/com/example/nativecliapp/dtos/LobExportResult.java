@@ -0,0 +1,22 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LobExportResult {
+    private String connectionName;
+    private String column;
+    private String directory;
+    private int files;
+    private int nulls;
+    private long bytes;
+    private String largestFile;
+    private long largestBytes;
+    private long durationMillis;
+}
@@ -0,0 +1,24 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OperatorResult {
+    private List<String> connections;
+    private String sql;
+    private long inputRows;
+    private long totalRows;
+    private List<Map<String, Object>> rows;
+    private int sortRuns;
+    private int aggregateSpills;
+    private long durationMillis;
+}
@@ -0,0 +1,30 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PoolStatus {
+    private String connectionName;
+    private String circuitState;
+    private int consecutiveFailures;
+    private long circuitTrips;
+    private String lastError;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private long coldFirstQueries;
+    private double coldFirstQueryMillis;
+    private long warmQueries;
+    private double warmQueryMillis;
+    @Builder.Default
+    private List<WorkloadPoolStatus> workloads = new ArrayList<>();
+}
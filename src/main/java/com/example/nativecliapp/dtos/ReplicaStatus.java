@@ -0,0 +1,20 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplicaStatus {
+    private String name;
+    private boolean available;
+    private double latencyMillis;
+    private int inFlight;
+    private long reads;
+    private long lagMillis;
+    private String lastError;
+}
@@ -0,0 +1,13 @@
+package com.example.nativecliapp.dtos;
+
+/**
+ * One row that differs between the source and target of a data diff, identified by its key
+ */
+public record RowDifference(String key, Kind kind) {
+
+    public enum Kind {
+        ONLY_IN_SOURCE,
+        ONLY_IN_TARGET,
+        CHANGED
+    }
+}
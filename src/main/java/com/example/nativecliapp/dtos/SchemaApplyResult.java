@@ -0,0 +1,33 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaApplyResult {
+    private String connectionName;
+    private String schema;
+    private int steps;
+    private int waves;
+    private int parallelism;
+    private int statementsExecuted;
+    private int tablesLoaded;
+    private long rowsLoaded;
+    private int failed;
+    private int skipped;
+    private long durationMillis;
+    @Builder.Default
+    private List<String> errors = new ArrayList<>();
+
+    public boolean isSuccessful() {
+        return failed == 0 && skipped == 0;
+    }
+}
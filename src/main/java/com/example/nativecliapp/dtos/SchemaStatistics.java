@@ -0,0 +1,19 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SchemaStatistics {
+    private String schema;
+    private int tableCount;
+    @Builder.Default
+    private long estimatedRows = -1;
+    @Builder.Default
+    private long totalBytes = -1;
+}
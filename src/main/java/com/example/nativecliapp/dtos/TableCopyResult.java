@@ -0,0 +1,26 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableCopyResult {
+    private String sourceConnection;
+    private String targetConnection;
+    private String sourceTable;
+    private String targetTable;
+    private boolean tableCreated;
+    private long rows;
+    private int ranges;
+    private int workers;
+    private long durationMillis;
+
+    public long getRowsPerSecond() {
+        return durationMillis > 0 ? rows * 1000 / durationMillis : rows;
+    }
+}
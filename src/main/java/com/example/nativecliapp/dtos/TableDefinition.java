@@ -0,0 +1,29 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TableDefinition {
+    private TableInfo table;
+    @Builder.Default
+    private List<ColumnInfo> columns = new ArrayList<>();
+    @Builder.Default
+    private List<String> primaryKey = new ArrayList<>();
+    @Builder.Default
+    private List<IndexInfo> indexes = new ArrayList<>();
+    @Builder.Default
+    private List<ForeignKeyInfo> foreignKeys = new ArrayList<>();
+
+    public String getName() {
+        return table.getName();
+    }
+}
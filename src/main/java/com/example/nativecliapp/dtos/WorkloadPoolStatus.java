@@ -0,0 +1,19 @@
+package com.example.nativecliapp.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkloadPoolStatus {
+    private String workload;
+    private int maximumConnections;
+    private int activeConnections;
+    private int idleConnections;
+    private int totalConnections;
+    private int waitingThreads;
+}
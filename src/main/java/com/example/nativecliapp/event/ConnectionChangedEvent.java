@@ -0,0 +1,12 @@
+package com.example.nativecliapp.event;
+
+/**
+ * Published when a named connection is opened or closed so per-connection caches can follow
+ */
+public record ConnectionChangedEvent(String connectionName, Kind kind) {
+
+    public enum Kind {
+        OPENED,
+        CLOSED
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.nativecliapp.event;
+
+import java.time.Instant;
+
+/**
+ * Published after every statement run through SchemaManager, successful or not; rows is the
+ * number of rows returned or affected, and error is null on success
+ */
+public record QueryExecutedEvent(String connectionName, String sql, Instant startedAt, long durationMillis,
+                                 long rows, String error) {
+}
@@ -0,0 +1,7 @@
+package com.example.nativecliapp.event;
+
+/**
+ * Published after a DDL statement ran on a connection so metadata caches can be refreshed
+ */
+public record SchemaChangedEvent(String connectionName, String sql) {
+}
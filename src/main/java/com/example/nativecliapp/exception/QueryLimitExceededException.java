@@ -0,0 +1,40 @@
+package com.example.nativecliapp.exception;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A query was aborted by one of its guardrails; carries the rows fetched before the abort
+ */
+public class QueryLimitExceededException extends SqlExecutionException {
+
+    public enum Limit { ROWS, BYTES, TIME }
+
+    private final Limit limit;
+    private final long rowsRead;
+    private final List<Map<String, Object>> partialRows;
+
+    public QueryLimitExceededException(String sql, Limit limit, String message, long rowsRead,
+                                       List<Map<String, Object>> partialRows) {
+        super(sql, message);
+        this.limit = limit;
+        this.rowsRead = rowsRead;
+        this.partialRows = partialRows;
+    }
+
+    public Limit getLimit() {
+        return limit;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    /**
+     * Rows fetched before the abort; empty when they were streamed to a sink instead
+     */
+    public List<Map<String, Object>> getPartialRows() {
+        return partialRows;
+    }
+
+}
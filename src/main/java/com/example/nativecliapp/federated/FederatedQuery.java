@@ -0,0 +1,376 @@
+package com.example.nativecliapp.federated;
+
+import com.example.nativecliapp.result.HashJoin;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A join of two tables on different connections, written as
+ * {@code SELECT ... FROM conn.[schema.]table a [LEFT] JOIN conn.[schema.]table b ON a.x = b.y
+ * [WHERE ...] [ORDER BY ...] [LIMIT n]}. Parsing plans the pushdown: each table gets a query of
+ * its own selecting only the columns the join needs, with every condition that mentions only that
+ * table; the ON equalities become the join keys. Columns must be qualified with their table alias.
+ * ORDER BY takes alias.column or an output name, and its columns are pushed down with the rest.
+ */
+public final class FederatedQuery {
+
+    private static final String KEYWORDS = "(?:INNER|LEFT|OUTER|JOIN|ON|WHERE|ORDER|LIMIT)\\b";
+    private static final Pattern QUERY = Pattern.compile(
+            "^\\s*SELECT\\s+(?<select>.+?)\\s+FROM\\s+(?<left>[\\w.\"]+)(?:\\s+(?:AS\\s+)?(?!" + KEYWORDS + ")(?<leftAlias>\\w+))?"
+                    + "\\s+(?:(?<type>INNER|LEFT(?:\\s+OUTER)?)\\s+)?JOIN\\s+(?<right>[\\w.\"]+)(?:\\s+(?:AS\\s+)?(?!" + KEYWORDS + ")(?<rightAlias>\\w+))?"
+                    + "\\s+ON\\s+(?<on>.+?)(?:\\s+WHERE\\s+(?<where>.+?))?(?:\\s+ORDER\\s+BY\\s+(?<order>.+?))?"
+                    + "(?:\\s+LIMIT\\s+(?<limit>\\d+))?\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+    private static final Pattern EQUALITY = Pattern.compile("^\\s*(\\w+)\\.(\\w+|\"[^\"]+\")\\s*=\\s*(\\w+)\\.(\\w+|\"[^\"]+\")\\s*$");
+    private static final Pattern COLUMN_REF = Pattern.compile("(?<![\\w.\"])(\\w+)\\.(\\w+|\"[^\"]+\"|\\*)");
+    private static final Pattern SELECT_ITEM = Pattern.compile(
+            "^\\s*(?:(\\*)|(\\w+)\\.(\\*|\\w+|\"[^\"]+\")(?:\\s+(?:AS\\s+)?(\\w+|\"[^\"]+\"))?)\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ORDER_ITEM = Pattern.compile(
+            "^\\s*(?:(\\w+)\\.(\\w+|\"[^\"\\s]+\")|(\\w+|\"[^\"\\s]+\"))(?:\\s+(ASC|DESC))?\\s*$", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SPLIT_WORD = Pattern.compile("\\b(BETWEEN|AND|OR)\\b|[(),]", Pattern.CASE_INSENSITIVE);
+
+    /**
+     * A table on one connection and the statement pushed down to it
+     */
+    public record Table(String connection, String schema, String name, String alias, List<String> columns,
+                        List<String> conditions, List<String> keys) {
+
+        public String sql() {
+            String select = columns.isEmpty() ? alias + ".*"
+                    : String.join(", ", columns.stream().map(column -> alias + "." + column).toList());
+            return "SELECT " + select + " FROM " + (schema != null ? schema + "." : "") + name + " " + alias
+                    + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions));
+        }
+    }
+
+    /**
+     * An output column: the joined column alias.column under its output name
+     */
+    public record Output(String source, String name) {
+    }
+
+    private final String sql;
+    private final Table left;
+    private final Table right;
+    private final HashJoin.Type type;
+    private final List<Output> outputs;
+    private final String residualFilter;
+    private final String orderBy;
+    private final Long limit;
+
+    private FederatedQuery(String sql, Table left, Table right, HashJoin.Type type, List<Output> outputs,
+                           String residualFilter, String orderBy, Long limit) {
+        this.sql = sql;
+        this.left = left;
+        this.right = right;
+        this.type = type;
+        this.outputs = outputs;
+        this.residualFilter = residualFilter;
+        this.orderBy = orderBy;
+        this.limit = limit;
+    }
+
+    public static FederatedQuery parse(String sql) {
+        String masked = maskLiterals(sql);
+        Matcher matcher = QUERY.matcher(masked);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Expected SELECT ... FROM conn.table a [LEFT] JOIN conn.table b ON a.x = b.y "
+                    + "[WHERE ...] [ORDER BY ...] [LIMIT n]");
+        }
+        HashJoin.Type type = matcher.group("type") != null && matcher.group("type").toUpperCase(Locale.ROOT).startsWith("LEFT")
+                ? HashJoin.Type.LEFT : HashJoin.Type.INNER;
+        Builder left = new Builder(group(sql, matcher, "left"), group(sql, matcher, "leftAlias"));
+        Builder right = new Builder(group(sql, matcher, "right"), group(sql, matcher, "rightAlias"));
+        if (left.alias.equalsIgnoreCase(right.alias)) {
+            throw new IllegalArgumentException("Both tables are called '" + left.alias + "', give them different aliases");
+        }
+
+        for (String condition : conjuncts(group(sql, matcher, "on"))) {
+            Matcher equality = EQUALITY.matcher(condition);
+            if (equality.matches() && !equality.group(1).equalsIgnoreCase(equality.group(3))) {
+                Builder first = table(equality.group(1), left, right);
+                Builder second = table(equality.group(3), left, right);
+                first.key(equality.group(2));
+                second.key(equality.group(4));
+                continue;
+            }
+            Builder only = onlyTable(condition, left, right, "ON");
+            if (type == HashJoin.Type.LEFT && only == left) {
+                throw new IllegalArgumentException("A LEFT JOIN keeps every left row, so '" + condition.trim()
+                        + "' cannot filter it in ON; move it to WHERE");
+            }
+            only.conditions.add(condition.trim());
+        }
+        if (left.keys.isEmpty()) {
+            throw new IllegalArgumentException("ON needs at least one equality between the tables, e.g. "
+                    + left.alias + ".id = " + right.alias + ".id");
+        }
+
+        List<String> residual = new ArrayList<>();
+        String where = group(sql, matcher, "where");
+        if (where != null) {
+            for (String condition : conjuncts(where)) {
+                Builder only = onlyTable(condition, left, right, "WHERE");
+                if (type == HashJoin.Type.LEFT && only == right) {
+                    // filtering the right table before the join would keep left rows it should drop
+                    residual.add(condition.trim());
+                    only.columnsOf(condition);
+                } else {
+                    only.conditions.add(condition.trim());
+                }
+            }
+        }
+
+        List<Output> outputs = new ArrayList<>();
+        for (String item : split(group(sql, matcher, "select"), false)) {
+            Matcher select = SELECT_ITEM.matcher(item);
+            if (!select.matches()) {
+                throw new IllegalArgumentException("Unsupported select item '" + item.trim()
+                        + "', use *, alias.* or alias.column [AS name]");
+            }
+            if (select.group(1) != null) {
+                left.all = right.all = true;
+                outputs.add(new Output("*", null));
+                continue;
+            }
+            Builder table = table(select.group(2), left, right);
+            if (select.group(3).equals("*")) {
+                table.all = true;
+                outputs.add(new Output(table.alias + ".*", null));
+            } else {
+                table.columns.add(select.group(3));
+                outputs.add(new Output(table.alias + "." + select.group(3), select.group(4)));
+            }
+        }
+
+        String order = group(sql, matcher, "order");
+        String orderBy = order != null ? orderBy(order, outputs, left, right) : null;
+        String limit = group(sql, matcher, "limit");
+        return new FederatedQuery(sql.trim(), left.build(), right.build(), type, outputs,
+                residual.isEmpty() ? null : String.join(" AND ", residual),
+                orderBy, limit != null ? Long.parseLong(limit) : null);
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public Table getLeft() {
+        return left;
+    }
+
+    public Table getRight() {
+        return right;
+    }
+
+    public HashJoin.Type getType() {
+        return type;
+    }
+
+    public List<Output> getOutputs() {
+        return outputs;
+    }
+
+    /**
+     * Conditions on the right table of a LEFT JOIN, checked on the joined rows; null when none
+     */
+    public String getResidualFilter() {
+        return residualFilter;
+    }
+
+    /**
+     * The ORDER BY as a sort spec over the joined columns, alias.column [ASC|DESC], ...; null when none
+     */
+    public String getOrderBy() {
+        return orderBy;
+    }
+
+    public Long getLimit() {
+        return limit;
+    }
+
+    private static final class Builder {
+        private final String connection;
+        private final String schema;
+        private final String name;
+        private final String alias;
+        private final Set<String> columns = new LinkedHashSet<>();
+        private final List<String> conditions = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private boolean all;
+
+        Builder(String reference, String alias) {
+            String[] parts = reference.split("\\.");
+            if (parts.length < 2 || parts.length > 3) {
+                throw new IllegalArgumentException("Table '" + reference + "' must be written as connection.table or connection.schema.table");
+            }
+            this.connection = parts[0];
+            this.schema = parts.length == 3 ? parts[1] : null;
+            this.name = parts[parts.length - 1];
+            this.alias = alias != null ? alias : name;
+        }
+
+        void key(String column) {
+            keys.add(column);
+            columns.add(column);
+        }
+
+        void columnsOf(String condition) {
+            Matcher matcher = COLUMN_REF.matcher(maskLiterals(condition));
+            while (matcher.find()) {
+                if (matcher.group(1).equalsIgnoreCase(alias)) {
+                    columns.add(condition.substring(matcher.start(2), matcher.end(2)));
+                }
+            }
+        }
+
+        Table build() {
+            return new Table(connection, schema, name, alias, all ? List.of() : List.copyOf(columns),
+                    List.copyOf(conditions), List.copyOf(keys));
+        }
+    }
+
+    /**
+     * Rewrites each ORDER BY item to the joined alias.column it sorts on, so the rows can be sorted
+     * before the projection drops columns that were only needed for sorting
+     */
+    private static String orderBy(String order, List<Output> outputs, Builder left, Builder right) {
+        List<String> keys = new ArrayList<>();
+        for (String item : split(order, false)) {
+            Matcher matcher = ORDER_ITEM.matcher(item);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unsupported ORDER BY item '" + item.trim()
+                        + "', use alias.column or an output name, optionally followed by ASC or DESC");
+            }
+            String key = matcher.group(1) != null
+                    ? sortKey(table(matcher.group(1), left, right), matcher.group(2))
+                    : outputKey(matcher.group(3), outputs, left, right);
+            keys.add(matcher.group(4) != null ? key + " " + matcher.group(4) : key);
+        }
+        return String.join(", ", keys);
+    }
+
+    private static String outputKey(String name, List<Output> outputs, Builder left, Builder right) {
+        for (Output output : outputs) {
+            int dot = output.source().indexOf('.');
+            String column = dot < 0 ? output.source() : output.source().substring(dot + 1);
+            String outputName = output.name() != null ? output.name() : column;
+            if (!column.equals("*") && unquote(outputName).equalsIgnoreCase(unquote(name))) {
+                return sortKey(table(output.source().substring(0, dot), left, right), column);
+            }
+        }
+        throw new IllegalArgumentException("ORDER BY '" + name + "' is not a selected column, qualify it as "
+                + left.alias + ".column or " + right.alias + ".column");
+    }
+
+    private static String sortKey(Builder table, String column) {
+        table.columns.add(column);
+        return table.alias + "." + unquote(column);
+    }
+
+    private static String unquote(String name) {
+        return name.length() > 1 && name.startsWith("\"") && name.endsWith("\"") ? name.substring(1, name.length() - 1) : name;
+    }
+
+    private static Builder onlyTable(String condition, Builder left, Builder right, String clause) {
+        Set<String> aliases = new LinkedHashSet<>();
+        Matcher matcher = COLUMN_REF.matcher(maskLiterals(condition));
+        while (matcher.find()) {
+            aliases.add(matcher.group(1).toLowerCase(Locale.ROOT));
+        }
+        boolean usesLeft = aliases.contains(left.alias.toLowerCase(Locale.ROOT));
+        boolean usesRight = aliases.contains(right.alias.toLowerCase(Locale.ROOT));
+        if (usesLeft == usesRight) {
+            throw new IllegalArgumentException(usesLeft
+                    ? "'" + condition.trim() + "' in " + clause + " compares the two tables; only column equalities in ON can"
+                    : "'" + condition.trim() + "' in " + clause + " does not name a table, qualify its columns as "
+                    + left.alias + ".column or " + right.alias + ".column");
+        }
+        return usesLeft ? left : right;
+    }
+
+    private static Builder table(String alias, Builder left, Builder right) {
+        if (alias.equalsIgnoreCase(left.alias)) {
+            return left;
+        }
+        if (alias.equalsIgnoreCase(right.alias)) {
+            return right;
+        }
+        throw new IllegalArgumentException("Unknown table alias '" + alias + "', expected " + left.alias + " or " + right.alias);
+    }
+
+    /**
+     * Top-level AND terms of a condition; a condition with a top-level OR stays whole
+     */
+    static List<String> conjuncts(String condition) {
+        return split(condition, true);
+    }
+
+    /**
+     * Splits at top-level commas, or at top-level ANDs other than the one of a BETWEEN
+     */
+    private static List<String> split(String text, boolean onAnd) {
+        String masked = maskLiterals(text);
+        List<String> parts = new ArrayList<>();
+        Matcher matcher = SPLIT_WORD.matcher(masked);
+        int depth = 0;
+        int from = 0;
+        boolean between = false;
+        boolean or = false;
+        while (matcher.find()) {
+            String word = matcher.group().toUpperCase(Locale.ROOT);
+            switch (word) {
+                case "(" -> depth++;
+                case ")" -> depth--;
+                case "BETWEEN" -> between = depth == 0 || between;
+                case "OR" -> or |= depth == 0;
+                case "AND" -> {
+                    if (onAnd && depth == 0) {
+                        if (between) {
+                            between = false;
+                        } else {
+                            parts.add(text.substring(from, matcher.start()));
+                            from = matcher.end();
+                        }
+                    }
+                }
+                case "," -> {
+                    if (!onAnd && depth == 0) {
+                        parts.add(text.substring(from, matcher.start()));
+                        from = matcher.end();
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+        parts.add(text.substring(from));
+        return or && onAnd ? List.of(text) : parts;
+    }
+
+    /**
+     * The text with string literal contents blanked out, keeping every position
+     */
+    private static String maskLiterals(String text) {
+        StringBuilder masked = new StringBuilder(text);
+        boolean inLiteral = false;
+        for (int i = 0; i < masked.length(); i++) {
+            if (masked.charAt(i) == '\'') {
+                inLiteral = !inLiteral;
+            } else if (inLiteral) {
+                masked.setCharAt(i, ' ');
+            }
+        }
+        return masked.toString();
+    }
+
+    private static String group(String sql, Matcher matcher, String name) {
+        return matcher.start(name) < 0 ? null : sql.substring(matcher.start(name), matcher.end(name));
+    }
+}
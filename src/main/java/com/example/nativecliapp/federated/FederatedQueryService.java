@@ -0,0 +1,289 @@
+package com.example.nativecliapp.federated;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.dtos.FederatedResult;
+import com.example.nativecliapp.result.ExternalSortSink;
+import com.example.nativecliapp.result.FilterSink;
+import com.example.nativecliapp.result.HashJoin;
+import com.example.nativecliapp.result.RowSink;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs a {@link FederatedQuery}: the two pushed-down queries stream concurrently into a
+ * {@link HashJoin}, and the joined rows pass through the remaining WHERE conditions, ORDER BY,
+ * the projection and LIMIT on their way to the sink. Every stage keeps to the operator memory
+ * budget and spills to disk past it. When one side fails, the other side's statement is cancelled.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class FederatedQueryService {
+
+    private final SchemaManager schemaManager;
+    private final DatabaseConnectionManager connectionManager;
+    private final DatabaseConfig databaseConfig;
+    private final MeterRegistry meterRegistry;
+
+    public FederatedResult execute(FederatedQuery query, RowSink sink) {
+        FederatedQuery.Table left = query.getLeft();
+        FederatedQuery.Table right = query.getRight();
+        connectionManager.getDatabaseType(left.connection());
+        connectionManager.getDatabaseType(right.connection());
+
+        long memoryBytes = databaseConfig.getOperatorMemoryBytes();
+        Path spillDir = Path.of(databaseConfig.getSpillDir());
+        RowSink pipeline = sink;
+        if (query.getLimit() != null) {
+            pipeline = new Limit(pipeline, query.getLimit());
+        }
+        pipeline = new Projection(pipeline, query.getOutputs());
+        ExternalSortSink sort = null;
+        if (query.getOrderBy() != null) {
+            pipeline = sort = new ExternalSortSink(pipeline, query.getOrderBy(), memoryBytes, spillDir);
+        }
+        if (query.getResidualFilter() != null) {
+            pipeline = new FilterSink(pipeline, query.getResidualFilter());
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+        log.info("🔀 Federated {} join of {}.{} and {}.{} | {} | {}", query.getType(), left.connection(), left.name(),
+                right.connection(), right.name(), left.sql(), right.sql());
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (HashJoin join = new HashJoin(query.getType(), left.alias(), left.keys(), right.alias(), right.keys(),
+                memoryBytes, spillDir)) {
+            Input leftInput = new Input(join.left());
+            Input rightInput = new Input(join.right());
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+            CompletableFuture<Long> leftRead = read(left, leftInput, rightInput, join, failure, executor);
+            CompletableFuture<Long> rightRead = read(right, rightInput, leftInput, join, failure, executor);
+            join(leftRead, rightRead, failure);
+            join.run(pipeline);
+
+            meterRegistry.counter("database.federated.rows").increment(join.getLeftRows() + join.getRightRows());
+            return FederatedResult.builder()
+                    .leftConnection(left.connection())
+                    .leftSql(left.sql())
+                    .leftRows(join.getLeftRows())
+                    .rightConnection(right.connection())
+                    .rightSql(right.sql())
+                    .rightRows(join.getRightRows())
+                    .joinType(query.getType().name())
+                    .strategy(join.getStrategy())
+                    .spilledBytes(join.getSpilledBytes())
+                    .durationMillis(System.currentTimeMillis() - start)
+                    .build();
+        } catch (RuntimeException e) {
+            if (sort != null) {
+                sort.discard();
+            }
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            sample.stop(Timer.builder("database.federated.query.duration").register(meterRegistry));
+        }
+    }
+
+    private CompletableFuture<Long> read(FederatedQuery.Table table, Input side, Input other, HashJoin join,
+                                         AtomicReference<Throwable> firstFailure, ExecutorService executor) {
+        return CompletableFuture.supplyAsync(() -> schemaManager.executeStreaming(table.connection(), table.sql(), side, Workload.BULK), executor)
+                .whenComplete((rows, failure) -> {
+                    if (failure != null && firstFailure.compareAndSet(null, failure)) {
+                        join.cancel();
+                        other.cancel();
+                    }
+                });
+    }
+
+    /**
+     * Waits for both inputs and rethrows the first failure, not the one it caused by cancelling the other side
+     */
+    private static void join(CompletableFuture<Long> left, CompletableFuture<Long> right, AtomicReference<Throwable> failure) {
+        for (CompletableFuture<Long> input : List.of(left, right)) {
+            try {
+                input.join();
+            } catch (CompletionException | CancellationException e) {
+                // reported below
+            }
+        }
+        Throwable first = failure.get();
+        if (first instanceof CompletionException && first.getCause() != null) {
+            first = first.getCause();
+        }
+        if (first instanceof RuntimeException runtime) {
+            throw runtime;
+        }
+        if (first != null) {
+            throw new CompletionException(first);
+        }
+    }
+
+    /**
+     * One side of the join, remembering its running statement so a failure on the other side can cancel it
+     */
+    private static final class Input implements RowSink {
+        private final RowSink downstream;
+        private volatile Statement statement;
+        private volatile boolean cancelled;
+
+        Input(RowSink downstream) {
+            this.downstream = downstream;
+        }
+
+        @Override
+        public void executing(Statement statement) {
+            this.statement = statement;
+            if (cancelled) {
+                cancel();
+            }
+        }
+
+        @Override
+        public void start(List<String> columns) {
+            downstream.start(columns);
+        }
+
+        @Override
+        public void row(Object[] values) {
+            downstream.row(values);
+        }
+
+        @Override
+        public void end(long rows) {
+            downstream.end(rows);
+        }
+
+        @Override
+        public void updated(long count) {
+            downstream.updated(count);
+        }
+
+        @Override
+        public boolean previewsLobs() {
+            return downstream.previewsLobs();
+        }
+
+        void cancel() {
+            cancelled = true;
+            Statement running = statement;
+            if (running != null) {
+                try {
+                    running.cancel();
+                } catch (SQLException e) {
+                    log.debug("Could not cancel the other side of the join: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Picks and renames the selected columns of the joined rows
+     */
+    private static final class Projection implements RowSink {
+        private final RowSink downstream;
+        private final List<FederatedQuery.Output> outputs;
+        private int[] indexes;
+
+        Projection(RowSink downstream, List<FederatedQuery.Output> outputs) {
+            this.downstream = downstream;
+            this.outputs = outputs;
+        }
+
+        @Override
+        public void start(List<String> columns) {
+            List<Integer> picked = new ArrayList<>();
+            List<String> names = new ArrayList<>();
+            for (FederatedQuery.Output output : outputs) {
+                for (int i = 0; i < columns.size(); i++) {
+                    if (matches(output.source(), columns.get(i))) {
+                        picked.add(i);
+                        names.add(output.name() != null ? unquote(output.name()) : columns.get(i));
+                    }
+                }
+            }
+            indexes = picked.stream().mapToInt(Integer::intValue).toArray();
+            downstream.start(names);
+        }
+
+        @Override
+        public void row(Object[] values) {
+            Object[] projected = new Object[indexes.length];
+            for (int i = 0; i < indexes.length; i++) {
+                projected[i] = values[indexes[i]];
+            }
+            downstream.row(projected);
+        }
+
+        @Override
+        public void end(long rows) {
+            downstream.end(rows);
+        }
+
+        private static boolean matches(String source, String column) {
+            if (source.equals("*")) {
+                return true;
+            }
+            String lower = column.toLowerCase(Locale.ROOT);
+            String pattern = unquote(source.substring(0, source.indexOf('.'))) + "." + unquote(source.substring(source.indexOf('.') + 1));
+            return pattern.endsWith(".*")
+                    ? lower.startsWith(pattern.substring(0, pattern.length() - 1).toLowerCase(Locale.ROOT))
+                    : column.equalsIgnoreCase(pattern);
+        }
+
+        private static String unquote(String name) {
+            return name.length() > 1 && name.startsWith("\"") && name.endsWith("\"") ? name.substring(1, name.length() - 1) : name;
+        }
+    }
+
+    /**
+     * Passes the first rows on and drops the rest
+     */
+    private static final class Limit implements RowSink {
+        private final RowSink downstream;
+        private final long limit;
+        private long passed;
+
+        Limit(RowSink downstream, long limit) {
+            this.downstream = downstream;
+            this.limit = limit;
+        }
+
+        @Override
+        public void start(List<String> columns) {
+            downstream.start(columns);
+        }
+
+        @Override
+        public void row(Object[] values) {
+            if (passed < limit) {
+                passed++;
+                downstream.row(values);
+            }
+        }
+
+        @Override
+        public void end(long rows) {
+            downstream.end(passed);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.nativecliapp.federated.cli;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.dtos.FederatedResult;
+import com.example.nativecliapp.exception.ConnectionException;
+import com.example.nativecliapp.exception.SqlExecutionException;
+import com.example.nativecliapp.federated.FederatedQuery;
+import com.example.nativecliapp.federated.FederatedQueryService;
+import com.example.nativecliapp.result.ResultPager;
+import com.example.nativecliapp.result.SpillableResultStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.UncheckedIOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
+@ShellComponent
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class FederatedCli {
+
+    private final FederatedQueryService federatedQueryService;
+    private final ResultPager resultPager;
+
+    @ShellMethod(key = {"federated-sql", "fsql"}, value = "🔀 Join tables of two connections, e.g. FROM mysql.shop.orders o JOIN pg.public.customers c ON o.customer_id = c.id")
+    public String federatedSql(
+            @ShellOption(value = {"-q", "--query"}, help = "SELECT joining conn.[schema.]table references, columns qualified by alias") String sql,
+            @ShellOption(value = {"--explain"}, help = "Only show the statements pushed down to each connection", defaultValue = "false") boolean explain) {
+        try {
+            FederatedQuery query = FederatedQuery.parse(sql);
+            if (explain) {
+                return formatResponse("FEDERATED PLAN", describePlan(query));
+            }
+
+            String label = query.getLeft().connection() + " ⋈ " + query.getRight().connection();
+            AtomicReference<FederatedResult> result = new AtomicReference<>();
+            SpillableResultStore store = resultPager.capture(label, query.getSql(),
+                    target -> result.set(federatedQueryService.execute(query, target)));
+            FederatedResult stats = result.get();
+
+            StringBuilder output = new StringBuilder();
+            output.append(String.format("🔀 %s join: %s rows from %s, %s rows from %s in %d ms\n", stats.getJoinType(),
+                    formatCount(stats.getLeftRows()), stats.getLeftConnection(),
+                    formatCount(stats.getRightRows()), stats.getRightConnection(), stats.getDurationMillis()));
+            output.append(String.format("⚙️ Strategy: %s%s\n", stats.getStrategy(),
+                    stats.getSpilledBytes() > 0 ? " (" + formatBytes(stats.getSpilledBytes()) + " spilled)" : ""));
+            output.append("\n").append(formatQueryResults(label, query.getSql(), resultPager.page(0, MAX_DISPLAY_ROWS), store.size()));
+            if (store.size() > MAX_DISPLAY_ROWS) {
+                output.append("\n💡 Use 'page' to browse the remaining rows");
+            }
+            return output.toString();
+
+        } catch (SqlExecutionException e) {
+            return formatError("SQL Execution Failed", String.format("Query: %s\nError: %s", truncate(e.getSql(), 100), e.getMessage()));
+        } catch (ConnectionException e) {
+            return formatError("Connection Unavailable", e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return formatError("Invalid Query", e.getMessage());
+        } catch (UncheckedIOException e) {
+            return formatError("Spill Failed", e.getMessage());
+        }
+    }
+
+    private static String describePlan(FederatedQuery query) {
+        StringBuilder plan = new StringBuilder();
+        plan.append(String.format("🔀 %s hash join on %s = %s\n", query.getType(),
+                String.join(", ", query.getLeft().keys()), String.join(", ", query.getRight().keys())));
+        for (FederatedQuery.Table table : new FederatedQuery.Table[]{query.getLeft(), query.getRight()}) {
+            plan.append(String.format("📤 %s: %s\n", table.connection(), table.sql()));
+        }
+        if (query.getResidualFilter() != null) {
+            plan.append(String.format("🔍 After the join: %s\n", query.getResidualFilter()));
+        }
+        if (query.getOrderBy() != null) {
+            plan.append(String.format("↕️ Sort: %s\n", query.getOrderBy()));
+        }
+        if (query.getLimit() != null) {
+            plan.append(String.format("✂️ Limit: %d\n", query.getLimit()));
+        }
+        return plan.toString();
+    }
+}
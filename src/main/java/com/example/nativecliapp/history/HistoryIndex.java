@@ -0,0 +1,176 @@
+package com.example.nativecliapp.history;
+
+import com.example.nativecliapp.dtos.HistoryEntry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory search index over history entries in the order they ran. Every SQL token maps to a
+ * sorted posting list of entry positions, and the parallel id and timestamp arrays act as the id
+ * and time indexes, so a search intersects a few int arrays and walks them newest first instead
+ * of scanning the SQL text. Not thread-safe; callers guard it.
+ */
+final class HistoryIndex {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}_$]+");
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private HistoryEntry[] entries = new HistoryEntry[INITIAL_CAPACITY];
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] timestamps = new long[INITIAL_CAPACITY];
+    private int size;
+    private final Map<String, Postings> postings = new HashMap<>();
+
+    /**
+     * Appends an entry; entries must arrive in id order
+     */
+    void add(HistoryEntry entry) {
+        if (size > 0 && entry.id() <= ids[size - 1]) {
+            throw new IllegalArgumentException("History entry " + entry.id() + " is out of order");
+        }
+        if (size == entries.length) {
+            int capacity = size * 2;
+            entries = Arrays.copyOf(entries, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+        }
+        int position = size++;
+        entries[position] = entry;
+        ids[position] = entry.id();
+        timestamps[position] = entry.executedAt().toEpochMilli();
+
+        for (String token : tokenize(entry.sql())) {
+            postings.computeIfAbsent(token, key -> new Postings()).add(position);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    long lastId() {
+        return size == 0 ? 0 : ids[size - 1];
+    }
+
+    Optional<HistoryEntry> find(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        return position >= 0 ? Optional.of(entries[position]) : Optional.empty();
+    }
+
+    /**
+     * Matching entries, newest first
+     */
+    List<HistoryEntry> search(HistoryQuery query) {
+        int oldest = query.since() != null ? firstAtOrAfter(query.since().toEpochMilli()) : 0;
+        List<HistoryEntry> results = new ArrayList<>(Math.min(query.limit(), 64));
+
+        Set<String> tokens = tokenize(query.text());
+        if (tokens.isEmpty()) {
+            for (int position = size - 1; position >= oldest && results.size() < query.limit(); position--) {
+                collect(entries[position], query, results);
+            }
+            return results;
+        }
+
+        List<Postings> lists = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            Postings list = postings.get(token);
+            if (list == null) {
+                return results;
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.size));
+
+        Postings shortest = lists.get(0);
+        for (int i = shortest.size - 1; i >= 0 && results.size() < query.limit(); i--) {
+            int position = shortest.positions[i];
+            if (position < oldest) {
+                break;
+            }
+            if (inAll(lists, position)) {
+                collect(entries[position], query, results);
+            }
+        }
+        return results;
+    }
+
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            // numeric literals would give nearly every entry its own posting list, so only words are indexed
+            if (token.length() > 1 && !Character.isDigit(token.charAt(0))) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private static boolean inAll(List<Postings> lists, int position) {
+        for (int i = 1; i < lists.size(); i++) {
+            Postings list = lists.get(i);
+            if (Arrays.binarySearch(list.positions, 0, list.size, position) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collect(HistoryEntry entry, HistoryQuery query, List<HistoryEntry> results) {
+        if (query.minDurationMillis() != null && entry.durationMillis() < query.minDurationMillis()) {
+            return;
+        }
+        if (query.connectionName() != null && !query.connectionName().equals(entry.connectionName())) {
+            return;
+        }
+        if (query.failedOnly() && entry.isSuccess()) {
+            return;
+        }
+        results.add(entry);
+    }
+
+    /**
+     * Position of the first entry at or after the given time
+     */
+    private int firstAtOrAfter(long epochMillis) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (timestamps[middle] < epochMillis) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Growable sorted list of entry positions
+     */
+    private static final class Postings {
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package com.example.nativecliapp.history;
+
+import com.example.nativecliapp.dtos.HistoryEntry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Append-only history file with size-based rotation: history.log is written until it passes the
+ * size limit, then shifted to history.1.log and so on, dropping the oldest file. One entry per
+ * line, tab-separated, with tabs and line breaks in the SQL escaped. The shell, batch runs and the
+ * daemon share the files, so appends and rotation happen under a lock on history.lock and each
+ * entry is numbered after the newest one any process has written.
+ */
+@Slf4j
+final class HistoryLog {
+
+    private static final String ACTIVE_FILE = "history.log";
+    private static final String LOCK_FILE = "history.lock";
+    private static final int FIELDS = 7;
+    private static final int READ_CHUNK_BYTES = 8192;
+
+    // file locks are held per process, so threads of this one queue here first
+    private static final Object PROCESS_LOCK = new Object();
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    HistoryLog(Path directory, long maxFileBytes, int maxFiles) {
+        this.directory = directory;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = Math.max(1, maxFiles);
+    }
+
+    /**
+     * Replays all retained entries, oldest file first
+     */
+    void readAll(Consumer<HistoryEntry> consumer) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel lockChannel = openLock(); FileLock ignored = lockChannel.lock(0, Long.MAX_VALUE, true)) {
+                for (int generation = maxFiles - 1; generation >= 0; generation--) {
+                    Path file = file(generation);
+                    if (!Files.exists(file)) {
+                        continue;
+                    }
+                    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            HistoryEntry entry = parse(line);
+                            if (entry != null) {
+                                consumer.accept(entry);
+                            }
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Appends the entry built for the next free id. Entries other processes wrote after knownId
+     * are read back first and passed to the consumer, oldest first, so the caller's index stays
+     * complete and in id order.
+     */
+    HistoryEntry append(long knownId, LongFunction<HistoryEntry> entryForId,
+                        Consumer<HistoryEntry> written) throws IOException {
+        Files.createDirectories(directory);
+        synchronized (PROCESS_LOCK) {
+            try (FileChannel lockChannel = openLock(); FileLock ignored = lockChannel.lock()) {
+                List<HistoryEntry> newer = readSince(knownId);
+                newer.forEach(written);
+                HistoryEntry entry = entryForId.apply(newer.isEmpty() ? knownId + 1 : newer.get(newer.size() - 1).id() + 1);
+
+                Path active = file(0);
+                if (Files.exists(active) && Files.size(active) >= maxFileBytes) {
+                    rotate();
+                }
+                try (BufferedWriter writer = Files.newBufferedWriter(active, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                    writer.write(format(entry));
+                    writer.newLine();
+                }
+                return entry;
+            }
+        }
+    }
+
+    private FileChannel openLock() throws IOException {
+        return FileChannel.open(directory.resolve(LOCK_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Entries with ids above knownId, found by reading the files backwards from the newest line
+     */
+    private List<HistoryEntry> readSince(long knownId) throws IOException {
+        Deque<HistoryEntry> newer = new ArrayDeque<>();
+        for (int generation = 0; generation < maxFiles; generation++) {
+            Path file = file(generation);
+            if (Files.exists(file) && !collectNewer(file, knownId, newer)) {
+                break;
+            }
+        }
+        return new ArrayList<>(newer);
+    }
+
+    /**
+     * Prepends the entries of a file newer than knownId; false once an older entry is reached
+     */
+    private static boolean collectNewer(Path file, long knownId, Deque<HistoryEntry> newer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            byte[] pending = new byte[0];
+            long position = channel.size();
+            while (position > 0) {
+                int length = (int) Math.min(READ_CHUNK_BYTES, position);
+                position -= length;
+                ByteBuffer chunk = ByteBuffer.allocate(length + pending.length).limit(length);
+                while (chunk.hasRemaining()) {
+                    if (channel.read(chunk, position + chunk.position()) < 0) {
+                        throw new EOFException(file + " shrank while reading");
+                    }
+                }
+                chunk.limit(chunk.capacity()).put(pending);
+                byte[] bytes = chunk.array();
+
+                // every line after the first newline is complete; the head may continue further back
+                int lineEnd = bytes.length;
+                for (int i = bytes.length - 1; i >= 0; i--) {
+                    if (bytes[i] == '\n') {
+                        if (!collect(new String(bytes, i + 1, lineEnd - i - 1, StandardCharsets.UTF_8), knownId, newer)) {
+                            return false;
+                        }
+                        lineEnd = i;
+                    }
+                }
+                pending = Arrays.copyOf(bytes, lineEnd);
+            }
+            return collect(new String(pending, StandardCharsets.UTF_8), knownId, newer);
+        }
+    }
+
+    private static boolean collect(String line, long knownId, Deque<HistoryEntry> newer) {
+        HistoryEntry entry = parse(line);
+        if (entry == null) {
+            return true;
+        }
+        if (entry.id() <= knownId) {
+            return false;
+        }
+        newer.addFirst(entry);
+        return true;
+    }
+
+    private void rotate() throws IOException {
+        Files.deleteIfExists(file(maxFiles - 1));
+        for (int generation = maxFiles - 2; generation >= 0; generation--) {
+            Path file = file(generation);
+            if (Files.exists(file)) {
+                Files.move(file, file(generation + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        log.debug("Rotated query history in {}", directory);
+    }
+
+    private Path file(int generation) {
+        return directory.resolve(generation == 0 ? ACTIVE_FILE : "history." + generation + ".log");
+    }
+
+    static String format(HistoryEntry entry) {
+        return entry.id() + "\t" + entry.executedAt().toEpochMilli() + "\t" + escape(entry.connectionName())
+                + "\t" + entry.durationMillis() + "\t" + entry.rows() + "\t" + escape(entry.sql())
+                + "\t" + (entry.error() != null ? escape(entry.error()) : "");
+    }
+
+    /**
+     * Parses a log line, or returns null for a line that was cut off or is otherwise damaged
+     */
+    static HistoryEntry parse(String line) {
+        String[] fields = line.split("\t", -1);
+        if (fields.length != FIELDS) {
+            return null;
+        }
+        try {
+            return new HistoryEntry(Long.parseLong(fields[0]), Instant.ofEpochMilli(Long.parseLong(fields[1])),
+                    unescape(fields[2]), unescape(fields[5]), Long.parseLong(fields[3]), Long.parseLong(fields[4]),
+                    fields[6].isEmpty() ? null : unescape(fields[6]));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String escape(String value) {
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\' -> escaped.append("\\\\");
+                case '\t' -> escaped.append("\\t");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                default -> escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder unescaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char next = value.charAt(++i);
+                unescaped.append(switch (next) {
+                    case 't' -> '\t';
+                    case 'n' -> '\n';
+                    case 'r' -> '\r';
+                    default -> next;
+                });
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
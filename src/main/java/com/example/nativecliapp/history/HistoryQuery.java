@@ -0,0 +1,10 @@
+package com.example.nativecliapp.history;
+
+import java.time.Instant;
+
+/**
+ * Filters of a history search; text matches whole SQL tokens and null fields do not filter
+ */
+public record HistoryQuery(String text, Long minDurationMillis, String connectionName, boolean failedOnly,
+                           Instant since, int limit) {
+}
@@ -0,0 +1,136 @@
+package com.example.nativecliapp.history;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.dtos.HistoryEntry;
+import com.example.nativecliapp.event.QueryExecutedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Records every statement run through SchemaManager into the history log and keeps it searchable.
+ * Loading the log and appending to it happen on one background thread, so executing a statement
+ * never waits for disk; searches wait only for the initial load.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class QueryHistoryService {
+
+    private final DatabaseConfig databaseConfig;
+
+    private final HistoryIndex index = new HistoryIndex();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "query-history");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private HistoryLog historyLog;
+    private CompletableFuture<Void> loaded = CompletableFuture.completedFuture(null);
+
+    @PostConstruct
+    public void open() {
+        if (!databaseConfig.isHistoryEnabled()) {
+            return;
+        }
+        historyLog = new HistoryLog(Path.of(databaseConfig.getHistoryDir()),
+                databaseConfig.getHistoryMaxFileBytes(), databaseConfig.getHistoryMaxFiles());
+        loaded = CompletableFuture.runAsync(this::load, writer);
+    }
+
+    @EventListener
+    public void onQueryExecuted(QueryExecutedEvent event) {
+        if (historyLog != null) {
+            writer.execute(() -> record(event));
+        }
+    }
+
+    public List<HistoryEntry> search(HistoryQuery query) {
+        loaded.join();
+        lock.readLock().lock();
+        try {
+            return index.search(query);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<HistoryEntry> find(long id) {
+        loaded.join();
+        lock.readLock().lock();
+        try {
+            return index.find(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        loaded.join();
+        lock.readLock().lock();
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(2, TimeUnit.SECONDS)) {
+                log.warn("Query history writer did not finish, recent entries may be lost");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void load() {
+        long start = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            historyLog.readAll(entry -> {
+                // logs written before appends were numbered under the file lock may repeat ids
+                if (entry.id() > index.lastId()) {
+                    index.add(entry);
+                }
+            });
+        } catch (IOException e) {
+            log.warn("Failed to load query history: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Loaded {} history entries in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    private void record(QueryExecutedEvent event) {
+        lock.writeLock().lock();
+        try {
+            HistoryEntry entry = historyLog.append(index.lastId(), id -> new HistoryEntry(id, event.startedAt(),
+                    event.connectionName(), event.sql(), event.durationMillis(), event.rows(), event.error()), index::add);
+            index.add(entry);
+        } catch (IOException e) {
+            log.warn("Failed to record query history: {}", e.getMessage());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.nativecliapp.history.cli;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.HistoryEntry;
+import com.example.nativecliapp.exception.DatabaseException;
+import com.example.nativecliapp.exception.SqlExecutionException;
+import com.example.nativecliapp.history.HistoryQuery;
+import com.example.nativecliapp.history.QueryHistoryService;
+import com.example.nativecliapp.util.Durations;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
+@ShellComponent
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class HistoryCli {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final QueryHistoryService historyService;
+    private final SchemaManager schemaManager;
+    private final DatabaseConnectionManager connectionManager;
+
+    @ShellMethod(key = {"history-search", "hs"}, value = "🕘 Search the statements executed so far")
+    public String search(
+            @ShellOption(value = {"-q", "--query"}, help = "Words the SQL must contain", defaultValue = "") String text,
+            @ShellOption(value = {"--slow"}, help = "Only statements slower than --slow-ms", defaultValue = "false") boolean slow,
+            @ShellOption(value = {"--slow-ms"}, help = "Slow statement threshold in milliseconds", defaultValue = "" + DatabaseConstants.DEFAULT_SLOW_QUERY_MILLIS) long slowMillis,
+            @ShellOption(value = {"-c", "--connection"}, help = "Only statements on this connection", defaultValue = ShellOption.NULL) String connection,
+            @ShellOption(value = {"--failed"}, help = "Only failed statements", defaultValue = "false") boolean failed,
+            @ShellOption(value = {"--since"}, help = "Only the last period, e.g. 30m, 12h, 7d", defaultValue = ShellOption.NULL) String since,
+            @ShellOption(value = {"-n", "--limit"}, help = "Maximum entries shown", defaultValue = "" + DatabaseConstants.DEFAULT_HISTORY_RESULTS) int limit) {
+
+        Optional<Instant> from;
+        try {
+            from = since != null ? Optional.of(Instant.now().minus(Durations.parse(since))) : Optional.empty();
+        } catch (IllegalArgumentException e) {
+            return formatError("Invalid Parameter", e.getMessage());
+        }
+
+        long start = System.nanoTime();
+        List<HistoryEntry> entries = historyService.search(new HistoryQuery(text, slow ? slowMillis : null,
+                connection, failed, from.orElse(null), Math.max(1, limit)));
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        if (entries.isEmpty()) {
+            return formatWarning("No History", String.format("Nothing matched among %s recorded statements",
+                    formatCount(historyService.size())));
+        }
+
+        StringBuilder output = new StringBuilder();
+        output.append("🕘 QUERY HISTORY\n");
+        output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+        output.append(String.format("%-7s | %-19s | %-12s | %9s | %9s | %s\n", "ID", "EXECUTED", "CONNECTION", "MS", "ROWS", "SQL"));
+        output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+        for (HistoryEntry entry : entries) {
+            output.append(String.format("%-7d | %-19s | %-12s | %9s | %9s | %s%s\n",
+                    entry.id(),
+                    LocalDateTime.ofInstant(entry.executedAt(), ZoneId.systemDefault()).format(TIME_FORMAT),
+                    truncate(entry.connectionName(), 12),
+                    formatCount(entry.durationMillis()),
+                    entry.isSuccess() ? formatCount(entry.rows()) : "-",
+                    entry.isSuccess() ? "" : "❌ ",
+                    truncate(entry.sql().replaceAll("\\s+", " "), 80)));
+        }
+        output.append(String.format("\nShowing %d of %s recorded statements (searched in %d µs)",
+                entries.size(), formatCount(historyService.size()), micros));
+        return output.toString();
+    }
+
+    @ShellMethod(key = {"history-run", "hr"}, value = "🔁 Run a statement from the history again")
+    public String run(
+            @ShellOption(value = {"-i", "--id"}, help = "History entry id") long id,
+            @ShellOption(value = {"-c", "--connection"}, help = "Connection to run on, defaults to the one it ran on", defaultValue = ShellOption.NULL) String connection) {
+
+        Optional<HistoryEntry> found = historyService.find(id);
+        if (found.isEmpty()) {
+            return formatError("Not Found", "No history entry with id " + id);
+        }
+        HistoryEntry entry = found.get();
+        String target = connection != null ? connection : entry.connectionName();
+        if (connection == null && !connectionManager.getConnectionNames().contains(target)) {
+            return formatError("Connection Not Open", String.format(
+                    "History entry %d ran on '%s', which is not open; pass -c to choose where to run it", id, target));
+        }
+
+        try {
+            if (entry.sql().toUpperCase(Locale.ROOT).startsWith(DatabaseConstants.SQL_SELECT)) {
+                return formatQueryResults(target, entry.sql(), schemaManager.executeQuery(target, entry.sql()));
+            }
+            schemaManager.executeUpdate(target, entry.sql());
+            return formatResponse("SQL EXECUTED",
+                    String.format("✅ History entry %d executed again on '%s'\n📝 Query: %s", id, target, truncate(entry.sql(), 100)));
+
+        } catch (SqlExecutionException e) {
+            return formatError("SQL Execution Failed",
+                    String.format("Query: %s\nError: %s", truncate(e.getSql(), 100), e.getMessage()));
+        } catch (DatabaseException e) {
+            return formatError("History Run Failed", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.example.nativecliapp.result;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+
+/**
+ * Sorts rows by a spec such as "status, total desc" within a heap budget. Rows are buffered until
+ * the budget is used up, then sorted and written to a run file; at the end the runs are merged
+ * with a priority queue. Inputs that fit in the budget never touch disk. Nulls sort last.
+ */
+@Slf4j
+public final class ExternalSortSink implements RowSink {
+
+    private static final int IO_BUFFER_BYTES = 64 * 1024;
+
+    private final RowSink downstream;
+    private final String sortSpec;
+    private final long memoryBytes;
+    private final Path spillDir;
+
+    private final List<Object[]> buffer = new ArrayList<>();
+    private final List<Path> runs = new ArrayList<>();
+    private Comparator<Object[]> comparator;
+    private long bufferedBytes;
+
+    public ExternalSortSink(RowSink downstream, String sortSpec, long memoryBytes, Path spillDir) {
+        this.downstream = downstream;
+        this.sortSpec = sortSpec;
+        this.memoryBytes = memoryBytes;
+        this.spillDir = spillDir;
+    }
+
+    /**
+     * Builds a row comparator from a comma-separated list of columns, each optionally followed by
+     * ASC or DESC
+     */
+    public static Comparator<Object[]> comparator(String sortSpec, List<String> columns) {
+        Comparator<Object[]> comparator = null;
+        for (String key : sortSpec.split(",")) {
+            String[] parts = key.trim().split("\\s+");
+            if (parts[0].isEmpty() || parts.length > 2) {
+                throw new IllegalArgumentException("Invalid sort key '" + key.trim() + "', expected <column> [asc|desc]");
+            }
+            boolean descending = parts.length == 2 && parts[1].toLowerCase(Locale.ROOT).equals("desc");
+            if (parts.length == 2 && !descending && !parts[1].equalsIgnoreCase("asc")) {
+                throw new IllegalArgumentException("Invalid sort direction '" + parts[1] + "', expected asc or desc");
+            }
+            int column = Values.columnIndex(columns, Values.unquote(parts[0]));
+            Comparator<Object[]> next = (a, b) -> {
+                if (a[column] == null || b[column] == null) {
+                    return Values.compareNullsLast(a[column], b[column]);
+                }
+                return descending ? Values.compare(b[column], a[column]) : Values.compare(a[column], b[column]);
+            };
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        return comparator;
+    }
+
+    public int getSpilledRuns() {
+        return runs.size();
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        comparator = comparator(sortSpec, columns);
+        downstream.start(columns);
+    }
+
+    @Override
+    public void row(Object[] values) {
+        buffer.add(values);
+        bufferedBytes += RowCodec.estimateSize(values);
+        if (bufferedBytes > memoryBytes) {
+            spill();
+        }
+    }
+
+    @Override
+    public void end(long rows) {
+        try {
+            if (runs.isEmpty()) {
+                buffer.sort(comparator);
+                buffer.forEach(downstream::row);
+                buffer.clear();
+            } else {
+                if (!buffer.isEmpty()) {
+                    spill();
+                }
+                merge();
+            }
+            downstream.end(rows);
+        } finally {
+            deleteRuns();
+        }
+    }
+
+    /**
+     * Drops buffered rows and run files when the input fails before the end
+     */
+    public void discard() {
+        buffer.clear();
+        deleteRuns();
+    }
+
+    private void spill() {
+        buffer.sort(comparator);
+        try {
+            Path run = Files.createTempFile(Files.createDirectories(spillDir), "sort-", ".run");
+            runs.add(run);
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), IO_BUFFER_BYTES))) {
+                for (Object[] row : buffer) {
+                    RowCodec.write(out, row);
+                }
+            }
+            log.debug("Spilled sort run {} with {} rows", runs.size(), buffer.size());
+        } catch (IOException e) {
+            deleteRuns();
+            throw new UncheckedIOException("Failed to spill sort run to " + spillDir, e);
+        }
+        buffer.clear();
+        bufferedBytes = 0;
+    }
+
+    /**
+     * K-way merge of the sorted runs; ties go to the earlier run, so the sort is stable
+     */
+    private void merge() {
+        List<RunReader> readers = new ArrayList<>(runs.size());
+        PriorityQueue<RunReader> queue = new PriorityQueue<>(
+                Comparator.<RunReader, Object[]>comparing(reader -> reader.head, comparator).thenComparingInt(reader -> reader.index));
+        try {
+            for (Path run : runs) {
+                RunReader reader = new RunReader(run, readers.size());
+                readers.add(reader);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+            while (!queue.isEmpty()) {
+                RunReader reader = queue.poll();
+                downstream.row(reader.head);
+                if (reader.advance()) {
+                    queue.add(reader);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge sort runs", e);
+        } finally {
+            for (RunReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private void deleteRuns() {
+        for (Path run : runs) {
+            try {
+                Files.deleteIfExists(run);
+            } catch (IOException e) {
+                log.warn("Failed to delete sort run {}: {}", run, e.getMessage());
+            }
+        }
+    }
+
+    private static final class RunReader {
+        private final DataInputStream in;
+        private final int index;
+        private Object[] head;
+
+        RunReader(Path run, int index) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(run), IO_BUFFER_BYTES));
+            this.index = index;
+        }
+
+        boolean advance() throws IOException {
+            try {
+                head = RowCodec.read(in);
+                return true;
+            } catch (EOFException e) {
+                head = null;
+                return false;
+            }
+        }
+
+        void close() {
+            try {
+                in.close();
+            } catch (IOException e) {
+                // nothing left to read from a run being discarded
+            }
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.nativecliapp.result;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Passes on only the rows matching a {@link RowFilter} condition
+ */
+public final class FilterSink implements RowSink {
+
+    private final RowSink downstream;
+    private final String condition;
+    private Predicate<Object[]> predicate;
+    private long passed;
+
+    public FilterSink(RowSink downstream, String condition) {
+        this.downstream = downstream;
+        this.condition = condition;
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        predicate = RowFilter.compile(condition, columns);
+        downstream.start(columns);
+    }
+
+    @Override
+    public void row(Object[] values) {
+        if (predicate.test(values)) {
+            passed++;
+            downstream.row(values);
+        }
+    }
+
+    @Override
+    public void end(long rows) {
+        downstream.end(passed);
+    }
+}
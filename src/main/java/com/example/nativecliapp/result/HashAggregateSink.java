@@ -0,0 +1,392 @@
+package com.example.nativecliapp.result;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Groups rows by some columns and computes COUNT, SUM, AVG, MIN and MAX per group within a heap
+ * budget. When the groups outgrow the budget, their partial states are written to one of a fixed
+ * number of partition files by key hash and the table starts over; at the end each partition is
+ * read back and its partial states merged, so only one partition's groups are in memory at a time.
+ * Groups come out in no particular order.
+ */
+@Slf4j
+public final class HashAggregateSink implements RowSink {
+
+    private static final int PARTITIONS = 16;
+    private static final int IO_BUFFER_BYTES = 64 * 1024;
+    private static final int GROUP_OVERHEAD_BYTES = 64;
+    private static final int STATE_BYTES = 32;
+    private static final Pattern AGGREGATE = Pattern.compile(
+            "\\s*(count|sum|avg|min|max)\\s*\\(\\s*(\\*|[^()]+?)\\s*\\)\\s*", Pattern.CASE_INSENSITIVE);
+
+    private final RowSink downstream;
+    private final String groupBy;
+    private final String aggregates;
+    private final long memoryBytes;
+    private final Path spillDir;
+
+    private int[] keyColumns;
+    private List<Function> functions;
+    private Map<List<Object>, Object[]> groups = new HashMap<>();
+    private long groupBytes;
+    private Path[] partitions;
+    private DataOutputStream[] partitionOutputs;
+    private int spills;
+    private long emitted;
+
+    public HashAggregateSink(RowSink downstream, String groupBy, String aggregates, long memoryBytes, Path spillDir) {
+        this.downstream = downstream;
+        this.groupBy = groupBy;
+        this.aggregates = aggregates;
+        this.memoryBytes = memoryBytes;
+        this.spillDir = spillDir;
+    }
+
+    public int getSpills() {
+        return spills;
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        List<String> output = new ArrayList<>();
+        String[] keys = groupBy.split(",");
+        keyColumns = new int[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            keyColumns[i] = Values.columnIndex(columns, Values.unquote(keys[i]));
+            output.add(columns.get(keyColumns[i]));
+        }
+        functions = parse(aggregates, columns);
+        functions.forEach(function -> output.add(function.label()));
+        downstream.start(output);
+    }
+
+    @Override
+    public void row(Object[] values) {
+        Object[] key = new Object[keyColumns.length];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = normalizeKey(values[keyColumns[i]]);
+        }
+        List<Object> groupKey = Arrays.asList(key);
+        Object[] state = groups.get(groupKey);
+        if (state == null) {
+            state = new Object[stateWidth()];
+            groups.put(groupKey, state);
+            groupBytes += RowCodec.estimateSize(key) + GROUP_OVERHEAD_BYTES + (long) STATE_BYTES * state.length;
+        }
+        int offset = 0;
+        for (Function function : functions) {
+            function.accumulate(state, offset, function.column() < 0 ? null : values[function.column()]);
+            offset += function.kind().stateWidth;
+        }
+        if (groupBytes > memoryBytes) {
+            spill();
+        }
+    }
+
+    @Override
+    public void end(long rows) {
+        try {
+            if (partitions == null) {
+                emit(groups);
+            } else {
+                spill();
+                closePartitionOutputs();
+                for (Path partition : partitions) {
+                    emit(readPartition(partition));
+                }
+            }
+            downstream.end(emitted);
+        } finally {
+            closePartitionOutputs();
+            deletePartitions();
+        }
+    }
+
+    /**
+     * Drops the groups and partition files when the input fails before the end
+     */
+    public void discard() {
+        groups = new HashMap<>();
+        closePartitionOutputs();
+        deletePartitions();
+    }
+
+    private void emit(Map<List<Object>, Object[]> table) {
+        for (Map.Entry<List<Object>, Object[]> group : table.entrySet()) {
+            Object[] row = new Object[keyColumns.length + functions.size()];
+            int position = 0;
+            for (Object keyValue : group.getKey()) {
+                row[position++] = keyValue;
+            }
+            int offset = 0;
+            for (Function function : functions) {
+                row[position++] = function.result(group.getValue(), offset);
+                offset += function.kind().stateWidth;
+            }
+            downstream.row(row);
+            emitted++;
+        }
+    }
+
+    /**
+     * Writes every group's key and partial state to its partition and clears the table
+     */
+    private void spill() {
+        try {
+            if (partitions == null) {
+                Files.createDirectories(spillDir);
+                partitions = new Path[PARTITIONS];
+                partitionOutputs = new DataOutputStream[PARTITIONS];
+                for (int i = 0; i < PARTITIONS; i++) {
+                    partitions[i] = Files.createTempFile(spillDir, "agg-", ".part");
+                    partitionOutputs[i] = new DataOutputStream(new BufferedOutputStream(
+                            Files.newOutputStream(partitions[i]), IO_BUFFER_BYTES));
+                }
+            }
+            for (Map.Entry<List<Object>, Object[]> group : groups.entrySet()) {
+                Object[] record = new Object[keyColumns.length + group.getValue().length];
+                for (int i = 0; i < keyColumns.length; i++) {
+                    record[i] = group.getKey().get(i);
+                }
+                System.arraycopy(group.getValue(), 0, record, keyColumns.length, group.getValue().length);
+                RowCodec.write(partitionOutputs[Math.floorMod(group.getKey().hashCode(), PARTITIONS)], record);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to spill aggregate groups to " + spillDir, e);
+        }
+        spills++;
+        log.debug("Spilled {} aggregate groups ({} spills so far)", groups.size(), spills);
+        groups = new HashMap<>();
+        groupBytes = 0;
+    }
+
+    private Map<List<Object>, Object[]> readPartition(Path partition) {
+        Map<List<Object>, Object[]> merged = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(partition), IO_BUFFER_BYTES))) {
+            while (true) {
+                Object[] record;
+                try {
+                    record = RowCodec.read(in);
+                } catch (EOFException e) {
+                    break;
+                }
+                List<Object> key = Arrays.asList(Arrays.copyOf(record, keyColumns.length));
+                Object[] partial = Arrays.copyOfRange(record, keyColumns.length, record.length);
+                Object[] state = merged.putIfAbsent(key, partial);
+                if (state != null) {
+                    int offset = 0;
+                    for (Function function : functions) {
+                        function.kind().merge(state, partial, offset);
+                        offset += function.kind().stateWidth;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read aggregate partition " + partition, e);
+        }
+        return merged;
+    }
+
+    private int stateWidth() {
+        int width = 0;
+        for (Function function : functions) {
+            width += function.kind().stateWidth;
+        }
+        return width;
+    }
+
+    /**
+     * Makes equal values equal keys whatever type the driver or a spill file produced
+     */
+    private static Object normalizeKey(Object value) {
+        if (value instanceof Number number && Values.isIntegral(number) && !(number instanceof BigInteger)) {
+            return number.longValue();
+        }
+        if (value instanceof Float f) {
+            return f.doubleValue();
+        }
+        if (value instanceof BigDecimal decimal) {
+            BigDecimal stripped = decimal.stripTrailingZeros();
+            return stripped.scale() < 0 ? stripped.setScale(0) : stripped;
+        }
+        return value;
+    }
+
+    private void closePartitionOutputs() {
+        if (partitionOutputs == null) {
+            return;
+        }
+        for (DataOutputStream out : partitionOutputs) {
+            try {
+                out.close();
+            } catch (IOException e) {
+                log.warn("Failed to close aggregate partition: {}", e.getMessage());
+            }
+        }
+        partitionOutputs = null;
+    }
+
+    private void deletePartitions() {
+        if (partitions == null) {
+            return;
+        }
+        for (Path partition : partitions) {
+            try {
+                Files.deleteIfExists(partition);
+            } catch (IOException e) {
+                log.warn("Failed to delete aggregate partition {}: {}", partition, e.getMessage());
+            }
+        }
+    }
+
+    private static List<Function> parse(String aggregates, List<String> columns) {
+        List<Function> functions = new ArrayList<>();
+        for (String item : aggregates.split(",")) {
+            Matcher matcher = AGGREGATE.matcher(item);
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Invalid aggregate '" + item.trim()
+                        + "', expected count(*), count(col), sum(col), avg(col), min(col) or max(col)");
+            }
+            Kind kind = Kind.valueOf(matcher.group(1).toUpperCase(Locale.ROOT));
+            String argument = matcher.group(2);
+            if (argument.equals("*") && kind != Kind.COUNT) {
+                throw new IllegalArgumentException(kind.name().toLowerCase(Locale.ROOT) + "(*) is not supported");
+            }
+            int column = argument.equals("*") ? -1 : Values.columnIndex(columns, Values.unquote(argument));
+            String label = kind.name().toLowerCase(Locale.ROOT) + "(" + (column < 0 ? "*" : columns.get(column)) + ")";
+            functions.add(new Function(kind, column, label));
+        }
+        return functions;
+    }
+
+    private record Function(Kind kind, int column, String label) {
+
+        /**
+         * Folds one input value into the state; COUNT(*) is passed a null column value and counts it
+         */
+        void accumulate(Object[] state, int offset, Object value) {
+            if (kind == Kind.COUNT) {
+                long count = state[offset] == null ? 0L : (Long) state[offset];
+                state[offset] = column < 0 || value != null ? count + 1 : count;
+                return;
+            }
+            if (value == null) {
+                return;
+            }
+            switch (kind) {
+                case SUM -> state[offset] = add(state[offset], value);
+                case AVG -> {
+                    state[offset] = add(state[offset], value);
+                    state[offset + 1] = (state[offset + 1] == null ? 0L : (Long) state[offset + 1]) + 1;
+                }
+                case MIN -> {
+                    if (state[offset] == null || Values.compare(value, state[offset]) < 0) {
+                        state[offset] = value;
+                    }
+                }
+                case MAX -> {
+                    if (state[offset] == null || Values.compare(value, state[offset]) > 0) {
+                        state[offset] = value;
+                    }
+                }
+                default -> throw new IllegalStateException("Unexpected aggregate " + kind);
+            }
+        }
+
+        Object result(Object[] state, int offset) {
+            return switch (kind) {
+                case COUNT -> state[offset] == null ? 0L : state[offset];
+                case SUM -> compact((BigDecimal) state[offset]);
+                case AVG -> state[offset] == null ? null
+                        : ((BigDecimal) state[offset]).divide(BigDecimal.valueOf((Long) state[offset + 1]), MathContext.DECIMAL64);
+                case MIN, MAX -> state[offset];
+            };
+        }
+
+        private static BigDecimal add(Object sum, Object value) {
+            if (!(value instanceof Number number)) {
+                throw new IllegalArgumentException("Cannot sum non-numeric value '" + value + "'");
+            }
+            BigDecimal decimal = Values.decimal(number);
+            return sum == null ? decimal : ((BigDecimal) sum).add(decimal);
+        }
+
+        private static Object compact(BigDecimal sum) {
+            if (sum != null && sum.scale() <= 0) {
+                try {
+                    return sum.longValueExact();
+                } catch (ArithmeticException e) {
+                    return sum;
+                }
+            }
+            return sum;
+        }
+    }
+
+    private enum Kind {
+        COUNT(1),
+        SUM(1),
+        AVG(2),
+        MIN(1),
+        MAX(1);
+
+        private final int stateWidth;
+
+        Kind(int stateWidth) {
+            this.stateWidth = stateWidth;
+        }
+
+        /**
+         * Combines a partial state read back from a spill file into the current one
+         */
+        void merge(Object[] state, Object[] partial, int offset) {
+            switch (this) {
+                case COUNT -> state[offset] = sumLongs(state[offset], partial[offset]);
+                case SUM -> state[offset] = sumDecimals(state[offset], partial[offset]);
+                case AVG -> {
+                    state[offset] = sumDecimals(state[offset], partial[offset]);
+                    state[offset + 1] = sumLongs(state[offset + 1], partial[offset + 1]);
+                }
+                case MIN -> {
+                    if (state[offset] == null || partial[offset] != null && Values.compare(partial[offset], state[offset]) < 0) {
+                        state[offset] = partial[offset];
+                    }
+                }
+                case MAX -> {
+                    if (state[offset] == null || partial[offset] != null && Values.compare(partial[offset], state[offset]) > 0) {
+                        state[offset] = partial[offset];
+                    }
+                }
+            }
+        }
+
+        private static Object sumLongs(Object a, Object b) {
+            return a == null ? b : b == null ? a : (Long) a + (Long) b;
+        }
+
+        private static Object sumDecimals(Object a, Object b) {
+            return a == null ? b : b == null ? a : ((BigDecimal) a).add((BigDecimal) b);
+        }
+    }
+}
@@ -0,0 +1,479 @@
+package com.example.nativecliapp.result;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.stream.Collectors;
+
+/**
+ * Equi-joins two row streams within a heap budget. Each side is spooled by its own sink, so both
+ * can be fed concurrently; a side that outgrows half the budget is hash-partitioned into files,
+ * which makes {@link #run(RowSink)} a Grace hash join: the other side is partitioned the same way
+ * and matching partitions are joined one at a time. A partition whose build side still does not
+ * fit, e.g. one heavily repeated key, is joined by sorting both halves and merging them instead.
+ * Output rows are the left columns followed by the right ones, named alias.column.
+ */
+@Slf4j
+public final class HashJoin implements AutoCloseable {
+
+    public enum Type {INNER, LEFT}
+
+    static final int PARTITIONS = 32;
+    private static final int IO_BUFFER_BYTES = 16 * 1024;
+
+    private final Type type;
+    private final long memoryBytes;
+    private final Path spillDir;
+    private final Side left;
+    private final Side right;
+    private final List<Path> files = new ArrayList<>();
+
+    private volatile boolean cancelled;
+    private String strategy;
+    private int sortMergedPartitions;
+    private long rows;
+
+    public HashJoin(Type type, String leftAlias, List<String> leftKeys, String rightAlias, List<String> rightKeys,
+                    long memoryBytes, Path spillDir) {
+        if (leftKeys.isEmpty() || leftKeys.size() != rightKeys.size()) {
+            throw new IllegalArgumentException("A join needs the same number of key columns on both sides");
+        }
+        this.type = type;
+        this.memoryBytes = memoryBytes;
+        this.spillDir = spillDir;
+        this.left = new Side(leftAlias, leftKeys);
+        this.right = new Side(rightAlias, rightKeys);
+    }
+
+    public RowSink left() {
+        return left;
+    }
+
+    public RowSink right() {
+        return right;
+    }
+
+    /**
+     * Joins the spooled sides into the sink; call once both sides have ended
+     */
+    public void run(RowSink out) {
+        List<String> columns = new ArrayList<>(left.columns);
+        columns.addAll(right.columns);
+        out.start(columns);
+        try {
+            if (left.partitions == null && right.partitions == null) {
+                strategy = "in-memory hash join";
+                boolean buildRight = type == Type.LEFT || right.bytes <= left.bytes;
+                hashJoin(buildRight ? left.rows : right.rows, buildRight ? right.rows : left.rows, buildRight, out);
+            } else {
+                left.partition();
+                right.partition();
+                left.closeWriters();
+                right.closeWriters();
+                strategy = "grace hash join over " + PARTITIONS + " partitions";
+                for (int partition = 0; partition < PARTITIONS; partition++) {
+                    joinPartition(partition, out);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read join partitions from " + spillDir, e);
+        }
+        out.end(rows);
+    }
+
+    /**
+     * Makes both sides fail on their next row, to stop one input once the other has failed
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    public String getStrategy() {
+        return sortMergedPartitions > 0 ? strategy + ", " + sortMergedPartitions + " sort-merged" : strategy;
+    }
+
+    public long getLeftRows() {
+        return left.count;
+    }
+
+    public long getRightRows() {
+        return right.count;
+    }
+
+    public long getSpilledBytes() {
+        return left.spilledBytes + right.spilledBytes;
+    }
+
+    @Override
+    public void close() {
+        left.closeWriters();
+        right.closeWriters();
+        for (Path file : files) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete join spill file {}: {}", file, e.getMessage());
+            }
+        }
+        files.clear();
+    }
+
+    private void joinPartition(int partition, RowSink out) throws IOException {
+        boolean buildRight = type == Type.LEFT || right.partitionBytes[partition] <= left.partitionBytes[partition];
+        Side build = buildRight ? right : left;
+        Side probe = buildRight ? left : right;
+
+        List<Object[]> buildRows = new ArrayList<>();
+        long bytes = 0;
+        try (PartitionReader reader = new PartitionReader(build, partition)) {
+            for (Object[] row; bytes <= memoryBytes && (row = reader.next()) != null; ) {
+                buildRows.add(row);
+                bytes += RowCodec.estimateSize(row);
+            }
+        }
+        if (bytes > memoryBytes) {
+            log.debug("Join partition {} does not fit in {} bytes, falling back to sort-merge", partition, memoryBytes);
+            buildRows = null;
+            sortMergedPartitions++;
+            sortMerge(partition, out);
+            return;
+        }
+        try (PartitionReader reader = new PartitionReader(probe, partition)) {
+            hashJoin(reader, buildRows, buildRight, out);
+        }
+    }
+
+    private void hashJoin(Iterable<Object[]> probeRows, List<Object[]> buildRows, boolean buildRight, RowSink out) {
+        Side build = buildRight ? right : left;
+        Side probe = buildRight ? left : right;
+        Map<List<Object>, List<Object[]>> table = new HashMap<>();
+        for (Object[] row : buildRows) {
+            List<Object> key = build.key(row);
+            if (key != null) {
+                table.computeIfAbsent(key, k -> new ArrayList<>(1)).add(row);
+            }
+        }
+        for (Object[] row : probeRows) {
+            List<Object> key = probe.key(row);
+            List<Object[]> matches = key != null ? table.get(key) : null;
+            if (matches != null) {
+                for (Object[] match : matches) {
+                    emit(buildRight ? row : match, buildRight ? match : row, out);
+                }
+            } else if (type == Type.LEFT) {
+                emit(row, null, out);
+            }
+        }
+    }
+
+    /**
+     * Sorts both halves of a partition by key into files and merges them, holding only the right
+     * rows of one key at a time
+     */
+    private void sortMerge(int partition, RowSink out) throws IOException {
+        Path leftSorted = sortPartition(left, partition);
+        Path rightSorted = sortPartition(right, partition);
+        try (PartitionReader leftReader = new PartitionReader(leftSorted);
+             PartitionReader rightReader = new PartitionReader(rightSorted)) {
+            Object[] l = leftReader.next();
+            Object[] r = rightReader.next();
+            List<Object[]> group = List.of();
+            while (l != null) {
+                if (left.key(l) == null) {
+                    if (type == Type.LEFT) {
+                        emit(l, null, out);
+                    }
+                    l = leftReader.next();
+                    continue;
+                }
+                if (group.isEmpty() || compareKeys(l, group.get(0)) != 0) {
+                    while (r != null && compareKeys(l, r) > 0) {
+                        r = rightReader.next();
+                    }
+                    group = new ArrayList<>();
+                    while (r != null && compareKeys(l, r) == 0) {
+                        group.add(r);
+                        r = rightReader.next();
+                    }
+                }
+                if (group.isEmpty() && type == Type.LEFT) {
+                    emit(l, null, out);
+                }
+                for (Object[] match : group) {
+                    emit(l, match, out);
+                }
+                l = leftReader.next();
+            }
+        }
+    }
+
+    private Path sortPartition(Side side, int partition) throws IOException {
+        Path sorted = newFile("join-sorted-");
+        String keySpec = Arrays.stream(side.keys).mapToObj(side.columns::get).collect(Collectors.joining(", "));
+        try (DataOutputStream file = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(sorted), IO_BUFFER_BYTES));
+             PartitionReader reader = new PartitionReader(side, partition)) {
+            RowSink writer = new RowSink() {
+                @Override
+                public void start(List<String> columns) {
+                }
+
+                @Override
+                public void row(Object[] values) {
+                    try {
+                        RowCodec.write(file, values);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to write sorted join partition " + sorted, e);
+                    }
+                }
+            };
+            ExternalSortSink sort = new ExternalSortSink(writer, keySpec, memoryBytes / 2, spillDir);
+            sort.start(side.columns);
+            long count = 0;
+            for (Object[] row; (row = reader.next()) != null; count++) {
+                sort.row(row);
+            }
+            sort.end(count);
+        }
+        return sorted;
+    }
+
+    /**
+     * Orders a left row against a right row by their keys, nulls last as in the sorted files
+     */
+    private int compareKeys(Object[] leftRow, Object[] rightRow) {
+        for (int i = 0; i < left.keys.length; i++) {
+            int compared = Values.compareNullsLast(leftRow[left.keys[i]], rightRow[right.keys[i]]);
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return 0;
+    }
+
+    private void emit(Object[] leftRow, Object[] rightRow, RowSink out) {
+        Object[] joined = Arrays.copyOf(leftRow, leftRow.length + right.columns.size());
+        if (rightRow != null) {
+            System.arraycopy(rightRow, 0, joined, leftRow.length, rightRow.length);
+        }
+        out.row(joined);
+        rows++;
+    }
+
+    private Path newFile(String prefix) throws IOException {
+        Path file = Files.createTempFile(Files.createDirectories(spillDir), prefix, ".rows");
+        synchronized (files) {
+            files.add(file);
+        }
+        return file;
+    }
+
+    /**
+     * Key values normalized so that equal keys of different Java types, e.g. an Integer and a
+     * BigDecimal from two drivers, hash alike; null when any key column is NULL, which never matches
+     */
+    static List<Object> normalizeKey(Object[] row, int[] keys) {
+        Object[] key = new Object[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Object value = row[keys[i]];
+            if (value == null) {
+                return null;
+            }
+            if (value instanceof Number number) {
+                BigDecimal decimal = Values.decimal(number).stripTrailingZeros();
+                key[i] = decimal.scale() < 0 ? decimal.setScale(0) : decimal;
+            } else if (value instanceof byte[] bytes) {
+                key[i] = ByteBuffer.wrap(bytes);
+            } else {
+                key[i] = value;
+            }
+        }
+        return Arrays.asList(key);
+    }
+
+    /**
+     * One input of the join: rows stay on the heap until the side passes half the budget, then all
+     * of them go to partition files by key hash
+     */
+    private final class Side implements RowSink {
+        private final String alias;
+        private final List<String> keyNames;
+        private List<String> columns = List.of();
+        private int[] keys;
+        private List<Object[]> rows = new ArrayList<>();
+        private long bytes;
+        private long count;
+
+        private Path[] partitions;
+        private DataOutputStream[] writers;
+        private final long[] partitionBytes = new long[PARTITIONS];
+        private long spilledBytes;
+
+        Side(String alias, List<String> keyNames) {
+            this.alias = alias;
+            this.keyNames = keyNames;
+        }
+
+        @Override
+        public void start(List<String> labels) {
+            keys = new int[keyNames.size()];
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = Values.columnIndex(labels, Values.unquote(keyNames.get(i)));
+            }
+            columns = labels.stream().map(label -> alias + "." + label).toList();
+        }
+
+        @Override
+        public void row(Object[] values) {
+            if (cancelled) {
+                throw new CancellationException("Join input " + alias + " cancelled");
+            }
+            count++;
+            if (writers != null) {
+                write(values);
+                return;
+            }
+            rows.add(values);
+            bytes += RowCodec.estimateSize(values);
+            if (bytes > memoryBytes / 2) {
+                partition();
+            }
+        }
+
+        @Override
+        public void updated(long count) {
+            throw new IllegalArgumentException("Join inputs must be queries that return rows");
+        }
+
+        @Override
+        public boolean previewsLobs() {
+            return true;
+        }
+
+        List<Object> key(Object[] row) {
+            return normalizeKey(row, keys);
+        }
+
+        /**
+         * Moves the rows held so far into partition files; later rows are written there directly
+         */
+        void partition() {
+            if (partitions != null) {
+                return;
+            }
+            try {
+                partitions = new Path[PARTITIONS];
+                writers = new DataOutputStream[PARTITIONS];
+                for (int i = 0; i < PARTITIONS; i++) {
+                    partitions[i] = newFile("join-" + alias + "-");
+                    writers[i] = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partitions[i]), IO_BUFFER_BYTES));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to create join partitions in " + spillDir, e);
+            }
+            log.debug("Join side {} passed {} bytes after {} rows, partitioning to disk", alias, bytes, rows.size());
+            rows.forEach(this::write);
+            rows = new ArrayList<>();
+            bytes = 0;
+        }
+
+        private void write(Object[] values) {
+            List<Object> key = key(values);
+            int partition = key == null ? 0 : Math.floorMod(key.hashCode(), PARTITIONS);
+            DataOutputStream writer = writers[partition];
+            try {
+                int before = writer.size();
+                RowCodec.write(writer, values);
+                partitionBytes[partition] += writer.size() - before;
+                spilledBytes += writer.size() - before;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write join partition " + partitions[partition], e);
+            }
+        }
+
+        void closeWriters() {
+            if (writers == null) {
+                return;
+            }
+            for (DataOutputStream writer : writers) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close join partition of {}: {}", alias, e.getMessage());
+                }
+            }
+            writers = null;
+        }
+    }
+
+    /**
+     * Reads the rows of a spill file back in order; also iterable once, for the probe loop
+     */
+    private static final class PartitionReader implements Iterable<Object[]>, AutoCloseable {
+        private final DataInputStream in;
+
+        PartitionReader(Side side, int partition) throws IOException {
+            this(side.partitions[partition]);
+        }
+
+        PartitionReader(Path file) throws IOException {
+            this.in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), IO_BUFFER_BYTES));
+        }
+
+        Object[] next() throws IOException {
+            try {
+                return RowCodec.read(in);
+            } catch (EOFException e) {
+                return null;
+            }
+        }
+
+        @Override
+        public Iterator<Object[]> iterator() {
+            return new Iterator<>() {
+                private Object[] next = advance();
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public Object[] next() {
+                    Object[] current = next;
+                    next = advance();
+                    return current;
+                }
+
+                private Object[] advance() {
+                    try {
+                        return PartitionReader.this.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException("Failed to read join partition", e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.example.nativecliapp.result;
+
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dtos.LobExportResult;
+import com.example.nativecliapp.exception.SqlExecutionException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Writes one large object column of a query to files, one file per row, copying each value from
+ * the driver's binary or character stream so no value is ever held in memory as a whole
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class LobExportService {
+
+    private static final int FETCH_SIZE = 16;
+    private static final Pattern UNSAFE_FILE_CHARS = Pattern.compile("[^A-Za-z0-9._-]+");
+
+    private final DatabaseConnectionManager connectionManager;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Saves the column of every row to the directory; files are named after the name column when
+     * given, else after the row number, with .bin for binary and .txt (UTF-8) for character data
+     */
+    public LobExportResult save(String connectionName, String sql, String column, String nameColumn, Path directory) {
+        String trimmedSql = sql.trim();
+        Dialect dialect = connectionManager.getDialect(connectionName);
+        int fetchSize = dialect.streamingFetchSize(FETCH_SIZE);
+        LobExportResult result = LobExportResult.builder()
+                .connectionName(connectionName)
+                .directory(directory.toAbsolutePath().toString())
+                .build();
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+        try {
+            Files.createDirectories(directory);
+            try (Connection conn = connectionManager.getDataSource(connectionName, Workload.BULK).getConnection()) {
+                boolean transaction = dialect.cursorNeedsTransaction();
+                if (transaction) {
+                    conn.setAutoCommit(false);
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.setFetchSize(fetchSize);
+                    try (ResultSet rs = stmt.executeQuery(trimmedSql)) {
+                        export(rs, column, nameColumn, directory, result);
+                    }
+                } finally {
+                    if (transaction) {
+                        conn.rollback();
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new SqlExecutionException(trimmedSql, "LOB export failed: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write LOB files to " + directory + ": " + e.getMessage(), e);
+        } finally {
+            sample.stop(Timer.builder("database.lob.save.duration").register(meterRegistry));
+        }
+        result.setDurationMillis(System.currentTimeMillis() - start);
+        log.info("💾 Saved {} values of {} ({} bytes) to {}", result.getFiles(), result.getColumn(), result.getBytes(), directory);
+        return result;
+    }
+
+    private static void export(ResultSet rs, String column, String nameColumn, Path directory, LobExportResult result)
+            throws SQLException, IOException {
+        ResultSetMetaData metaData = rs.getMetaData();
+        List<String> columns = new ArrayList<>();
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            columns.add(metaData.getColumnLabel(i));
+        }
+        int lobColumn = Values.columnIndex(columns, Values.unquote(column)) + 1;
+        int nameIndex = nameColumn != null ? Values.columnIndex(columns, Values.unquote(nameColumn)) + 1 : 0;
+        boolean binary = LobHandle.isBinary(metaData.getColumnType(lobColumn));
+        result.setColumn(columns.get(lobColumn - 1));
+
+        Set<String> usedNames = new HashSet<>();
+        long row = 0;
+        while (rs.next()) {
+            row++;
+            String base = nameIndex > 0 ? fileName(rs.getString(nameIndex)) : null;
+            Path file = directory.resolve(unique(base != null ? base : String.valueOf(row), usedNames)
+                    + (binary ? ".bin" : ".txt"));
+            long bytes = binary ? copyBinary(rs, lobColumn, file) : copyCharacters(rs, lobColumn, file);
+            if (bytes < 0) {
+                result.setNulls(result.getNulls() + 1);
+                continue;
+            }
+            result.setFiles(result.getFiles() + 1);
+            result.setBytes(result.getBytes() + bytes);
+            if (bytes >= result.getLargestBytes()) {
+                result.setLargestBytes(bytes);
+                result.setLargestFile(file.getFileName().toString());
+            }
+        }
+    }
+
+    /**
+     * Bytes written, -1 for NULL
+     */
+    private static long copyBinary(ResultSet rs, int column, Path file) throws SQLException, IOException {
+        try (InputStream in = rs.getBinaryStream(column)) {
+            return in == null ? -1 : Files.copy(in, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static long copyCharacters(ResultSet rs, int column, Path file) throws SQLException, IOException {
+        try (Reader in = rs.getCharacterStream(column)) {
+            if (in == null) {
+                return -1;
+            }
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                in.transferTo(out);
+            }
+            return Files.size(file);
+        }
+    }
+
+    /**
+     * A name value made safe to use as a file name inside the target directory, null if nothing
+     * usable is left
+     */
+    private static String fileName(String value) {
+        if (value == null) {
+            return null;
+        }
+        String name = UNSAFE_FILE_CHARS.matcher(value.strip()).replaceAll("_").replaceAll("^[._]+", "");
+        return name.isEmpty() ? null : name.substring(0, Math.min(name.length(), 120));
+    }
+
+    private static String unique(String name, Set<String> usedNames) {
+        String candidate = name;
+        for (int n = 2; !usedNames.add(candidate); n++) {
+            candidate = name + "-" + n;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,185 @@
+package com.example.nativecliapp.result;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.SQLXML;
+import java.sql.Types;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Stands in for a large object column value in a displayed result: its length and the first
+ * characters (or bytes, in hex) only. The rest of the value is skipped on the driver's stream and
+ * never reaches the heap; use {@code lob-save} to get the whole value.
+ */
+public record LobHandle(Kind kind, long length, String preview) {
+
+    public enum Kind {BINARY, CHARACTER}
+
+    /**
+     * Values up to this many characters or bytes are returned as they are instead of as a handle
+     */
+    public static final int PREVIEW_LENGTH = 256;
+
+    /**
+     * Declared precision above which a variable length column is read like a large object, e.g.
+     * PostgreSQL text, bytea and json report an unbounded precision
+     */
+    private static final int UNBOUNDED_PRECISION = 1 << 20;
+    private static final int HEX_PREVIEW_BYTES = 32;
+
+    private static final Set<Integer> LOB_TYPES = Set.of(Types.BLOB, Types.CLOB, Types.NCLOB, Types.SQLXML,
+            Types.LONGVARBINARY, Types.LONGVARCHAR, Types.LONGNVARCHAR);
+    private static final Set<Integer> VARIABLE_TYPES = Set.of(Types.VARCHAR, Types.NVARCHAR, Types.VARBINARY,
+            Types.BINARY, Types.OTHER);
+    private static final Set<String> DOCUMENT_TYPE_NAMES = Set.of("json", "jsonb", "xml");
+
+    /**
+     * Whether a column holds large objects that should be read as handles
+     */
+    public static boolean isLob(ResultSetMetaData metaData, int column) throws SQLException {
+        int type = metaData.getColumnType(column);
+        if (LOB_TYPES.contains(type)) {
+            return true;
+        }
+        if (type == Types.OTHER) {
+            String typeName = metaData.getColumnTypeName(column);
+            return typeName != null && DOCUMENT_TYPE_NAMES.contains(typeName.toLowerCase(Locale.ROOT));
+        }
+        return VARIABLE_TYPES.contains(type) && metaData.getPrecision(column) > UNBOUNDED_PRECISION;
+    }
+
+    public static boolean isBinary(int sqlType) {
+        return sqlType == Types.BLOB || sqlType == Types.BINARY || sqlType == Types.VARBINARY
+                || sqlType == Types.LONGVARBINARY;
+    }
+
+    /**
+     * Reads a large object column of the current row: small values come back whole as a String or
+     * byte[], larger ones as a handle; null for SQL NULL
+     */
+    public static Object read(ResultSet rs, int column, int sqlType) throws SQLException {
+        try {
+            return switch (sqlType) {
+                case Types.BLOB -> readBlob(rs.getBlob(column));
+                case Types.CLOB, Types.NCLOB -> readClob(rs.getClob(column));
+                case Types.SQLXML -> readXml(rs.getSQLXML(column));
+                default -> isBinary(sqlType)
+                        ? readBinary(rs.getBinaryStream(column))
+                        : readCharacters(rs.getCharacterStream(column));
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read large object in column " + column, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        String size = kind == Kind.BINARY ? formatSize(length) : String.format("%,d chars", length);
+        return "[" + size + "] " + preview.replaceAll("\\s+", " ") + "…";
+    }
+
+    private static Object readBlob(Blob blob) throws SQLException {
+        if (blob == null) {
+            return null;
+        }
+        try {
+            long length = blob.length();
+            byte[] head = blob.getBytes(1, (int) Math.min(length, PREVIEW_LENGTH));
+            return length <= PREVIEW_LENGTH ? head : binary(head, length);
+        } finally {
+            free(blob);
+        }
+    }
+
+    private static Object readClob(Clob clob) throws SQLException {
+        if (clob == null) {
+            return null;
+        }
+        try {
+            long length = clob.length();
+            String head = clob.getSubString(1, (int) Math.min(length, PREVIEW_LENGTH));
+            return length <= PREVIEW_LENGTH ? head : new LobHandle(Kind.CHARACTER, length, head);
+        } finally {
+            free(clob);
+        }
+    }
+
+    private static Object readXml(SQLXML xml) throws SQLException, IOException {
+        if (xml == null) {
+            return null;
+        }
+        try {
+            return readCharacters(xml.getCharacterStream());
+        } finally {
+            xml.free();
+        }
+    }
+
+    private static Object readBinary(InputStream in) throws IOException {
+        if (in == null) {
+            return null;
+        }
+        try (in) {
+            byte[] head = in.readNBytes(PREVIEW_LENGTH + 1);
+            if (head.length <= PREVIEW_LENGTH) {
+                return head;
+            }
+            long length = head.length + in.transferTo(OutputStream.nullOutputStream());
+            return binary(head, length);
+        }
+    }
+
+    private static Object readCharacters(Reader in) throws IOException {
+        if (in == null) {
+            return null;
+        }
+        try (in) {
+            char[] head = new char[PREVIEW_LENGTH + 1];
+            int read = 0;
+            for (int n; read < head.length && (n = in.read(head, read, head.length - read)) != -1; ) {
+                read += n;
+            }
+            if (read <= PREVIEW_LENGTH) {
+                return new String(head, 0, read);
+            }
+            long length = read + in.transferTo(Writer.nullWriter());
+            return new LobHandle(Kind.CHARACTER, length, new String(head, 0, PREVIEW_LENGTH));
+        }
+    }
+
+    private static LobHandle binary(byte[] head, long length) {
+        return new LobHandle(Kind.BINARY, length, HexFormat.of().formatHex(head, 0, Math.min(head.length, HEX_PREVIEW_BYTES)));
+    }
+
+    private static void free(Object lob) throws SQLException {
+        try {
+            if (lob instanceof Blob blob) {
+                blob.free();
+            } else if (lob instanceof Clob clob) {
+                clob.free();
+            }
+        } catch (SQLFeatureNotSupportedException e) {
+            // the driver releases it with the result set
+        }
+    }
+
+    private static String formatSize(long bytes) {
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        int unit = (int) (Math.log(bytes) / Math.log(1024));
+        return String.format("%.1f %sB", bytes / Math.pow(1024, unit), "KMGTPE".charAt(unit - 1));
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.nativecliapp.result;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.OperatorResult;
+import com.example.nativecliapp.util.SqlStatements;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs a query on one or more connections and post-processes the combined row stream on the
+ * client: filter, then group and aggregate, then sort. Each stage streams, and the sort and
+ * aggregate stages spill to disk past the configured heap budget, so results of any size pass
+ * through while only the rows to display are kept.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ResultOperatorService {
+
+    private final SchemaManager schemaManager;
+    private final DatabaseConfig databaseConfig;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Client-side operators; null fields are skipped. Aggregates default to count(*) when grouping.
+     */
+    public record Operators(String where, String groupBy, String aggregates, String sort) {
+
+        public boolean isEmpty() {
+            return where == null && groupBy == null && aggregates == null && sort == null;
+        }
+    }
+
+    public OperatorResult execute(List<String> connections, String sql, Operators operators, int displayRows) {
+        if (operators.aggregates() != null && operators.groupBy() == null) {
+            throw new IllegalArgumentException("--agg needs --group-by");
+        }
+        // checked up front: by the time a statement reports an update count it has already run and committed
+        if (!SqlStatements.isReadOnly(sql)) {
+            throw new IllegalArgumentException("Client-side operators only apply to read-only queries that return rows");
+        }
+        long memoryBytes = databaseConfig.getOperatorMemoryBytes();
+        Path spillDir = Path.of(databaseConfig.getSpillDir());
+
+        Collector collector = new Collector(displayRows);
+        RowSink pipeline = collector;
+        ExternalSortSink sort = null;
+        HashAggregateSink aggregate = null;
+        if (operators.sort() != null) {
+            pipeline = sort = new ExternalSortSink(pipeline, operators.sort(), memoryBytes, spillDir);
+        }
+        if (operators.groupBy() != null) {
+            String aggregates = operators.aggregates() != null ? operators.aggregates() : "count(*)";
+            pipeline = aggregate = new HashAggregateSink(pipeline, operators.groupBy(), aggregates, memoryBytes, spillDir);
+        }
+        if (operators.where() != null) {
+            pipeline = new FilterSink(pipeline, operators.where());
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+        FanIn fanIn = new FanIn(pipeline, connections.size() > 1);
+        try {
+            for (String connection : connections) {
+                fanIn.connection = connection;
+                schemaManager.executeStreaming(connection, sql, fanIn);
+            }
+            pipeline.end(fanIn.rows);
+        } catch (RuntimeException e) {
+            if (sort != null) {
+                sort.discard();
+            }
+            if (aggregate != null) {
+                aggregate.discard();
+            }
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("database.sql.operators.duration")
+                    .tag("spilled", String.valueOf(sort != null && sort.getSpilledRuns() > 0
+                            || aggregate != null && aggregate.getSpills() > 0))
+                    .register(meterRegistry));
+        }
+
+        return OperatorResult.builder()
+                .connections(connections)
+                .sql(sql)
+                .inputRows(fanIn.rows)
+                .totalRows(collector.total)
+                .rows(collector.rows)
+                .sortRuns(sort != null ? sort.getSpilledRuns() : 0)
+                .aggregateSpills(aggregate != null ? aggregate.getSpills() : 0)
+                .durationMillis(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    /**
+     * Concatenates the results of several connections into one stream, adding a connection column
+     * when there is more than one; each result must have the same columns as the first
+     */
+    private static final class FanIn implements RowSink {
+        private final RowSink downstream;
+        private final boolean tagConnection;
+        private List<String> columns;
+        private String connection;
+        private long rows;
+
+        FanIn(RowSink downstream, boolean tagConnection) {
+            this.downstream = downstream;
+            this.tagConnection = tagConnection;
+        }
+
+        @Override
+        public void start(List<String> columns) {
+            if (this.columns == null) {
+                this.columns = columns;
+                List<String> output = new ArrayList<>();
+                if (tagConnection) {
+                    output.add(DatabaseConstants.FAN_IN_CONNECTION_COLUMN);
+                }
+                output.addAll(columns);
+                downstream.start(output);
+            } else if (columns.size() != this.columns.size()) {
+                throw new IllegalArgumentException("Connection '" + connection + "' returned " + columns.size()
+                        + " columns, expected " + this.columns.size() + " like the first connection");
+            }
+        }
+
+        @Override
+        public void row(Object[] values) {
+            rows++;
+            if (!tagConnection) {
+                downstream.row(values);
+                return;
+            }
+            Object[] tagged = new Object[values.length + 1];
+            tagged[0] = connection;
+            System.arraycopy(values, 0, tagged, 1, values.length);
+            downstream.row(tagged);
+        }
+
+        @Override
+        public void updated(long count) {
+            throw new IllegalArgumentException("Client-side operators only apply to queries that return rows");
+        }
+    }
+
+    /**
+     * Keeps the leading rows for display and counts the rest
+     */
+    private static final class Collector implements RowSink {
+        private final int limit;
+        private final List<Map<String, Object>> rows = new ArrayList<>();
+        private List<String> columns;
+        private long total;
+
+        Collector(int limit) {
+            this.limit = limit;
+        }
+
+        @Override
+        public void start(List<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            if (total++ < limit) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                for (int i = 0; i < values.length; i++) {
+                    row.put(columns.get(i), values[i]);
+                }
+                rows.add(row);
+            }
+        }
+    }
+}
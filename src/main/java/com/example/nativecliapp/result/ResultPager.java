@@ -0,0 +1,135 @@
+package com.example.nativecliapp.result;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.QueryLimits;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.exception.QueryLimitExceededException;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Keeps the most recent query result of the shell for paging. Each new query releases the
+ * previous result before running, so at most one result is held at a time.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ResultPager {
+
+    private final SchemaManager schemaManager;
+    private final DatabaseConfig databaseConfig;
+
+    private SpillableResultStore current;
+    private String connectionName;
+    private String sql;
+    private long firstRow;
+    private int pageSize;
+
+    /**
+     * Releases the previous result and captures the rows of this query. A query aborted by its
+     * guardrails still leaves the rows fetched before the abort to page through.
+     */
+    public synchronized SpillableResultStore run(String connectionName, String sql) {
+        return capture(connectionName, sql,
+                store -> schemaManager.executeStreaming(connectionName, sql, store, QueryLimits.from(databaseConfig)));
+    }
+
+    /**
+     * Like {@link #run}, for results that do not come from one statement: the producer writes the
+     * rows into the new store, e.g. from a client-side join
+     */
+    public synchronized SpillableResultStore capture(String connectionName, String sql, Consumer<SpillableResultStore> producer) {
+        release();
+        SpillableResultStore store = new SpillableResultStore(databaseConfig.getResultHeapBytes(),
+                DatabaseConstants.RESULT_SEGMENT_BYTES, Path.of(databaseConfig.getSpillDir()));
+        try {
+            producer.accept(store);
+        } catch (QueryLimitExceededException e) {
+            keep(store, connectionName, sql);
+            throw e;
+        } catch (RuntimeException e) {
+            store.close();
+            throw e;
+        }
+        keep(store, connectionName, sql);
+        return store;
+    }
+
+    /**
+     * Rows of the page starting at a row index, as column maps; also makes it the current page
+     */
+    public synchronized List<Map<String, Object>> page(long firstRow, int pageSize) {
+        SpillableResultStore store = requireResult();
+        this.firstRow = firstRow;
+        this.pageSize = pageSize;
+        List<String> columns = store.getColumns();
+        List<Map<String, Object>> rows = new ArrayList<>(pageSize);
+        for (Object[] values : store.range(firstRow, pageSize)) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                row.put(columns.get(i), values[i]);
+            }
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * First row of the page shown last
+     */
+    public synchronized long getFirstRow() {
+        return firstRow;
+    }
+
+    /**
+     * Size of the page shown last, 0 before any page was shown
+     */
+    public synchronized int getPageSize() {
+        return pageSize;
+    }
+
+    public synchronized SpillableResultStore getCurrent() {
+        return requireResult();
+    }
+
+    public synchronized String getConnectionName() {
+        return connectionName;
+    }
+
+    public synchronized String getSql() {
+        return sql;
+    }
+
+    @PreDestroy
+    public synchronized void release() {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private void keep(SpillableResultStore store, String connectionName, String sql) {
+        this.current = store;
+        this.connectionName = connectionName;
+        this.sql = sql;
+        this.firstRow = 0;
+        this.pageSize = 0;
+    }
+
+    private SpillableResultStore requireResult() {
+        if (current == null) {
+            throw new IllegalStateException("No query result to page through, run a SELECT with 'sql' first");
+        }
+        return current;
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.nativecliapp.result;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.Timestamp;
+
+/**
+ * Compact binary encoding of result rows for spill files: a column count, then one tag byte and
+ * the value per column. Integral numbers come back as Long and floating point as Double; types
+ * without a tag are written as their string form.
+ */
+public final class RowCodec {
+
+    private static final byte NULL = 0;
+    private static final byte LONG = 1;
+    private static final byte DOUBLE = 2;
+    private static final byte DECIMAL = 3;
+    private static final byte STRING = 4;
+    private static final byte BOOLEAN = 5;
+    private static final byte TIMESTAMP = 6;
+    private static final byte DATE = 7;
+    private static final byte BYTES = 8;
+    private static final byte LOB = 9;
+
+    private static final int ROW_OVERHEAD_BYTES = 32;
+    private static final int VALUE_OVERHEAD_BYTES = 24;
+
+    private RowCodec() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static void write(DataOutput out, Object[] row) throws IOException {
+        out.writeShort(row.length);
+        for (Object value : row) {
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+                out.writeByte(LONG);
+                out.writeLong(((Number) value).longValue());
+            } else if (value instanceof Double || value instanceof Float) {
+                out.writeByte(DOUBLE);
+                out.writeDouble(((Number) value).doubleValue());
+            } else if (value instanceof BigDecimal || value instanceof BigInteger) {
+                writeString(out, DECIMAL, value.toString());
+            } else if (value instanceof Boolean b) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean(b);
+            } else if (value instanceof Timestamp timestamp) {
+                out.writeByte(TIMESTAMP);
+                out.writeLong(timestamp.getTime());
+                out.writeInt(timestamp.getNanos());
+            } else if (value instanceof Date date) {
+                out.writeByte(DATE);
+                out.writeLong(date.getTime());
+            } else if (value instanceof byte[] bytes) {
+                out.writeByte(BYTES);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            } else if (value instanceof LobHandle lob) {
+                out.writeByte(LOB);
+                out.writeByte(lob.kind().ordinal());
+                out.writeLong(lob.length());
+                out.writeUTF(lob.preview());
+            } else {
+                writeString(out, STRING, value.toString());
+            }
+        }
+    }
+
+    public static Object[] read(DataInput in) throws IOException {
+        Object[] row = new Object[in.readUnsignedShort()];
+        for (int i = 0; i < row.length; i++) {
+            byte tag = in.readByte();
+            row[i] = switch (tag) {
+                case NULL -> null;
+                case LONG -> in.readLong();
+                case DOUBLE -> in.readDouble();
+                case DECIMAL -> new BigDecimal(readString(in));
+                case STRING -> readString(in);
+                case BOOLEAN -> in.readBoolean();
+                case TIMESTAMP -> {
+                    Timestamp timestamp = new Timestamp(in.readLong());
+                    timestamp.setNanos(in.readInt());
+                    yield timestamp;
+                }
+                case DATE -> new Date(in.readLong());
+                case BYTES -> {
+                    byte[] bytes = new byte[in.readInt()];
+                    in.readFully(bytes);
+                    yield bytes;
+                }
+                case LOB -> new LobHandle(LobHandle.Kind.values()[in.readByte()], in.readLong(), in.readUTF());
+                default -> throw new IOException("Corrupt spill file: unknown value tag " + tag);
+            };
+        }
+        return row;
+    }
+
+    /**
+     * Rough heap footprint of a row, used to decide when an operator must spill
+     */
+    public static long estimateSize(Object[] row) {
+        long size = ROW_OVERHEAD_BYTES + 8L * row.length;
+        for (Object value : row) {
+            if (value instanceof String text) {
+                size += VALUE_OVERHEAD_BYTES + text.length();
+            } else if (value instanceof byte[] bytes) {
+                size += VALUE_OVERHEAD_BYTES + bytes.length;
+            } else if (value instanceof BigDecimal decimal) {
+                size += VALUE_OVERHEAD_BYTES + 2L * decimal.precision();
+            } else if (value instanceof LobHandle lob) {
+                size += 2 * VALUE_OVERHEAD_BYTES + lob.preview().length();
+            } else if (value != null) {
+                size += VALUE_OVERHEAD_BYTES;
+            }
+        }
+        return size;
+    }
+
+    private static void writeString(DataOutput out, byte tag, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeByte(tag);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
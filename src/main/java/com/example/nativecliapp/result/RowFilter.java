@@ -0,0 +1,161 @@
+package com.example.nativecliapp.result;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A row condition in a small SQL-like syntax: comparisons (=, !=, <>, <, <=, >, >=, LIKE) between
+ * a column and a literal, IS [NOT] NULL, AND, OR and parentheses. As in SQL, a comparison with a
+ * NULL column value is false.
+ */
+public final class RowFilter {
+
+    private static final Pattern TOKEN = Pattern.compile(
+            "\\s*('(?:[^']|'')*'|\"[^\"]*\"|<>|!=|<=|>=|[=<>()]|[^\\s=<>!()']+)");
+
+    private final String expression;
+    private final List<String> tokens;
+    private int position;
+
+    private RowFilter(String expression) {
+        this.expression = expression;
+        this.tokens = tokenize(expression);
+    }
+
+    /**
+     * Compiles the condition against a result's columns
+     */
+    public static Predicate<Object[]> compile(String expression, List<String> columns) {
+        RowFilter parser = new RowFilter(expression);
+        Predicate<Object[]> predicate = parser.parseOr(columns);
+        if (parser.position < parser.tokens.size()) {
+            throw parser.error("unexpected '" + parser.tokens.get(parser.position) + "'");
+        }
+        return predicate;
+    }
+
+    private Predicate<Object[]> parseOr(List<String> columns) {
+        Predicate<Object[]> left = parseAnd(columns);
+        while (accept("OR")) {
+            left = left.or(parseAnd(columns));
+        }
+        return left;
+    }
+
+    private Predicate<Object[]> parseAnd(List<String> columns) {
+        Predicate<Object[]> left = parseCondition(columns);
+        while (accept("AND")) {
+            left = left.and(parseCondition(columns));
+        }
+        return left;
+    }
+
+    private Predicate<Object[]> parseCondition(List<String> columns) {
+        if (accept("(")) {
+            Predicate<Object[]> inner = parseOr(columns);
+            expect(")");
+            return inner;
+        }
+        if (accept("NOT")) {
+            return parseCondition(columns).negate();
+        }
+        int column = Values.columnIndex(columns, Values.unquote(next("a column name")));
+        if (accept("IS")) {
+            boolean negated = accept("NOT");
+            expect("NULL");
+            return negated ? row -> row[column] != null : row -> row[column] == null;
+        }
+        String operator = next("a comparison operator").toUpperCase(Locale.ROOT);
+        Object literal = literal(next("a value"));
+        if (operator.equals("LIKE")) {
+            Pattern like = likePattern(literal.toString());
+            return row -> row[column] != null && like.matcher(row[column].toString()).matches();
+        }
+        return switch (operator) {
+            case "=" -> row -> row[column] != null && compare(row[column], literal) == 0;
+            case "!=", "<>" -> row -> row[column] != null && compare(row[column], literal) != 0;
+            case "<" -> row -> row[column] != null && compare(row[column], literal) < 0;
+            case "<=" -> row -> row[column] != null && compare(row[column], literal) <= 0;
+            case ">" -> row -> row[column] != null && compare(row[column], literal) > 0;
+            case ">=" -> row -> row[column] != null && compare(row[column], literal) >= 0;
+            default -> throw error("unknown operator '" + operator + "'");
+        };
+    }
+
+    /**
+     * Compares a column value with a literal; numeric literals against text values compare as text
+     */
+    private static int compare(Object value, Object literal) {
+        if (literal instanceof BigDecimal && !(value instanceof Number)) {
+            return value.toString().compareTo(((BigDecimal) literal).toPlainString());
+        }
+        return Values.compare(value, literal);
+    }
+
+    private static Object literal(String token) {
+        if (token.startsWith("'")) {
+            return token.substring(1, token.length() - 1).replace("''", "'");
+        }
+        try {
+            return new BigDecimal(token);
+        } catch (NumberFormatException e) {
+            return token;
+        }
+    }
+
+    private static Pattern likePattern(String like) {
+        StringBuilder regex = new StringBuilder();
+        for (char c : like.toCharArray()) {
+            switch (c) {
+                case '%' -> regex.append(".*");
+                case '_' -> regex.append('.');
+                default -> regex.append(Pattern.quote(String.valueOf(c)));
+            }
+        }
+        return Pattern.compile(regex.toString(), Pattern.DOTALL);
+    }
+
+    private boolean accept(String keyword) {
+        if (position < tokens.size() && tokens.get(position).equalsIgnoreCase(keyword)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(String keyword) {
+        if (!accept(keyword)) {
+            throw error("expected " + keyword);
+        }
+    }
+
+    private String next(String expected) {
+        if (position >= tokens.size()) {
+            throw error("expected " + expected);
+        }
+        return tokens.get(position++);
+    }
+
+    private IllegalArgumentException error(String problem) {
+        return new IllegalArgumentException("Invalid filter '" + expression + "': " + problem);
+    }
+
+    private static List<String> tokenize(String expression) {
+        List<String> tokens = new ArrayList<>();
+        Matcher matcher = TOKEN.matcher(expression);
+        int end = 0;
+        while (end < expression.length() && matcher.find(end) && matcher.start() == end) {
+            tokens.add(matcher.group(1));
+            end = matcher.end();
+        }
+        if (!expression.substring(end).isBlank()) {
+            throw new IllegalArgumentException("Invalid filter '" + expression + "' near '" + expression.substring(end) + "'");
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.nativecliapp.result;
+
+import java.sql.Statement;
+import java.util.List;
+
+/**
+ * Receives a statement result row by row as it is read from the driver, so results never need
+ * to be held in memory as a whole
+ */
+public interface RowSink {
+
+    void start(List<String> columns);
+
+    void row(Object[] values);
+
+    default void end(long rows) {
+    }
+
+    /**
+     * Whether large object columns may arrive as {@link LobHandle} previews rather than whole
+     * values; sinks that only display rows opt in, sinks that compare or copy values must not
+     */
+    default boolean previewsLobs() {
+        return false;
+    }
+
+    /**
+     * Called with the statement just before it runs, so another thread can cancel it
+     */
+    default void executing(Statement statement) {
+    }
+
+    /**
+     * Called instead of start/row/end when the statement returned an update count
+     */
+    default void updated(long count) {
+    }
+}
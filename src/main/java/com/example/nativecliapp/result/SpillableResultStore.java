@@ -0,0 +1,221 @@
+package com.example.nativecliapp.result;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Holds a query result for random access by row index. Rows stay on the heap until their estimated
+ * size passes a threshold; from then on every row is encoded with {@link RowCodec} into
+ * memory-mapped segments of a temporary file, leaving only an eight-byte offset per row on the
+ * heap. {@link #close()} unmaps the segments and deletes the file right away rather than waiting
+ * for garbage collection.
+ */
+@Slf4j
+public final class SpillableResultStore implements RowSink, AutoCloseable {
+
+    private static final int INITIAL_OFFSETS = 1024;
+
+    private final long heapThresholdBytes;
+    private final int segmentBytes;
+    private final Path spillDir;
+
+    private List<String> columns = List.of();
+    private List<Object[]> heapRows = new ArrayList<>();
+    private long heapBytes;
+
+    private Path file;
+    private FileChannel channel;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long mappedBytes;
+    private long offHeapBytes;
+    private long[] offsets;
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    private final DataOutputStream encoder = new DataOutputStream(encoded);
+
+    private long size;
+    private boolean closed;
+
+    public SpillableResultStore(long heapThresholdBytes, int segmentBytes, Path spillDir) {
+        this.heapThresholdBytes = heapThresholdBytes;
+        this.segmentBytes = segmentBytes;
+        this.spillDir = spillDir;
+    }
+
+    @Override
+    public void start(List<String> columns) {
+        this.columns = List.copyOf(columns);
+    }
+
+    @Override
+    public void row(Object[] values) {
+        ensureOpen();
+        if (channel != null) {
+            append(size, values);
+        } else {
+            heapRows.add(values);
+            heapBytes += RowCodec.estimateSize(values);
+            if (heapBytes > heapThresholdBytes) {
+                moveOffHeap();
+            }
+        }
+        size++;
+    }
+
+    @Override
+    public boolean previewsLobs() {
+        return true;
+    }
+
+    public List<String> getColumns() {
+        return columns;
+    }
+
+    public long size() {
+        return size;
+    }
+
+    public boolean isOffHeap() {
+        return channel != null;
+    }
+
+    /**
+     * Bytes of encoded rows in the mapped segments, 0 while the result is on the heap
+     */
+    public long getOffHeapBytes() {
+        return offHeapBytes;
+    }
+
+    public Object[] get(long index) {
+        ensureOpen();
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Row " + index + " is outside a result of " + size + " rows");
+        }
+        if (channel == null) {
+            return heapRows.get((int) index);
+        }
+        long offset = offsets[Math.toIntExact(index)];
+        ByteBuffer segment = segments.get((int) (offset >>> 32));
+        int position = (int) offset;
+        byte[] bytes = new byte[segment.getInt(position)];
+        segment.get(position + Integer.BYTES, bytes);
+        try {
+            return RowCodec.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode result row " + index, e);
+        }
+    }
+
+    /**
+     * Rows from index on, at most count of them
+     */
+    public List<Object[]> range(long from, int count) {
+        List<Object[]> rows = new ArrayList<>(Math.max(0, (int) Math.min(count, size - from)));
+        for (long index = from; index < size && rows.size() < count; index++) {
+            rows.add(get(index));
+        }
+        return rows;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        heapRows = List.of();
+        segments.forEach(SpillableResultStore::unmap);
+        segments.clear();
+        offsets = null;
+        if (channel != null) {
+            try {
+                channel.close();
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Failed to delete result spill file {}: {}", file, e.getMessage());
+            }
+        }
+    }
+
+    private void moveOffHeap() {
+        try {
+            Files.createDirectories(spillDir);
+            file = Files.createTempFile(spillDir, "result-", ".rows");
+            channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create result spill file in " + spillDir, e);
+        }
+        offsets = new long[Math.max(INITIAL_OFFSETS, heapRows.size() * 2)];
+        for (int index = 0; index < heapRows.size(); index++) {
+            append(index, heapRows.get(index));
+        }
+        log.debug("Moved {} result rows ({} estimated bytes) off the heap into {}", heapRows.size(), heapBytes, file);
+        heapRows = List.of();
+        heapBytes = 0;
+    }
+
+    /**
+     * Encodes a row at the end of the last segment, starting a new segment when it does not fit;
+     * the row's offset packs the segment number above the position within it
+     */
+    private void append(long index, Object[] values) {
+        encoded.reset();
+        try {
+            RowCodec.write(encoder, values);
+            int length = Integer.BYTES + encoded.size();
+            MappedByteBuffer segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (segment == null || segment.remaining() < length) {
+                segment = channel.map(FileChannel.MapMode.READ_WRITE, mappedBytes, Math.max(segmentBytes, length));
+                segments.add(segment);
+                mappedBytes += segment.capacity();
+            }
+            if (index == offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[Math.toIntExact(index)] = (long) (segments.size() - 1) << 32 | segment.position();
+            segment.putInt(encoded.size());
+            segment.put(encoded.toByteArray());
+            offHeapBytes += length;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write result row to " + file, e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Result has been released");
+        }
+    }
+
+    /**
+     * Releases a mapping immediately through the JDK's buffer cleaner; if that is unavailable the
+     * mapping goes away when the buffer is garbage collected
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+            invokeCleaner.invoke(theUnsafe.get(null), buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            log.debug("Could not unmap result segment, leaving it to the garbage collector: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.nativecliapp.result;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.List;
+
+/**
+ * Value comparison shared by the client-side operators: numbers compare by value whatever their
+ * Java type, other values of the same type by their natural order, and anything else by text.
+ */
+final class Values {
+
+    private Values() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Compares two non-null values
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static int compare(Object a, Object b) {
+        if (a instanceof Number x && b instanceof Number y) {
+            if (isIntegral(x) && isIntegral(y) && !(x instanceof BigInteger) && !(y instanceof BigInteger)) {
+                return Long.compare(x.longValue(), y.longValue());
+            }
+            return decimal(x).compareTo(decimal(y));
+        }
+        if (a.getClass() == b.getClass() && a instanceof Comparable comparable) {
+            return comparable.compareTo(b);
+        }
+        return a.toString().compareTo(b.toString());
+    }
+
+    /**
+     * Orders with nulls last
+     */
+    static int compareNullsLast(Object a, Object b) {
+        if (a == null || b == null) {
+            return a == null ? (b == null ? 0 : 1) : -1;
+        }
+        return compare(a, b);
+    }
+
+    static BigDecimal decimal(Number number) {
+        if (number instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        if (number instanceof BigInteger integer) {
+            return new BigDecimal(integer);
+        }
+        return isIntegral(number) ? BigDecimal.valueOf(number.longValue()) : BigDecimal.valueOf(number.doubleValue());
+    }
+
+    static boolean isIntegral(Number number) {
+        return number instanceof Long || number instanceof Integer || number instanceof Short
+                || number instanceof Byte || number instanceof BigInteger;
+    }
+
+    /**
+     * Position of a column, matched case-insensitively
+     */
+    static int columnIndex(List<String> columns, String name) {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i).equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Unknown column '" + name + "', result has " + String.join(", ", columns));
+    }
+
+    /**
+     * Column name as written by the user, without surrounding double quotes
+     */
+    static String unquote(String name) {
+        String trimmed = name.trim();
+        return trimmed.length() > 1 && trimmed.startsWith("\"") && trimmed.endsWith("\"")
+                ? trimmed.substring(1, trimmed.length() - 1) : trimmed;
+    }
+}
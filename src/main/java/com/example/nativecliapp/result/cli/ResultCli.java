@@ -0,0 +1,103 @@
+package com.example.nativecliapp.result.cli;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.LobExportResult;
+import com.example.nativecliapp.exception.DatabaseException;
+import com.example.nativecliapp.result.LobExportService;
+import com.example.nativecliapp.result.ResultPager;
+import com.example.nativecliapp.result.SpillableResultStore;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
+@ShellComponent
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class ResultCli {
+
+    private final ResultPager resultPager;
+    private final LobExportService lobExportService;
+    private final DatabaseConnectionManager connectionManager;
+
+    @ShellMethod(key = {"page", "pg"}, value = "📄 Page through the last query result")
+    public String page(
+            @ShellOption(value = {"-p", "--page"}, help = "Page number, starting at 1 (default: the next page)", defaultValue = ShellOption.NULL) Long number,
+            @ShellOption(value = {"--prev"}, help = "Show the previous page", defaultValue = "false") boolean previous,
+            @ShellOption(value = {"-s", "--size"}, help = "Rows per page", defaultValue = "" + MAX_DISPLAY_ROWS) int size) {
+        try {
+            if (size < 1 || size > MAX_DISPLAY_ROWS) {
+                throw new IllegalArgumentException("Page size must be between 1 and " + MAX_DISPLAY_ROWS);
+            }
+            SpillableResultStore store = resultPager.getCurrent();
+            long pages = Math.max(1, (store.size() + size - 1) / size);
+            long first;
+            if (number != null) {
+                first = (number - 1) * size;
+            } else if (previous) {
+                first = resultPager.getFirstRow() - size;
+            } else {
+                first = resultPager.getFirstRow() + resultPager.getPageSize();
+            }
+            if (first < 0 && previous && resultPager.getFirstRow() > 0) {
+                first = 0;
+            }
+            if (first < 0 || first >= store.size()) {
+                return formatWarning("No Such Page", String.format("The result has %d pages of %d rows", pages, size));
+            }
+
+            List<Map<String, Object>> rows = resultPager.page(first, size);
+            String header = String.format("📄 Page %d of %d, rows %s-%s of %s%s\n\n", first / size + 1, pages,
+                    formatCount(first + 1), formatCount(first + rows.size()), formatCount(store.size()),
+                    store.isOffHeap() ? " (" + formatBytes(store.getOffHeapBytes()) + " off-heap)" : "");
+            return header + formatQueryResults(resultPager.getConnectionName(), resultPager.getSql(), rows);
+        } catch (IllegalArgumentException e) {
+            return formatError("Invalid Parameter", e.getMessage());
+        } catch (IllegalStateException e) {
+            return formatWarning("No Result", e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = {"lob-save"}, value = "💾 Stream a BLOB/CLOB column of a query to files")
+    public String lobSave(
+            @ShellOption(value = {"-q", "--query"}, help = "Query selecting the large object column") String sql,
+            @ShellOption(value = {"-c", "--column"}, help = "Column to save") String column,
+            @ShellOption(value = {"-o", "--output"}, help = "Directory to write the files to") String output,
+            @ShellOption(value = {"-n", "--name-column"}, help = "Column to name the files by (default: row number)", defaultValue = ShellOption.NULL) String nameColumn,
+            @ShellOption(value = {"--connection"}, help = "Connection name, defaults to the current one", defaultValue = ShellOption.NULL) String connection) {
+        String connectionName = connection != null ? connection : connectionManager.getCurrentConnectionName();
+        try {
+            LobExportResult result = lobExportService.save(connectionName, sql, column, nameColumn, Path.of(output));
+
+            StringBuilder out = new StringBuilder();
+            out.append("💾 LOB EXPORT\n");
+            out.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            out.append(String.format("🔗 Connection: %s | Column: %s\n", connectionName, result.getColumn()));
+            out.append(String.format("📁 Directory: %s\n", result.getDirectory()));
+            out.append(String.format("📄 Files: %s (%s)%s\n", formatCount(result.getFiles()), formatBytes(result.getBytes()),
+                    result.getNulls() > 0 ? " | NULL values skipped: " + formatCount(result.getNulls()) : ""));
+            if (result.getLargestFile() != null) {
+                out.append(String.format("📦 Largest: %s (%s)\n", result.getLargestFile(), formatBytes(result.getLargestBytes())));
+            }
+            out.append(String.format("⏱️ Duration: %,d ms\n", result.getDurationMillis()));
+            return out.toString();
+
+        } catch (IllegalArgumentException e) {
+            return formatError("Invalid Parameter", e.getMessage());
+        } catch (UncheckedIOException e) {
+            return formatError("Write Failed", e.getMessage());
+        } catch (DatabaseException e) {
+            return formatError("LOB Export Failed", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,282 @@
+package com.example.nativecliapp.sync;
+
+import com.example.nativecliapp.catalog.CatalogLoader;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.DataDiffResult;
+import com.example.nativecliapp.dtos.RowDifference;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.exception.SchemaException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Compares the rows of a table on two connections without pulling either table into the shell.
+ * The key space is split into ranges, each range is reduced to a row count and hash aggregate on
+ * both databases concurrently, and only ranges whose aggregates disagree are split further until
+ * they are small enough to compare row hashes by key.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DataDiffService {
+
+    private static final int MAX_SAMPLES = 100;
+
+    private final DatabaseConnectionManager connectionManager;
+    private final CatalogLoader catalogLoader;
+    private final KeyRangePlanner planner;
+    private final MeterRegistry meterRegistry;
+
+    public DataDiffResult diff(String source, String target, String schema, String tableName,
+                               int chunkRows, int parallelism) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+
+        ExecutorService queryExecutor = Executors.newFixedThreadPool(parallelism * 2);
+        ExecutorService chunkExecutor = Executors.newFixedThreadPool(parallelism);
+        try {
+            CompletableFuture<TableDefinition> sourceFuture = CompletableFuture.supplyAsync(
+                    () -> catalogLoader.loadTable(source, schema, tableName), queryExecutor);
+            CompletableFuture<TableDefinition> targetFuture = CompletableFuture.supplyAsync(
+                    () -> catalogLoader.loadTable(target, schema, tableName), queryExecutor);
+            TableDefinition sourceTable = join(sourceFuture);
+            TableDefinition targetTable = join(targetFuture);
+
+            Comparison comparison = new Comparison(source, target, sourceTable, targetTable, schema, queryExecutor);
+
+            List<KeyRange> ranges = planner.plan(comparison.sourceData, comparison.sourceDialect, comparison.sourceName,
+                    comparison.sourceKey, KeyRange.ALL, chunkRows);
+            log.info("🔍 Comparing {} on '{}' and '{}' in {} chunks", sourceTable.getName(), source, target, ranges.size());
+
+            List<CompletableFuture<Void>> chunks = ranges.stream()
+                    .map(range -> CompletableFuture.runAsync(() -> comparison.compareChunk(range), chunkExecutor))
+                    .toList();
+            chunks.forEach(DataDiffService::join);
+
+            List<RowDifference> samples = new ArrayList<>(comparison.samples);
+            return DataDiffResult.builder()
+                    .sourceConnection(source)
+                    .targetConnection(target)
+                    .sourceTable(comparison.sourceName)
+                    .targetTable(comparison.targetName)
+                    .keyColumn(comparison.sourceKey)
+                    .serverSideChecksums(comparison.sourceChecksum.isServerSide())
+                    .sourceRows(comparison.sourceRows.get())
+                    .targetRows(comparison.targetRows.get())
+                    .chunks(ranges.size())
+                    .mismatchedChunks(comparison.mismatchedChunks.get())
+                    .onlyInSource(comparison.onlyInSource.get())
+                    .onlyInTarget(comparison.onlyInTarget.get())
+                    .changed(comparison.changed.get())
+                    .skippedColumns(comparison.skippedColumns)
+                    .samples(samples.subList(0, Math.min(samples.size(), MAX_SAMPLES)))
+                    .durationMillis(System.currentTimeMillis() - start)
+                    .build();
+
+        } finally {
+            chunkExecutor.shutdownNow();
+            queryExecutor.shutdownNow();
+            sample.stop(Timer.builder("database.sync.diff.duration").register(meterRegistry));
+        }
+    }
+
+    /**
+     * State of one running comparison, shared by the chunk workers
+     */
+    private final class Comparison {
+        private final DataSource sourceData;
+        private final DataSource targetData;
+        private final Dialect sourceDialect;
+        private final Dialect targetDialect;
+        private final String sourceName;
+        private final String targetName;
+        private final String sourceKey;
+        private final String targetKey;
+        private final TableChecksum sourceChecksum;
+        private final TableChecksum targetChecksum;
+        private final ExecutorService queryExecutor;
+        private final List<String> skippedColumns = new ArrayList<>();
+
+        private final AtomicLong sourceRows = new AtomicLong();
+        private final AtomicLong targetRows = new AtomicLong();
+        private final AtomicInteger mismatchedChunks = new AtomicInteger();
+        private final AtomicLong onlyInSource = new AtomicLong();
+        private final AtomicLong onlyInTarget = new AtomicLong();
+        private final AtomicLong changed = new AtomicLong();
+        private final List<RowDifference> samples = Collections.synchronizedList(new ArrayList<>());
+
+        Comparison(String source, String target, TableDefinition sourceTable, TableDefinition targetTable,
+                   String schema, ExecutorService queryExecutor) {
+            if (sourceTable.getPrimaryKey().size() != 1) {
+                throw new SchemaException("data-diff needs a single-column primary key on " + sourceTable.getName()
+                        + (sourceTable.getPrimaryKey().isEmpty() ? " (none found)"
+                        : " (found " + String.join(", ", sourceTable.getPrimaryKey()) + ")"));
+            }
+            this.sourceKey = sourceTable.getPrimaryKey().get(0);
+            this.targetKey = findColumn(targetTable, sourceKey)
+                    .orElseThrow(() -> new SchemaException("Key column " + sourceKey + " missing on target table "
+                            + targetTable.getName()));
+
+            List<String> sourceColumns = new ArrayList<>(List.of(sourceKey));
+            List<String> targetColumns = new ArrayList<>(List.of(targetKey));
+            for (ColumnInfo column : sourceTable.getColumns()) {
+                if (column.getName().equals(sourceKey)) {
+                    continue;
+                }
+                String match = findColumn(targetTable, column.getName()).orElse(null);
+                if (match == null || isBinaryLob(column)) {
+                    skippedColumns.add(column.getName());
+                } else {
+                    sourceColumns.add(column.getName());
+                    targetColumns.add(match);
+                }
+            }
+            targetTable.getColumns().stream()
+                    .map(ColumnInfo::getName)
+                    .filter(name -> findColumn(sourceTable, name).isEmpty())
+                    .forEach(skippedColumns::add);
+
+            String sourceType = connectionManager.getDatabaseType(source);
+            String targetType = connectionManager.getDatabaseType(target);
+            boolean serverSide = Objects.equals(sourceType, targetType) && TableChecksum.supportsServerHash(sourceType);
+
+            this.sourceData = connectionManager.getDataSource(source, Workload.BULK);
+            this.targetData = connectionManager.getDataSource(target, Workload.BULK);
+            this.sourceDialect = connectionManager.getDialect(source);
+            this.targetDialect = connectionManager.getDialect(target);
+            this.sourceName = qualify(schema, sourceTable.getName());
+            this.targetName = qualify(schema, targetTable.getName());
+            this.sourceChecksum = new TableChecksum(sourceData, sourceType, sourceName, sourceKey, sourceColumns, serverSide);
+            this.targetChecksum = new TableChecksum(targetData, targetType, targetName, targetKey, targetColumns, serverSide);
+            this.queryExecutor = queryExecutor;
+        }
+
+        void compareChunk(KeyRange range) {
+            Sides<TableChecksum.Checksum> checksums = both(side -> side.checksum(range));
+            sourceRows.addAndGet(checksums.source().rows());
+            targetRows.addAndGet(checksums.target().rows());
+
+            if (!checksums.matches()) {
+                mismatchedChunks.incrementAndGet();
+                drillDown(range, checksums.source(), checksums.target());
+            }
+        }
+
+        /**
+         * Splits a mismatched range on whichever side has more rows, recursing only into sub-ranges
+         * whose aggregates still disagree, until the range is small enough to compare row by row
+         */
+        private void drillDown(KeyRange range, TableChecksum.Checksum source, TableChecksum.Checksum target) {
+            long rows = Math.max(source.rows(), target.rows());
+            if (rows > DatabaseConstants.DIFF_LEAF_ROWS) {
+                boolean splitOnSource = source.rows() >= target.rows();
+                List<KeyRange> subRanges = planner.plan(splitOnSource ? sourceData : targetData,
+                        splitOnSource ? sourceDialect : targetDialect, splitOnSource ? sourceName : targetName, splitOnSource ? sourceKey : targetKey, range,
+                        Math.max(DatabaseConstants.DIFF_LEAF_ROWS, rows / DatabaseConstants.DIFF_FANOUT));
+
+                if (subRanges.size() > 1) {
+                    for (KeyRange subRange : subRanges) {
+                        Sides<TableChecksum.Checksum> checksums = both(side -> side.checksum(subRange));
+                        if (!checksums.matches()) {
+                            drillDown(subRange, checksums.source(), checksums.target());
+                        }
+                    }
+                    return;
+                }
+            }
+            compareRows(range);
+        }
+
+        private void compareRows(KeyRange range) {
+            Sides<Map<String, String>> hashes = both(side -> side.rowHashes(range));
+            Map<String, String> source = hashes.source();
+            Map<String, String> target = hashes.target();
+
+            source.forEach((key, hash) -> {
+                String other = target.get(key);
+                if (other == null) {
+                    record(onlyInSource, key, RowDifference.Kind.ONLY_IN_SOURCE);
+                } else if (!other.equals(hash)) {
+                    record(changed, key, RowDifference.Kind.CHANGED);
+                }
+            });
+            target.keySet().stream()
+                    .filter(key -> !source.containsKey(key))
+                    .forEach(key -> record(onlyInTarget, key, RowDifference.Kind.ONLY_IN_TARGET));
+        }
+
+        private void record(AtomicLong counter, String key, RowDifference.Kind kind) {
+            counter.incrementAndGet();
+            if (samples.size() < MAX_SAMPLES) {
+                samples.add(new RowDifference(key, kind));
+            }
+        }
+
+        /**
+         * Runs the same operation against source and target concurrently
+         */
+        private <T> Sides<T> both(Function<TableChecksum, T> operation) {
+            CompletableFuture<T> source = CompletableFuture.supplyAsync(() -> operation.apply(sourceChecksum), queryExecutor);
+            CompletableFuture<T> target = CompletableFuture.supplyAsync(() -> operation.apply(targetChecksum), queryExecutor);
+            return new Sides<>(join(source), join(target));
+        }
+    }
+
+    private record Sides<T>(T source, T target) {
+        boolean matches() {
+            return source.equals(target);
+        }
+    }
+
+    private static Optional<String> findColumn(TableDefinition table, String name) {
+        return table.getColumns().stream()
+                .map(ColumnInfo::getName)
+                .filter(candidate -> candidate.equalsIgnoreCase(name))
+                .findFirst();
+    }
+
+    private static boolean isBinaryLob(ColumnInfo column) {
+        return switch (column.getDataType()) {
+            case Types.BLOB, Types.LONGVARBINARY -> true;
+            default -> false;
+        };
+    }
+
+    private static String qualify(String schema, String table) {
+        return schema != null ? schema + "." + table : table;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.nativecliapp.sync;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Half-open primary key range [lower, upper); a null bound is unbounded on that side
+ */
+public record KeyRange(Object lower, Object upper) {
+
+    public static final KeyRange ALL = new KeyRange(null, null);
+
+    /**
+     * WHERE-clause predicate for the range, with one placeholder per bounded side
+     */
+    public String predicate(String keyColumn) {
+        if (lower != null && upper != null) {
+            return keyColumn + " >= ? AND " + keyColumn + " < ?";
+        }
+        if (lower != null) {
+            return keyColumn + " >= ?";
+        }
+        if (upper != null) {
+            return keyColumn + " < ?";
+        }
+        return "1 = 1";
+    }
+
+    /**
+     * Binds the bounds in predicate order and returns the next free parameter index
+     */
+    public int bind(PreparedStatement ps, int index) throws SQLException {
+        if (lower != null) {
+            ps.setObject(index++, lower);
+        }
+        if (upper != null) {
+            ps.setObject(index++, upper);
+        }
+        return index;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + (lower != null ? lower : "-∞") + ", " + (upper != null ? upper : "+∞") + ")";
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.nativecliapp.sync;
+
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.exception.SqlExecutionException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a table into primary key ranges of roughly equal row counts. Integral keys are split
+ * arithmetically between MIN and MAX; other keys get their boundaries from one ordered pass over
+ * the key column only, keeping every n-th value.
+ */
+@Component
+@Slf4j
+public class KeyRangePlanner {
+
+    private static final int KEY_FETCH_SIZE = 5_000;
+
+    /**
+     * Row count and key bounds of a range
+     */
+    public record RangeStats(long rows, Object min, Object max) {
+    }
+
+    public RangeStats stats(DataSource dataSource, String table, String keyColumn, KeyRange range) {
+        String sql = "SELECT COUNT(*), MIN(" + keyColumn + "), MAX(" + keyColumn + ") FROM " + table
+                + " WHERE " + range.predicate(keyColumn);
+
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            range.bind(ps, 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return new RangeStats(rs.getLong(1), rs.getObject(2), rs.getObject(3));
+            }
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Failed to read key bounds of " + table + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Splits a range into sub-ranges of about chunkRows rows each. The first and last sub-range keep
+     * the outer bounds of the input, so rows outside [MIN, MAX] of this side are still covered.
+     */
+    public List<KeyRange> plan(DataSource dataSource, Dialect dialect, String table, String keyColumn, KeyRange within,
+                               long chunkRows) {
+        return plan(dataSource, dialect, table, keyColumn, within, stats(dataSource, table, keyColumn, within), chunkRows);
+    }
+
+    /**
+     * Splits a range into about the given number of parts of similar row counts
+     */
+    public List<KeyRange> split(DataSource dataSource, Dialect dialect, String table, String keyColumn, KeyRange within,
+                                int parts) {
+        RangeStats stats = stats(dataSource, table, keyColumn, within);
+        return plan(dataSource, dialect, table, keyColumn, within, stats, Math.max(1, (stats.rows() + parts - 1) / parts));
+    }
+
+    private List<KeyRange> plan(DataSource dataSource, Dialect dialect, String table, String keyColumn, KeyRange within,
+                                RangeStats stats, long chunkRows) {
+        if (stats.rows() <= chunkRows) {
+            return List.of(within);
+        }
+
+        int parts = (int) Math.min(Integer.MAX_VALUE, (stats.rows() + chunkRows - 1) / chunkRows);
+        List<Object> boundaries = isIntegral(stats.min()) && isIntegral(stats.max())
+                ? arithmeticBoundaries(toBigInteger(stats.min()), toBigInteger(stats.max()), parts)
+                : sampledBoundaries(dataSource, dialect, table, keyColumn, within, chunkRows);
+
+        List<KeyRange> ranges = new ArrayList<>(boundaries.size() + 1);
+        Object lower = within.lower();
+        for (Object boundary : boundaries) {
+            ranges.add(new KeyRange(lower, boundary));
+            lower = boundary;
+        }
+        ranges.add(new KeyRange(lower, within.upper()));
+
+        log.debug("Planned {} ranges over {} rows of {}", ranges.size(), stats.rows(), table);
+        return ranges;
+    }
+
+    private List<Object> arithmeticBoundaries(BigInteger min, BigInteger max, int parts) {
+        BigInteger span = max.subtract(min).add(BigInteger.ONE);
+        BigInteger step = span.add(BigInteger.valueOf(parts - 1)).divide(BigInteger.valueOf(parts)).max(BigInteger.ONE);
+
+        List<Object> boundaries = new ArrayList<>();
+        for (BigInteger next = min.add(step); next.compareTo(max) <= 0; next = next.add(step)) {
+            boundaries.add(toKeyValue(next));
+        }
+        return boundaries;
+    }
+
+    private List<Object> sampledBoundaries(DataSource dataSource, Dialect dialect, String table, String keyColumn,
+                                           KeyRange within, long chunkRows) {
+        String sql = "SELECT " + keyColumn + " FROM " + table + " WHERE " + within.predicate(keyColumn)
+                + " ORDER BY " + keyColumn;
+        List<Object> boundaries = new ArrayList<>();
+
+        try (Connection conn = dataSource.getConnection()) {
+            boolean transaction = dialect.cursorNeedsTransaction();
+            if (transaction) {
+                conn.setAutoCommit(false);
+            }
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                ps.setFetchSize(dialect.streamingFetchSize(KEY_FETCH_SIZE));
+                within.bind(ps, 1);
+                try (ResultSet rs = ps.executeQuery()) {
+                    long position = 0;
+                    while (rs.next()) {
+                        if (position > 0 && position % chunkRows == 0) {
+                            boundaries.add(rs.getObject(1));
+                        }
+                        position++;
+                    }
+                }
+            } finally {
+                if (transaction) {
+                    conn.rollback();
+                    conn.setAutoCommit(true);
+                }
+            }
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Failed to sample key boundaries of " + table + ": " + e.getMessage(), e);
+        }
+        return boundaries;
+    }
+
+    private static boolean isIntegral(Object value) {
+        if (value instanceof Long || value instanceof Integer || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            return true;
+        }
+        return value instanceof BigDecimal decimal && decimal.stripTrailingZeros().scale() <= 0;
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger bigInteger) {
+            return bigInteger;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return decimal.toBigIntegerExact();
+        }
+        return BigInteger.valueOf(((Number) value).longValue());
+    }
+
+    private static Object toKeyValue(BigInteger value) {
+        return value.bitLength() < 64 ? (Object) value.longValue() : new BigDecimal(value);
+    }
+}
@@ -0,0 +1,237 @@
+package com.example.nativecliapp.sync;
+
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.exception.SqlExecutionException;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Blob;
+import java.sql.Clob;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Row-count and hash aggregates over key ranges of one table on one connection. In server mode
+ * the database hashes and sums the rows itself, so only one row per chunk crosses the wire; this
+ * needs both sides on the same engine, since each engine renders values as text differently. In
+ * client mode rows are streamed and hashed here from normalized values, which compares across
+ * engines at the cost of transferring the chunk.
+ */
+public class TableChecksum {
+
+    private static final String NULL_MARKER = "~";
+    private static final String SEPARATOR = "|";
+    private static final int FETCH_SIZE = 1_000;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Row count and order-independent hash of a range
+     */
+    public record Checksum(long rows, String hash) {
+    }
+
+    private final DataSource dataSource;
+    private final String dbType;
+    private final String table;
+    private final String keyColumn;
+    private final List<String> columns;
+    private final boolean serverSide;
+
+    public TableChecksum(DataSource dataSource, String dbType, String table, String keyColumn,
+                         List<String> columns, boolean serverSide) {
+        this.dataSource = dataSource;
+        this.dbType = dbType;
+        this.table = table;
+        this.keyColumn = keyColumn;
+        this.columns = columns;
+        this.serverSide = serverSide && supportsServerHash(dbType);
+    }
+
+    /**
+     * Whether the engine can hash rows in SQL
+     */
+    public static boolean supportsServerHash(String dbType) {
+        return rowHashExpression(dbType, "x") != null;
+    }
+
+    public boolean isServerSide() {
+        return serverSide;
+    }
+
+    public Checksum checksum(KeyRange range) {
+        if (serverSide) {
+            String sql = "SELECT COUNT(*), SUM(" + rowHashExpression(dbType, rowExpression()) + ") FROM " + table
+                    + " WHERE " + range.predicate(keyColumn);
+            return query(sql, range, rs -> {
+                rs.next();
+                BigDecimal sum = rs.getBigDecimal(2);
+                return new Checksum(rs.getLong(1), sum != null ? sum.toPlainString() : "0");
+            });
+        }
+
+        return query(selectRows(range), range, rs -> {
+            long rows = 0;
+            long sum = 0;
+            while (rs.next()) {
+                rows++;
+                sum += hashRow(rs);
+            }
+            return new Checksum(rows, Long.toHexString(sum));
+        });
+    }
+
+    /**
+     * Hash of every row in the range, keyed by the normalized primary key value
+     */
+    public Map<String, String> rowHashes(KeyRange range) {
+        String sql = serverSide
+                ? "SELECT " + keyColumn + ", " + rowHashExpression(dbType, rowExpression()) + " FROM " + table
+                + " WHERE " + range.predicate(keyColumn)
+                : selectRows(range);
+
+        return query(sql, range, rs -> {
+            Map<String, String> hashes = new HashMap<>();
+            while (rs.next()) {
+                String hash = serverSide ? rs.getBigDecimal(2).toPlainString() : Long.toHexString(hashRow(rs));
+                hashes.put(normalizeKey(rs.getObject(1)), hash);
+            }
+            return hashes;
+        });
+    }
+
+    /**
+     * Key values from different drivers (Integer, Long, BigDecimal) compare equal once normalized
+     */
+    public static String normalizeKey(Object key) {
+        return normalize(key);
+    }
+
+    private String selectRows(KeyRange range) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(keyColumn);
+        columns.forEach(column -> sql.append(", ").append(column));
+        return sql.append(" FROM ").append(table).append(" WHERE ").append(range.predicate(keyColumn)).toString();
+    }
+
+    private long hashRow(ResultSet rs) throws SQLException {
+        long hash = FNV_OFFSET_BASIS;
+        for (int i = 2; i <= columns.size() + 1; i++) {
+            for (byte b : (normalize(rs.getObject(i)) + SEPARATOR).getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= FNV_PRIME;
+            }
+        }
+        return hash;
+    }
+
+    private static String normalize(Object value) {
+        try {
+            if (value == null) {
+                return NULL_MARKER;
+            }
+            if (value instanceof BigDecimal decimal) {
+                return decimal.signum() == 0 ? "0" : decimal.stripTrailingZeros().toPlainString();
+            }
+            if (value instanceof Double || value instanceof Float) {
+                return normalize(new BigDecimal(value.toString()));
+            }
+            if (value instanceof Number number) {
+                return normalize(new BigDecimal(number.toString()));
+            }
+            if (value instanceof Boolean bool) {
+                return bool ? "1" : "0";
+            }
+            if (value instanceof Timestamp timestamp) {
+                return timestamp.toLocalDateTime().toString();
+            }
+            if (value instanceof java.sql.Date date) {
+                return date.toLocalDate().toString();
+            }
+            if (value instanceof java.sql.Time time) {
+                return time.toLocalTime().toString();
+            }
+            if (value instanceof byte[] bytes) {
+                return HexFormat.of().formatHex(bytes);
+            }
+            if (value instanceof Clob clob) {
+                return clob.getSubString(1, (int) clob.length());
+            }
+            if (value instanceof Blob blob) {
+                return HexFormat.of().formatHex(blob.getBytes(1, (int) blob.length()));
+            }
+            return value.toString();
+        } catch (SQLException e) {
+            throw new SqlExecutionException(null, "Failed to read LOB value: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Concatenation of all compared columns as text, with a marker for NULL
+     */
+    private String rowExpression() {
+        List<String> parts = columns.stream()
+                .map(column -> "COALESCE(" + castToText(column) + ", '" + NULL_MARKER + "')")
+                .toList();
+
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_MYSQL -> "CONCAT_WS('" + SEPARATOR + "', " + String.join(", ", parts) + ")";
+            case DatabaseConstants.DB_TYPE_SQL_SERVER ->
+                    "CONCAT(" + String.join(", '" + SEPARATOR + "', ", parts) + ", '" + SEPARATOR + "')";
+            default -> String.join(" || '" + SEPARATOR + "' || ", parts);
+        };
+    }
+
+    private String castToText(String column) {
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_POSTGRESQL -> "CAST(" + column + " AS TEXT)";
+            case DatabaseConstants.DB_TYPE_MYSQL -> "CAST(" + column + " AS CHAR)";
+            case DatabaseConstants.DB_TYPE_ORACLE -> "TO_CHAR(" + column + ")";
+            case DatabaseConstants.DB_TYPE_SQL_SERVER -> "CAST(" + column + " AS NVARCHAR(MAX))";
+            default -> "CAST(" + column + " AS VARCHAR)";
+        };
+    }
+
+    /**
+     * Non-negative integer hash of a text expression, or null when the engine has no hash function
+     */
+    private static String rowHashExpression(String dbType, String expression) {
+        return switch (dbType) {
+            case DatabaseConstants.DB_TYPE_POSTGRESQL ->
+                    "CAST(CAST(('x' || SUBSTR(MD5(" + expression + "), 1, 15)) AS BIT(60)) AS BIGINT)";
+            case DatabaseConstants.DB_TYPE_MYSQL ->
+                    "CAST(CONV(SUBSTRING(MD5(" + expression + "), 1, 15), 16, 10) AS UNSIGNED)";
+            case DatabaseConstants.DB_TYPE_SQL_SERVER ->
+                    "CAST(CONVERT(BIGINT, SUBSTRING(HASHBYTES('MD5', " + expression + "), 1, 7)) AS DECIMAL(38, 0))";
+            case DatabaseConstants.DB_TYPE_ORACLE, DatabaseConstants.DB_TYPE_H2 ->
+                    "(ORA_HASH(" + expression + ", 2147483647, 0) * 4294967296 + ORA_HASH(" + expression + ", 4294967295, 1))";
+            default -> null;
+        };
+    }
+
+    @FunctionalInterface
+    private interface ResultReader<T> {
+        T read(ResultSet rs) throws SQLException;
+    }
+
+    private <T> T query(String sql, KeyRange range, ResultReader<T> reader) {
+        try (Connection conn = dataSource.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setFetchSize(FETCH_SIZE);
+            range.bind(ps, 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                return reader.read(rs);
+            }
+        } catch (SQLException e) {
+            throw new SqlExecutionException(sql, "Checksum query on " + table + " failed: " + e.getMessage(), e);
+        }
+    }
+}
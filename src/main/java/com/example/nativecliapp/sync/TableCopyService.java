@@ -0,0 +1,339 @@
+package com.example.nativecliapp.sync;
+
+import com.example.nativecliapp.catalog.CatalogLoader;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.TableCopyResult;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.exception.SchemaException;
+import com.example.nativecliapp.exception.SqlExecutionException;
+import com.example.nativecliapp.util.ShellFormatter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Copies a table between two connections. The key space is split into ranges that parallel
+ * workers claim one at a time; each worker pairs a reader streaming its range from the source
+ * with a writer doing batched inserts on the target, connected by a bounded queue so a slow
+ * target holds the reader back instead of buffering the table in memory.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TableCopyService {
+
+    private static final Object[] END_OF_RANGE = new Object[0];
+    private static final int RANGES_PER_WORKER = 4;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+
+    private final DatabaseConnectionManager connectionManager;
+    private final SchemaManager schemaManager;
+    private final CatalogLoader catalogLoader;
+    private final KeyRangePlanner planner;
+    private final MeterRegistry meterRegistry;
+
+    public TableCopyResult copy(String from, String to, String schema, String table,
+                                String targetSchema, String targetTable, int workers, int batchSize, boolean append) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long start = System.currentTimeMillis();
+
+        TableDefinition source = catalogLoader.loadTable(from, schema, table);
+        String sourceType = connectionManager.getDatabaseType(from);
+        String targetType = connectionManager.getDatabaseType(to);
+        String targetName = targetTable != null ? targetTable : source.getName();
+
+        Optional<TableDefinition> existing = catalogLoader.findTable(to, targetSchema, targetName);
+        if (existing.isPresent()) {
+            if (!append) {
+                throw new SchemaException("Table '" + existing.get().getName() + "' already exists on '" + to
+                        + "'; use --append to copy into it");
+            }
+            targetName = existing.get().getName();
+        } else {
+            schemaManager.createTable(to, targetSchema, targetName,
+                    TypeMapper.toColumnDefinitions(source, sourceType, targetType));
+        }
+
+        List<ColumnInfo> columns = source.getColumns().stream()
+                .sorted(Comparator.comparingInt(ColumnInfo::getPosition))
+                .toList();
+        String sourceName = qualify(schema, source.getName());
+        String qualifiedTarget = qualify(targetSchema, targetName);
+        DataSource sourceData = connectionManager.getDataSource(from, Workload.BULK);
+        DataSource targetData = connectionManager.getDataSource(to, Workload.BULK);
+        Dialect sourceDialect = connectionManager.getDialect(from);
+
+        String keyColumn = source.getPrimaryKey().size() == 1 ? source.getPrimaryKey().get(0) : null;
+        List<KeyRange> ranges = keyColumn != null
+                ? planner.split(sourceData, sourceDialect, sourceName, keyColumn, KeyRange.ALL, workers * RANGES_PER_WORKER)
+                : List.of(KeyRange.ALL);
+        if (keyColumn == null) {
+            log.warn("Table {} has no single-column primary key, copying with one worker", sourceName);
+        }
+
+        int workerCount = Math.min(workers, ranges.size());
+        Copy copy = new Copy(sourceData, sourceDialect, targetData, sourceName, qualifiedTarget, keyColumn, columns,
+                batchSize, new ConcurrentLinkedQueue<>(ranges));
+        log.info("🚚 Copying {} from '{}' to '{}' as {} with {} workers over {} ranges",
+                sourceName, from, to, qualifiedTarget, workerCount, ranges.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(workerCount * 2);
+        try {
+            List<CompletableFuture<Void>> futures = IntStream.range(0, workerCount)
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> copy.work(executor), executor))
+                    .toList();
+            futures.forEach(TableCopyService::join);
+        } catch (RuntimeException e) {
+            throw new SchemaException(e.getMessage() + "; " + abandon(to, qualifiedTarget, existing.isEmpty(), copy.copied.get()), e);
+        } finally {
+            executor.shutdownNow();
+            meterRegistry.counter("database.sync.copy.rows").increment(copy.copied.get());
+            sample.stop(Timer.builder("database.sync.copy.duration").register(meterRegistry));
+        }
+
+        return TableCopyResult.builder()
+                .sourceConnection(from)
+                .targetConnection(to)
+                .sourceTable(sourceName)
+                .targetTable(qualifiedTarget)
+                .tableCreated(existing.isEmpty())
+                .rows(copy.copied.get())
+                .ranges(ranges.size())
+                .workers(workerCount)
+                .durationMillis(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    /**
+     * Each batch commits on its own, so a failed copy leaves rows behind: a table the copy created
+     * is dropped again, while rows appended to an existing table stay and are reported
+     */
+    private String abandon(String to, String qualifiedTarget, boolean created, long committed) {
+        if (!created) {
+            return ShellFormatter.formatCount(committed) + " rows committed before the failure remain in " + qualifiedTarget + " on '" + to + "'";
+        }
+        try {
+            schemaManager.executeUpdate(to, "DROP TABLE " + qualifiedTarget);
+            return "the partially copied table " + qualifiedTarget + " was dropped from '" + to + "'";
+        } catch (RuntimeException dropFailure) {
+            log.warn("Could not drop partially copied table {} on '{}': {}", qualifiedTarget, to, dropFailure.getMessage());
+            return "the partially copied table " + qualifiedTarget + " on '" + to + "' holds " + ShellFormatter.formatCount(committed)
+                    + " rows and could not be dropped: " + dropFailure.getMessage();
+        }
+    }
+
+    /**
+     * State of one running copy, shared by its workers
+     */
+    private static final class Copy {
+        private final DataSource sourceData;
+        private final boolean readInTransaction;
+        private final DataSource targetData;
+        private final String keyColumn;
+        private final List<ColumnInfo> columns;
+        private final int batchSize;
+        private final int fetchSize;
+        private final Queue<KeyRange> pending;
+        private final String selectSql;
+        private final String insertSql;
+        private final AtomicLong copied = new AtomicLong();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Copy(DataSource sourceData, Dialect sourceDialect, DataSource targetData, String sourceName, String targetName,
+             String keyColumn, List<ColumnInfo> columns, int batchSize, Queue<KeyRange> pending) {
+            this.sourceData = sourceData;
+            this.readInTransaction = sourceDialect.cursorNeedsTransaction();
+            this.targetData = targetData;
+            this.keyColumn = keyColumn;
+            this.columns = columns;
+            this.batchSize = batchSize;
+            this.fetchSize = sourceDialect.streamingFetchSize(batchSize);
+            this.pending = pending;
+
+            String columnList = columns.stream().map(ColumnInfo::getName).collect(Collectors.joining(", "));
+            this.selectSql = "SELECT " + columnList + " FROM " + sourceName + " WHERE ";
+            this.insertSql = "INSERT INTO " + targetName + " (" + columnList + ") VALUES ("
+                    + columns.stream().map(column -> "?").collect(Collectors.joining(", ")) + ")";
+        }
+
+        /**
+         * Claims ranges until none are left, writing each one while a reader task streams it
+         */
+        void work(ExecutorService executor) {
+            try (Connection conn = targetData.getConnection();
+                 PreparedStatement insert = conn.prepareStatement(insertSql)) {
+                conn.setAutoCommit(false);
+
+                KeyRange range;
+                while (failure.get() == null && (range = pending.poll()) != null) {
+                    BlockingQueue<Object[]> rows = new ArrayBlockingQueue<>(batchSize * 2);
+                    KeyRange claimed = range;
+                    CompletableFuture<Void> reader = CompletableFuture.runAsync(() -> read(claimed, rows), executor);
+                    write(conn, insert, rows);
+                    join(reader);
+                }
+
+            } catch (SQLException e) {
+                fail(e);
+                throw new SqlExecutionException(insertSql, "Copy into target failed: " + e.getMessage(), e);
+            } catch (RuntimeException e) {
+                fail(e);
+                throw e;
+            }
+        }
+
+        private void read(KeyRange range, BlockingQueue<Object[]> rows) {
+            String sql = selectSql + range.predicate(keyColumn);
+            try (Connection conn = sourceData.getConnection()) {
+                if (readInTransaction) {
+                    conn.setAutoCommit(false);
+                }
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setFetchSize(fetchSize);
+                    range.bind(ps, 1);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next() && failure.get() == null) {
+                            offer(rows, readRow(rs));
+                        }
+                    }
+                } finally {
+                    if (readInTransaction) {
+                        conn.rollback();
+                    }
+                }
+            } catch (SQLException e) {
+                fail(e);
+                throw new SqlExecutionException(sql, "Reading source range " + range + " failed: " + e.getMessage(), e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } finally {
+                try {
+                    offer(rows, END_OF_RANGE);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Blocks while the writer is behind, giving up once either side has failed
+         */
+        private void offer(BlockingQueue<Object[]> rows, Object[] row) throws InterruptedException {
+            while (!rows.offer(row, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                if (failure.get() != null) {
+                    return;
+                }
+            }
+        }
+
+        private void write(Connection conn, PreparedStatement insert, BlockingQueue<Object[]> rows) throws SQLException {
+            int batched = 0;
+            try {
+                while (true) {
+                    Object[] row = rows.poll(OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (row == null) {
+                        if (failure.get() != null) {
+                            break;
+                        }
+                        continue;
+                    }
+                    if (row == END_OF_RANGE) {
+                        break;
+                    }
+                    bindRow(insert, row);
+                    insert.addBatch();
+                    if (++batched == batchSize) {
+                        flush(conn, insert, batched);
+                        batched = 0;
+                    }
+                }
+                if (batched > 0 && failure.get() == null) {
+                    flush(conn, insert, batched);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        }
+
+        private void flush(Connection conn, PreparedStatement insert, int batched) throws SQLException {
+            insert.executeBatch();
+            conn.commit();
+            copied.addAndGet(batched);
+        }
+
+        private Object[] readRow(ResultSet rs) throws SQLException {
+            Object[] row = new Object[columns.size()];
+            for (int i = 0; i < row.length; i++) {
+                row[i] = switch (columns.get(i).getDataType()) {
+                    case Types.CLOB, Types.NCLOB, Types.LONGVARCHAR, Types.LONGNVARCHAR -> rs.getString(i + 1);
+                    case Types.BLOB, Types.LONGVARBINARY -> rs.getBytes(i + 1);
+                    default -> rs.getObject(i + 1);
+                };
+            }
+            return row;
+        }
+
+        private void bindRow(PreparedStatement insert, Object[] row) throws SQLException {
+            for (int i = 0; i < row.length; i++) {
+                if (row[i] == null) {
+                    insert.setNull(i + 1, columns.get(i).getDataType());
+                } else {
+                    insert.setObject(i + 1, row[i]);
+                }
+            }
+        }
+
+        private void fail(Throwable e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+
+    private static String qualify(String schema, String table) {
+        return schema != null ? schema + "." + table : table;
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.nativecliapp.sync;
+
+import com.example.nativecliapp.catalog.DdlGenerator;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.ColumnDefinition;
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+
+import java.sql.Types;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * Maps column types between database dialects by their JDBC type code, so a table described on
+ * one engine can be created on another. Within one dialect the source type is kept as is.
+ */
+public final class TypeMapper {
+
+    private static final int MAX_DECIMAL_PRECISION = 38;
+    private static final Pattern GENERATED_DEFAULT = Pattern.compile("\\bNEXTVAL\\s*\\(|\\bNEXT\\s+VALUE\\s+FOR\\b|\\bIDENTITY\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private TypeMapper() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * Column definitions for creating a copy of the table on the target dialect. Default clauses
+     * are only carried over within one dialect, since their expressions rarely translate, and
+     * never for identity or sequence-generated columns, whose defaults point at the source's
+     * sequence; copied rows bring their own key values anyway.
+     */
+    public static List<ColumnDefinition> toColumnDefinitions(TableDefinition table, String sourceType, String targetType) {
+        boolean sameDialect = Objects.equals(sourceType, targetType);
+        DdlGenerator sourceDdl = new DdlGenerator(sourceType);
+
+        return table.getColumns().stream()
+                .map(column -> ColumnDefinition.builder()
+                        .name(column.getName())
+                        .type(sameDialect ? sourceDdl.columnType(column) : mapType(column, targetType))
+                        .nullable(column.isNullable())
+                        .defaultValue(sameDialect && !isGenerated(column) ? column.getDefaultValue() : null)
+                        .primaryKey(table.getPrimaryKey().contains(column.getName()))
+                        .remarks(column.getRemarks())
+                        .build())
+                .toList();
+    }
+
+    private static boolean isGenerated(ColumnInfo column) {
+        return column.isAutoIncrement()
+                || column.getDefaultValue() != null && GENERATED_DEFAULT.matcher(column.getDefaultValue()).find();
+    }
+
+    /**
+     * Target type for a column, including length or precision where the type takes one
+     */
+    public static String mapType(ColumnInfo column, String targetType) {
+        int size = column.getSize();
+        int scale = column.getDecimalDigits();
+
+        return switch (column.getDataType()) {
+            case Types.BIT, Types.BOOLEAN -> switch (targetType) {
+                case DatabaseConstants.DB_TYPE_ORACLE -> "NUMBER(1)";
+                case DatabaseConstants.DB_TYPE_SQL_SERVER -> "BIT";
+                case DatabaseConstants.DB_TYPE_SQLITE -> "INTEGER";
+                default -> "BOOLEAN";
+            };
+            case Types.TINYINT, Types.SMALLINT -> oracleOr(targetType, "NUMBER(5)", "SMALLINT");
+            case Types.INTEGER -> oracleOr(targetType, "NUMBER(10)", "INTEGER");
+            case Types.BIGINT -> oracleOr(targetType, "NUMBER(19)", "BIGINT");
+            case Types.REAL, Types.FLOAT -> oracleOr(targetType, "BINARY_FLOAT", "REAL");
+            case Types.DOUBLE -> switch (targetType) {
+                case DatabaseConstants.DB_TYPE_ORACLE -> "BINARY_DOUBLE";
+                case DatabaseConstants.DB_TYPE_MYSQL -> "DOUBLE";
+                case DatabaseConstants.DB_TYPE_SQL_SERVER -> "FLOAT";
+                case DatabaseConstants.DB_TYPE_SQLITE -> "REAL";
+                default -> "DOUBLE PRECISION";
+            };
+            case Types.DECIMAL, Types.NUMERIC -> decimal(targetType, size, scale);
+            case Types.CHAR, Types.NCHAR -> size > 0 && size <= 2000 ? "CHAR(" + size + ")" : text(targetType, size);
+            case Types.VARCHAR, Types.NVARCHAR, Types.LONGVARCHAR, Types.LONGNVARCHAR -> text(targetType, size);
+            case Types.CLOB, Types.NCLOB -> text(targetType, Integer.MAX_VALUE);
+            case Types.BINARY, Types.VARBINARY, Types.LONGVARBINARY, Types.BLOB -> binary(targetType, size);
+            case Types.DATE -> "DATE";
+            case Types.TIME -> oracleOr(targetType, "DATE", "TIME");
+            case Types.TIMESTAMP -> switch (targetType) {
+                case DatabaseConstants.DB_TYPE_MYSQL -> "DATETIME(6)";
+                case DatabaseConstants.DB_TYPE_SQL_SERVER -> "DATETIME2";
+                default -> "TIMESTAMP";
+            };
+            case Types.TIMESTAMP_WITH_TIMEZONE -> switch (targetType) {
+                case DatabaseConstants.DB_TYPE_POSTGRESQL -> "TIMESTAMPTZ";
+                case DatabaseConstants.DB_TYPE_MYSQL -> "TIMESTAMP(6)";
+                case DatabaseConstants.DB_TYPE_SQL_SERVER -> "DATETIMEOFFSET";
+                case DatabaseConstants.DB_TYPE_SQLITE -> "TEXT";
+                default -> "TIMESTAMP WITH TIME ZONE";
+            };
+            default -> text(targetType, Integer.MAX_VALUE);
+        };
+    }
+
+    private static String decimal(String targetType, int precision, int scale) {
+        String name = DatabaseConstants.DB_TYPE_ORACLE.equals(targetType) ? "NUMBER" : "DECIMAL";
+        if (precision <= 0 || precision > MAX_DECIMAL_PRECISION) {
+            return switch (targetType) {
+                case DatabaseConstants.DB_TYPE_MYSQL, DatabaseConstants.DB_TYPE_SQL_SERVER ->
+                        name + "(" + MAX_DECIMAL_PRECISION + ", " + Math.max(scale, 10) + ")";
+                default -> name;
+            };
+        }
+        return scale > 0 ? name + "(" + precision + ", " + scale + ")" : name + "(" + precision + ")";
+    }
+
+    private static String text(String targetType, int size) {
+        boolean bounded = size > 0;
+        return switch (targetType) {
+            case DatabaseConstants.DB_TYPE_POSTGRESQL -> bounded && size <= 10_485_760 ? "VARCHAR(" + size + ")" : "TEXT";
+            case DatabaseConstants.DB_TYPE_MYSQL -> bounded && size <= 16_383 ? "VARCHAR(" + size + ")" : "LONGTEXT";
+            case DatabaseConstants.DB_TYPE_ORACLE -> bounded && size <= 4_000 ? "VARCHAR2(" + size + ")" : "CLOB";
+            case DatabaseConstants.DB_TYPE_SQL_SERVER -> bounded && size <= 4_000 ? "NVARCHAR(" + size + ")" : "NVARCHAR(MAX)";
+            case DatabaseConstants.DB_TYPE_SQLITE -> "TEXT";
+            default -> bounded && size <= 1_000_000 ? "VARCHAR(" + size + ")" : "CLOB";
+        };
+    }
+
+    private static String binary(String targetType, int size) {
+        boolean bounded = size > 0;
+        return switch (targetType) {
+            case DatabaseConstants.DB_TYPE_POSTGRESQL -> "BYTEA";
+            case DatabaseConstants.DB_TYPE_MYSQL -> bounded && size <= 65_535 ? "VARBINARY(" + size + ")" : "LONGBLOB";
+            case DatabaseConstants.DB_TYPE_ORACLE -> bounded && size <= 2_000 ? "RAW(" + size + ")" : "BLOB";
+            case DatabaseConstants.DB_TYPE_SQL_SERVER -> bounded && size <= 8_000 ? "VARBINARY(" + size + ")" : "VARBINARY(MAX)";
+            case DatabaseConstants.DB_TYPE_SQLITE -> "BLOB";
+            default -> bounded && size <= 1_000_000 ? "VARBINARY(" + size + ")" : "BLOB";
+        };
+    }
+
+    private static String oracleOr(String targetType, String oracleType, String standardType) {
+        return DatabaseConstants.DB_TYPE_ORACLE.equals(targetType) ? oracleType : standardType;
+    }
+}
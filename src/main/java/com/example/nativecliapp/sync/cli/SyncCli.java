@@ -0,0 +1,124 @@
+package com.example.nativecliapp.sync.cli;
+
+import com.example.nativecliapp.batch.BatchMode;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dtos.DataDiffResult;
+import com.example.nativecliapp.dtos.RowDifference;
+import com.example.nativecliapp.dtos.TableCopyResult;
+import com.example.nativecliapp.exception.DatabaseException;
+import com.example.nativecliapp.sync.DataDiffService;
+import com.example.nativecliapp.sync.TableCopyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.shell.standard.ShellComponent;
+import org.springframework.shell.standard.ShellMethod;
+import org.springframework.shell.standard.ShellOption;
+
+import static com.example.nativecliapp.util.ShellFormatter.*;
+
+@ShellComponent
+@RequiredArgsConstructor
+@Profile("!" + BatchMode.PROFILE)
+public class SyncCli {
+
+    private final DataDiffService dataDiffService;
+    private final TableCopyService tableCopyService;
+
+    @ShellMethod(key = {"data-diff"}, value = "⚖️ Compare the rows of a table on two connections by chunked checksums")
+    public String dataDiff(
+            @ShellOption(value = {"-a", "--source"}, help = "Source connection name") String source,
+            @ShellOption(value = {"-b", "--target"}, help = "Target connection name") String target,
+            @ShellOption(value = {"-t", "--table"}, help = "Table name") String table,
+            @ShellOption(value = {"-s", "--schema"}, help = "Schema name", defaultValue = ShellOption.NULL) String schema,
+            @ShellOption(value = {"--chunk-size"}, help = "Rows per checksum chunk", defaultValue = "" + DatabaseConstants.DEFAULT_SYNC_CHUNK_ROWS) int chunkSize,
+            @ShellOption(value = {"-p", "--parallelism"}, help = "Chunks compared concurrently", defaultValue = "" + DatabaseConstants.DEFAULT_SYNC_PARALLELISM) int parallelism) {
+
+        if (chunkSize <= 0 || parallelism <= 0) {
+            return formatError("Invalid Options", "--chunk-size and --parallelism must be positive");
+        }
+
+        try {
+            DataDiffResult result = dataDiffService.diff(source, target, schema, table, chunkSize, parallelism);
+
+            StringBuilder output = new StringBuilder();
+            output.append(result.isIdentical() ? "✅ TABLES MATCH\n" : "⚖️ DATA DIFF\n");
+            output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            output.append(String.format("📤 Source: %s.%s (%s rows)\n",
+                    source, result.getSourceTable(), formatCount(result.getSourceRows())));
+            output.append(String.format("📥 Target: %s.%s (%s rows)\n",
+                    target, result.getTargetTable(), formatCount(result.getTargetRows())));
+            output.append(String.format("🔑 Key: %s | Checksums: %s\n", result.getKeyColumn(),
+                    result.isServerSideChecksums() ? "computed in database" : "streamed and hashed in shell"));
+            output.append(String.format("🧩 Chunks: %d compared, %d mismatched\n", result.getChunks(), result.getMismatchedChunks()));
+            if (!result.getSkippedColumns().isEmpty()) {
+                output.append(String.format("⚠️ Not compared: %s\n", String.join(", ", result.getSkippedColumns())));
+            }
+
+            if (!result.isIdentical()) {
+                output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+                output.append(String.format("Only in source: %s\nOnly in target: %s\nChanged:        %s\n",
+                        formatCount(result.getOnlyInSource()),
+                        formatCount(result.getOnlyInTarget()),
+                        formatCount(result.getChanged())));
+
+                if (!result.getSamples().isEmpty()) {
+                    output.append(String.format("\nFirst %d differences:\n", result.getSamples().size()));
+                    for (RowDifference difference : result.getSamples()) {
+                        output.append(String.format("  %-16s %s = %s\n",
+                                difference.kind(), result.getKeyColumn(), difference.key()));
+                    }
+                }
+            }
+
+            output.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+            output.append(String.format("Compared in %d ms", result.getDurationMillis()));
+            return output.toString();
+
+        } catch (DatabaseException e) {
+            return formatError("Data Diff Failed", e.getMessage());
+        } catch (Exception e) {
+            return formatError("Unexpected Error", e.getMessage());
+        }
+    }
+
+    @ShellMethod(key = {"copy-table"}, value = "🚚 Copy a table between connections with parallel key-range workers")
+    public String copyTable(
+            @ShellOption(value = {"--from", "-f"}, help = "Source connection name") String from,
+            @ShellOption(value = {"--to"}, help = "Target connection name") String to,
+            @ShellOption(value = {"-t", "--table"}, help = "Table name") String table,
+            @ShellOption(value = {"-s", "--schema"}, help = "Source schema", defaultValue = ShellOption.NULL) String schema,
+            @ShellOption(value = {"--target-schema"}, help = "Target schema", defaultValue = ShellOption.NULL) String targetSchema,
+            @ShellOption(value = {"--target-table"}, help = "Target table name (defaults to source name)", defaultValue = ShellOption.NULL) String targetTable,
+            @ShellOption(value = {"-w", "--workers"}, help = "Parallel workers", defaultValue = "" + DatabaseConstants.DEFAULT_SYNC_PARALLELISM) int workers,
+            @ShellOption(value = {"--batch-size"}, help = "Rows per insert batch and commit", defaultValue = "" + DatabaseConstants.DEFAULT_COPY_BATCH_SIZE) int batchSize,
+            @ShellOption(value = {"--append"}, help = "Copy into an existing target table", defaultValue = "false") boolean append) {
+
+        if (workers <= 0 || batchSize <= 0) {
+            return formatError("Invalid Options", "--workers and --batch-size must be positive");
+        }
+
+        try {
+            TableCopyResult result = tableCopyService.copy(from, to, schema, table, targetSchema, targetTable,
+                    workers, batchSize, append);
+
+            return formatResponse("TABLE COPIED",
+                    String.format("""
+                    📤 Source: %s.%s
+                    📥 Target: %s.%s%s
+                    📊 Rows: %s
+                    🧩 Ranges: %d across %d workers
+                    ⏱️ Took: %d ms (%s rows/s)""",
+                            result.getSourceConnection(), result.getSourceTable(),
+                            result.getTargetConnection(), result.getTargetTable(),
+                            result.isTableCreated() ? " (created)" : "",
+                            formatCount(result.getRows()),
+                            result.getRanges(), result.getWorkers(),
+                            result.getDurationMillis(), formatCount(result.getRowsPerSecond())));
+
+        } catch (DatabaseException e) {
+            return formatError("Copy Failed", e.getMessage());
+        } catch (Exception e) {
+            return formatError("Unexpected Error", e.getMessage());
+        }
+    }
+}
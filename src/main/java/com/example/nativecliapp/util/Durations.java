@@ -0,0 +1,33 @@
+package com.example.nativecliapp.util;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parses short duration options such as 500ms, 30s, 5m, 12h or 7d
+ */
+public final class Durations {
+
+    private static final Pattern DURATION = Pattern.compile("(\\d+)(ms|s|m|h|d)");
+
+    private Durations() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static Duration parse(String text) {
+        Matcher matcher = DURATION.matcher(text == null ? "" : text.trim().toLowerCase(Locale.ROOT));
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid duration '" + text + "', expected a number followed by ms, s, m, h or d, e.g. 30s");
+        }
+        long amount = Long.parseLong(matcher.group(1));
+        return switch (matcher.group(2)) {
+            case "ms" -> Duration.ofMillis(amount);
+            case "s" -> Duration.ofSeconds(amount);
+            case "m" -> Duration.ofMinutes(amount);
+            case "h" -> Duration.ofHours(amount);
+            default -> Duration.ofDays(amount);
+        };
+    }
+}
@@ -0,0 +1,112 @@
+package com.example.nativecliapp.util;
+
+import com.example.nativecliapp.constant.DatabaseConstants;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared formatting helpers for shell command output
+ */
+public final class ShellFormatter {
+
+    public static final int MAX_DISPLAY_ROWS = 100;
+
+    private ShellFormatter() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    public static String formatResponse(String title, String content) {
+        return String.format("✅ %s\n%s\n%s",
+                title,
+                DatabaseConstants.SEPARATOR_SHORT,
+                content);
+    }
+
+    public static String formatError(String title, String message) {
+        return String.format("❌ %s\n%s\n🔥 %s",
+                title,
+                DatabaseConstants.SEPARATOR_SHORT,
+                message);
+    }
+
+    public static String formatWarning(String title, String message) {
+        return String.format("⚠️ %s\n%s\n💡 %s",
+                title,
+                DatabaseConstants.SEPARATOR_SHORT,
+                message);
+    }
+
+    /**
+     * Renders query results as a table of at most the first 100 rows
+     */
+    public static String formatQueryResults(String connectionName, String sql, List<Map<String, Object>> results) {
+        return formatQueryResults(connectionName, sql, results, results.size());
+    }
+
+    /**
+     * Renders the leading rows of a result whose full size is only known as a count
+     */
+    public static String formatQueryResults(String connectionName, String sql, List<Map<String, Object>> results, long totalRows) {
+        if (results.isEmpty()) {
+            return formatWarning("No Results", "Query returned no results");
+        }
+
+        StringBuilder result = new StringBuilder();
+        result.append("📊 QUERY RESULTS\n");
+        result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+        result.append(String.format("🔗 Connection: %s\n", connectionName));
+        result.append(String.format("📝 Query: %s\n\n", truncate(sql, 100)));
+
+        // Get column names
+        Set<String> columnNames = new LinkedHashSet<>(results.get(0).keySet());
+
+        // Header
+        columnNames.forEach(col -> result.append(String.format("%-20s | ", truncate(col, 20))));
+        result.append("\n");
+        result.append(DatabaseConstants.SEPARATOR_LONG).append("\n");
+
+        // Rows (limit to first 100 for readability)
+        int rowCount = Math.min(results.size(), MAX_DISPLAY_ROWS);
+        for (int i = 0; i < rowCount; i++) {
+            Map<String, Object> row = results.get(i);
+            columnNames.forEach(col -> {
+                Object value = row.get(col);
+                String displayValue = value != null ? value.toString() : "NULL";
+                result.append(String.format("%-20s | ", truncate(displayValue, 20)));
+            });
+            result.append("\n");
+        }
+
+        result.append(String.format("\nTotal: %d rows", totalRows));
+        if (totalRows > rowCount) {
+            result.append(String.format(" (showing first %d)", rowCount));
+        }
+
+        return result.toString();
+    }
+
+    public static String truncate(String text, int maxLength) {
+        if (text == null || text.length() <= maxLength) {
+            return text;
+        }
+        return text.substring(0, maxLength - 3) + "...";
+    }
+
+    public static String formatCount(long count) {
+        return count < 0 ? "-" : String.format("%,d", count);
+    }
+
+    public static String formatBytes(long bytes) {
+        if (bytes < 0) {
+            return "-";
+        }
+        if (bytes < 1024) {
+            return bytes + " B";
+        }
+        int unit = (int) (Math.log(bytes) / Math.log(1024));
+        return String.format("%.1f %sB", bytes / Math.pow(1024, unit), "KMGTPE".charAt(unit - 1));
+    }
+}
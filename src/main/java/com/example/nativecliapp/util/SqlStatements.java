@@ -0,0 +1,32 @@
+package com.example.nativecliapp.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * Classifies SQL statements by their text, erring on the side of treating a statement as a write
+ */
+public final class SqlStatements {
+
+    private static final Pattern READ_STATEMENT = Pattern.compile("^(SELECT|WITH|VALUES|SHOW|EXPLAIN|DESCRIBE|TABLE)\\b",
+            Pattern.CASE_INSENSITIVE);
+    private static final Pattern WRITE_KEYWORD = Pattern.compile("\\b(INSERT|UPDATE|DELETE|MERGE|INTO|NEXTVAL|LOCK)\\b",
+            Pattern.CASE_INSENSITIVE);
+    // row locks need the primary even though the statement only reads: FOR UPDATE, FOR NO KEY UPDATE,
+    // FOR SHARE and FOR KEY SHARE, and SQL Server's locking table hints
+    private static final Pattern LOCKING_CLAUSE = Pattern.compile(
+            "\\bFOR\\s+(NO\\s+KEY\\s+UPDATE|UPDATE|KEY\\s+SHARE|SHARE)\\b|\\b(UPDLOCK|XLOCK|HOLDLOCK|ROWLOCK|TABLOCKX?)\\b",
+            Pattern.CASE_INSENSITIVE);
+
+    private SqlStatements() {
+        throw new UnsupportedOperationException("Utility class cannot be instantiated");
+    }
+
+    /**
+     * True for statements that only return rows and change nothing; anything unsure is false
+     */
+    public static boolean isReadOnly(String sql) {
+        String trimmed = sql.trim();
+        return READ_STATEMENT.matcher(trimmed).find() && !WRITE_KEYWORD.matcher(trimmed).find()
+                && !LOCKING_CLAUSE.matcher(trimmed).find();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.nativecliapp.ai;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SqlBlockExtractorTest {
+
+    @Test
+    void detectsFencedBlockAsSoonAsItIsClosed() {
+        SqlBlockExtractor extractor = new SqlBlockExtractor();
+
+        assertThat(extractor.append("Here you go:\n```sql\nSELECT *")).isFalse();
+        assertThat(extractor.append(" FROM orders;\n")).isFalse();
+        assertThat(extractor.append("```\nThis query returns")).isTrue();
+
+        assertThat(extractor.getSql()).contains("SELECT * FROM orders");
+    }
+
+    @Test
+    void detectsBareStatementTerminatedBySemicolon() {
+        SqlBlockExtractor extractor = new SqlBlockExtractor();
+
+        assertThat(extractor.append("SELECT name FROM users")).isFalse();
+        assertThat(extractor.append(" WHERE id = 1; -- explanation")).isTrue();
+
+        assertThat(extractor.getSql()).contains("SELECT name FROM users WHERE id = 1");
+    }
+
+    @Test
+    void fallsBackToWholeResponseWhenStreamEndsWithoutTerminator() {
+        SqlBlockExtractor extractor = new SqlBlockExtractor();
+
+        extractor.append("SELECT COUNT(*) FROM products");
+
+        assertThat(extractor.getSql()).isEmpty();
+        assertThat(extractor.finish()).contains("SELECT COUNT(*) FROM products");
+    }
+
+    @Test
+    void ignoresSemicolonsInsideStringLiterals() {
+        SqlBlockExtractor extractor = new SqlBlockExtractor();
+
+        assertThat(extractor.append("SELECT id FROM notes WHERE note = 'a;b'")).isFalse();
+        assertThat(extractor.append(" AND tag = 'it''s;ok';")).isTrue();
+
+        assertThat(extractor.getSql()).contains("SELECT id FROM notes WHERE note = 'a;b' AND tag = 'it''s;ok'");
+    }
+
+    @Test
+    void recognisesLowerCaseStatements() {
+        SqlBlockExtractor extractor = new SqlBlockExtractor();
+
+        assertThat(extractor.append("Sure:\nselect name from users where id = 2;")).isTrue();
+
+        assertThat(extractor.getSql()).contains("select name from users where id = 2");
+    }
+}
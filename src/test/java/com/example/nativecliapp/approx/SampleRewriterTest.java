@@ -0,0 +1,61 @@
+package com.example.nativecliapp.approx;
+
+import com.example.nativecliapp.constant.DatabaseConstants;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SampleRewriterTest {
+
+    private static final String QUERY = "SELECT status, COUNT(*) AS n, SUM(total) FROM orders o WHERE total > 10 GROUP BY status;";
+
+    @Test
+    void usesTableSamplingWhereTheDialectHasIt() {
+        assertThat(rewrite(DatabaseConstants.DB_TYPE_POSTGRESQL).sql()).isEqualTo(
+                "SELECT status, COUNT(*) AS n, SUM(total), SUM((total) * 1.0 * (total)) AS approx_sq_1"
+                        + " FROM orders AS o TABLESAMPLE SYSTEM (1) WHERE total > 10 GROUP BY status");
+        assertThat(rewrite(DatabaseConstants.DB_TYPE_SQL_SERVER).sql())
+                .contains(" FROM orders AS o TABLESAMPLE SYSTEM (1 PERCENT) WHERE");
+        assertThat(rewrite(DatabaseConstants.DB_TYPE_ORACLE).sql()).contains(" FROM orders SAMPLE (1) o WHERE");
+    }
+
+    @Test
+    void filtersOnHashedKeyElsewhere() {
+        SampleRewriter.SampledQuery sampled = rewrite(DatabaseConstants.DB_TYPE_H2);
+
+        assertThat(sampled.sql()).endsWith(" FROM orders o WHERE (MOD(ORA_HASH(o.ID), 1000000) < 10000)"
+                + " AND (total > 10) GROUP BY status");
+        assertThat(sampled.visibleColumns()).isEqualTo(3);
+        assertThat(sampled.scaledColumns()).containsExactly(
+                new SampleRewriter.ScaledColumn(1, SampleRewriter.Aggregate.COUNT, -1),
+                new SampleRewriter.ScaledColumn(2, SampleRewriter.Aggregate.SUM, 3));
+        assertThat(SampleRewriter.rewrite("SELECT COUNT(DISTINCT status) FROM orders", DatabaseConstants.DB_TYPE_MYSQL,
+                0.05, table -> null).sql()).isEqualTo("SELECT COUNT(DISTINCT status) FROM orders WHERE RAND() < 0.05");
+    }
+
+    @Test
+    void keepsPositionsOfLowerCaseSqlAndWarnsAboutWrappedAggregates() {
+        SampleRewriter.SampledQuery sampled = SampleRewriter.rewrite(
+                "select 'straße' as s, count(*) * 2 as twice, sum(total) from orders where total > 10",
+                DatabaseConstants.DB_TYPE_H2, 0.01, table -> "ID");
+
+        assertThat(sampled.sql()).isEqualTo("SELECT 'straße' as s, count(*) * 2 as twice, sum(total),"
+                + " SUM((total) * 1.0 * (total)) AS approx_sq_1"
+                + " FROM orders WHERE (MOD(ORA_HASH(orders.ID), 1000000) < 10000) AND (total > 10)");
+        assertThat(sampled.scaledColumns()).containsExactly(new SampleRewriter.ScaledColumn(2, SampleRewriter.Aggregate.SUM, 3));
+        assertThat(sampled.warnings()).singleElement().asString().startsWith("Not scaled: count(*) * 2 as twice");
+    }
+
+    @Test
+    void rejectsQueriesItCannotSample() {
+        assertThatThrownBy(() -> SampleRewriter.rewrite("SELECT COUNT(*) FROM orders o JOIN customers c ON c.id = o.customer_id",
+                DatabaseConstants.DB_TYPE_H2, 0.01, table -> "ID")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SampleRewriter.rewrite("UPDATE orders SET total = 0",
+                DatabaseConstants.DB_TYPE_H2, 0.01, table -> "ID")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static SampleRewriter.SampledQuery rewrite(String dbType) {
+        return SampleRewriter.rewrite(QUERY, dbType, 0.01, table -> "ID");
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.DefaultApplicationArguments;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+
+class DaemonServerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void runsClientScriptsInSessionsOfTheirOwnUntilStopped() throws Exception {
+        DatabaseConfig config = DatabaseConfig.builder().prefillOnConnect(false).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseConnectionManager manager = new DatabaseConnectionManager(config, registry, event -> { });
+        manager.createConnection("default", "h2", "jdbc:h2:mem:daemon-main", "sa", "");
+        manager.createConnection("other", "h2", "jdbc:h2:mem:daemon-other", "sa", "");
+        DaemonServer server = new DaemonServer(manager, new SchemaManager(manager, config, registry, event -> { }), config, registry);
+        Path socket = dir.resolve("daemon.sock");
+        Thread serving = new Thread(() -> server.run(new DefaultApplicationArguments("--socket=" + socket)));
+        serving.start();
+        try {
+            for (int i = 0; i < 100 && !Files.exists(socket); i++) {
+                Thread.sleep(50);
+            }
+
+            Run switched = client(socket, "\\use other\nSELECT DATABASE() AS db;\n", "--format", "json");
+            assertThat(switched.status).isEqualTo(BatchRunner.EXIT_OK);
+            assertThat(switched.out).isEqualTo("{\"DB\":\"DAEMON-OTHER\"}\n");
+
+            Run unchanged = client(socket, "SELECT DATABASE() AS db;\nSELECT nope;\nSELECT 1 AS one;\n", "--continue-on-error");
+            assertThat(unchanged.out).isEqualTo("DB\r\nDAEMON-MAIN\r\n\r\nONE\r\n1\r\n");
+            assertThat(unchanged.err).startsWith("error at line 2: ");
+            assertThat(unchanged.status).isEqualTo(BatchRunner.EXIT_SQL_ERROR);
+
+            Run redefined = client(socket, "\\connect other h2 jdbc:h2:mem:daemon-elsewhere sa\n");
+            assertThat(redefined.status).isEqualTo(BatchRunner.EXIT_USAGE_ERROR);
+            assertThat(redefined.err).contains("already open with other settings");
+            assertThat(client(socket, "\\connect other h2 jdbc:h2:mem:daemon-other sa\nSELECT DATABASE() AS db;\n").out)
+                    .isEqualTo("DB\r\nDAEMON-OTHER\r\n");
+
+            assertThat(client(socket, "", "--stop").status).isEqualTo(BatchRunner.EXIT_OK);
+            serving.join(10_000);
+            assertThat(serving.isAlive()).isFalse();
+            assertThat(socket).doesNotExist();
+            assertThat(client(socket, "SELECT 1;").status).isEqualTo(BatchRunner.EXIT_CONNECTION_ERROR);
+        } finally {
+            server.stop();
+            manager.cleanup();
+        }
+    }
+
+    @Test
+    void clientConnectsToTheDefaultSocketUnlessGivenOne() {
+        Path socket = Path.of(DatabaseConstants.DEFAULT_DAEMON_SOCKET);
+        assumeFalse(Files.exists(socket), "a daemon is running on the default socket");
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = DaemonClient.run(new String[]{"--client", "--database.daemon-socket=" + dir.resolve("ignored.sock")},
+                InputStream.nullInputStream(), new PrintStream(new ByteArrayOutputStream(), true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+
+        assertThat(status).isEqualTo(BatchRunner.EXIT_CONNECTION_ERROR);
+        assertThat(err.toString(StandardCharsets.UTF_8)).contains("no daemon is listening on " + socket);
+    }
+
+    private static Run client(Path socket, String script, String... options) {
+        String[] args = new String[options.length + 3];
+        args[0] = "--client";
+        args[1] = "--socket";
+        args[2] = socket.toString();
+        System.arraycopy(options, 0, args, 3, options.length);
+        InputStream in = new ByteArrayInputStream(script.getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        int status = DaemonClient.run(args, in, new PrintStream(out, true, StandardCharsets.UTF_8),
+                new PrintStream(err, true, StandardCharsets.UTF_8));
+        return new Run(status, out.toString(StandardCharsets.UTF_8), err.toString(StandardCharsets.UTF_8));
+    }
+
+    private record Run(int status, String out, String err) {
+    }
+}
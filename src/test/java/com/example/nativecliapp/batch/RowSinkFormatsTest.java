@@ -0,0 +1,74 @@
+package com.example.nativecliapp.batch;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.result.RowSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringWriter;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RowSinkFormatsTest {
+
+    private static final String QUERY = """
+            SELECT CAST(1 AS INT) AS id, 'plain' AS label, CAST(2.50 AS DECIMAL(5, 2)) AS total, TRUE AS paid,
+                   CAST(NULL AS VARCHAR) AS note, X'CAFE' AS raw
+            UNION ALL
+            SELECT 2, 'say "hi", then
+            leave', -0.25, FALSE, '', X''
+            """;
+
+    private DatabaseConnectionManager manager;
+    private SchemaManager schemaManager;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseConfig config = DatabaseConfig.builder().prefillOnConnect(false).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        manager = new DatabaseConnectionManager(config, registry, event -> { });
+        manager.createConnection("db", "h2", "jdbc:h2:mem:row-sink-formats", "sa", "");
+        schemaManager = new SchemaManager(manager, config, registry, event -> { });
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.cleanup();
+    }
+
+    @Test
+    void writesCsvWithQuotingNullsAndUpdateCounts() {
+        String csv = run(CsvRowSink::new, QUERY, "CREATE TABLE t (id INT)");
+
+        assertThat(csv).isEqualTo("ID,LABEL,TOTAL,PAID,NOTE,RAW\r\n"
+                + "1,plain,2.50,true,,cafe\r\n"
+                + "2,\"say \"\"hi\"\", then\nleave\",-0.25,false,\"\",\"\"\r\n"
+                + "\r\n"
+                + "updated\r\n"
+                + "0\r\n");
+    }
+
+    @Test
+    void writesOneJsonObjectPerRowWithNativeNumbersAndBooleans() {
+        String json = run(JsonLinesRowSink::new, QUERY, "CREATE TABLE t (id INT)");
+
+        assertThat(json).isEqualTo("{\"ID\":1,\"LABEL\":\"plain\",\"TOTAL\":2.50,\"PAID\":true,\"NOTE\":null,\"RAW\":\"cafe\"}\n"
+                + "{\"ID\":2,\"LABEL\":\"say \\\"hi\\\", then\\nleave\",\"TOTAL\":-0.25,\"PAID\":false,\"NOTE\":\"\",\"RAW\":\"\"}\n"
+                + "{\"updated\":0}\n");
+    }
+
+    private String run(Function<StringWriter, RowSink> format, String... statements) {
+        StringWriter out = new StringWriter();
+        RowSink sink = format.apply(out);
+        for (String sql : statements) {
+            schemaManager.executeStreaming("db", sql, sink, Workload.INTERACTIVE);
+        }
+        return out.toString();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.nativecliapp.bench;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.dtos.BenchmarkResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BenchmarkServiceTest {
+
+    private DatabaseConnectionManager manager;
+    private BenchmarkService service;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        manager = new DatabaseConnectionManager(DatabaseConfig.builder().prefillOnConnect(false).build(),
+                registry, event -> { });
+        manager.createConnection("db", "h2", "jdbc:h2:mem:benchmark", "sa", "");
+        service = new BenchmarkService(manager, registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.cleanup();
+    }
+
+    @Test
+    void closedLoopKeepsOneConnectionPerWorkerBusy() {
+        BenchmarkResult result = service.run("db", "SELECT X FROM SYSTEM_RANGE(1, 10)", 3, Duration.ofMillis(300), 0);
+
+        assertThat(result.isOpenLoop()).isFalse();
+        assertThat(result.getPoolSize()).isEqualTo(3);
+        assertThat(result.getRequests()).isPositive();
+        assertThat(result.getErrors()).isZero();
+        assertThat(result.getTotal().count()).isEqualTo(result.getRequests());
+        assertThat(result.getExecution().count()).isEqualTo(result.getRequests());
+        assertThat(result.getTotal().p50()).isLessThanOrEqualTo(result.getTotal().max());
+    }
+
+    @Test
+    void openLoopStartsRequestsOnSchedule() {
+        BenchmarkResult result = service.run("db", "SELECT 1", 2, Duration.ofMillis(500), 100);
+
+        assertThat(result.isOpenLoop()).isTrue();
+        assertThat(result.getRequests() + result.getDropped()).isEqualTo(50);
+        assertThat(result.getTotal().count()).isEqualTo(result.getRequests());
+    }
+
+    @Test
+    void countsFailuresAsErrorsByKind() {
+        BenchmarkResult result = service.run("db", "SELECT * FROM missing", 2, Duration.ofMillis(200), 0);
+
+        assertThat(result.getRequests()).isPositive();
+        assertThat(result.getErrors()).isEqualTo(result.getRequests());
+        assertThat(result.getTotal().count()).isZero();
+        assertThat(result.getErrorCounts()).hasSize(1);
+        assertThat(result.getErrorCounts().keySet().iterator().next()).contains("MISSING");
+        assertThat(result.getThroughput()).isZero();
+
+        assertThatThrownBy(() -> service.run("db", "SELECT 1", 0, Duration.ofSeconds(1), 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
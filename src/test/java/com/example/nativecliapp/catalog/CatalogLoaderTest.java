@@ -0,0 +1,70 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogLoaderTest {
+
+    private DatabaseConnectionManager manager;
+    private CatalogLoader loader;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        manager = new DatabaseConnectionManager(DatabaseConfig.builder().prefillOnConnect(false).build(),
+                registry, event -> { });
+        manager.createConnection("db", "h2", "jdbc:h2:mem:catalog-loader", "sa", "");
+        loader = new CatalogLoader(manager, registry);
+
+        try (Connection conn = manager.getDataSource("db").getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE REGION (COUNTRY VARCHAR(2), CODE VARCHAR(8), PRIMARY KEY (COUNTRY, CODE))");
+            stmt.execute("CREATE TABLE WAREHOUSE (ID INT PRIMARY KEY)");
+            stmt.execute("CREATE TABLE SHIPMENT (ID INT PRIMARY KEY, REGION_CODE VARCHAR(8), "
+                    + "REGION_COUNTRY VARCHAR(2), WAREHOUSE_ID INT, "
+                    + "CONSTRAINT FK_SHIPMENT_REGION FOREIGN KEY (REGION_CODE, REGION_COUNTRY) "
+                    + "REFERENCES REGION (CODE, COUNTRY), "
+                    + "CONSTRAINT FK_SHIPMENT_WAREHOUSE FOREIGN KEY (WAREHOUSE_ID) REFERENCES WAREHOUSE (ID))");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.cleanup();
+    }
+
+    @Test
+    void pairsCompositeForeignKeyColumnsWithTheColumnsTheyReference() {
+        SchemaCatalog catalog = loader.load("db", "PUBLIC");
+
+        TableDefinition shipment = catalog.findTable("SHIPMENT").orElseThrow();
+        assertThat(shipment.getForeignKeys()).extracting(ForeignKeyInfo::getName)
+                .containsExactly("FK_SHIPMENT_REGION", "FK_SHIPMENT_WAREHOUSE");
+
+        ForeignKeyInfo region = shipment.getForeignKeys().get(0);
+        assertThat(region.getReferencedTable()).isEqualTo("REGION");
+        assertThat(region.getColumns()).containsExactly("REGION_CODE", "REGION_COUNTRY");
+        assertThat(region.getReferencedColumns()).containsExactly("CODE", "COUNTRY");
+    }
+
+    @Test
+    void perTableLookupPairsCompositeForeignKeyColumnsTheSameWay() {
+        TableDefinition shipment = loader.loadTable("db", "PUBLIC", "shipment");
+
+        ForeignKeyInfo region = shipment.getForeignKeys().stream()
+                .filter(fk -> fk.getName().equals("FK_SHIPMENT_REGION")).findFirst().orElseThrow();
+        assertThat(region.getColumns()).containsExactly("REGION_CODE", "REGION_COUNTRY");
+        assertThat(region.getReferencedColumns()).containsExactly("CODE", "COUNTRY");
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogServiceTest {
+
+    @Test
+    void sharesOneCatalogBetweenTheDefaultSchemaAndItsName() {
+        DatabaseConfig config = DatabaseConfig.builder().prefillOnConnect(false).catalogCacheEnabled(false).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseConnectionManager manager = new DatabaseConnectionManager(config, registry, event -> { });
+        manager.createConnection("default", "h2", "jdbc:h2:mem:catalog-service", "sa", "");
+        AtomicInteger loads = new AtomicInteger();
+        CatalogLoader loader = new CatalogLoader(manager, registry) {
+            @Override
+            public SchemaCatalog load(String connectionName, String schema) {
+                loads.incrementAndGet();
+                return super.load(connectionName, schema);
+            }
+        };
+        CatalogService service = new CatalogService(loader, new CatalogDiskCache(manager, config, registry),
+                new SchemaManager(manager, config, registry, event -> { }), manager);
+        try {
+            SchemaCatalog byDefault = service.getCatalog("default", null);
+
+            assertThat(service.getCatalog("default", "PUBLIC")).isSameAs(byDefault);
+            assertThat(service.getCachedCatalog(null)).containsSame(byDefault);
+            assertThat(loads).hasValue(1);
+        } finally {
+            manager.cleanup();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.dtos.DatabaseOverview;
+import com.example.nativecliapp.dtos.SchemaStatistics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class CatalogStatisticsServiceTest {
+
+    @Test
+    void summarisesEverySchemaFromTheH2Catalog() throws Exception {
+        DatabaseConfig config = DatabaseConfig.builder().prefillOnConnect(false).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseConnectionManager manager = new DatabaseConnectionManager(config, registry, event -> { });
+        manager.createConnection("default", "h2", "jdbc:h2:mem:catalog-statistics", "sa", "");
+        try (Connection conn = manager.getDataSource("default").getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE SCHEMA sales");
+            stmt.execute("CREATE TABLE sales.orders (id INT PRIMARY KEY)");
+            stmt.execute("INSERT INTO sales.orders SELECT X FROM SYSTEM_RANGE(1, 3)");
+            stmt.execute("CREATE TABLE customers (id INT PRIMARY KEY)");
+            stmt.execute("CREATE TABLE regions (id INT PRIMARY KEY)");
+            stmt.execute("CREATE VIEW customer_ids AS SELECT id FROM customers");
+        }
+        CatalogStatisticsService service = new CatalogStatisticsService(manager,
+                new SchemaManager(manager, config, registry, event -> { }), config, registry);
+        try {
+            DatabaseOverview overview = service.getOverview();
+
+            assertThat(overview.isFromCatalog()).isTrue();
+            assertThat(overview.getSchemas())
+                    .extracting(SchemaStatistics::getSchema, SchemaStatistics::getTableCount, SchemaStatistics::getEstimatedRows)
+                    .containsExactly(tuple("PUBLIC", 2, 0L), tuple("SALES", 1, 3L));
+            assertThat(overview.getTotalTables()).isEqualTo(3);
+            assertThat(overview.getTotalRows()).isEqualTo(3);
+            assertThat(overview.getTotalBytes()).isEqualTo(-1);
+        } finally {
+            manager.cleanup();
+        }
+    }
+}
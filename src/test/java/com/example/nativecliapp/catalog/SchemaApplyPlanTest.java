@@ -0,0 +1,63 @@
+package com.example.nativecliapp.catalog;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SchemaApplyPlanTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void ordersLoadsIndexesAndForeignKeysAroundIndependentTables() throws Exception {
+        Files.writeString(dir.resolve("customers.csv"), "id,email\r\n1,a@x.io\r\n");
+        Files.writeString(dir.resolve("schema.yml"), """
+                tables:
+                  customers:
+                    columns: {id: BIGINT, email: VARCHAR(200)}
+                    primary-key: [id]
+                    indexes: [{columns: [email], unique: true}]
+                    data: customers.csv
+                    indexes-after-data: true
+                  orders:
+                    columns: {id: BIGINT, customer_id: BIGINT}
+                    primary-key: [id]
+                    foreign-keys: [{columns: [customer_id], references: customers}]
+                """);
+        SchemaFile file = SchemaFile.read(dir.resolve("schema.yml"));
+        SchemaCatalog live = new SchemaCatalog("db", "h2", "PUBLIC", Instant.now(), List.of());
+
+        SchemaApplyPlan plan = SchemaApplyPlan.build(SchemaDiff.compare(file.getCatalog(), live), file, null, false);
+
+        List<List<SchemaApplyPlan.Step>> waves = plan.getWaves();
+        assertThat(waves).hasSize(4);
+        assertThat(waves.get(0)).extracting(SchemaApplyPlan.Step::getKind)
+                .containsOnly(SchemaDiff.Kind.CREATE_TABLE).hasSize(2);
+        assertThat(waves.get(1)).singleElement().satisfies(step -> assertThat(step.isLoad()).isTrue());
+        assertThat(waves.get(2)).singleElement().satisfies(step -> assertThat(step.getSql()).startsWith("CREATE UNIQUE INDEX"));
+        assertThat(waves.get(3)).singleElement().satisfies(step -> assertThat(step.getSql())
+                .contains("FOREIGN KEY (customer_id) REFERENCES customers (id)"));
+    }
+
+    @Test
+    void rejectsForeignKeysWithoutResolvableColumns() throws Exception {
+        Files.writeString(dir.resolve("schema.yml"), """
+                tables:
+                  orders:
+                    columns: {id: BIGINT, customer_id: BIGINT}
+                    foreign-keys: [{columns: [customer_id], references: customers}]
+                """);
+
+        assertThatThrownBy(() -> SchemaFile.read(dir.resolve("schema.yml")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("needs referenced-columns");
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.dtos.SchemaApplyResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaApplyServiceTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void loadsPastBlankLinesToTheEndOfTheFile() throws Exception {
+        Files.writeString(dir.resolve("tags.csv"), "name\r\nred\r\n\r\nblue\r\n");
+        Files.writeString(dir.resolve("items.csv"), "id,label\r\n1,a\r\n\r\n2,\r\n3,\"\"\r\n");
+        Files.writeString(dir.resolve("schema.yml"), """
+                tables:
+                  tags:
+                    columns: {name: VARCHAR(20)}
+                    data: tags.csv
+                  items:
+                    columns: {id: BIGINT, label: VARCHAR(20)}
+                    primary-key: [id]
+                    data: items.csv
+                """);
+        DatabaseConfig config = DatabaseConfig.builder().prefillOnConnect(false).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseConnectionManager manager = new DatabaseConnectionManager(config, registry, event -> { });
+        manager.createConnection("db", "h2", "jdbc:h2:mem:schema-apply-load", "sa", "");
+        SchemaApplyService service = new SchemaApplyService(new CatalogLoader(manager, registry), manager, config,
+                event -> { }, registry);
+        try {
+            SchemaApplyPlan plan = service.plan("db", dir.resolve("schema.yml"), "PUBLIC", false);
+            SchemaApplyResult result = service.apply("db", plan, 2);
+
+            assertThat(result.getErrors()).isEmpty();
+            assertThat(result.getRowsLoaded()).isEqualTo(6);
+            assertThat(rows(manager, "SELECT name FROM tags ORDER BY name NULLS FIRST")).containsExactly("null", "blue", "red");
+            assertThat(rows(manager, "SELECT id || ':' || COALESCE(label, 'null') FROM items ORDER BY id"))
+                    .containsExactly("1:a", "2:null", "3:");
+        } finally {
+            manager.cleanup();
+        }
+    }
+
+    private static List<String> rows(DatabaseConnectionManager manager, String sql) throws Exception {
+        List<String> values = new ArrayList<>();
+        try (Connection conn = manager.getDataSource("db").getConnection();
+             Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            while (rs.next()) {
+                values.add(String.valueOf(rs.getString(1)));
+            }
+        }
+        return values;
+    }
+}
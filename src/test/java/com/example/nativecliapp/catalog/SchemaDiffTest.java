@@ -0,0 +1,87 @@
+package com.example.nativecliapp.catalog;
+
+import com.example.nativecliapp.dtos.ColumnInfo;
+import com.example.nativecliapp.dtos.ForeignKeyInfo;
+import com.example.nativecliapp.dtos.IndexInfo;
+import com.example.nativecliapp.dtos.TableDefinition;
+import com.example.nativecliapp.dtos.TableInfo;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SchemaDiffTest {
+
+    @Test
+    void keepsTheIndexAnEngineHoldsBehindAForeignKeyThatIsStillWanted() {
+        TableDefinition wanted = orders();
+        TableDefinition live = orders();
+        live.getIndexes().add(index("FK_ORDERS_CUSTOMER_INDEX_8", "customer_id"));
+        live.getIndexes().add(index("IDX_ORDERS_NOTE", "note"));
+
+        SchemaDiff diff = SchemaDiff.compare(catalog("h2", wanted, customers()), catalog("h2", live, customers()));
+
+        assertThat(diff.getStatements()).containsExactly("DROP INDEX IDX_ORDERS_NOTE");
+        assertThat(diff.getIndexesDropped()).isEqualTo(1);
+    }
+
+    @Test
+    void mapsSourceTypesToTheTargetDialect() {
+        ColumnInfo id = column("id", "bigserial", Types.BIGINT, false);
+        id.setDefaultValue("nextval('events_id_seq'::regclass)");
+        TableDefinition events = table("events", id, column("active", "bool", Types.BIT, true),
+                column("payload", "text", Types.VARCHAR, true));
+        events.getColumns().get(2).setSize(Integer.MAX_VALUE);
+        TableDefinition liveEvents = table("events", column("id", "BIGINT", Types.BIGINT, false),
+                column("active", "TINYINT", Types.TINYINT, true));
+
+        SchemaDiff created = SchemaDiff.compare(catalog("postgresql", events), catalog("mysql"));
+        SchemaDiff altered = SchemaDiff.compare(catalog("postgresql", events), catalog("mysql", liveEvents));
+
+        assertThat(created.getStatements()).containsExactly(
+                "CREATE TABLE events (\n    id BIGINT NOT NULL,\n    active BOOLEAN,\n    payload LONGTEXT\n)");
+        assertThat(altered.getStatements()).containsExactly(
+                "ALTER TABLE events ADD COLUMN payload LONGTEXT",
+                "ALTER TABLE events MODIFY COLUMN active BOOLEAN");
+    }
+
+    static SchemaCatalog catalog(String dbType, TableDefinition... tables) {
+        return new SchemaCatalog("db", dbType, "PUBLIC", Instant.now(), new ArrayList<>(List.of(tables)));
+    }
+
+    static TableDefinition customers() {
+        TableDefinition table = table("customers", column("id", "BIGINT", Types.BIGINT, false));
+        table.getPrimaryKey().add("id");
+        return table;
+    }
+
+    static TableDefinition orders() {
+        TableDefinition table = table("orders", column("id", "BIGINT", Types.BIGINT, false),
+                column("customer_id", "BIGINT", Types.BIGINT, true), column("note", "VARCHAR", Types.VARCHAR, true));
+        table.getPrimaryKey().add("id");
+        table.getForeignKeys().add(ForeignKeyInfo.builder().name("FK_ORDERS_CUSTOMER").tableName("orders")
+                .referencedTable("customers").columns(new ArrayList<>(List.of("customer_id")))
+                .referencedColumns(new ArrayList<>(List.of("id"))).build());
+        return table;
+    }
+
+    static TableDefinition table(String name, ColumnInfo... columns) {
+        return TableDefinition.builder()
+                .table(TableInfo.builder().name(name).schema("PUBLIC").type("TABLE").build())
+                .columns(new ArrayList<>(List.of(columns)))
+                .build();
+    }
+
+    static ColumnInfo column(String name, String type, int dataType, boolean nullable) {
+        return ColumnInfo.builder().name(name).type(type).dataType(dataType)
+                .size(dataType == Types.VARCHAR ? 200 : 19).nullable(nullable).build();
+    }
+
+    private static IndexInfo index(String name, String column) {
+        return IndexInfo.builder().name(name).tableName("orders").columns(new ArrayList<>(List.of(column))).build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.nativecliapp.completion;
+
+import com.example.nativecliapp.catalog.CatalogDiskCache;
+import com.example.nativecliapp.catalog.CatalogLoader;
+import com.example.nativecliapp.catalog.CatalogService;
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.config.SchemaManager;
+import com.example.nativecliapp.event.SchemaChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionIndexTest {
+
+    @Test
+    void completesATableCreatedBeforeTheSchemaChangedEvent() throws Exception {
+        DatabaseConfig config = DatabaseConfig.builder().prefillOnConnect(false).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        DatabaseConnectionManager manager = new DatabaseConnectionManager(config, registry, event -> { });
+        manager.createConnection("default", "h2", "jdbc:h2:mem:completion-index", "sa", "");
+
+        try (AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext()) {
+            context.registerBean(DatabaseConfig.class, () -> config);
+            context.registerBean(MeterRegistry.class, () -> registry);
+            context.registerBean(DatabaseConnectionManager.class, () -> manager);
+            context.registerBean(SchemaManager.class, () -> new SchemaManager(manager, config, registry, context));
+            context.register(CatalogLoader.class, CatalogDiskCache.class, CatalogService.class, CompletionIndex.class);
+            context.refresh();
+            CompletionIndex index = context.getBean(CompletionIndex.class);
+            CatalogService catalogService = context.getBean(CatalogService.class);
+
+            assertThat(await(() -> index.isReady() ? List.of("ready") : List.of())).isNotEmpty();
+            catalogService.getCatalog("default", null);
+            try (Connection conn = manager.getDataSource("default").getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE WIDGETS (ID INT PRIMARY KEY, WIDGET_NAME VARCHAR(40))");
+            }
+            assertThat(index.tables("WIDG", 10)).isEmpty();
+
+            context.publishEvent(new SchemaChangedEvent("default", "CREATE TABLE WIDGETS"));
+
+            assertThat(await(() -> index.tables("WIDG", 10))).containsExactly("WIDGETS");
+            assertThat(index.columnsOf("widgets", "WIDGET", 10)).containsExactly("WIDGET_NAME");
+        } finally {
+            manager.cleanup();
+        }
+    }
+
+    /**
+     * Polls until the index answers, since it is rebuilt on its own thread
+     */
+    private static List<String> await(Supplier<List<String>> lookup) throws InterruptedException {
+        List<String> result = lookup.get();
+        for (int i = 0; i < 100 && result.isEmpty(); i++) {
+            Thread.sleep(50);
+            result = lookup.get();
+        }
+        return result;
+    }
+}
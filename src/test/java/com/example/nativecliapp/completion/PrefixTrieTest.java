@@ -0,0 +1,31 @@
+package com.example.nativecliapp.completion;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrefixTrieTest {
+
+    private final PrefixTrie trie = PrefixTrie.of(List.of("ORDERS", "order_items", "Customers", "ORDER_ITEMS", "CUSTOMER_NOTES"));
+
+    @Test
+    void completesIgnoringCaseInAlphabeticalOrder() {
+        assertThat(trie.complete("ord", 10)).containsExactly("ORDERS", "order_items");
+        assertThat(trie.complete("CUSTOMER", 10)).containsExactly("Customers", "CUSTOMER_NOTES");
+    }
+
+    @Test
+    void collapsesNamesEqualIgnoringCaseAndHonoursLimit() {
+        assertThat(trie.size()).isEqualTo(4);
+        assertThat(trie.complete("", 2)).hasSize(2);
+        assertThat(trie.complete("x", 10)).isEmpty();
+    }
+
+    @Test
+    void containsExactNamesOnly() {
+        assertThat(trie.contains("orders")).isTrue();
+        assertThat(trie.contains("order")).isFalse();
+    }
+}
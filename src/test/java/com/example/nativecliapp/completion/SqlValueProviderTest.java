@@ -0,0 +1,54 @@
+package com.example.nativecliapp.completion;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.shell.CompletionContext;
+import org.springframework.shell.CompletionProposal;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SqlValueProviderTest {
+
+    private final CompletionIndex index = mock(CompletionIndex.class);
+    private final SqlValueProvider provider = new SqlValueProvider(index);
+
+    @Test
+    void completesTablesAfterFrom() {
+        when(index.tables("ORD", 200)).thenReturn(List.of("ORDERS"));
+
+        assertThat(values("SELECT * FROM ORD")).containsExactly("SELECT * FROM ORDERS");
+        verify(index, never()).columns("ORD", 200);
+    }
+
+    @Test
+    void completesColumnsOfQualifyingTable() {
+        when(index.columnsOf("orders", "ST", 200)).thenReturn(List.of("STATUS"));
+
+        assertThat(values("SELECT orders.ST")).containsExactly("SELECT orders.STATUS");
+    }
+
+    @Test
+    void offersTablesAndColumnsElsewhere() {
+        when(index.tables("C", 200)).thenReturn(List.of("CUSTOMERS"));
+        when(index.columns("C", 200)).thenReturn(List.of("CUSTOMER_ID", "CUSTOMERS"));
+
+        assertThat(values("SELECT C")).containsExactly("SELECT CUSTOMERS", "SELECT CUSTOMER_ID");
+    }
+
+    @Test
+    void proposesNothingForEmptyWordOutsideTablePosition() {
+        assertThat(values("SELECT ")).isEmpty();
+        verify(index, never()).tables(org.mockito.ArgumentMatchers.anyString(), anyInt());
+    }
+
+    private List<String> values(String text) {
+        CompletionContext context = new CompletionContext(List.of(text), 0, text.length(), null, null);
+        return provider.complete(context).stream().map(CompletionProposal::value).toList();
+    }
+}
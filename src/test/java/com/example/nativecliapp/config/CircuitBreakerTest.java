@@ -0,0 +1,44 @@
+package com.example.nativecliapp.config;
+
+import com.example.nativecliapp.exception.ConnectionException;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CircuitBreakerTest {
+
+    @Test
+    void tripsAfterConsecutiveFailuresAndClosesAfterASuccessfulTrial() {
+        CircuitBreaker breaker = new CircuitBreaker("reports", 3, 1_000, 4_000);
+        SQLTransientConnectionException timeout = new SQLTransientConnectionException("Connection is not available");
+
+        assertThat(breaker.recordFailure(timeout)).isFalse();
+        breaker.recordAcquired();
+        assertThat(breaker.recordFailure(timeout)).isFalse();
+        assertThat(breaker.recordBrokenStatement(new SQLNonTransientConnectionException("session closed", "08006"))).isFalse();
+        assertThat(breaker.recordFailure(timeout)).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(breaker::checkClosed).isInstanceOf(ConnectionException.class).hasMessageContaining("circuit open");
+
+        assertThat(breaker.startTrial()).isTrue();
+        assertThat(breaker.startTrial()).isFalse();
+        breaker.trialFailed(timeout);
+        breaker.startTrial();
+        breaker.trialFailed(timeout);
+        breaker.startTrial();
+        breaker.trialFailed(timeout);
+        assertThat(breaker.getOpenMillis()).isEqualTo(4_000);
+
+        breaker.startTrial();
+        breaker.recordSuccess();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.getConsecutiveFailures()).isZero();
+        assertThat(breaker.getOpenMillis()).isEqualTo(1_000);
+        assertThat(breaker.getTrips()).isEqualTo(1);
+        breaker.checkClosed();
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.nativecliapp.config;
+
+import com.example.nativecliapp.exception.QueryLimitExceededException;
+import com.example.nativecliapp.result.RowSink;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+class QueryLimitsTest {
+
+    private DatabaseConnectionManager manager;
+
+    @AfterEach
+    void tearDown() {
+        manager.cleanup();
+    }
+
+    @Test
+    void stopsAtTheRowLimitAndKeepsTheRowsReadSoFar() {
+        SchemaManager schemaManager = schemaManager(DatabaseConfig.builder().queryMaxRows(5));
+
+        assertThat(schemaManager.executeQuery("db", "SELECT X FROM SYSTEM_RANGE(1, 5)")).hasSize(5);
+        QueryLimitExceededException exceeded = catchThrowableOfType(
+                () -> schemaManager.executeQuery("db", "SELECT X FROM SYSTEM_RANGE(1, 100)"), QueryLimitExceededException.class);
+
+        assertThat(exceeded.getLimit()).isEqualTo(QueryLimitExceededException.Limit.ROWS);
+        assertThat(exceeded.getRowsRead()).isEqualTo(5);
+        assertThat(exceeded.getPartialRows()).hasSize(5);
+    }
+
+    @Test
+    void stopsStreamingPastTheSizeLimit() {
+        SchemaManager schemaManager = schemaManager(DatabaseConfig.builder());
+        List<Object[]> received = new ArrayList<>();
+        RowSink sink = new RowSink() {
+            @Override
+            public void start(List<String> columns) {
+            }
+
+            @Override
+            public void row(Object[] values) {
+                received.add(values);
+            }
+        };
+
+        QueryLimitExceededException exceeded = catchThrowableOfType(() -> schemaManager.executeStreaming("db",
+                "SELECT REPEAT('x', 100) FROM SYSTEM_RANGE(1, 1000)", sink, new QueryLimits(0, 1_000, 0)),
+                QueryLimitExceededException.class);
+
+        assertThat(exceeded.getLimit()).isEqualTo(QueryLimitExceededException.Limit.BYTES);
+        assertThat(received).hasSize((int) exceeded.getRowsRead()).isNotEmpty();
+        assertThat(exceeded.getRowsRead()).isLessThan(10);
+    }
+
+    @Test
+    void stopsQueriesThatRunPastTheTimeout() {
+        SchemaManager schemaManager = schemaManager(DatabaseConfig.builder().queryTimeoutSeconds(1));
+        schemaManager.executeUpdate("db", "CREATE ALIAS SLEEP FOR 'java.lang.Thread.sleep'");
+
+        assertThatThrownBy(() -> schemaManager.executeQuery("db", "SELECT X, SLEEP(300) FROM SYSTEM_RANGE(1, 5)"))
+                .isInstanceOfSatisfying(QueryLimitExceededException.class,
+                        exceeded -> assertThat(exceeded.getLimit()).isEqualTo(QueryLimitExceededException.Limit.TIME));
+    }
+
+    private SchemaManager schemaManager(DatabaseConfig.DatabaseConfigBuilder builder) {
+        DatabaseConfig config = builder.prefillOnConnect(false).build();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        manager = new DatabaseConnectionManager(config, registry, event -> { });
+        manager.createConnection("db", "h2", "jdbc:h2:mem:query-limits", "sa", "");
+        return new SchemaManager(manager, config, registry, event -> { });
+    }
+}
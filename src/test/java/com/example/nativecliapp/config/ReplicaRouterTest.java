@@ -0,0 +1,82 @@
+package com.example.nativecliapp.config;
+
+import com.example.nativecliapp.util.SqlStatements;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLSyntaxErrorException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaRouterTest {
+
+    @Test
+    void sendsOnlyReadOnlyStatementsToReplicas() {
+        assertThat(SqlStatements.isReadOnly("  select * from orders")).isTrue();
+        assertThat(SqlStatements.isReadOnly("WITH t AS (SELECT 1) SELECT * FROM t")).isTrue();
+        assertThat(SqlStatements.isReadOnly("SELECT * FROM orders FOR UPDATE")).isFalse();
+        assertThat(SqlStatements.isReadOnly("SELECT * INTO archive FROM orders")).isFalse();
+        assertThat(SqlStatements.isReadOnly("WITH gone AS (DELETE FROM orders RETURNING *) SELECT * FROM gone")).isFalse();
+        assertThat(SqlStatements.isReadOnly("UPDATE orders SET status = 'PAID'")).isFalse();
+    }
+
+    @Test
+    void sendsLockingReadsToThePrimary() {
+        assertThat(SqlStatements.isReadOnly("SELECT * FROM orders WHERE id = 1 FOR SHARE")).isFalse();
+        assertThat(SqlStatements.isReadOnly("select * from orders for key share")).isFalse();
+        assertThat(SqlStatements.isReadOnly("SELECT * FROM orders FOR NO KEY UPDATE NOWAIT")).isFalse();
+        assertThat(SqlStatements.isReadOnly("SELECT * FROM orders\nFOR\tUPDATE SKIP LOCKED")).isFalse();
+        assertThat(SqlStatements.isReadOnly("SELECT * FROM orders WITH (UPDLOCK, ROWLOCK) WHERE id = 1")).isFalse();
+        assertThat(SqlStatements.isReadOnly("SELECT share, for_update FROM orders")).isTrue();
+    }
+
+    @Test
+    void prefersTheLeastLoadedReplicaAndFallsBackToThePrimary() {
+        ReplicaRouter.Replica fast = new ReplicaRouter.Replica("db/replica-1", new HikariDataSource());
+        ReplicaRouter.Replica slow = new ReplicaRouter.Replica("db/replica-2", new HikariDataSource());
+        HikariDataSource primary = new HikariDataSource();
+        ReplicaRouter router = new ReplicaRouter("db", "h2", List.of(fast, slow), 60_000, 1_000);
+        fast.ewmaMillis = 2;
+        slow.ewmaMillis = 9;
+
+        ConnectionRoute first = router.route("SELECT 1", primary);
+        assertThat(first.getTarget()).isEqualTo("db → db/replica-1");
+        // four statements in flight make the fast replica costlier than the idle slow one
+        fast.inFlight.addAndGet(3);
+        assertThat(router.route("SELECT 1", primary).getTarget()).isEqualTo("db → db/replica-2");
+        fast.inFlight.addAndGet(-3);
+
+        first.finish(new SQLSyntaxErrorException("bad column"));
+        assertThat(fast.reads.get()).isEqualTo(1);
+        assertThat(fast.inFlight.get()).isZero();
+
+        slow.lagMillis = 5_000;
+        router.finished(fast, 1_000_000, new SQLNonTransientConnectionException("gone", "08006"));
+        assertThat(router.route("SELECT 1", primary).getTarget()).isEqualTo("db");
+        assertThat(router.route("DELETE FROM orders", primary).getTarget()).isEqualTo("db");
+    }
+
+    @Test
+    void excludesALaggingReplicaUntilItCatchesUp() {
+        ReplicaRouter.Replica lagging = new ReplicaRouter.Replica("db/replica-1", new HikariDataSource());
+        ReplicaRouter.Replica current = new ReplicaRouter.Replica("db/replica-2", new HikariDataSource());
+        HikariDataSource primary = new HikariDataSource();
+        ReplicaRouter router = new ReplicaRouter("db", "h2", List.of(lagging, current), 60_000, 1_000);
+        lagging.ewmaMillis = 1;
+        current.ewmaMillis = 5;
+
+        lagging.lagMillis = 4_000;
+        assertThat(router.route("SELECT 1", primary).getTarget()).isEqualTo("db → db/replica-2");
+
+        current.lagMillis = 1_001;
+        assertThat(router.route("SELECT 1", primary).getTarget()).isEqualTo("db");
+
+        lagging.lagMillis = 0;
+        assertThat(router.route("SELECT 1", primary).getTarget()).isEqualTo("db → db/replica-1");
+        current.lagMillis = 1_000;
+        lagging.lagMillis = 1_500;
+        assertThat(router.route("SELECT 1", primary).getTarget()).isEqualTo("db → db/replica-2");
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.nativecliapp.config;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WarmingDataSourceTest {
+
+    private static final String NEXT_VALUE = "SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = 'WARM_SEQ'";
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private JdbcDataSource h2;
+    private Connection keeper;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:warming-" + System.nanoTime());
+        h2.setUser("sa");
+        keeper = h2.getConnection();
+        try (Statement stmt = keeper.createStatement()) {
+            stmt.execute("CREATE SEQUENCE warm_seq");
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        keeper.close();
+    }
+
+    @Test
+    void runsTheHealthCheckAndWarmUpStatementsOnEveryNewConnection() throws Exception {
+        WarmingDataSource dataSource = new WarmingDataSource(h2, "db", "SELECT 1",
+                List.of("SELECT NEXT VALUE FOR warm_seq", "SELECT * FROM missing"), registry);
+
+        for (int i = 0; i < 2; i++) {
+            try (Connection conn = dataSource.getConnection()) {
+                assertThat(conn.isClosed()).isFalse();
+            }
+        }
+
+        assertThat(scalar(NEXT_VALUE)).isEqualTo(3);
+        assertThat(registry.get(WarmingDataSource.FIRST_QUERY_TIMER).tags("connection", "db", "state", "cold").timer().count())
+                .isEqualTo(2);
+        assertThat(registry.get("database.connection.warmup.duration").timer().count()).isEqualTo(2);
+        assertThat(dataSource.unwrap(JdbcDataSource.class)).isSameAs(h2);
+    }
+
+    @Test
+    void closesConnectionsThatFailTheHealthCheck() throws Exception {
+        WarmingDataSource dataSource = new WarmingDataSource(h2, "db", "SELECT * FROM missing",
+                List.of("SELECT NEXT VALUE FOR warm_seq"), registry);
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class);
+        assertThat(scalar("SELECT COUNT(*) FROM INFORMATION_SCHEMA.SESSIONS")).isEqualTo(1);
+        assertThat(scalar(NEXT_VALUE)).isEqualTo(1);
+    }
+
+    private long scalar(String sql) throws SQLException {
+        try (Statement stmt = keeper.createStatement();
+             ResultSet rs = stmt.executeQuery(sql)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.nativecliapp.config;
+
+import com.example.nativecliapp.dtos.PoolStatus;
+import com.example.nativecliapp.dtos.WorkloadPoolStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkloadPoolsTest {
+
+    @Test
+    void anExhaustedBulkPoolLeavesTheInteractivePoolAvailable() throws Exception {
+        DatabaseConfig config = DatabaseConfig.builder()
+                .prefillOnConnect(false)
+                .bulkPool(DatabaseConfig.PoolSettings.builder().maxPoolSize(1).connectionTimeout(250).build())
+                .circuitFailureThreshold(1)
+                .build();
+        DatabaseConnectionManager manager = new DatabaseConnectionManager(config, new SimpleMeterRegistry(), event -> { });
+        manager.createConnection("db", "h2", "jdbc:h2:mem:workload-pools", "sa", "");
+        try (Connection export = manager.getDataSource("db", Workload.BULK).getConnection()) {
+            assertThatThrownBy(() -> manager.getDataSource("db", Workload.BULK).getConnection())
+                    .isInstanceOf(SQLTransientConnectionException.class);
+
+            try (Connection interactive = manager.getDataSource("db").getConnection();
+                 Connection metadata = manager.getDataSource("db", Workload.METADATA).getConnection()) {
+                assertThat(interactive.isValid(1)).isTrue();
+                assertThat(metadata.isValid(1)).isTrue();
+            }
+
+            assertThat(manager.getCircuitState("db")).isEqualTo(CircuitBreaker.State.CLOSED);
+
+            PoolStatus status = manager.getPoolStatus().get("db");
+            WorkloadPoolStatus bulk = status.getWorkloads().stream()
+                    .filter(pool -> pool.getWorkload().equals("bulk")).findFirst().orElseThrow();
+            assertThat(bulk.getActiveConnections()).isEqualTo(1);
+            assertThat(bulk.getMaximumConnections()).isEqualTo(1);
+            assertThat(status.getWorkloads()).hasSize(Workload.values().length);
+        } finally {
+            manager.cleanup();
+        }
+    }
+}
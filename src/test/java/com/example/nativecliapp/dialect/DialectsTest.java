@@ -0,0 +1,58 @@
+package com.example.nativecliapp.dialect;
+
+import com.example.nativecliapp.config.Workload;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DialectsTest {
+
+    @Test
+    void paginatesAndExplainsInEachDialect() {
+        assertThat(Dialects.of("H2").paginate("SELECT * FROM orders ORDER BY id;", 20, 10))
+                .isEqualTo("SELECT * FROM orders ORDER BY id LIMIT 10 OFFSET 20");
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_ORACLE).paginate("SELECT * FROM orders ORDER BY id", 20, 10))
+                .isEqualTo("SELECT * FROM orders ORDER BY id OFFSET 20 ROWS FETCH NEXT 10 ROWS ONLY");
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_SQL_SERVER).paginate("SELECT * FROM orders", 0, 5))
+                .isEqualTo("SELECT * FROM orders ORDER BY (SELECT NULL) OFFSET 0 ROWS FETCH NEXT 5 ROWS ONLY");
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_SQL_SERVER).paginate(
+                "SELECT id, ROW_NUMBER() OVER (ORDER BY total) AS rn, 'order by' AS note FROM [order by]", 0, 5))
+                .endsWith(" FROM [order by] ORDER BY (SELECT NULL) OFFSET 0 ROWS FETCH NEXT 5 ROWS ONLY");
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_SQL_SERVER).paginate(
+                "SELECT * FROM (SELECT TOP 5 * FROM orders ORDER BY id) o ORDER BY total", 5, 5))
+                .isEqualTo("SELECT * FROM (SELECT TOP 5 * FROM orders ORDER BY id) o ORDER BY total OFFSET 5 ROWS FETCH NEXT 5 ROWS ONLY");
+
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_SQLITE).explain("SELECT 1").query()).isEqualTo("EXPLAIN QUERY PLAN SELECT 1");
+        Dialect.Explain oracle = Dialects.of(DatabaseConstants.DB_TYPE_ORACLE).explain("SELECT 1 FROM dual");
+        assertThat(oracle.setup()).containsExactly("EXPLAIN PLAN FOR SELECT 1 FROM dual");
+        assertThat(oracle.query()).contains("DBMS_XPLAN.DISPLAY");
+        Dialect.Explain sqlServer = Dialects.of(DatabaseConstants.DB_TYPE_SQL_SERVER).explain("SELECT 1");
+        assertThat(sqlServer.setup()).containsExactly("SET SHOWPLAN_TEXT ON");
+        assertThat(sqlServer.cleanup()).containsExactly("SET SHOWPLAN_TEXT OFF");
+    }
+
+    @Test
+    void suppliesDriverFastPaths() {
+        Dialect mysql = Dialects.of(DatabaseConstants.DB_TYPE_MYSQL);
+        assertThat(mysql.streamingFetchSize(1_000)).isEqualTo(Integer.MIN_VALUE);
+        assertThat(mysql.driverProperties(Workload.BULK)).containsEntry("rewriteBatchedStatements", "true");
+        assertThat(mysql.driverProperties(Workload.INTERACTIVE)).doesNotContainKey("rewriteBatchedStatements");
+
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_POSTGRESQL).cursorNeedsTransaction()).isTrue();
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_H2).cursorNeedsTransaction()).isFalse();
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_ORACLE).driverProperties(Workload.INTERACTIVE))
+                .containsKeys("defaultRowPrefetch", "oracle.jdbc.implicitStatementCacheSize");
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_SQL_SERVER).driverProperties(Workload.METADATA))
+                .containsEntry("responseBuffering", "adaptive");
+
+        assertThat(Dialects.of(DatabaseConstants.DB_TYPE_H2).quoteIdentifier("Order \"A\""))
+                .isEqualTo("\"Order \"\"A\"\"\"");
+        assertThat(mysql.quoteIdentifier("select`s")).isEqualTo("`select``s`");
+
+        assertThatThrownBy(() -> Dialects.of("db2"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Supported types: h2, mysql, postgresql, oracle, sqlite, sqlserver");
+    }
+}
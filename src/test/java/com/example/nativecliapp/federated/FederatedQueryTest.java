@@ -0,0 +1,62 @@
+package com.example.nativecliapp.federated;
+
+import com.example.nativecliapp.result.HashJoin;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FederatedQueryTest {
+
+    @Test
+    void pushesProjectionsAndSingleTableConditionsDown() {
+        FederatedQuery query = FederatedQuery.parse("""
+                SELECT o.id, o.total AS amount, c.name
+                FROM mysql.shop.orders o JOIN pg.customers AS c ON o.customer_id = c.id AND c.active = true
+                WHERE o.status = 'PAID AND SHIPPED' AND o.total BETWEEN 10 AND 20 AND (c.region = 'EU' OR c.region = 'UK')
+                ORDER BY amount DESC LIMIT 50""");
+
+        assertThat(query.getType()).isEqualTo(HashJoin.Type.INNER);
+        assertThat(query.getLeft().sql()).isEqualTo("SELECT o.customer_id, o.id, o.total FROM shop.orders o "
+                + "WHERE o.status = 'PAID AND SHIPPED' AND o.total BETWEEN 10 AND 20");
+        assertThat(query.getRight().connection()).isEqualTo("pg");
+        assertThat(query.getRight().sql()).isEqualTo("SELECT c.id, c.name FROM customers c "
+                + "WHERE c.active = true AND (c.region = 'EU' OR c.region = 'UK')");
+        assertThat(query.getOrderBy()).isEqualTo("o.total DESC");
+        assertThat(query.getLimit()).isEqualTo(50L);
+        assertThat(query.getResidualFilter()).isNull();
+    }
+
+    @Test
+    void keepsRightConditionsOfLeftJoinsAfterTheJoin() {
+        FederatedQuery query = FederatedQuery.parse(
+                "SELECT * FROM a.orders o LEFT JOIN b.refunds r ON r.order_id = o.id WHERE r.id IS NULL AND o.total > 5");
+
+        assertThat(query.getType()).isEqualTo(HashJoin.Type.LEFT);
+        assertThat(query.getLeft().keys()).containsExactly("id");
+        assertThat(query.getRight().keys()).containsExactly("order_id");
+        assertThat(query.getLeft().sql()).isEqualTo("SELECT o.* FROM orders o WHERE o.total > 5");
+        assertThat(query.getRight().sql()).isEqualTo("SELECT r.* FROM refunds r");
+        assertThat(query.getResidualFilter()).isEqualTo("r.id IS NULL");
+
+        assertThatThrownBy(() -> FederatedQuery.parse("SELECT * FROM a.t x JOIN b.u y ON x.id = y.id WHERE x.v > y.v"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("compares the two tables");
+    }
+
+    @Test
+    void pushesOrderByColumnsDownAndRejectsExpressions() {
+        FederatedQuery query = FederatedQuery.parse(
+                "SELECT c.name FROM a.orders o JOIN b.customers c ON o.customer_id = c.id ORDER BY o.created_at DESC, name");
+
+        assertThat(query.getLeft().sql()).isEqualTo("SELECT o.customer_id, o.created_at FROM orders o");
+        assertThat(query.getOrderBy()).isEqualTo("o.created_at DESC, c.name");
+
+        assertThatThrownBy(() -> FederatedQuery.parse("SELECT o.id FROM a.t o JOIN b.u c ON o.id = c.id ORDER BY o.v + c.v"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported ORDER BY item");
+        assertThatThrownBy(() -> FederatedQuery.parse("SELECT * FROM a.t o JOIN b.u c ON o.id = c.id ORDER BY total"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("is not a selected column");
+    }
+}
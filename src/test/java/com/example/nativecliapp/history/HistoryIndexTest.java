@@ -0,0 +1,57 @@
+package com.example.nativecliapp.history;
+
+import com.example.nativecliapp.dtos.HistoryEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryIndexTest {
+
+    private static final Instant START = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final HistoryIndex index = new HistoryIndex();
+
+    HistoryIndexTest() {
+        index.add(entry(1, 0, "SELECT * FROM orders WHERE status = 'NEW'", 5, null));
+        index.add(entry(2, 60, "SELECT * FROM order_items WHERE order_id = 7", 2_500, null));
+        index.add(entry(3, 120, "DELETE FROM order_items WHERE order_id = 9", 40, "locked"));
+        index.add(entry(4, 180, "SELECT * FROM order_items oi JOIN orders o ON o.id = oi.order_id", 3_000, null));
+    }
+
+    @Test
+    void intersectsTokensNewestFirst() {
+        assertThat(index.search(query("order_items", null, false, null))).extracting(HistoryEntry::id)
+                .containsExactly(4L, 3L, 2L);
+        assertThat(index.search(query("ORDERS order_items", null, false, null))).extracting(HistoryEntry::id)
+                .containsExactly(4L);
+        assertThat(index.search(query("missing", null, false, null))).isEmpty();
+    }
+
+    @Test
+    void filtersBySlownessFailureAndTime() {
+        assertThat(index.search(query("order_items", 1_000L, false, null))).extracting(HistoryEntry::id)
+                .containsExactly(4L, 2L);
+        assertThat(index.search(query("", null, true, null))).extracting(HistoryEntry::id)
+                .containsExactly(3L);
+        assertThat(index.search(query("", null, false, START.plusSeconds(100)))).extracting(HistoryEntry::id)
+                .containsExactly(4L, 3L);
+        assertThat(index.find(2)).map(HistoryEntry::durationMillis).contains(2_500L);
+    }
+
+    @Test
+    void logLinesRoundTripEscapedSql() {
+        HistoryEntry entry = entry(7, 5, "SELECT 'a\tb'\nFROM t -- c:\\tmp", 12, "bad\nthing");
+        assertThat(HistoryLog.parse(HistoryLog.format(entry))).isEqualTo(entry);
+        assertThat(HistoryLog.parse("7\t123\tcut off")).isNull();
+    }
+
+    private static HistoryEntry entry(long id, long seconds, String sql, long millis, String error) {
+        return new HistoryEntry(id, START.plusSeconds(seconds), "default", sql, millis, 1, error);
+    }
+
+    private static HistoryQuery query(String text, Long minMillis, boolean failed, Instant since) {
+        return new HistoryQuery(text, minMillis, null, failed, since, 10);
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.nativecliapp.history;
+
+import com.example.nativecliapp.dtos.HistoryEntry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HistoryLogTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void numbersEntriesAfterThoseOtherWritersAppended() throws Exception {
+        HistoryLog shell = new HistoryLog(dir, 1_000, 5);
+        HistoryLog batch = new HistoryLog(dir, 1_000, 5);
+        String longSql = "SELECT '" + "x".repeat(10_000) + "' FROM dual";
+
+        assertThat(shell.append(0, id -> entry(id, "SELECT 1"), seen -> { }).id()).isEqualTo(1);
+        assertThat(shell.append(1, id -> entry(id, longSql), seen -> { }).id()).isEqualTo(2);
+
+        List<HistoryEntry> seenByBatch = new ArrayList<>();
+        assertThat(batch.append(0, id -> entry(id, "SELECT 3"), seenByBatch::add).id()).isEqualTo(3);
+        assertThat(seenByBatch).extracting(HistoryEntry::id).containsExactly(1L, 2L);
+        assertThat(seenByBatch.get(1).sql()).isEqualTo(longSql);
+
+        List<HistoryEntry> seenByShell = new ArrayList<>();
+        assertThat(shell.append(2, id -> entry(id, "SELECT 4"), seenByShell::add).id()).isEqualTo(4);
+        assertThat(seenByShell).extracting(HistoryEntry::id).containsExactly(3L);
+
+        List<Long> ids = new ArrayList<>();
+        shell.readAll(entry -> ids.add(entry.id()));
+        assertThat(ids).containsExactly(1L, 2L, 3L, 4L);
+    }
+
+    @Test
+    void concurrentWritersNeverReuseAnId() throws Exception {
+        int writers = 4;
+        int entriesEach = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                HistoryLog log = new HistoryLog(dir, 2_000, 50);
+                running.add(pool.submit(() -> {
+                    long known = 0;
+                    for (int i = 0; i < entriesEach; i++) {
+                        known = log.append(known, id -> entry(id, "SELECT " + id), seen -> { }).id();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : running) {
+                writer.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        new HistoryLog(dir, 2_000, 50).readAll(entry -> ids.add(entry.id()));
+        assertThat(ids).containsExactlyElementsOf(LongStream.rangeClosed(1, writers * entriesEach).boxed().toList());
+    }
+
+    private static HistoryEntry entry(long id, String sql) {
+        return new HistoryEntry(id, Instant.EPOCH.plusSeconds(id), "default", sql, 1, 1, null);
+    }
+}
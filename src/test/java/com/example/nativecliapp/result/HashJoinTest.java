@@ -0,0 +1,102 @@
+package com.example.nativecliapp.result;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashJoinTest {
+
+    private static final int ORDERS = 6_000;
+    private static final int CUSTOMERS = 500;
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void joinsInMemoryAcrossKeyTypes() {
+        Rows out = join(HashJoin.Type.INNER, 64L * 1024 * 1024, 0);
+
+        assertThat(out.columns).containsExactly("o.ID", "o.CUSTOMER_ID", "c.ID", "c.NAME");
+        assertThat(out.rows).hasSize(ORDERS - ORDERS / CUSTOMERS * 100);
+        assertThat(out.rows).allSatisfy(row -> assertThat(((Number) row[1]).longValue()).isEqualTo(((BigDecimal) row[2]).longValue()));
+    }
+
+    @Test
+    void partitionsToDiskAndKeepsUnmatchedLeftRows() throws Exception {
+        Rows out = join(HashJoin.Type.LEFT, 32 * 1024, 0);
+
+        assertThat(out.strategy).startsWith("grace hash join");
+        assertThat(out.rows).hasSize(ORDERS);
+        assertThat(out.rows.stream().filter(row -> row[2] == null)).hasSize(ORDERS / CUSTOMERS * 100);
+        assertThat(out.rows).extracting(row -> row[0]).doesNotHaveDuplicates();
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void sortMergesPartitionsThatStayTooLarge() {
+        Rows out = join(HashJoin.Type.LEFT, 32 * 1024, 3_000);
+
+        assertThat(out.strategy).contains("sort-merged");
+        assertThat(out.rows).hasSize(ORDERS + 3_000 * (ORDERS / CUSTOMERS));
+        assertThat(out.rows.stream().filter(row -> row[2] == null)).hasSize(ORDERS / CUSTOMERS * 100);
+        out.rows.sort(Comparator.comparing(row -> (Long) row[0]));
+        assertThat(out.rows.get(0)).containsExactly(0L, 0L, BigDecimal.ZERO, "customer-0");
+    }
+
+    /**
+     * Orders reference customers by an Integer; customers are keyed by BigDecimal and the last 100
+     * are missing, optionally with extra duplicates of customer 7 to skew one partition
+     */
+    private Rows join(HashJoin.Type type, long memoryBytes, int duplicates) {
+        Rows out = new Rows();
+        try (HashJoin join = new HashJoin(type, "o", List.of("customer_id"), "c", List.of("id"), memoryBytes, spillDir)) {
+            RowSink orders = join.left();
+            orders.start(List.of("ID", "CUSTOMER_ID"));
+            for (long id = 0; id < ORDERS; id++) {
+                orders.row(new Object[]{id, (int) (id % CUSTOMERS)});
+            }
+            orders.end(ORDERS);
+
+            RowSink customers = join.right();
+            customers.start(List.of("ID", "NAME"));
+            for (int id = 0; id < CUSTOMERS - 100; id++) {
+                customers.row(new Object[]{BigDecimal.valueOf(id), "customer-" + id});
+            }
+            for (int i = 0; i < duplicates; i++) {
+                customers.row(new Object[]{new BigDecimal("7.00"), "duplicate-" + i});
+            }
+            customers.end(CUSTOMERS - 100 + duplicates);
+
+            join.run(out);
+            out.strategy = join.getStrategy();
+        }
+        return out;
+    }
+
+    private static final class Rows implements RowSink {
+        private List<String> columns;
+        private final List<Object[]> rows = new ArrayList<>();
+        private String strategy;
+
+        @Override
+        public void start(List<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            rows.add(values);
+        }
+    }
+}
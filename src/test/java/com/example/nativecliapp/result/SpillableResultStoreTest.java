@@ -0,0 +1,73 @@
+package com.example.nativecliapp.result;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpillableResultStoreTest {
+
+    private static final Timestamp CREATED = Timestamp.valueOf("2026-03-01 12:30:00.123456789");
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void staysOnHeapBelowThreshold() {
+        try (SpillableResultStore store = new SpillableResultStore(1024 * 1024, 4096, spillDir)) {
+            fill(store, 100);
+
+            assertThat(store.isOffHeap()).isFalse();
+            assertThat(store.get(42)).containsExactly(42L, "customer-42", new BigDecimal("63.00"), CREATED, null);
+        }
+    }
+
+    @Test
+    void readsRowsBackFromMappedSegmentsAndReleasesThem() throws Exception {
+        SpillableResultStore store = new SpillableResultStore(2048, 4096, spillDir);
+        fill(store, 10_000);
+
+        assertThat(store.isOffHeap()).isTrue();
+        assertThat(store.getOffHeapBytes()).isGreaterThan(4096);
+        assertThat(store.size()).isEqualTo(10_000);
+        assertThat(store.get(9_999)).containsExactly(9_999L, "customer-9999", new BigDecimal("14998.50"), CREATED, null);
+        assertThat(store.get(3)).containsExactly(3L, "customer-3", new BigDecimal("4.50"), CREATED, null);
+        assertThat(store.range(9_998, 5)).extracting(row -> row[0]).containsExactly(9_998L, 9_999L);
+
+        store.close();
+        assertThatThrownBy(() -> store.get(0)).isInstanceOf(IllegalStateException.class);
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void keepsLobPreviewsThroughSpill() {
+        LobHandle document = new LobHandle(LobHandle.Kind.CHARACTER, 5_000_000, "{\"id\": 1,\n \"items\": [");
+        try (SpillableResultStore store = new SpillableResultStore(0, 4096, spillDir)) {
+            store.start(List.of("ID", "DOC"));
+            store.row(new Object[]{1L, document});
+            store.end(1);
+
+            assertThat(store.isOffHeap()).isTrue();
+            assertThat(store.get(0)).containsExactly(1L, document);
+            assertThat(store.get(0)[1]).hasToString("[5,000,000 chars] {\"id\": 1, \"items\": […");
+        }
+    }
+
+    private static void fill(SpillableResultStore store, int rows) {
+        store.start(List.of("ID", "NAME", "TOTAL", "CREATED", "NOTE"));
+        for (long id = 0; id < rows; id++) {
+            store.row(new Object[]{id, "customer-" + id, BigDecimal.valueOf(id * 150, 2), CREATED, null});
+        }
+        store.end(rows);
+    }
+}
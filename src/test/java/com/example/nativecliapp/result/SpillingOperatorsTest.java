@@ -0,0 +1,89 @@
+package com.example.nativecliapp.result;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpillingOperatorsTest {
+
+    private static final List<String> COLUMNS = List.of("ID", "STATUS", "TOTAL");
+    private static final String[] STATUSES = {"NEW", "PAID", "SHIPPED"};
+    private static final int ROWS = 5_000;
+    private static final long TINY_BUDGET = 4 * 1024;
+
+    @TempDir
+    Path spillDir;
+
+    @Test
+    void externalSortMergesSpilledRunsInOrder() throws Exception {
+        Rows out = new Rows();
+        ExternalSortSink sort = new ExternalSortSink(out, "status desc, id", TINY_BUDGET, spillDir);
+        feed(new FilterSink(sort, "total >= 100 AND status <> 'NEW'"));
+
+        assertThat(sort.getSpilledRuns()).isGreaterThan(1);
+        assertThat(out.rows).hasSize(3_289).isSortedAccordingTo(
+                Comparator.<Object[], String>comparing(row -> (String) row[1]).reversed()
+                        .thenComparing(row -> (Long) row[0]));
+        assertThat(out.rows.get(0)).containsExactly(68L, "SHIPPED", new BigDecimal("104.00"));
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void hashAggregateMergesSpilledPartialGroups() throws Exception {
+        Rows out = new Rows();
+        HashAggregateSink aggregate = new HashAggregateSink(out, "status, id", "count(*), sum(total), max(total)",
+                TINY_BUDGET, spillDir);
+        feed(aggregate);
+        assertThat(aggregate.getSpills()).isGreaterThan(1);
+        assertThat(out.rows).hasSize(ROWS);
+
+        out = new Rows();
+        aggregate = new HashAggregateSink(out, "status", "count(*), avg(total), min(id)", 512, spillDir);
+        feed(aggregate);
+        assertThat(aggregate.getSpills()).isGreaterThan(1);
+        assertThat(out.columns).containsExactly("STATUS", "count(*)", "avg(TOTAL)", "min(ID)");
+        out.rows.sort(Comparator.comparing(row -> (String) row[0]));
+        Object[] first = out.rows.get(0);
+        assertThat(first[0]).isEqualTo("NEW");
+        assertThat(first[1]).isEqualTo(1_667L);
+        assertThat((BigDecimal) first[2]).isEqualByComparingTo("3750.5");
+        assertThat(first[3]).isEqualTo(0L);
+        try (Stream<Path> files = Files.list(spillDir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private static void feed(RowSink sink) {
+        sink.start(COLUMNS);
+        for (long id = 0; id < ROWS; id++) {
+            sink.row(new Object[]{id, STATUSES[(int) (id % 3)], BigDecimal.valueOf(id * 150 + 100, 2).add(BigDecimal.ONE)});
+        }
+        sink.end(ROWS);
+    }
+
+    private static final class Rows implements RowSink {
+        private List<String> columns;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        @Override
+        public void start(List<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        public void row(Object[] values) {
+            rows.add(values);
+        }
+    }
+}
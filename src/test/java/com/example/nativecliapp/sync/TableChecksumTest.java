@@ -0,0 +1,84 @@
+package com.example.nativecliapp.sync;
+
+import com.example.nativecliapp.config.DatabaseConfig;
+import com.example.nativecliapp.config.DatabaseConnectionManager;
+import com.example.nativecliapp.constant.DatabaseConstants;
+import com.example.nativecliapp.dialect.Dialect;
+import com.example.nativecliapp.dialect.Dialects;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TableChecksumTest {
+
+    private static final List<String> COLUMNS = List.of("CODE", "TOTAL", "NOTE");
+
+    private DatabaseConnectionManager manager;
+    private DataSource dataSource;
+    private final Dialect dialect = Dialects.of(DatabaseConstants.DB_TYPE_H2);
+
+    @BeforeEach
+    void setUp() throws Exception {
+        manager = new DatabaseConnectionManager(DatabaseConfig.builder().prefillOnConnect(false).build(),
+                new SimpleMeterRegistry(), event -> { });
+        manager.createConnection("db", "h2", "jdbc:h2:mem:table-checksum", "sa", "");
+        dataSource = manager.getDataSource("db");
+        try (Connection conn = dataSource.getConnection();
+             Statement stmt = conn.createStatement()) {
+            for (String table : List.of("SOURCE", "TARGET")) {
+                stmt.execute("CREATE TABLE " + table + " (ID BIGINT PRIMARY KEY, CODE VARCHAR(10), TOTAL DECIMAL(10, 2), NOTE VARCHAR(20))");
+                stmt.execute("INSERT INTO " + table + " SELECT X, 'C' || LPAD(CAST(X AS VARCHAR), 4, '0'), X * 1.5, "
+                        + "CASE WHEN MOD(X, 7) = 0 THEN NULL ELSE 'n' || X END FROM SYSTEM_RANGE(1, 1000)");
+            }
+            stmt.execute("UPDATE TARGET SET TOTAL = 0 WHERE ID = 640");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        manager.cleanup();
+    }
+
+    @Test
+    void splitsIntegralKeysArithmeticallyAndOtherKeysByOrderedPass() {
+        KeyRangePlanner planner = new KeyRangePlanner();
+
+        assertThat(planner.plan(dataSource, dialect, "SOURCE", "ID", KeyRange.ALL, 250)).containsExactly(
+                new KeyRange(null, 251L), new KeyRange(251L, 501L), new KeyRange(501L, 751L), new KeyRange(751L, null));
+        assertThat(planner.split(dataSource, dialect, "SOURCE", "ID", new KeyRange(101L, 201L), 2))
+                .containsExactly(new KeyRange(101L, 151L), new KeyRange(151L, 201L));
+        assertThat(planner.plan(dataSource, dialect, "SOURCE", "CODE", KeyRange.ALL, 400)).containsExactly(
+                new KeyRange(null, "C0401"), new KeyRange("C0401", "C0801"), new KeyRange("C0801", null));
+        assertThat(planner.plan(dataSource, dialect, "SOURCE", "ID", KeyRange.ALL, 5_000)).containsExactly(KeyRange.ALL);
+    }
+
+    @Test
+    void findsTheChangedRangeAndRowOnServerAndClient() {
+        for (boolean serverSide : List.of(true, false)) {
+            TableChecksum source = new TableChecksum(dataSource, DatabaseConstants.DB_TYPE_H2, "SOURCE", "ID", COLUMNS, serverSide);
+            TableChecksum target = new TableChecksum(dataSource, DatabaseConstants.DB_TYPE_H2, "TARGET", "ID", COLUMNS, serverSide);
+            assertThat(source.isServerSide()).isEqualTo(serverSide);
+
+            KeyRange same = new KeyRange(1L, 501L);
+            KeyRange changed = new KeyRange(501L, null);
+            assertThat(source.checksum(same)).isEqualTo(target.checksum(same));
+            assertThat(source.checksum(changed).rows()).isEqualTo(500);
+            assertThat(source.checksum(changed)).isNotEqualTo(target.checksum(changed));
+
+            Map<String, String> sourceRows = source.rowHashes(changed);
+            Map<String, String> targetRows = target.rowHashes(changed);
+            assertThat(sourceRows).hasSize(500);
+            assertThat(sourceRows.keySet().stream().filter(key -> !sourceRows.get(key).equals(targetRows.get(key))))
+                    .containsExactly("640");
+        }
+    }
+}